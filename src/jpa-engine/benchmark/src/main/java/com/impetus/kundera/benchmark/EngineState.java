@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.impetus.kundera.benchmark.entities.Customer;
+import com.impetus.kundera.benchmark.entities.Person;
+import com.impetus.kundera.benchmark.entities.Purchase;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+
+/**
+ * Entity manager factory of "benchmark" persistence unit, backed by
+ * {@link InMemoryClientFactory}, shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class EngineState
+{
+    /** Name of benchmark persistence unit. */
+    public static final String PU = "benchmark";
+
+    EntityManagerFactory emf;
+
+    KunderaMetadata kunderaMetadata;
+
+    @Setup
+    public void setUp()
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        emf.close();
+    }
+
+    static Person newPerson(String personId)
+    {
+        Person person = new Person();
+        person.setPersonId(personId);
+        person.setPersonName("name-" + personId);
+        person.setAge(32);
+        person.setSalary(4200.5);
+        return person;
+    }
+
+    static Customer newCustomer(String customerId, int purchases)
+    {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setCustomerName("name-" + customerId);
+        for (int i = 0; i < purchases; i++)
+        {
+            Purchase purchase = new Purchase();
+            purchase.setPurchaseId(customerId + "-" + i);
+            purchase.setItem("item-" + i);
+            purchase.setAmount(10.5 * i);
+            customer.getPurchases().add(purchase);
+        }
+        return customer;
+    }
+}
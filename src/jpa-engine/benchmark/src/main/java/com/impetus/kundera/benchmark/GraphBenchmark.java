@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entities.Customer;
+import com.impetus.kundera.graph.GraphGenerator;
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.ObjectGraph;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.persistence.PersistenceDelegators;
+import com.impetus.kundera.persistence.context.EventLog.EventType;
+import com.impetus.kundera.persistence.context.FlushManager;
+import com.impetus.kundera.utils.ObjectUtils;
+
+/**
+ * Benchmarks object graph generation, flush stack building and deep copy of
+ * an entity with a one to many association.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark
+{
+    @Param({ "1", "10", "100" })
+    private int purchases;
+
+    private EntityManager em;
+
+    private PersistenceDelegator delegator;
+
+    private KunderaMetadata kunderaMetadata;
+
+    private Customer customer;
+
+    @Setup
+    public void setUp(EngineState engine)
+    {
+        em = engine.emf.createEntityManager();
+        delegator = PersistenceDelegators.of(em);
+        kunderaMetadata = engine.kunderaMetadata;
+        customer = EngineState.newCustomer("customer", purchases);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        em.close();
+    }
+
+    @Benchmark
+    public Node generateGraph()
+    {
+        ObjectGraph graph = new GraphGenerator().generateGraph(customer, delegator);
+        return graph.getHeadNode();
+    }
+
+    /**
+     * Builds flush stack of a freshly generated graph, as nodes change state
+     * while stack is built. Subtract {@link #generateGraph()} for cost of
+     * {@link FlushManager#buildFlushStack(Node, EventType)} alone.
+     */
+    @Benchmark
+    public Deque<Node> buildFlushStack()
+    {
+        ObjectGraph graph = new GraphGenerator().generateGraph(customer, delegator);
+        FlushManager flushManager = new FlushManager();
+        flushManager.buildFlushStack(graph.getHeadNode(), EventType.INSERT);
+        em.clear();
+        return flushManager.getFlushStack();
+    }
+
+    @Benchmark
+    public Object deepCopy()
+    {
+        return ObjectUtils.deepCopy(customer, kunderaMetadata);
+    }
+}
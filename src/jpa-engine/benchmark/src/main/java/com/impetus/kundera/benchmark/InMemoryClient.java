@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.ClientBase;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.generator.Generator;
+import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.AbstractEntityReader;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.EntityReader;
+import com.impetus.kundera.persistence.context.jointable.JoinTableData;
+import com.impetus.kundera.query.LuceneQuery;
+
+/**
+ * Client keeping entities in memory, by reference. Nothing is serialized, so
+ * operations measure the engine alone. Associations are not stored, queries
+ * are not supported.
+ */
+public class InMemoryClient extends ClientBase implements Client<LuceneQuery>
+{
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> tables;
+
+    /**
+     * Instantiates a new in memory client.
+     * 
+     * @param tables
+     *            entities by primary key, per table.
+     * @param indexManager
+     *            the index manager
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param kunderaMetadata
+     *            the kundera metadata
+     */
+    InMemoryClient(ConcurrentMap<String, ConcurrentMap<Object, Object>> tables, IndexManager indexManager,
+            String persistenceUnit, final KunderaMetadata kunderaMetadata)
+    {
+        super(kunderaMetadata, null, persistenceUnit);
+        this.tables = tables;
+        this.indexManager = indexManager;
+    }
+
+    @Override
+    protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
+    {
+        getTable(entityMetadata).put(id, entity);
+    }
+
+    @Override
+    public Object find(Class entityClass, Object key)
+    {
+        return getTable(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass)).get(key);
+    }
+
+    @Override
+    public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
+    {
+        List results = new ArrayList();
+        for (Object key : keys)
+        {
+            Object result = find(entityClass, key);
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <E> List<E> find(Class<E> entityClass, Map<String, String> embeddedColumnMap)
+    {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void delete(Object entity, Object pKey)
+    {
+        getTable(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass())).remove(pKey);
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    @Override
+    public void persistJoinTable(JoinTableData joinTableData)
+    {
+    }
+
+    @Override
+    public <E> List<E> getColumnsById(String schemaName, String tableName, String pKeyColumnName, String columnName,
+            Object pKeyColumnValue, Class columnJavaType)
+    {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Object[] findIdsByColumn(String schemaName, String tableName, String pKeyName, String columnName,
+            Object columnValue, Class entityClazz)
+    {
+        return new Object[0];
+    }
+
+    @Override
+    public void deleteByColumn(String schemaName, String tableName, String columnName, Object columnValue)
+    {
+    }
+
+    @Override
+    public List<Object> findByRelation(String colName, Object colValue, Class entityClazz)
+    {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public EntityReader getReader()
+    {
+        return new InMemoryEntityReader(kunderaMetadata);
+    }
+
+    @Override
+    public Class<LuceneQuery> getQueryImplementor()
+    {
+        return LuceneQuery.class;
+    }
+
+    @Override
+    public Generator getIdGenerator()
+    {
+        return null;
+    }
+
+    private ConcurrentMap<Object, Object> getTable(EntityMetadata m)
+    {
+        String tableName = m.getSchema() + "." + m.getTableName();
+        ConcurrentMap<Object, Object> table = tables.get(tableName);
+        if (table == null)
+        {
+            tables.putIfAbsent(tableName, new ConcurrentHashMap<Object, Object>());
+            table = tables.get(tableName);
+        }
+        return table;
+    }
+
+    /**
+     * Entity reader of {@link InMemoryClient}.
+     */
+    private static final class InMemoryEntityReader extends AbstractEntityReader implements EntityReader
+    {
+        private InMemoryEntityReader(KunderaMetadata kunderaMetadata)
+        {
+            super(kunderaMetadata);
+        }
+
+        @Override
+        public List<EnhanceEntity> populateRelation(EntityMetadata m, Client client, int maxResults)
+        {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public EnhanceEntity findById(Object primaryKey, EntityMetadata m, Client client)
+        {
+            return super.findById(primaryKey, m, client);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.configure.schema.api.SchemaManager;
+import com.impetus.kundera.loader.GenericClientFactory;
+
+/**
+ * Client factory of {@link InMemoryClient}, holding entities of all its
+ * clients in memory so benchmarks measure the engine alone.
+ */
+public class InMemoryClientFactory extends GenericClientFactory
+{
+    /** Entities by primary key, per schema qualified table name. */
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> tables =
+            new ConcurrentHashMap<String, ConcurrentMap<Object, Object>>();
+
+    @Override
+    public void initialize(Map<String, Object> puProperties)
+    {
+    }
+
+    @Override
+    protected Object createPoolOrConnection()
+    {
+        return tables;
+    }
+
+    @Override
+    protected Client instantiateClient(String persistenceUnit)
+    {
+        return new InMemoryClient(tables, indexManager, persistenceUnit, kunderaMetadata);
+    }
+
+    @Override
+    public boolean isThreadSafe()
+    {
+        return false;
+    }
+
+    @Override
+    public SchemaManager getSchemaManager(Map<String, Object> puProperties)
+    {
+        return null;
+    }
+
+    @Override
+    public void destroy()
+    {
+        tables.clear();
+        unload();
+    }
+
+    @Override
+    protected void initializeLoadBalancer(String loadBalancingPolicyName)
+    {
+        throw new UnsupportedOperationException("Load balancing feature is not supported in "
+                + this.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entities.Person;
+
+/**
+ * Benchmarks persist, find and merge of an entity, through entity manager and
+ * persistence delegator down to {@link InMemoryClient}. Persistence context is
+ * cleared after each operation, so every find reaches the client.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark
+{
+    private static final int ROWS = 1024;
+
+    private final String[] ids = new String[ROWS];
+
+    private EntityManager em;
+
+    private int next;
+
+    @Setup
+    public void setUp(EngineState engine)
+    {
+        em = engine.emf.createEntityManager();
+        for (int i = 0; i < ROWS; i++)
+        {
+            ids[i] = "person-" + i;
+            em.persist(EngineState.newPerson(ids[i]));
+        }
+        em.clear();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        em.close();
+    }
+
+    @Benchmark
+    public Person persist()
+    {
+        Person person = EngineState.newPerson(nextId());
+        em.persist(person);
+        em.clear();
+        return person;
+    }
+
+    @Benchmark
+    public Person find()
+    {
+        Person person = em.find(Person.class, nextId());
+        em.clear();
+        return person;
+    }
+
+    @Benchmark
+    public Person merge()
+    {
+        Person person = em.merge(EngineState.newPerson(nextId()));
+        em.clear();
+        return person;
+    }
+
+    private String nextId()
+    {
+        return ids[next++ & (ROWS - 1)];
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.benchmark.entities.Person;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.property.EntityAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * Benchmarks field access through {@link PropertyAccessorHelper}, with
+ * reflective and generated accessors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessorBenchmark
+{
+    /** Whether fields are accessed via accessor generated at bootstrap. */
+    @Param({ "false", "true" })
+    boolean generated;
+
+    private EntityMetadata metadata;
+
+    private List<Field> fields;
+
+    private Field personName;
+
+    private Person person;
+
+    @Setup
+    public void setUp(EngineState engine) throws NoSuchFieldException
+    {
+        metadata = KunderaMetadataManager.getEntityMetadata(engine.kunderaMetadata, Person.class);
+        personName = Person.class.getDeclaredField("personName");
+        person = EngineState.newPerson("person");
+        fields = Arrays.asList((Field) metadata.getIdAttribute().getJavaMember(), personName);
+        if (generated && EntityAccessorFactory.generate(Person.class, fields) == null)
+        {
+            throw new IllegalStateException("Accessor can not be generated for " + Person.class);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (generated)
+        {
+            EntityAccessorFactory.release(Person.class, fields);
+        }
+    }
+
+    @Benchmark
+    public Object getId()
+    {
+        return PropertyAccessorHelper.getId(person, metadata);
+    }
+
+    @Benchmark
+    public Object getObject()
+    {
+        return PropertyAccessorHelper.getObject(person, personName);
+    }
+
+    @Benchmark
+    public Person set()
+    {
+        PropertyAccessorHelper.set(person, personName, (Object) "name");
+        return person;
+    }
+}
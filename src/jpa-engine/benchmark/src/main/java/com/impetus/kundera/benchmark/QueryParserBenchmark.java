@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.query.KunderaQuery;
+import com.impetus.kundera.query.KunderaQueryParser;
+
+/**
+ * Benchmarks parsing of JPQL queries, bypassing parsed query cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryParserBenchmark
+{
+    @Param({ "Select p from Person p",
+            "Select p from Person p where p.personName = :name and p.age > :age",
+            "Select p.personName from Person p where p.age between 20 and 40 or p.salary >= 1000.0 order by p.personName" })
+    private String jpaQuery;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Setup
+    public void setUp(EngineState engine)
+    {
+        kunderaMetadata = engine.kunderaMetadata;
+    }
+
+    @Benchmark
+    public KunderaQuery parse()
+    {
+        KunderaQuery kunderaQuery = new KunderaQuery(jpaQuery, kunderaMetadata);
+        new KunderaQueryParser(kunderaQuery).parse();
+        return kunderaQuery;
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Flat entity used by benchmarks of entity manager operations and queries.
+ */
+@Entity
+@Table(name = "PERSON", schema = "KunderaBenchmark@benchmark")
+public class Person
+{
+    @Id
+    @Column(name = "PERSON_ID")
+    private String personId;
+
+    @Column(name = "PERSON_NAME")
+    private String personName;
+
+    @Column(name = "AGE")
+    private Integer age;
+
+    @Column(name = "SALARY")
+    private Double salary;
+
+    public String getPersonId()
+    {
+        return personId;
+    }
+
+    public void setPersonId(String personId)
+    {
+        this.personId = personId;
+    }
+
+    public String getPersonName()
+    {
+        return personName;
+    }
+
+    public void setPersonName(String personName)
+    {
+        this.personName = personName;
+    }
+
+    public Integer getAge()
+    {
+        return age;
+    }
+
+    public void setAge(Integer age)
+    {
+        this.age = age;
+    }
+
+    public Double getSalary()
+    {
+        return salary;
+    }
+
+    public void setSalary(Double salary)
+    {
+        this.salary = salary;
+    }
+}
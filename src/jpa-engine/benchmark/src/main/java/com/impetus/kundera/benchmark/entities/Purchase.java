@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmark.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Entity associated to {@link Customer}.
+ */
+@Entity
+@Table(name = "PURCHASE", schema = "KunderaBenchmark@benchmark")
+public class Purchase
+{
+    @Id
+    @Column(name = "PURCHASE_ID")
+    private String purchaseId;
+
+    @Column(name = "ITEM")
+    private String item;
+
+    @Column(name = "AMOUNT")
+    private Double amount;
+
+    public String getPurchaseId()
+    {
+        return purchaseId;
+    }
+
+    public void setPurchaseId(String purchaseId)
+    {
+        this.purchaseId = purchaseId;
+    }
+
+    public String getItem()
+    {
+        return item;
+    }
+
+    public void setItem(String item)
+    {
+        this.item = item;
+    }
+
+    public Double getAmount()
+    {
+        return amount;
+    }
+
+    public void setAmount(Double amount)
+    {
+        this.amount = amount;
+    }
+}
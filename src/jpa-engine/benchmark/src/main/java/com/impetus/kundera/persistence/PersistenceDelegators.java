@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Gives benchmarks access to persistence delegator of an entity manager.
+ */
+public final class PersistenceDelegators
+{
+    private PersistenceDelegators()
+    {
+    }
+
+    /**
+     * Returns persistence delegator of given entity manager.
+     * 
+     * @param em
+     *            kundera entity manager.
+     * @return the persistence delegator
+     */
+    public static PersistenceDelegator of(EntityManager em)
+    {
+        return ((EntityManagerImpl) em).getPersistenceDelegator();
+    }
+}
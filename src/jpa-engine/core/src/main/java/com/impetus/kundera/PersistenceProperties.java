@@ -70,6 +70,15 @@ public interface PersistenceProperties
      */
     public static final String KUNDERA_INDEX_HOME_DIR = "index.home.dir";
 
+    /** Lucene index directory, "ram" (default, persisted to index.home.dir) or "mmap". */
+    public static final String KUNDERA_INDEX_DIRECTORY_TYPE = "kundera.index.directory.type";
+
+    /** Milliseconds between group commits of pending Lucene index changes. */
+    public static final String KUNDERA_INDEX_COMMIT_INTERVAL = "kundera.index.commit.interval";
+
+    /** Number of pending Lucene index changes which triggers a group commit. */
+    public static final String KUNDERA_INDEX_COMMIT_DOCS = "kundera.index.commit.docs";
+
     /** Option to create schema. */
     public static final String KUNDERA_DDL_AUTO_PREPARE = "kundera.ddl.auto.prepare";
 
@@ -92,4 +101,34 @@ public interface PersistenceProperties
     public static final String KUNDERA_TRANSACTION_RESOURCE = "kundera.transaction.resource.class";
 
     public static final String KUNDERA_INDEXER_CLASS = "kundera.indexer.class";
+
+    /** Maximum number of keys sent to client in one multi-key find. */
+    public static final String KUNDERA_FIND_BATCH_SIZE = "kundera.find.batch.size";
+
+    /** Number of pending lazy proxies of an entity class initialized in one multi-key find. */
+    public static final String KUNDERA_LAZY_BATCH_SIZE = "kundera.lazy.batch.size";
+
+    /** Option to access entity fields via generated (instead of reflective) accessors. */
+    public static final String KUNDERA_GENERATED_ACCESSOR = "kundera.property.accessor.generated";
+
+    /** Option to return managed entities (instead of copies) from find. */
+    public static final String KUNDERA_FIND_NO_COPY = "kundera.find.nocopy";
+
+    /** Number of threads running async operations of clients without native async support. */
+    public static final String KUNDERA_ASYNC_POOL_SIZE = "kundera.async.pool.size";
+
+    /** Query hint to cache query results, set to true on query or named query. */
+    public static final String KUNDERA_QUERY_CACHE = "kundera.query.cache";
+
+    /** Seconds a cached query result is held for. */
+    public static final String KUNDERA_QUERY_CACHE_TTL = "kundera.query.cache.ttl";
+
+    /** Enables operation metrics, exposed over JMX by default. */
+    public static final String KUNDERA_METRICS_ENABLED = "kundera.metrics.enabled";
+
+    /** Class name of metrics collector, implementing MetricsCollector. */
+    public static final String KUNDERA_METRICS_COLLECTOR = "kundera.metrics.collector";
+
+    /** Maximum number of rows held by element collection cache of a persistence unit. */
+    public static final String KUNDERA_ELEMENT_COLLECTION_CACHE_SIZE = "kundera.element.collection.cache.size";
 }
@@ -16,21 +16,26 @@
 package com.impetus.kundera.cache;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.utils.DeepEquals;
 
 /**
- * Cache for holding element collection column names and corresponding objects
- * This is a singleton class TODO: Improve singleton implementation code, think
- * performance overhead due to synchronization TODO: Think of a better way to
- * handle element collection object handling. better remove this cache
- * altogether
+ * Cache for holding element collection column names and corresponding
+ * objects, keyed by row key. One instance is held per persistence unit of an
+ * entity manager factory (see
+ * {@link com.impetus.kundera.metadata.model.MetamodelImpl#getElementCollectionCacheManager()}).
+ * Cache is safe for concurrent use and bounded by number of rows, least
+ * recently used rows are evicted first. An evicted row is treated as never
+ * read, i.e. fresh element collection object names are generated for it.
  * 
  * @author amresh.singh
  */
@@ -39,23 +44,47 @@ public class ElementCollectionCacheManager
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(ElementCollectionCacheManager.class);
 
-    /* Single instance */
+    /** Default maximum number of rows to hold. */
+    public static final long DEFAULT_MAX_SIZE = 10000;
+
     /** The instance. */
     private static ElementCollectionCacheManager instance;
 
     /**
-     * Instantiates a new element collection cache manager.
+     * Mapping between Row Key and (Map of element collection objects and
+     * element collection object name).
+     */
+    private final Cache<Object, Map<Object, String>> elementCollectionCache;
+
+    /**
+     * Instantiates a new element collection cache manager holding up to
+     * {@value #DEFAULT_MAX_SIZE} rows.
      */
-    private ElementCollectionCacheManager()
+    public ElementCollectionCacheManager()
     {
+        this(DEFAULT_MAX_SIZE);
+    }
 
+    /**
+     * Instantiates a new element collection cache manager.
+     * 
+     * @param maxSize
+     *            maximum number of rows to hold.
+     */
+    public ElementCollectionCacheManager(long maxSize)
+    {
+        this.elementCollectionCache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
     }
 
     /**
-     * Gets the single instance of ElementCollectionCacheManager.
+     * Gets the JVM wide instance of ElementCollectionCacheManager.
      * 
      * @return single instance of ElementCollectionCacheManager
+     * @deprecated shared across entity manager factories, use
+     *             {@link com.impetus.kundera.metadata.model.MetamodelImpl#getElementCollectionCacheManager()}
+     *             instead.
      */
+    @Deprecated
     public static synchronized ElementCollectionCacheManager getInstance()
     {
         if (instance == null)
@@ -65,12 +94,6 @@ public class ElementCollectionCacheManager
         return instance;
     }
 
-    /**
-     * Mapping between Row Key and (Map of element collection objects and
-     * element collection object name).
-     */
-    private static Map<Object, Map<Object, String>> elementCollectionCache;
-
     /**
      * Gets the element collection cache.
      * 
@@ -78,11 +101,7 @@ public class ElementCollectionCacheManager
      */
     public Map<Object, Map<Object, String>> getElementCollectionCache()
     {
-        if (this.elementCollectionCache == null)
-        {
-            this.elementCollectionCache = new HashMap<Object, Map<Object, String>>();
-        }
-        return this.elementCollectionCache;
+        return elementCollectionCache.asMap();
     }
 
     /**
@@ -92,7 +111,7 @@ public class ElementCollectionCacheManager
      */
     public boolean isCacheEmpty()
     {
-        return elementCollectionCache == null || elementCollectionCache.isEmpty();
+        return elementCollectionCache.size() == 0;
     }
 
     /**
@@ -108,16 +127,23 @@ public class ElementCollectionCacheManager
     public void addElementCollectionCacheMapping(Object rowKey, Object elementCollectionObject,
             String elementCollObjectName)
     {
-        Map embeddedObjectMap = new HashMap<Object, String>();
-        if (getElementCollectionCache().get(rowKey) == null)
+        if (rowKey == null || elementCollectionObject == null || elementCollObjectName == null)
         {
-            embeddedObjectMap.put(elementCollectionObject, elementCollObjectName);
-            getElementCollectionCache().put(rowKey, embeddedObjectMap);
+            return;
         }
-        else
+
+        ConcurrentMap<Object, Map<Object, String>> rows = elementCollectionCache.asMap();
+        Map<Object, String> embeddedObjectMap = rows.get(rowKey);
+        if (embeddedObjectMap == null)
         {
-            getElementCollectionCache().get(rowKey).put(elementCollectionObject, elementCollObjectName);
+            embeddedObjectMap = new ConcurrentHashMap<Object, String>();
+            Map<Object, String> existing = rows.putIfAbsent(rowKey, embeddedObjectMap);
+            if (existing != null)
+            {
+                embeddedObjectMap = existing;
+            }
         }
+        embeddedObjectMap.put(elementCollectionObject, elementCollObjectName);
     }
 
     /**
@@ -131,22 +157,24 @@ public class ElementCollectionCacheManager
      */
     public String getElementCollectionObjectName(Object rowKey, Object elementCollectionObject)
     {
-        if (getElementCollectionCache().isEmpty() || getElementCollectionCache().get(rowKey) == null)
+        Map<Object, String> elementCollectionObjectMap = rowKey != null ? elementCollectionCache
+                .getIfPresent(rowKey) : null;
+        if (elementCollectionObjectMap == null)
         {
             log.debug("No element collection object map found in cache for Row key " + rowKey);
             return null;
         }
         else
         {
-            Map<Object, String> elementCollectionObjectMap = getElementCollectionCache().get(rowKey);
-            String elementCollectionObjectName = elementCollectionObjectMap.get(elementCollectionObject);
+            String elementCollectionObjectName = elementCollectionObject != null ? elementCollectionObjectMap
+                    .get(elementCollectionObject) : null;
             if (elementCollectionObjectName == null)
             {
-                for (Object obj : elementCollectionObjectMap.keySet())
+                for (Map.Entry<Object, String> entry : elementCollectionObjectMap.entrySet())
                 {
-                    if (DeepEquals.deepEquals(elementCollectionObject, obj))
+                    if (DeepEquals.deepEquals(elementCollectionObject, entry.getKey()))
                     {
-                        elementCollectionObjectName = elementCollectionObjectMap.get(obj);
+                        elementCollectionObjectName = entry.getValue();
                         break;
                     }
                 }
@@ -173,14 +201,15 @@ public class ElementCollectionCacheManager
      */
     public int getLastElementCollectionObjectCount(Object rowKey)
     {
-        if (getElementCollectionCache().get(rowKey) == null)
+        Map<Object, String> elementCollectionMap = rowKey != null ? elementCollectionCache.getIfPresent(rowKey)
+                : null;
+        if (elementCollectionMap == null)
         {
             log.debug("No element collection object map found in cache for Row key " + rowKey);
             return -1;
         }
         else
         {
-            Map<Object, String> elementCollectionMap = getElementCollectionCache().get(rowKey);
             Collection<String> elementCollectionObjectNames = elementCollectionMap.values();
             int max = 0;
 
@@ -206,20 +235,52 @@ public class ElementCollectionCacheManager
         }
     }
 
+    /**
+     * Returns number of rows held.
+     * 
+     * @return cache size.
+     */
+    public long size()
+    {
+        return elementCollectionCache.size();
+    }
+
+    /**
+     * Returns number of row lookups which found a cached row.
+     * 
+     * @return hit count.
+     */
+    public long getHitCount()
+    {
+        return elementCollectionCache.stats().hitCount();
+    }
+
+    /**
+     * Returns number of row lookups which found no cached row.
+     * 
+     * @return miss count.
+     */
+    public long getMissCount()
+    {
+        return elementCollectionCache.stats().missCount();
+    }
+
+    /**
+     * Returns number of rows evicted to keep cache within its bound.
+     * 
+     * @return eviction count.
+     */
+    public long getEvictionCount()
+    {
+        return elementCollectionCache.stats().evictionCount();
+    }
+
     /**
      * Clear cache.
      */
     public void clearCache()
     {
-        this.elementCollectionCache = null;
-        try
-        {
-            finalize();
-        }
-        catch (Throwable e)
-        {
-            log.warn("Unable to reclaim memory while clearing ElementCollection cache. Nothing to worry, will be taken care of by GC");
-        }
+        elementCollectionCache.invalidateAll();
     }
 
 }
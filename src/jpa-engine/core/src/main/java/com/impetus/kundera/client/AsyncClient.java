@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.client;
+
+import java.util.concurrent.Future;
+
+import com.impetus.kundera.graph.Node;
+
+/**
+ * Asynchronous counterpart of CRUD operations of {@link Client}, for clients
+ * whose driver supports non-blocking calls. Clients not implementing it are
+ * run on a bounded executor, see {@link ExecutorAsyncClient}.
+ */
+public interface AsyncClient
+{
+
+    /**
+     * Finds an entity by its key.
+     * 
+     * @param entityClass
+     *            the entity class
+     * @param key
+     *            the key
+     * @return future of entity, holding null if not found.
+     */
+    <E> Future<E> findAsync(Class<E> entityClass, Object key);
+
+    /**
+     * Writes data of given node.
+     * 
+     * @param node
+     *            the node
+     * @return future completing once data is written.
+     */
+    Future<?> persistAsync(Node node);
+
+    /**
+     * Deletes an entity.
+     * 
+     * @param entity
+     *            the entity
+     * @param pKey
+     *            the key
+     * @return future completing once entity is deleted.
+     */
+    Future<?> deleteAsync(Object entity, Object pKey);
+}
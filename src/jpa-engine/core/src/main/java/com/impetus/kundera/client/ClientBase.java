@@ -19,6 +19,10 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
 
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.graph.Node;
@@ -31,6 +35,7 @@ import com.impetus.kundera.metadata.model.ClientMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.KunderaCoreUtils;
@@ -53,6 +58,12 @@ public abstract class ClientBase
 
     protected boolean isUpdate;
 
+    /**
+     * Names of fields changed by the update being persisted, null if whole
+     * entity is to be written. Only set during {@link #persist(Node)}.
+     */
+    protected Set<String> dirtyFields;
+
     protected ClientMetadata clientMetadata;
 
     protected final KunderaMetadata kunderaMetadata;
@@ -102,7 +113,15 @@ public abstract class ClientBase
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass());
         isUpdate = node.isUpdate();
         List<RelationHolder> relationHolders = getRelationHolders(node);
-        onPersist(metadata, entity, id, relationHolders);
+        dirtyFields = isUpdate && relationHolders.isEmpty() ? node.getDirtyFields() : null;
+        try
+        {
+            onPersist(metadata, entity, id, relationHolders);
+        }
+        finally
+        {
+            dirtyFields = null;
+        }
         id = PropertyAccessorHelper.getId(entity, metadata);
         node.setEntityId(id);
         indexNode(node, metadata);
@@ -234,6 +253,37 @@ public abstract class ClientBase
     protected abstract void onPersist(EntityMetadata entityMetadata, Object entity, Object id,
             List<RelationHolder> rlHolders);
 
+    /**
+     * Returns attributes changed by the update being persisted, so that only
+     * those are written. To be used from within
+     * {@link #onPersist(EntityMetadata, Object, Object, List)}.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @return changed attributes or null, if whole entity is to be written
+     *         (i.e. not an update or non basic attributes changed).
+     */
+    protected List<AbstractAttribute> getDirtyAttributes(EntityMetadata entityMetadata)
+    {
+        if (dirtyFields == null)
+        {
+            return null;
+        }
+        EntityType entityType = KunderaMetadataManager.getMetamodel(kunderaMetadata,
+                entityMetadata.getPersistenceUnit()).entity(entityMetadata.getEntityClazz());
+        List<AbstractAttribute> attributes = new ArrayList<AbstractAttribute>(dirtyFields.size());
+        for (String fieldName : dirtyFields)
+        {
+            AbstractAttribute attribute = (AbstractAttribute) entityType.getAttribute(fieldName);
+            if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC)
+            {
+                return null;
+            }
+            attributes.add(attribute);
+        }
+        return attributes;
+    }
+
     public ClientMetadata getClientMetadata()
     {
         return this.clientMetadata;
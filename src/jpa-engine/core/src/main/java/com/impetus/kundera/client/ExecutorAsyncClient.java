@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.client;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.loader.ClientFactory;
+import com.impetus.kundera.loader.GenericClientFactory;
+
+/**
+ * {@link AsyncClient} running blocking calls of a {@link Client} on an
+ * executor. Clients which are not thread safe (e.g. holding a single
+ * connection) are never shared with the entity manager: each task runs on
+ * its own client instance, closed once done. A thread safe client is shared,
+ * but tasks on it are serialized, as clients keep per call state (e.g.
+ * {@link ClientBase#isUpdate}).
+ */
+public class ExecutorAsyncClient implements AsyncClient
+{
+    /** The client factory. */
+    private final ClientFactory clientFactory;
+
+    /** The executor. */
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a new executor async client.
+     * 
+     * @param clientFactory
+     *            factory of client
+     * @param executor
+     *            the executor
+     */
+    public ExecutorAsyncClient(ClientFactory clientFactory, ExecutorService executor)
+    {
+        this.clientFactory = clientFactory;
+        this.executor = executor;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.client.AsyncClient#findAsync(java.lang.Class,
+     * java.lang.Object)
+     */
+    @Override
+    public <E> Future<E> findAsync(final Class<E> entityClass, final Object key)
+    {
+        return executor.submit(new ClientTask<E>()
+        {
+            @Override
+            E call(Client client)
+            {
+                Object result = client.find(entityClass, key);
+                return entityClass.cast(result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity()
+                        : result);
+            }
+        });
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.client.AsyncClient#persistAsync(com.impetus.kundera
+     * .graph.Node)
+     */
+    @Override
+    public Future<?> persistAsync(final Node node)
+    {
+        return executor.submit(new ClientTask<Void>()
+        {
+            @Override
+            Void call(Client client)
+            {
+                client.persist(node);
+                return null;
+            }
+        });
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.client.AsyncClient#deleteAsync(java.lang.Object,
+     * java.lang.Object)
+     */
+    @Override
+    public Future<?> deleteAsync(final Object entity, final Object pKey)
+    {
+        return executor.submit(new ClientTask<Void>()
+        {
+            @Override
+            Void call(Client client)
+            {
+                client.delete(entity, pKey);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Task run on a client of its own or, for thread safe clients, on the
+     * shared client while holding its lock.
+     */
+    private abstract class ClientTask<V> implements Callable<V>
+    {
+        abstract V call(Client client);
+
+        @Override
+        public V call() throws Exception
+        {
+            Client client = clientFactory.getClientInstance();
+            if (clientFactory instanceof GenericClientFactory && !((GenericClientFactory) clientFactory).isThreadSafe())
+            {
+                // fresh instance, not visible to any other thread.
+                try
+                {
+                    return call(client);
+                }
+                finally
+                {
+                    client.close();
+                }
+            }
+
+            synchronized (client)
+            {
+                return call(client);
+            }
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.cache.ElementCollectionCacheManager;
 import com.impetus.kundera.classreading.ClasspathReader;
 import com.impetus.kundera.classreading.Reader;
 import com.impetus.kundera.classreading.ResourceIterator;
@@ -210,6 +211,8 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
         if (metamodel == null)
         {
             metamodel = new MetamodelImpl();
+            ((MetamodelImpl) metamodel).setElementCollectionCacheManager(new ElementCollectionCacheManager(
+                    getElementCollectionCacheSize(persistenceUnit)));
         }
 
         Map<String, EntityMetadata> entityMetadataMap = ((MetamodelImpl) metamodel).getEntityMetadataMap();
@@ -501,7 +504,30 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
         }
         return clientFactoryName;
     }
- 
+
+    /**
+     * Gets the maximum number of rows held by element collection cache.
+     * 
+     * @param persistenceUnit
+     *            the persistence unit
+     * @return the element collection cache size
+     */
+    private long getElementCollectionCacheSize(String persistenceUnit)
+    {
+        Map<String, Object> externalProperties = KunderaCoreUtils.getExternalProperties(persistenceUnit,
+                externalPropertyMap, persistenceUnits);
+
+        Object size = externalProperties != null ? externalProperties
+                .get(PersistenceProperties.KUNDERA_ELEMENT_COLLECTION_CACHE_SIZE) : null;
+
+        if (size == null)
+        {
+            size = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnit).getProperty(
+                    PersistenceProperties.KUNDERA_ELEMENT_COLLECTION_CACHE_SIZE);
+        }
+        return size != null ? Long.parseLong(size.toString().trim()) : ElementCollectionCacheManager.DEFAULT_MAX_SIZE;
+    }
+
 /*
     private void processGeneratedValueAnnotation(Class<?> clazz, String persistenceUnit, EntityMetadata m,
             Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap)
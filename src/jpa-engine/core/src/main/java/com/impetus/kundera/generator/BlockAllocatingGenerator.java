@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.generator;
+
+/**
+ * Marker for {@link SequenceGenerator} and {@link TableGenerator}
+ * implementations whose every <code>generate</code> call reserves a block of
+ * <code>allocationSize</code> consecutive values in the datastore and returns
+ * the first one. Ids for such generators are handed out from memory by
+ * {@link IdBlockAllocator}, so that the datastore is hit once per block
+ * instead of once per id.
+ */
+public interface BlockAllocatingGenerator extends Generator
+{
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.generator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids from blocks reserved by {@link BlockAllocatingGenerator}s.
+ * One block is held per generator descriptor (i.e. per
+ * {@link com.impetus.kundera.metadata.model.SequenceGeneratorDiscriptor} or
+ * {@link com.impetus.kundera.metadata.model.TableGeneratorDiscriptor}) and ids
+ * are taken from it without locking. Once a block is exhausted, caller
+ * reserves a new one in datastore and registers it using
+ * {@link #newBlock(Object, long, int)}.
+ * <p>
+ * Concurrent callers finding a block exhausted may each reserve a block, in
+ * which case remaining ids of replaced block are skipped. Ids are never handed
+ * out twice.
+ */
+public class IdBlockAllocator
+{
+    /** Current block per generator descriptor. */
+    private final Map<Object, IdBlock> blocks = new ConcurrentHashMap<Object, IdBlock>();
+
+    /**
+     * Returns next id from current block of given descriptor.
+     * 
+     * @param discriptor
+     *            sequence or table generator descriptor.
+     * @return next id or null, if no block is reserved or block is exhausted.
+     */
+    public Long nextId(Object discriptor)
+    {
+        IdBlock block = blocks.get(discriptor);
+        return block != null ? block.next() : null;
+    }
+
+    /**
+     * Registers newly reserved block for given descriptor and returns its
+     * first id.
+     * 
+     * @param discriptor
+     *            sequence or table generator descriptor.
+     * @param start
+     *            first value of block, as returned by generator.
+     * @param allocationSize
+     *            number of values in block.
+     * @return first id of block.
+     */
+    public Long newBlock(Object discriptor, long start, int allocationSize)
+    {
+        IdBlock block = new IdBlock(start, allocationSize);
+        Long id = block.next();
+        blocks.put(discriptor, block);
+        return id;
+    }
+
+    /**
+     * Discards all reserved blocks.
+     */
+    public void clear()
+    {
+        blocks.clear();
+    }
+
+    /**
+     * Range of reserved ids.
+     */
+    private static final class IdBlock
+    {
+        private final AtomicLong next;
+
+        private final long end;
+
+        private IdBlock(long start, int allocationSize)
+        {
+            this.next = new AtomicLong(start);
+            this.end = start + allocationSize;
+        }
+
+        private Long next()
+        {
+            long id = next.getAndIncrement();
+            return id < end ? Long.valueOf(id) : null;
+        }
+    }
+}
@@ -351,7 +351,7 @@ public class GraphBuilder
             // Determine whether this node is dirty based on comparison between
             // Node data and entity data
             // If dirty, set the entity data into node and mark it as dirty
-            onDirtyCheck(entity, node);
+            onDirtyCheck(entity, node, pd);
             node.setData(entity);
 
             return this;
@@ -364,11 +364,14 @@ public class GraphBuilder
          *            entity
          * @param node
          *            node.
+         * @param pd
+         *            persistence delegator.
          */
-        private void onDirtyCheck(Object entity, Node node)
+        private void onDirtyCheck(Object entity, Node node, PersistenceDelegator pd)
         {
             if (!node.isInState(TransientState.class))
             {
+                ObjectGraphUtils.onDirtyFields(node, entity, pd.getKunderaMetadata());
                 if (!DeepEquals.deepEquals(node.getData(), entity))
                 {
                     node.setDirty(true);
@@ -16,7 +16,9 @@
 package com.impetus.kundera.graph;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.PostLoad;
 import javax.persistence.PostPersist;
@@ -38,8 +40,12 @@ import com.impetus.kundera.lifecycle.states.TransientState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
+import com.impetus.kundera.metrics.Operation;
 import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 import com.impetus.kundera.persistence.context.PersistenceCache;
+import com.impetus.kundera.persistence.event.CallbackMethod;
 import com.impetus.kundera.persistence.event.EntityEventDispatcher;
 import com.impetus.kundera.utils.ObjectUtils;
 
@@ -81,6 +87,10 @@ public class Node implements NodeStateContext
     // Whether this node for update.
     private boolean isUpdate;
 
+    // Names of fields changed since node was last loaded or flushed, null if
+    // not known (i.e. whole entity is to be written).
+    private Set<String> dirtyFields;
+
     /** Client for this node */
     private Client client;
 
@@ -94,6 +104,9 @@ public class Node implements NodeStateContext
 
     private Node originalNode;
 
+    // Snapshot of managed data handed out without copying, for dirty checking.
+    private EntitySnapshot snapshot;
+
     private boolean isProcessed;
 
     private EntityEventDispatcher eventDispatcher = new EntityEventDispatcher();
@@ -504,6 +517,27 @@ public class Node implements NodeStateContext
         onPostEvent(metadata, EntityEvent.FIND);
     }
 
+    /**
+     * Marks this node as found with data already fetched from database (e.g.
+     * as part of a multi-key lookup), instead of reading it through client.
+     *
+     * @param nodeData
+     *            fetched entity object.
+     */
+    public void find(Object nodeData)
+    {
+        setData(nodeData);
+        getPersistenceCache().getMainCache().processNodeMapping(this);
+
+        // This node is fresh and hence NOT dirty
+        setDirty(false);
+        // One time set as required for rollback.
+        setOriginalNode(clone());
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(), this.getDataClass());
+        onPostEvent(metadata, EntityEvent.FIND);
+    }
+
     @Override
     public void getReference()
     {
@@ -527,8 +561,20 @@ public class Node implements NodeStateContext
     {
         if (isDirty())
         {
+            Object preEventData = copyBeforePreUpdate();
             handlePreEvent();
+            onPreUpdateChanges(preEventData);
+            Operation operation = isInState(RemovedState.class) ? Operation.DELETE : Operation.PERSIST;
+            long start = System.nanoTime();
             getCurrentNodeState().handleFlush(this);
+            // batched writes are only queued here, they are timed on
+            // executeBatch.
+            if (pd != null && client != null && !isBatched())
+            {
+                pd.getKunderaMetadata().getApplicationMetadata().getMetricsCollector()
+                        .onClientOperation(client.getPersistenceUnit(), dataClass, operation,
+                                System.nanoTime() - start);
+            }
             handlePostEvent();
             this.isProcessed = true;
         }
@@ -557,6 +603,17 @@ public class Node implements NodeStateContext
         }
     }
 
+    /**
+     * Returns true if writes of this node are queued for batch execution by
+     * its client, rather than written on flush.
+     * 
+     * @return true if client is a {@link Batcher} with batch size set.
+     */
+    private boolean isBatched()
+    {
+        return client instanceof Batcher && ((Batcher) client).getBatchSize() > 0;
+    }
+
     // Overridden methods from
 
     @Override
@@ -611,6 +668,23 @@ public class Node implements NodeStateContext
         this.originalNode = originalNode;
     }
 
+    /**
+     * @return the snapshot
+     */
+    public EntitySnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * @param snapshot
+     *            the snapshot to set
+     */
+    public void setSnapshot(EntitySnapshot snapshot)
+    {
+        this.snapshot = snapshot;
+    }
+
     /**
      * @return the isProcessed
      */
@@ -636,6 +710,24 @@ public class Node implements NodeStateContext
         this.isUpdate = isUpdate;
     }
 
+    /**
+     * @return names of fields changed since node was last loaded or flushed,
+     *         null if not known.
+     */
+    public Set<String> getDirtyFields()
+    {
+        return dirtyFields;
+    }
+
+    /**
+     * @param dirtyFields
+     *            the dirtyFields to set
+     */
+    public void setDirtyFields(Set<String> dirtyFields)
+    {
+        this.dirtyFields = dirtyFields;
+    }
+
     @Override
     public Node clone()
     {
@@ -678,6 +770,50 @@ public class Node implements NodeStateContext
         }
     }
 
+    /**
+     * Returns copy of node data, if dirty fields of this update may be changed
+     * by pre update callbacks, else null.
+     */
+    private Object copyBeforePreUpdate()
+    {
+        if (isUpdate && dirtyFields != null)
+        {
+            EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(),
+                    this.getDataClass());
+            List<? extends CallbackMethod> callbacks = metadata != null ? metadata
+                    .getCallbackMethods(PreUpdate.class) : null;
+            if (callbacks != null && !callbacks.isEmpty())
+            {
+                return ObjectUtils.deepCopy(this.data, pd.getKunderaMetadata());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds fields changed by pre update callbacks to dirty fields, which were
+     * computed before callbacks ran.
+     * 
+     * @param preEventData
+     *            copy of node data taken before pre update callbacks.
+     */
+    private void onPreUpdateChanges(Object preEventData)
+    {
+        if (preEventData != null && dirtyFields != null)
+        {
+            Set<String> changedFields = ObjectGraphUtils.getDirtyFields(preEventData, this.data,
+                    pd.getKunderaMetadata());
+            if (changedFields == null)
+            {
+                dirtyFields = null;
+            }
+            else
+            {
+                dirtyFields.addAll(changedFields);
+            }
+        }
+    }
+
     public void handlePostEvent()
     {
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(), this.getDataClass());
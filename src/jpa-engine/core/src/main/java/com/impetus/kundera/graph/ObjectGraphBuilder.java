@@ -156,6 +156,7 @@ public class ObjectGraphBuilder
             // Determine whether this node is dirty based on comparison between
             // Node data and entity data
             // If dirty, set the entity data into node and mark it as dirty
+            ObjectGraphUtils.onDirtyFields(node, entity, pd.getKunderaMetadata());
             if (!DeepEquals.deepEquals(node.getData(), entity))
             {
                 node.setDirty(true);
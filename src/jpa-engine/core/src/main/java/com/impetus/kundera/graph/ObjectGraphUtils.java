@@ -16,12 +16,23 @@
 package com.impetus.kundera.graph;
 
 import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Set;
 
 import javax.persistence.GeneratedValue;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
 
 import org.apache.commons.lang.StringUtils;
 
 import com.impetus.kundera.Constants;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.utils.DeepEquals;
 import com.impetus.kundera.utils.NumericUtils;
 
 /**
@@ -56,6 +67,100 @@ public class ObjectGraphUtils
         return nodeId.substring(nodeId.indexOf(Constants.NODE_ID_SEPARATOR) + 1, nodeId.length());
     }
 
+    /**
+     * Records fields of node changed by given entity, before entity data is
+     * set into node. Changes are compared against node snapshot, if any,
+     * else against current node data. Changes pending flush are retained.
+     * Dirty fields are not tracked (i.e. set to null) for entities with
+     * relations.
+     * 
+     * @param node
+     *            node in persistence cache.
+     * @param entity
+     *            entity being merged.
+     * @param kunderaMetadata
+     *            kundera metadata.
+     */
+    public static void onDirtyFields(Node node, Object entity, final KunderaMetadata kunderaMetadata)
+    {
+        Set<String> dirtyFields = null;
+        EntitySnapshot snapshot = node.getSnapshot();
+        if (snapshot != null && node.getData() == entity)
+        {
+            dirtyFields = snapshot.getModifiedFields(entity);
+        }
+        else
+        {
+            dirtyFields = getDirtyFields(node.getData(), entity, kunderaMetadata);
+        }
+
+        if (node.isDirty() && dirtyFields != null)
+        {
+            // Node has pending changes, union with those.
+            if (node.getDirtyFields() == null)
+            {
+                dirtyFields = null;
+            }
+            else
+            {
+                dirtyFields.addAll(node.getDirtyFields());
+            }
+        }
+        node.setDirtyFields(dirtyFields);
+    }
+
+    /**
+     * Returns names of non id fields whose values differ between original and
+     * entity.
+     * 
+     * @param original
+     *            original entity.
+     * @param entity
+     *            modified entity.
+     * @param kunderaMetadata
+     *            kundera metadata.
+     * @return names of changed fields or null, if not computable (e.g. entity
+     *         has relations).
+     */
+    static Set<String> getDirtyFields(Object original, Object entity, final KunderaMetadata kunderaMetadata)
+    {
+        if (original == null || entity == null || !original.getClass().equals(entity.getClass()))
+        {
+            return null;
+        }
+
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
+        if (entityMetadata == null
+                || (entityMetadata.getRelationNames() != null && !entityMetadata.getRelationNames().isEmpty())
+                || entityMetadata.isRelationViaJoinTable())
+        {
+            return null;
+        }
+
+        MetamodelImpl metaModel = KunderaMetadataManager.getMetamodel(kunderaMetadata,
+                entityMetadata.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(entity.getClass());
+        String idFieldName = ((Field) entityMetadata.getIdAttribute().getJavaMember()).getName();
+
+        Set<String> dirtyFields = new HashSet<String>();
+        for (Object object : entityType.getAttributes())
+        {
+            Attribute attribute = (Attribute) object;
+            if (attribute.isAssociation())
+            {
+                return null;
+            }
+            Field field = (Field) attribute.getJavaMember();
+            if (!field.getName().equals(idFieldName)
+                    && !DeepEquals.deepEquals(PropertyAccessorHelper.getObject(original, field),
+                            PropertyAccessorHelper.getObject(entity, field)))
+            {
+                dirtyFields.add(field.getName());
+            }
+        }
+        return dirtyFields;
+    }
+
     /**
      * Validates and set id, in case not set and intended for auto generation.
      * 
@@ -200,6 +200,7 @@ public class ManagedState extends NodeState
 
         // Since node is flushed, mark it as NOT dirty
         nodeStateContext.setDirty(false);
+        ((Node) nodeStateContext).setDirtyFields(null);
 
     }
 
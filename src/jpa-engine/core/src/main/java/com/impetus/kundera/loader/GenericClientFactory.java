@@ -157,9 +157,10 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
             try
             {
                 Method method = Class.forName(IndexingConstants.LUCENE_INDEXER).getDeclaredMethod("getInstance",
-                        String.class);
+                        String.class, Map.class);
 
-                Indexer indexer = (Indexer) method.invoke(null, luceneDirectoryPath);
+                Indexer indexer = (Indexer) method.invoke(null, luceneDirectoryPath,
+                        getLuceneIndexerProperties(puProperties));
                 indexManager = new IndexManager(indexer, kunderaMetadata);
             }
             catch (Exception e)
@@ -255,6 +256,18 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
      */
     protected abstract Client instantiateClient(String persistenceUnit);
 
+    /**
+     * Records time spent waiting for a pooled connection.
+     * 
+     * @param start
+     *            {@link System#nanoTime()} before borrowing connection.
+     */
+    protected void onConnectionWait(long start)
+    {
+        kunderaMetadata.getApplicationMetadata().getMetricsCollector()
+                .onConnectionWait(persistenceUnit, System.nanoTime() - start);
+    }
+
     /**
      * Checks if is client thread safe.
      * 
@@ -290,6 +303,34 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
         this.connectionPoolOrConnection = connectionPoolOrConnection;
     }
 
+    /**
+     * Gets the lucene indexer properties, external properties take precedence
+     * over persistence unit properties.
+     * 
+     * @param puProperties
+     *            the pu properties
+     * @return the lucene indexer properties
+     */
+    private Map<String, Object> getLuceneIndexerProperties(Map<String, Object> puProperties)
+    {
+        Map<String, Object> indexerProperties = new HashMap<String, Object>();
+        for (String property : new String[] { PersistenceProperties.KUNDERA_INDEX_DIRECTORY_TYPE,
+                PersistenceProperties.KUNDERA_INDEX_COMMIT_INTERVAL, PersistenceProperties.KUNDERA_INDEX_COMMIT_DOCS })
+        {
+            Object value = puProperties != null ? puProperties.get(property) : null;
+            if (value == null)
+            {
+                value = kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(persistenceUnit)
+                        .getProperty(property);
+            }
+            if (value != null)
+            {
+                indexerProperties.put(property, value);
+            }
+        }
+        return indexerProperties;
+    }
+
     /**
      * Sets the persistence unit.
      * 
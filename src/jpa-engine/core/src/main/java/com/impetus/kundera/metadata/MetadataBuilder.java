@@ -255,7 +255,7 @@ public class MetadataBuilder
         if (clazz.isAnnotationPresent(NamedQuery.class))
         {
             NamedQuery ann = (NamedQuery) clazz.getAnnotation(NamedQuery.class);
-            appMetadata.addQueryToCollection(ann.name(), ann.query(), false, clazz);
+            appMetadata.addQueryToCollection(ann.name(), ann.query(), false, clazz, ann.hints());
         }
 
         if (clazz.isAnnotationPresent(NamedQueries.class))
@@ -265,7 +265,7 @@ public class MetadataBuilder
             NamedQuery[] anns = ann.value();
             for (NamedQuery a : anns)
             {
-                appMetadata.addQueryToCollection(a.name(), a.query(), false, clazz);
+                appMetadata.addQueryToCollection(a.name(), a.query(), false, clazz, a.hints());
             }
         }
 
@@ -16,6 +16,7 @@
 package com.impetus.kundera.metadata.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,13 +24,19 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.persistence.QueryHint;
 import javax.persistence.metamodel.Metamodel;
 import javax.persistence.spi.PersistenceUnitTransactionType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.kundera.generator.IdBlockAllocator;
 import com.impetus.kundera.metadata.processor.MetaModelBuilder;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.NoOpMetricsCollector;
+import com.impetus.kundera.query.KunderaQueryCache;
+import com.impetus.kundera.query.QueryResultCache;
 
 /**
  * Application metadata refers to metdata specific to application(e.g. metamodel
@@ -62,6 +69,18 @@ public class ApplicationMetadata
 
     private Map<String, QueryWrapper> namedNativeQueries;
 
+    /** Parsed JPQL queries, shared across entity managers. */
+    private final KunderaQueryCache queryCache = new KunderaQueryCache();
+
+    /** Results of queries marked cacheable. */
+    private QueryResultCache queryResultCache = new QueryResultCache();
+
+    /** Collector of operation metrics. */
+    private MetricsCollector metricsCollector = NoOpMetricsCollector.INSTANCE;
+
+    /** Id blocks reserved by sequence and table generators. */
+    private final IdBlockAllocator idBlockAllocator = new IdBlockAllocator();
+
     /**
      * Adds the entity metadata.
      * 
@@ -239,6 +258,26 @@ public class ApplicationMetadata
      * 
      */
     public void addQueryToCollection(String queryName, String query, boolean isNativeQuery, Class clazz)
+    {
+        addQueryToCollection(queryName, query, isNativeQuery, clazz, new QueryHint[0]);
+    }
+
+    /**
+     * Adds named query along with its query hints.
+     * 
+     * @param queryName
+     *            query name.
+     * @param query
+     *            named/native query.
+     * @param isNativeQuery
+     *            true, if it is a namednativequery.
+     * @param clazz
+     *            mapped entity class.
+     * @param hints
+     *            query hints.
+     */
+    public void addQueryToCollection(String queryName, String query, boolean isNativeQuery, Class clazz,
+            QueryHint[] hints)
     {
         if (namedNativeQueries == null)
         {
@@ -246,7 +285,12 @@ public class ApplicationMetadata
         }
         if (!namedNativeQueries.containsKey(queryName))
         {
-            namedNativeQueries.put(queryName, new QueryWrapper(queryName, query, isNativeQuery, clazz));
+            Map<String, Object> queryHints = new HashMap<String, Object>();
+            for (QueryHint hint : hints)
+            {
+                queryHints.put(hint.name(), hint.value());
+            }
+            namedNativeQueries.put(queryName, new QueryWrapper(queryName, query, isNativeQuery, clazz, queryHints));
         }
         // No null check made as it will never hold null value
         else if (queryName != null && !getQuery(queryName).equals(query))
@@ -290,6 +334,19 @@ public class ApplicationMetadata
         return wrapper != null ? wrapper.getMappedClazz() : null;
     }
 
+    /**
+     * Returns hints declared on named query.
+     * 
+     * @param name
+     *            query name.
+     * @return query hints, empty if none.
+     */
+    public Map<String, Object> getQueryHints(String name)
+    {
+        QueryWrapper wrapper = namedNativeQueries != null && name != null ? namedNativeQueries.get(name) : null;
+        return wrapper != null ? wrapper.getQueryHints() : Collections.<String, Object> emptyMap();
+    }
+
     /**
      * Handler error and log statements.
      * 
@@ -313,17 +370,21 @@ public class ApplicationMetadata
 
         private Class entityClazz;
 
+        private Map<String, Object> queryHints;
+
         /**
          * @param queryName
          * @param query
          * @param isNativeQuery
          */
-        public QueryWrapper(String queryName, String query, boolean isNativeQuery, Class clazz)
+        public QueryWrapper(String queryName, String query, boolean isNativeQuery, Class clazz,
+                Map<String, Object> queryHints)
         {
             this.queryName = queryName;
             this.query = query;
             this.isNativeQuery = isNativeQuery;
             this.entityClazz = clazz;
+            this.queryHints = queryHints;
         }
 
         /**
@@ -346,6 +407,70 @@ public class ApplicationMetadata
         {
             return entityClazz;
         }
+
+        Map<String, Object> getQueryHints()
+        {
+            return queryHints;
+        }
+    }
+
+    /**
+     * Returns cache of parsed JPQL queries.
+     * 
+     * @return the queryCache
+     */
+    public KunderaQueryCache getQueryCache()
+    {
+        return queryCache;
+    }
+
+    /**
+     * Returns cache of results of queries marked cacheable.
+     * 
+     * @return the queryResultCache
+     */
+    public QueryResultCache getQueryResultCache()
+    {
+        return queryResultCache;
+    }
+
+    /**
+     * @param queryResultCache
+     *            the queryResultCache to set
+     */
+    public void setQueryResultCache(QueryResultCache queryResultCache)
+    {
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * Returns collector of operation metrics.
+     * 
+     * @return the metricsCollector
+     */
+    public MetricsCollector getMetricsCollector()
+    {
+        return metricsCollector;
+    }
+
+    /**
+     * @param metricsCollector
+     *            the metricsCollector to set
+     */
+    public void setMetricsCollector(MetricsCollector metricsCollector)
+    {
+        this.metricsCollector = metricsCollector;
+    }
+
+    /**
+     * Returns allocator of ids reserved in blocks by sequence and table
+     * generators.
+     * 
+     * @return the idBlockAllocator
+     */
+    public IdBlockAllocator getIdBlockAllocator()
+    {
+        return idBlockAllocator;
     }
 
     /**
@@ -378,6 +503,11 @@ public class ApplicationMetadata
             ((MetamodelImpl) metamodel).setEntityNameToClassMap(null);
             ((MetamodelImpl) metamodel).addKeyValues(new HashMap<String, IdDiscriptor>());
         }
+        // Parsed queries may refer to unloaded metamodel.
+        queryCache.clear();
+        queryResultCache.clear();
+        idBlockAllocator.clear();
+
         MetaModelBuilder builder = getMetaModelBuilder(pu);
         if (builder != null)
         {
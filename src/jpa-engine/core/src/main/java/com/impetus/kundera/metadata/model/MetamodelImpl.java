@@ -31,6 +31,7 @@ import javax.persistence.metamodel.Metamodel;
 import javax.persistence.metamodel.StaticMetamodel;
 import javax.persistence.metamodel.Type.PersistenceType;
 
+import com.impetus.kundera.cache.ElementCollectionCacheManager;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 
 /**
@@ -65,6 +66,9 @@ public class MetamodelImpl implements Metamodel
     /** Entity name to List of Secondary tables */
     private Map<Class<?>, List<String>> classToTables;
 
+    /** Element collection object names of rows read so far. */
+    private ElementCollectionCacheManager elementCollectionCacheManager = new ElementCollectionCacheManager();
+
     /*
      * (non-Javadoc)
      * 
@@ -428,4 +432,23 @@ public class MetamodelImpl implements Metamodel
         }
         this.keyValues.putAll(keyDiscriptors);
     }
+
+    /**
+     * Returns cache of element collection object names, keyed by row key.
+     * 
+     * @return the elementCollectionCacheManager
+     */
+    public ElementCollectionCacheManager getElementCollectionCacheManager()
+    {
+        return elementCollectionCacheManager;
+    }
+
+    /**
+     * @param elementCollectionCacheManager
+     *            the elementCollectionCacheManager to set
+     */
+    public void setElementCollectionCacheManager(ElementCollectionCacheManager elementCollectionCacheManager)
+    {
+        this.elementCollectionCacheManager = elementCollectionCacheManager;
+    }
 }
@@ -263,7 +263,7 @@ public class TableProcessor extends AbstractEntityFieldProcessor
         if (clazz.isAnnotationPresent(NamedQuery.class))
         {
             NamedQuery ann = (NamedQuery) clazz.getAnnotation(NamedQuery.class);
-            appMetadata.addQueryToCollection(ann.name(), ann.query(), false, clazz);
+            appMetadata.addQueryToCollection(ann.name(), ann.query(), false, clazz, ann.hints());
         }
 
         if (clazz.isAnnotationPresent(NamedQueries.class))
@@ -273,7 +273,7 @@ public class TableProcessor extends AbstractEntityFieldProcessor
             NamedQuery[] anns = ann.value();
             for (NamedQuery a : anns)
             {
-                appMetadata.addQueryToCollection(a.name(), a.query(), false, clazz);
+                appMetadata.addQueryToCollection(a.name(), a.query(), false, clazz, a.hints());
             }
         }
 
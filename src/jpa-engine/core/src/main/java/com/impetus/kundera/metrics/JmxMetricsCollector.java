@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link MetricsCollector}, registering a {@link HistogramMXBean} or
+ * {@link CacheStatsMXBean} per metric on platform MBean server, under domain
+ * {@value #DOMAIN}. e.g. latency of finds of entity Person against datastore
+ * is registered as:
+ * 
+ * <pre>
+ * com.impetus.kundera:factory=1,type=ClientOperation,persistenceUnit=pu,entity=Person,operation=FIND
+ * </pre>
+ * 
+ * Latencies are in microseconds. MBeans are unregistered on close.
+ */
+public class JmxMetricsCollector implements MetricsCollector
+{
+    /** JMX domain of kundera metrics. */
+    public static final String DOMAIN = "com.impetus.kundera";
+
+    private static final Logger log = LoggerFactory.getLogger(JmxMetricsCollector.class);
+
+    /** Distinguishes entity manager factories of same persistence unit. */
+    private static final AtomicInteger factories = new AtomicInteger();
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    private final String factory = String.valueOf(factories.incrementAndGet());
+
+    private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<String, Object>();
+
+    @Override
+    public void onOperation(String persistenceUnit, Class<?> entityClass, Operation operation, long elapsedNanos)
+    {
+        recordLatency(operationName("Operation", persistenceUnit, entityClass, operation), elapsedNanos);
+    }
+
+    @Override
+    public void onClientOperation(String persistenceUnit, Class<?> entityClass, Operation operation,
+            long elapsedNanos)
+    {
+        recordLatency(operationName("ClientOperation", persistenceUnit, entityClass, operation), elapsedNanos);
+    }
+
+    @Override
+    public void onBatch(String persistenceUnit, int batchSize, long elapsedNanos)
+    {
+        String prefix = "type=Batch,persistenceUnit=" + quote(persistenceUnit) + ",name=";
+        getHistogram(prefix + "Size").record(batchSize);
+        recordLatency(prefix + "Latency", elapsedNanos);
+    }
+
+    @Override
+    public void onConnectionWait(String persistenceUnit, long elapsedNanos)
+    {
+        recordLatency("type=ConnectionWait,persistenceUnit=" + quote(persistenceUnit), elapsedNanos);
+    }
+
+    @Override
+    public void onCacheAccess(String cacheName, boolean hit)
+    {
+        String name = "type=Cache,name=" + quote(cacheName);
+        CacheStats stats = (CacheStats) metrics.get(name);
+        if (stats == null)
+        {
+            stats = (CacheStats) register(name, new CacheStats());
+        }
+        stats.record(hit);
+    }
+
+    @Override
+    public void close()
+    {
+        for (String name : metrics.keySet())
+        {
+            try
+            {
+                server.unregisterMBean(getObjectName(name));
+            }
+            catch (JMException e)
+            {
+                log.warn("Error while unregistering metric {}, Caused by: .", name, e);
+            }
+        }
+        metrics.clear();
+    }
+
+    private void recordLatency(String name, long elapsedNanos)
+    {
+        getHistogram(name).record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    private Histogram getHistogram(String name)
+    {
+        Histogram histogram = (Histogram) metrics.get(name);
+        return histogram != null ? histogram : (Histogram) register(name, new Histogram());
+    }
+
+    /**
+     * Registers metric, unless another thread did already.
+     */
+    private Object register(String name, Object metric)
+    {
+        Object existing = metrics.putIfAbsent(name, metric);
+        if (existing != null)
+        {
+            return existing;
+        }
+        try
+        {
+            server.registerMBean(metric, getObjectName(name));
+        }
+        catch (JMException e)
+        {
+            // metric is still recorded, just not exposed.
+            log.warn("Error while registering metric {}, Caused by: .", name, e);
+        }
+        return metric;
+    }
+
+    /**
+     * Returns object name of metric registered by this collector.
+     * 
+     * @param name
+     *            key properties of metric, besides factory.
+     * @return the object name
+     */
+    ObjectName getObjectName(String name) throws JMException
+    {
+        return new ObjectName(DOMAIN + ":factory=" + factory + "," + name);
+    }
+
+    private static String operationName(String type, String persistenceUnit, Class<?> entityClass,
+            Operation operation)
+    {
+        return "type=" + type + ",persistenceUnit=" + quote(persistenceUnit) + ",entity="
+                + (entityClass != null ? quote(entityClass.getSimpleName()) : "-") + ",operation=" + operation;
+    }
+
+    private static String quote(String value)
+    {
+        if (value == null)
+        {
+            return "-";
+        }
+        for (char c : value.toCharArray())
+        {
+            if (c == ',' || c == '=' || c == ':' || c == '"' || c == '*' || c == '?' || c == '\n')
+            {
+                return ObjectName.quote(value);
+            }
+        }
+        return value;
+    }
+}
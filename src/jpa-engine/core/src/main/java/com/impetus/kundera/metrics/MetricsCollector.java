@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * Collects latencies and counters of operations, one instance per entity
+ * manager factory. Implementations are plugged in via
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_METRICS_COLLECTOR}
+ * and <b>must</b> be threadsafe and have a no-argument constructor.
+ * 
+ * Operations are recorded twice: at engine level, i.e. as called by
+ * application, and at client level, i.e. the datastore call alone, so
+ * difference of both is kundera's own overhead.
+ */
+public interface MetricsCollector
+{
+    /** Persistence context of entity manager, backed by second level cache. */
+    String PERSISTENCE_CONTEXT = "persistence-context";
+
+    /** Second level cache. */
+    String SECOND_LEVEL_CACHE = "second-level";
+
+    /** Query result cache. */
+    String QUERY_RESULT_CACHE = "query-result";
+
+    /**
+     * Records an operation called by application.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class, null for scalar queries.
+     * @param operation
+     *            operation.
+     * @param elapsedNanos
+     *            elapsed time, in nanoseconds.
+     */
+    void onOperation(String persistenceUnit, Class<?> entityClass, Operation operation, long elapsedNanos);
+
+    /**
+     * Records an operation executed by client against datastore.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class.
+     * @param operation
+     *            operation.
+     * @param elapsedNanos
+     *            elapsed time, in nanoseconds.
+     */
+    void onClientOperation(String persistenceUnit, Class<?> entityClass, Operation operation, long elapsedNanos);
+
+    /**
+     * Records execution of a batch.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param batchSize
+     *            number of operations executed.
+     * @param elapsedNanos
+     *            elapsed time, in nanoseconds.
+     */
+    void onBatch(String persistenceUnit, int batchSize, long elapsedNanos);
+
+    /**
+     * Records time spent waiting for a connection from pool.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param elapsedNanos
+     *            elapsed time, in nanoseconds.
+     */
+    void onConnectionWait(String persistenceUnit, long elapsedNanos);
+
+    /**
+     * Records a cache lookup.
+     * 
+     * @param cacheName
+     *            cache name, e.g. {@link #SECOND_LEVEL_CACHE}.
+     * @param hit
+     *            true, if found in cache.
+     */
+    void onCacheAccess(String cacheName, boolean hit);
+
+    /**
+     * Releases resources held, on entity manager factory close.
+     */
+    void close();
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * Metrics collector discarding everything, used unless metrics are enabled.
+ */
+public final class NoOpMetricsCollector implements MetricsCollector
+{
+    /** Shared instance. */
+    public static final MetricsCollector INSTANCE = new NoOpMetricsCollector();
+
+    private NoOpMetricsCollector()
+    {
+    }
+
+    @Override
+    public void onOperation(String persistenceUnit, Class<?> entityClass, Operation operation, long elapsedNanos)
+    {
+    }
+
+    @Override
+    public void onClientOperation(String persistenceUnit, Class<?> entityClass, Operation operation,
+            long elapsedNanos)
+    {
+    }
+
+    @Override
+    public void onBatch(String persistenceUnit, int batchSize, long elapsedNanos)
+    {
+    }
+
+    @Override
+    public void onConnectionWait(String persistenceUnit, long elapsedNanos)
+    {
+    }
+
+    @Override
+    public void onCacheAccess(String cacheName, boolean hit)
+    {
+    }
+
+    @Override
+    public void close()
+    {
+    }
+}
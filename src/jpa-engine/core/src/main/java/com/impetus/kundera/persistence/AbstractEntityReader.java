@@ -18,7 +18,9 @@ package com.impetus.kundera.persistence;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +38,7 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
+import com.impetus.kundera.metrics.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.context.PersistenceCacheManager;
 import com.impetus.kundera.property.PropertyAccessException;
@@ -78,7 +81,11 @@ public class AbstractEntityReader
     {
         try
         {
+            long start = System.nanoTime();
             Object o = client.find(m.getEntityClazz(), primaryKey);
+            kunderaMetadata.getApplicationMetadata().getMetricsCollector()
+                    .onClientOperation(m.getPersistenceUnit(), m.getEntityClazz(), Operation.FIND,
+                            System.nanoTime() - start);
 
             if (o == null)
             {
@@ -109,7 +116,7 @@ public class AbstractEntityReader
      */
     private Object handleAssociation(final Object entity, final Map<String, Object> relationsMap,
             final EntityMetadata m, final PersistenceDelegator pd, boolean lazilyloaded,
-            Map<Object, Object> relationStack)
+            Map<Object, Object> relationStack, Map<Relation, Map<Object, Object>> prefetched)
     {
 
         for (Relation relation : m.getRelations())
@@ -123,7 +130,8 @@ public class AbstractEntityReader
                 if (KunderaCoreUtils.isEmptyOrNull(relationalObject)
                         || ProxyHelper.isProxyOrCollection(relationalObject))
                 {
-                    onRelation(entity, relationsMap, m, pd, relation, relationType, lazilyloaded, relationStack);
+                    onRelation(entity, relationsMap, m, pd, relation, relationType, lazilyloaded, relationStack,
+                            prefetched);
                 } // a bit of hack for neo4j only
                 else if (!ProxyHelper.isProxyOrCollection(relationalObject)
                         && Map.class.isAssignableFrom(relationalObject.getClass()))
@@ -157,10 +165,11 @@ public class AbstractEntityReader
      * @param relationType
      * @param lazilyloaded
      * @param relationStack
+     * @param prefetched
      */
     private void onRelation(final Object entity, final Map<String, Object> relationsMap, final EntityMetadata m,
             final PersistenceDelegator pd, Relation relation, ForeignKey relationType, boolean lazilyloaded,
-            Map<Object, Object> relationStack)
+            Map<Object, Object> relationStack, Map<Relation, Map<Object, Object>> prefetched)
     {
 
         FetchType fetchType = relation.getFetchType();
@@ -183,7 +192,7 @@ public class AbstractEntityReader
             }
             else
             {
-                onRelation(entity, relationsMap, relation, m, pd, lazilyloaded, relationStack);
+                onRelation(entity, relationsMap, relation, m, pd, lazilyloaded, relationStack, prefetched);
             }
         }
     }
@@ -200,10 +209,12 @@ public class AbstractEntityReader
      * @param relationStack
      * @param m
      *            entity metadata.
+     * @param prefetched
+     *            relation entities fetched in batch, by relation and key.
      */
     private void onRelation(Object entity, Map<String, Object> relationsMap, final Relation relation,
             final EntityMetadata metadata, final PersistenceDelegator pd, boolean lazilyloaded,
-            Map<Object, Object> relationStack)
+            Map<Object, Object> relationStack, Map<Relation, Map<Object, Object>> prefetched)
     {
         final Object entityId = PropertyAccessorHelper.getId(entity, metadata);
 
@@ -217,7 +228,8 @@ public class AbstractEntityReader
         EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
                 relation.getTargetEntity());
 
-        List relationalEntities = fetchRelations(relation, metadata, pd, entityId, relationValue, targetEntityMetadata);
+        List relationalEntities = fetchRelations(relation, metadata, pd, entityId, relationValue, targetEntityMetadata,
+                prefetched);
 
         if (relationalEntities != null)
         {
@@ -356,7 +368,7 @@ public class AbstractEntityReader
                         final EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(
                                 kunderaMetadata, relation.getTargetEntity());
                         List immediateRelations = fetchRelations(relation, metadata, pd, entityId, relationValue,
-                                targetEntityMetadata);
+                                targetEntityMetadata, null);
                         // Here in case of one-to-many/many-to-one we should
                         // skip
                         // this
@@ -468,15 +480,21 @@ public class AbstractEntityReader
      * @return list of fetched relations.
      */
     private List fetchRelations(final Relation relation, final EntityMetadata metadata, final PersistenceDelegator pd,
-            final Object entityId, Object relationValue, EntityMetadata targetEntityMetadata)
+            final Object entityId, Object relationValue, EntityMetadata targetEntityMetadata,
+            Map<Relation, Map<Object, Object>> prefetched)
     {
         List relationalEntities = new ArrayList();
 
         if ((relationValue != null && relation.isUnary()) || (relation.isJoinedByPrimaryKey()))
         {
-            // Call it
-            Object relationEntity = pd.getClient(targetEntityMetadata).find(relation.getTargetEntity(),
-                    relationValue != null ? relationValue : entityId);
+            Object key = relationValue != null ? relationValue : entityId;
+            Map<Object, Object> prefetchedEntities = prefetched != null ? prefetched.get(relation) : null;
+            Object relationEntity = prefetchedEntities != null ? prefetchedEntities.get(key) : null;
+            if (relationEntity == null)
+            {
+                // Call it
+                relationEntity = pd.getClient(targetEntityMetadata).find(relation.getTargetEntity(), key);
+            }
             if (relationEntity != null)
             {
                 relationalEntities.add(relationEntity);
@@ -518,8 +536,104 @@ public class AbstractEntityReader
     public Object recursivelyFindEntities(Object entity, Map<String, Object> relationsMap, EntityMetadata m,
             PersistenceDelegator pd, boolean lazilyLoaded, Map<Object, Object> relationStack)
     {
-        return handleAssociation(entity, relationsMap, m, pd, lazilyLoaded, relationStack);
+        return handleAssociation(entity, relationsMap, m, pd, lazilyLoaded, relationStack, null);
+
+    }
+
+    /**
+     * Recursively fetches associated entities for given entities, fetching
+     * eager unary relations of all of them in batch first.
+     * 
+     * @param enhanceEntities
+     * @param m
+     * @param pd
+     * @param relationStack
+     * @return
+     */
+    public List<Object> recursivelyFindEntities(List<EnhanceEntity> enhanceEntities, EntityMetadata m,
+            PersistenceDelegator pd, Map<Object, Object> relationStack)
+    {
+        Map<Relation, Map<Object, Object>> prefetched = prefetchRelations(enhanceEntities, m, pd);
+        List<Object> result = new ArrayList<Object>(enhanceEntities.size());
+        for (EnhanceEntity ee : enhanceEntities)
+        {
+            result.add(handleAssociation(ee.getEntity(), ee.getRelations(), m, pd, false, relationStack, prefetched));
+        }
+        return result;
+    }
+
+    /**
+     * Fetches eager unary relations of given entities with one multi-key find
+     * per relation, instead of one find per entity. Only relations to
+     * entities loadable via multi-key find are fetched, see
+     * {@link PersistenceDelegator#isMultiGetSupported(EntityMetadata)}. Keys
+     * not found here are looked up one by one later, as before.
+     * 
+     * @param enhanceEntities
+     * @param m
+     * @param pd
+     * @return relation entities by relation and key.
+     */
+    private Map<Relation, Map<Object, Object>> prefetchRelations(List<EnhanceEntity> enhanceEntities,
+            EntityMetadata m, PersistenceDelegator pd)
+    {
+        Map<Relation, Map<Object, Object>> prefetched = new HashMap<Relation, Map<Object, Object>>();
+        if (enhanceEntities.size() < 2)
+        {
+            return prefetched;
+        }
 
+        for (Relation relation : m.getRelations())
+        {
+            if (relation == null || !relation.isUnary() || relation.getFetchType().equals(FetchType.LAZY))
+            {
+                continue;
+            }
+            EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                    relation.getTargetEntity());
+            if (!pd.isMultiGetSupported(targetEntityMetadata))
+            {
+                continue;
+            }
+
+            Set<Object> keys = new LinkedHashSet<Object>();
+            for (EnhanceEntity ee : enhanceEntities)
+            {
+                Object relationalObject = PropertyAccessorHelper.getObject(ee.getEntity(), relation.getProperty());
+                if (KunderaCoreUtils.isEmptyOrNull(relationalObject)
+                        || ProxyHelper.isProxyOrCollection(relationalObject))
+                {
+                    Object relationValue = ee.getRelations() != null ? ee.getRelations().get(
+                            relation.getJoinColumnName(kunderaMetadata)) : null;
+                    Object key = relationValue != null ? relationValue : relation.isJoinedByPrimaryKey() ? getId(
+                            ee.getEntity(), m) : null;
+                    if (key != null)
+                    {
+                        keys.add(key);
+                    }
+                }
+            }
+            if (keys.isEmpty())
+            {
+                continue;
+            }
+
+            Map<Object, Object> entities = new HashMap<Object, Object>();
+            List results = pd.getClient(targetEntityMetadata).findAll(relation.getTargetEntity(), null,
+                    keys.toArray());
+            if (results != null)
+            {
+                for (Object result : results)
+                {
+                    if (result != null)
+                    {
+                        entities.put(getId(getEntity(result), targetEntityMetadata), result);
+                    }
+                }
+            }
+            prefetched.put(relation, entities);
+        }
+        return prefetched;
     }
 
     /**
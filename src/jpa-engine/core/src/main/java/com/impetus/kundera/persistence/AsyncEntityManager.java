@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.concurrent.Future;
+
+/**
+ * Asynchronous CRUD operations, obtained by
+ * <code>entityManager.unwrap(AsyncEntityManager.class)</code>. Operations go
+ * straight to the datastore client, without persistence context: entities
+ * found are not managed, relations are neither loaded nor cascaded and
+ * lifecycle callbacks are not invoked.
+ */
+public interface AsyncEntityManager
+{
+
+    /**
+     * Finds an entity by primary key.
+     * 
+     * @param entityClass
+     *            the entity class
+     * @param primaryKey
+     *            the primary key
+     * @return future of entity, holding null if not found.
+     */
+    <E> Future<E> findAsync(Class<E> entityClass, Object primaryKey);
+
+    /**
+     * Writes an entity, its id must be set.
+     * 
+     * @param entity
+     *            the entity
+     * @return future completing once entity is written.
+     */
+    Future<?> persistAsync(Object entity);
+
+    /**
+     * Deletes an entity.
+     * 
+     * @param entity
+     *            the entity
+     * @return future completing once entity is deleted.
+     */
+    Future<?> removeAsync(Object entity);
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.concurrent.Future;
+
+import com.impetus.kundera.client.AsyncClient;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.ExecutorAsyncClient;
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.ObjectGraphUtils;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * {@link AsyncEntityManager} delegating to {@link AsyncClient} of clients
+ * supporting it natively, or else running clients on executor of entity
+ * manager factory.
+ */
+class AsyncEntityManagerImpl implements AsyncEntityManager
+{
+    /** The persistence delegator. */
+    private final PersistenceDelegator pd;
+
+    /** The entity manager factory. */
+    private final EntityManagerFactoryImpl factory;
+
+    /**
+     * Instantiates a new async entity manager.
+     * 
+     * @param pd
+     *            the persistence delegator
+     * @param factory
+     *            entity manager factory, providing client factories and
+     *            executor for clients without native async support
+     */
+    AsyncEntityManagerImpl(PersistenceDelegator pd, EntityManagerFactoryImpl factory)
+    {
+        this.pd = pd;
+        this.factory = factory;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.persistence.AsyncEntityManager#findAsync(java.lang
+     * .Class, java.lang.Object)
+     */
+    @Override
+    public <E> Future<E> findAsync(Class<E> entityClass, Object primaryKey)
+    {
+        if (entityClass == null || primaryKey == null)
+        {
+            throw new IllegalArgumentException("Entity class and primary key must not be null.");
+        }
+        return getAsyncClient(pd.getMetadata(entityClass)).findAsync(entityClass, primaryKey);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.persistence.AsyncEntityManager#persistAsync(java.
+     * lang.Object)
+     */
+    @Override
+    public Future<?> persistAsync(Object entity)
+    {
+        EntityMetadata metadata = getMetadata(entity);
+        Object id = getId(entity, metadata);
+        Node node = new Node(ObjectGraphUtils.getNodeId(id, entity.getClass()), entity.getClass(), null,
+                pd.getPersistenceCache(), id, pd);
+        node.setData(entity);
+        return getAsyncClient(metadata).persistAsync(node);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.persistence.AsyncEntityManager#removeAsync(java.lang
+     * .Object)
+     */
+    @Override
+    public Future<?> removeAsync(Object entity)
+    {
+        EntityMetadata metadata = getMetadata(entity);
+        return getAsyncClient(metadata).deleteAsync(entity, getId(entity, metadata));
+    }
+
+    /**
+     * Gets the metadata.
+     * 
+     * @param entity
+     *            the entity
+     * @return the metadata
+     */
+    private EntityMetadata getMetadata(Object entity)
+    {
+        if (entity == null)
+        {
+            throw new IllegalArgumentException("Entity must not be null.");
+        }
+        return pd.getMetadata(entity.getClass());
+    }
+
+    /**
+     * Gets the id, which must be set.
+     * 
+     * @param entity
+     *            the entity
+     * @param metadata
+     *            the metadata
+     * @return the id
+     */
+    private Object getId(Object entity, EntityMetadata metadata)
+    {
+        Object id = PropertyAccessorHelper.getId(entity, metadata);
+        if (id == null)
+        {
+            throw new IllegalArgumentException("Id of entity " + entity.getClass().getName() + " must be set.");
+        }
+        return id;
+    }
+
+    /**
+     * Gets the async client.
+     * 
+     * @param metadata
+     *            the metadata
+     * @return the async client
+     */
+    private AsyncClient getAsyncClient(EntityMetadata metadata)
+    {
+        Client client = pd.getClient(metadata);
+        return client instanceof AsyncClient ? (AsyncClient) client : new ExecutorAsyncClient(
+                factory.getClientFactory(metadata.getPersistenceUnit()), factory.getAsyncExecutor());
+    }
+}
@@ -20,7 +20,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.Cache;
 import javax.persistence.EntityGraph;
@@ -39,6 +43,7 @@ import javax.persistence.spi.PersistenceUnitTransactionType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.KunderaPersistence;
@@ -60,7 +65,12 @@ import com.impetus.kundera.metadata.model.CoreMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.JmxMetricsCollector;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.NoOpMetricsCollector;
+import com.impetus.kundera.property.EntityAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.QueryResultCache;
 
 /**
  * Implementation class for {@link EntityManagerFactory}
@@ -105,6 +115,15 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
     /** The Constant INSTANCE holds all application and core metadata. */
     private final KunderaMetadata kunderaMetadata = new KunderaMetadata();
 
+    /** Default number of threads of async executor. */
+    private static final int DEFAULT_ASYNC_POOL_SIZE = 10;
+
+    /** Executor of async operations, for clients without native support. */
+    private ExecutorService asyncExecutor;
+
+    /** Persistence units whose entities have generated accessors. */
+    private final Set<String> generatedAccessorUnits = new HashSet<String>();
+
     public EntityManagerFactoryImpl(PersistenceUnitInfo puInfo, Map<String, Object> properties)
     {
         // Load Core
@@ -157,6 +176,9 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         // Configure metamodel.
         new MetamodelConfiguration(properties, kunderaMetadata, persistenceUnits).configure();
 
+        // configure metrics, before client factories make use of it.
+        kunderaMetadata.getApplicationMetadata().setMetricsCollector(initMetricsCollector(propsMap));
+
         // configure client factories
         configureClientFactories();
 
@@ -175,6 +197,23 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
                 this.cacheProvider = initSecondLevelCache(puMetadata);
                 this.cacheProvider.createCache(Constants.KUNDERA_SECONDARY_CACHE_NAME);
             }
+
+            Object generatedAccessor = propsMap.get(PersistenceProperties.KUNDERA_GENERATED_ACCESSOR);
+            if (Boolean.parseBoolean(generatedAccessor != null ? generatedAccessor.toString() : puMetadata
+                    .getProperty(PersistenceProperties.KUNDERA_GENERATED_ACCESSOR)))
+            {
+                EntityAccessorFactory.generate(KunderaMetadataManager.getMetamodel(kunderaMetadata, pu));
+                generatedAccessorUnits.add(pu);
+            }
+
+            Object queryCacheTtl = propsMap.get(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL);
+            queryCacheTtl = queryCacheTtl != null ? queryCacheTtl : puMetadata
+                    .getProperty(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL);
+            if (queryCacheTtl != null)
+            {
+                kunderaMetadata.getApplicationMetadata().setQueryResultCache(
+                        new QueryResultCache(parseQueryCacheTtl(queryCacheTtl)));
+            }
         }
 
         if (txTypes.size() != 1)
@@ -217,6 +256,24 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
                 cacheProvider.shutdown();
             }
 
+            kunderaMetadata.getApplicationMetadata().getMetricsCollector().close();
+            kunderaMetadata.getApplicationMetadata().setMetricsCollector(NoOpMetricsCollector.INSTANCE);
+
+            synchronized (this)
+            {
+                if (asyncExecutor != null)
+                {
+                    asyncExecutor.shutdown();
+                    asyncExecutor = null;
+                }
+            }
+
+            for (String pu : generatedAccessorUnits)
+            {
+                EntityAccessorFactory.release(KunderaMetadataManager.getMetamodel(kunderaMetadata, pu));
+            }
+            generatedAccessorUnits.clear();
+
             for (String pu : persistenceUnits)
             {
                 ((ClientLifeCycleManager) clientFactories.get(pu)).destroy();
@@ -232,6 +289,92 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         }
     }
 
+    /**
+     * Initializes metrics collector, {@link JmxMetricsCollector} if metrics
+     * are enabled and no other collector is configured.
+     * 
+     * @param propsMap
+     *            entity manager factory properties.
+     * @return the metrics collector
+     */
+    private MetricsCollector initMetricsCollector(Map<String, Object> propsMap)
+    {
+        PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                persistenceUnits[0]);
+        Object collectorClass = propsMap.get(PersistenceProperties.KUNDERA_METRICS_COLLECTOR);
+        collectorClass = collectorClass != null ? collectorClass : puMetadata
+                .getProperty(PersistenceProperties.KUNDERA_METRICS_COLLECTOR);
+        Object enabled = propsMap.get(PersistenceProperties.KUNDERA_METRICS_ENABLED);
+        enabled = enabled != null ? enabled : puMetadata.getProperty(PersistenceProperties.KUNDERA_METRICS_ENABLED);
+
+        if (collectorClass != null)
+        {
+            try
+            {
+                return (MetricsCollector) Class.forName(collectorClass.toString()).newInstance();
+            }
+            catch (Exception e)
+            {
+                logger.error("Error while initializing metrics collector {}, Caused by: .", collectorClass, e);
+                throw new KunderaException(e);
+            }
+        }
+        return enabled != null && Boolean.parseBoolean(enabled.toString()) ? new JmxMetricsCollector()
+                : NoOpMetricsCollector.INSTANCE;
+    }
+
+    /**
+     * Parses time to live of cached query results.
+     * 
+     * @param queryCacheTtl
+     *            configured time to live.
+     * @return time to live.
+     */
+    private long parseQueryCacheTtl(Object queryCacheTtl)
+    {
+        long ttl;
+        try
+        {
+            ttl = Long.parseLong(queryCacheTtl.toString().trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL
+                    + " property must be numeric and > 0.", e);
+        }
+        if (ttl <= 0)
+        {
+            throw new IllegalArgumentException(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL
+                    + " property must be numeric and > 0.");
+        }
+        return ttl;
+    }
+
+    /**
+     * Returns executor of async operations for clients without native async
+     * support. It is bounded, once its queue is full operations run in caller
+     * thread.
+     * 
+     * @return the async executor
+     */
+    synchronized ExecutorService getAsyncExecutor()
+    {
+        if (asyncExecutor == null)
+        {
+            Object poolSize = properties.get(PersistenceProperties.KUNDERA_ASYNC_POOL_SIZE);
+            if (poolSize == null)
+            {
+                poolSize = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnits[0])
+                        .getProperty(PersistenceProperties.KUNDERA_ASYNC_POOL_SIZE);
+            }
+            int threads = poolSize != null ? Integer.parseInt(poolSize.toString()) : DEFAULT_ASYNC_POOL_SIZE;
+            asyncExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(threads * 16), new ThreadFactoryBuilder().setDaemon(true)
+                            .setNameFormat("kundera-async-%d").build(), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return asyncExecutor;
+    }
+
     /**
      * Create a new application-managed EntityManager. This method returns a new
      * EntityManager instance each time it is invoked. The isOpen method will
@@ -135,7 +135,8 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
 
         this.transactionType = transactionType;
         this.persistenceDelegator = new PersistenceDelegator(
-                ((EntityManagerFactoryImpl) this.factory).getKunderaMetadataInstance(), this.persistenceCache);
+                ((EntityManagerFactoryImpl) this.factory).getKunderaMetadataInstance(), this.persistenceCache,
+                this.factory.getProperties());
 
         for (String pu : ((EntityManagerFactoryImpl) this.factory).getPersistenceUnits())
         {
@@ -745,6 +746,11 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
     public <T> T unwrap(Class<T> paramClass)
     {
         checkClosed();
+        if (AsyncEntityManager.class.equals(paramClass))
+        {
+            return paramClass.cast(new AsyncEntityManagerImpl(getPersistenceDelegator(),
+                    (EntityManagerFactoryImpl) factory));
+        }
         throw new NotImplementedException("Unwrap currently not supported by Kundera");
     }
 
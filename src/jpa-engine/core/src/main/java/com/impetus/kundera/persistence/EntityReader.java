@@ -74,6 +74,24 @@ public interface EntityReader
     Object recursivelyFindEntities(Object entity, Map<String, Object> relationsMap, EntityMetadata m,
             PersistenceDelegator pd, boolean lazilyLoaded, Map<Object, Object> relationStack);
 
+    /**
+     * Returns populated entities along with all relational values, e.g. of a
+     * query result. Eager unary relations are fetched in batch, with one
+     * multi-key find per relation across all entities.
+     * 
+     * @param enhanceEntities
+     *            enhance entities
+     * @param m
+     *            entity meta data
+     * @param pd
+     *            persistence delegator.
+     * @param relationStack
+     *            relation stack
+     * @return populated entities.
+     */
+    List<Object> recursivelyFindEntities(List<EnhanceEntity> enhanceEntities, EntityMetadata m,
+            PersistenceDelegator pd, Map<Object, Object> relationStack);
+
     /**
      * Find by id.
      * 
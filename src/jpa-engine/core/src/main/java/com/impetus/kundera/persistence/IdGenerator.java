@@ -25,12 +25,17 @@ import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.generator.AutoGenerator;
+import com.impetus.kundera.generator.BlockAllocatingGenerator;
+import com.impetus.kundera.generator.Generator;
+import com.impetus.kundera.generator.IdBlockAllocator;
 import com.impetus.kundera.generator.SequenceGenerator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.IdDiscriptor;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.SequenceGeneratorDiscriptor;
+import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -70,9 +75,9 @@ public class IdGenerator
                     switch (type)
                     {
                     case TABLE:
-                        return onTableGenerator(m, client, keyValue, e);
+                        return onTableGenerator(m, client, keyValue, e, kunderaMetadata);
                     case SEQUENCE:
-                        return onSequenceGenerator(m, client, keyValue, e);
+                        return onSequenceGenerator(m, client, keyValue, e, kunderaMetadata);
                     case AUTO:
                         return onAutoGenerator(m, client, e);
                     case IDENTITY:
@@ -131,13 +136,28 @@ public class IdGenerator
      * @param client
      * @param keyValue
      * @param e
+     * @param kunderaMetadata
      */
-    private Object onSequenceGenerator(EntityMetadata m, Client<?> client, IdDiscriptor keyValue, Object e)
+    private Object onSequenceGenerator(EntityMetadata m, Client<?> client, IdDiscriptor keyValue, Object e,
+            final KunderaMetadata kunderaMetadata)
     {
         if (client.getIdGenerator() instanceof SequenceGenerator)
         {
-            Object generatedId = ((SequenceGenerator) client.getIdGenerator()).generate(
-                    keyValue.getSequenceDiscriptor(), client, m.getIdAttribute().getJavaType().getSimpleName());
+            SequenceGenerator generator = (SequenceGenerator) client.getIdGenerator();
+            SequenceGeneratorDiscriptor discriptor = keyValue.getSequenceDiscriptor();
+            IdBlockAllocator allocator = getIdBlockAllocator(generator, discriptor.getAllocationSize(),
+                    kunderaMetadata);
+
+            Object generatedId = allocator != null ? allocator.nextId(discriptor) : null;
+            if (generatedId == null)
+            {
+                generatedId = generator.generate(discriptor, client, m.getIdAttribute().getJavaType().getSimpleName());
+                if (allocator != null && generatedId instanceof Number)
+                {
+                    generatedId = allocator.newBlock(discriptor, ((Number) generatedId).longValue(),
+                            discriptor.getAllocationSize());
+                }
+            }
             try
             {
                 generatedId = PropertyAccessorHelper.fromSourceToTargetClass(m.getIdAttribute().getJavaType(),
@@ -163,13 +183,29 @@ public class IdGenerator
      * @param client
      * @param keyValue
      * @param e
+     * @param kunderaMetadata
      */
-    private Object onTableGenerator(EntityMetadata m, Client<?> client, IdDiscriptor keyValue, Object e)
+    private Object onTableGenerator(EntityMetadata m, Client<?> client, IdDiscriptor keyValue, Object e,
+            final KunderaMetadata kunderaMetadata)
     {
         if (client.getIdGenerator() instanceof TableGenerator)
         {
-            Object generatedId = ((TableGenerator) client.getIdGenerator()).generate(keyValue.getTableDiscriptor(),
-                    (ClientBase) client, m.getIdAttribute().getJavaType().getSimpleName());
+            TableGenerator generator = (TableGenerator) client.getIdGenerator();
+            TableGeneratorDiscriptor discriptor = keyValue.getTableDiscriptor();
+            IdBlockAllocator allocator = getIdBlockAllocator(generator, discriptor.getAllocationSize(),
+                    kunderaMetadata);
+
+            Object generatedId = allocator != null ? allocator.nextId(discriptor) : null;
+            if (generatedId == null)
+            {
+                generatedId = generator.generate(discriptor, (ClientBase) client, m.getIdAttribute().getJavaType()
+                        .getSimpleName());
+                if (allocator != null && generatedId instanceof Number)
+                {
+                    generatedId = allocator.newBlock(discriptor, ((Number) generatedId).longValue(),
+                            discriptor.getAllocationSize());
+                }
+            }
             try
             {
                 generatedId = PropertyAccessorHelper.fromSourceToTargetClass(m.getIdAttribute().getJavaType(),
@@ -187,4 +223,24 @@ public class IdGenerator
         throw new IllegalArgumentException(GenerationType.class.getSimpleName() + "." + GenerationType.TABLE
                 + " Strategy not supported by this client :" + client.getClass().getName());
     }
+
+    /**
+     * Returns id block allocator, if given generator reserves ids in blocks
+     * of more than one value.
+     * 
+     * @param generator
+     * @param allocationSize
+     * @param kunderaMetadata
+     * @return id block allocator or null, if ids are to be generated one by
+     *         one.
+     */
+    private IdBlockAllocator getIdBlockAllocator(Generator generator, int allocationSize,
+            final KunderaMetadata kunderaMetadata)
+    {
+        if (generator instanceof BlockAllocatingGenerator && allocationSize > 1)
+        {
+            return kunderaMetadata.getApplicationMetadata().getIdBlockAllocator();
+        }
+        return null;
+    }
 }
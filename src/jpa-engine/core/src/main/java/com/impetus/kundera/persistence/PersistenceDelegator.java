@@ -16,18 +16,25 @@
 
 package com.impetus.kundera.persistence;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.persistence.FlushModeType;
 import javax.persistence.Query;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +44,7 @@ import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.ClientResolverException;
+import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.graph.GraphGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.graph.ObjectGraph;
@@ -46,10 +54,15 @@ import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metadata.model.type.AbstractManagedType;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 import com.impetus.kundera.persistence.context.EventLog.EventType;
 import com.impetus.kundera.persistence.context.FlushManager;
 import com.impetus.kundera.persistence.context.MainCache;
@@ -57,8 +70,12 @@ import com.impetus.kundera.persistence.context.PersistenceCache;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData.OPERATION;
 import com.impetus.kundera.persistence.event.EntityEventDispatcher;
+import com.impetus.kundera.property.PropertyAccessException;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.proxy.LazyInitializer;
 import com.impetus.kundera.proxy.LazyInitializerFactory;
 import com.impetus.kundera.query.QueryResolver;
+import com.impetus.kundera.utils.KunderaCoreUtils;
 import com.impetus.kundera.utils.ObjectUtils;
 
 /**
@@ -70,6 +87,12 @@ public final class PersistenceDelegator
     /** The Constant log. */
     private static final Logger log = LoggerFactory.getLogger(PersistenceDelegator.class);
 
+    /** Default number of keys fetched in one multi-key find. */
+    private static final int DEFAULT_FIND_BATCH_SIZE = 100;
+
+    /** Marks entities which are always copied by find. */
+    private static final Field[] NO_SNAPSHOT_FIELDS = new Field[0];
+
     /** The closed. */
     private boolean closed;
 
@@ -92,10 +115,29 @@ public final class PersistenceDelegator
 
     private boolean enableFlush;
 
+    // Entities flushed but possibly not yet written, e.g. batched or in
+    // transaction.
+    private final Set<EntityMetadata> pendingWrites = new HashSet<EntityMetadata>();
+
     private Coordinator coordinator;
 
     private final KunderaMetadata kunderaMetadata;
 
+    /** Snapshot fields per entity class, see {@link #getSnapshotFields}. */
+    private final Map<Class<?>, Field[]> snapshotFields = new ConcurrentHashMap<Class<?>, Field[]>();
+
+    /** Whether any entity was handed out by find without copying. */
+    private boolean snapshotTaken;
+
+    /** Uninitialized proxies per entity class, see {@link #initializeProxies}. */
+    private final Map<Class<?>, Set<LazyInitializer>> pendingProxies = new HashMap<Class<?>, Set<LazyInitializer>>();
+
+    /** Lazy batch size per entity class, see {@link #getLazyBatchSize}. */
+    private final Map<Class<?>, Integer> lazyBatchSizes = new ConcurrentHashMap<Class<?>, Integer>();
+
+    /** Properties entity manager factory was created with. */
+    private final Map<String, Object> externalProperties;
+
     /**
      * Instantiates a new persistence delegator.
      * 
@@ -105,9 +147,27 @@ public final class PersistenceDelegator
      *            the persistence units
      */
     PersistenceDelegator(final KunderaMetadata kunderaMetadata, final PersistenceCache pc)
+    {
+        this(kunderaMetadata, pc, null);
+    }
+
+    /**
+     * Instantiates a new persistence delegator.
+     * 
+     * @param kunderaMetadata
+     *            the kundera metadata
+     * @param pc
+     *            the persistence cache
+     * @param externalProperties
+     *            properties entity manager factory was created with, these
+     *            take precedence over persistence unit properties.
+     */
+    PersistenceDelegator(final KunderaMetadata kunderaMetadata, final PersistenceCache pc,
+            final Map<String, Object> externalProperties)
     {
         this.persistenceCache = pc;
         this.kunderaMetadata = kunderaMetadata;
+        this.externalProperties = externalProperties;
     }
 
     /***********************************************************************/
@@ -125,6 +185,7 @@ public final class PersistenceDelegator
             throw new IllegalArgumentException(
                     "Entity object is invalid, operation failed. Please check previous log message for details");
         }
+        long start = System.nanoTime();
 
         // Create an object graph of the entity object.
         ObjectGraph graph = new GraphGenerator().generateGraph(e, this);
@@ -155,6 +216,8 @@ public final class PersistenceDelegator
         // Unlocking object.
         graph.clear();
         graph = null;
+        getMetricsCollector().onOperation(getMetadata(e.getClass()).getPersistenceUnit(), e.getClass(),
+                Operation.PERSIST, System.nanoTime() - start);
         if (log.isDebugEnabled())
         {
             log.debug("Data persisted successfully for entity {}.", e.getClass());
@@ -171,7 +234,10 @@ public final class PersistenceDelegator
      */
     public <E> E findById(final Class<E> entityClass, final Object primaryKey)
     {
+        long start = System.nanoTime();
         E e = find(entityClass, primaryKey);
+        getMetricsCollector().onOperation(getMetadata(entityClass).getPersistenceUnit(), entityClass, Operation.FIND,
+                System.nanoTime() - start);
         if (e == null)
         {
             return null;
@@ -186,7 +252,9 @@ public final class PersistenceDelegator
      * database. Nodes are added into persistence cache (if not already there)
      * as and when they are found from DB. While adding nodes to persistence
      * cache, a deep copy is added, so that found object doesn't refer to
-     * managed entity in persistence cache.
+     * managed entity in persistence cache. With
+     * {@link PersistenceProperties#KUNDERA_FIND_NO_COPY} enabled, managed
+     * entity itself is returned and changes to it are detected on flush.
      * 
      * @param entityClass
      *            Entity Class
@@ -212,7 +280,9 @@ public final class PersistenceDelegator
         Node node = mainCache.getNodeFromCache(nodeId, this);
 
         // if node is not in persistence cache or is dirty, fetch from database
-        if (node == null || node.isDirty())
+        boolean fetched = node == null || node.isDirty();
+        getMetricsCollector().onCacheAccess(MetricsCollector.PERSISTENCE_CONTEXT, !fetched);
+        if (fetched)
         {
             node = new Node(nodeId, entityClass, new ManagedState(), getPersistenceCache(), primaryKey, this);
             node.setClient(getClient(entityMetadata));
@@ -238,6 +308,12 @@ public final class PersistenceDelegator
         {
             return null;
         }
+
+        Field[] fields = getSnapshotFields(entityMetadata);
+        if (fields != null)
+        {
+            return (E) getManagedData(node, fields, fetched);
+        }
         else
         {
             E e = (E) ObjectUtils.deepCopy(nodeData, getKunderaMetadata());
@@ -247,7 +323,11 @@ public final class PersistenceDelegator
     }
 
     /**
-     * Retrieves a {@link List} of Entities for given Primary Keys
+     * Retrieves a {@link List} of Entities for given Primary Keys. Keys found
+     * in persistence cache are served from there, rest are fetched from
+     * database via {@link Client#findAll(Class, String[], Object...)} in
+     * chunks of {@value #DEFAULT_FIND_BATCH_SIZE} (or
+     * {@link PersistenceProperties#KUNDERA_FIND_BATCH_SIZE}) keys.
      * 
      * @param entityClass
      *            Entity Class
@@ -256,26 +336,430 @@ public final class PersistenceDelegator
      * @see {@link PersistenceDelegator#find(Class, Object)}
      * @return List of found entities
      */
-    // TODO Is it possible to pass all primary keys directly to database client.
     public <E> List<E> find(Class<E> entityClass, Object... primaryKeys)
+    {
+        long start = System.nanoTime();
+        List<E> entities = findEntities(entityClass, primaryKeys);
+        getMetricsCollector().onOperation(getMetadata(entityClass).getPersistenceUnit(), entityClass,
+                Operation.FIND_ALL, System.nanoTime() - start);
+        return entities;
+    }
+
+    /**
+     * Retrieves entities for given primary keys, see
+     * {@link #find(Class, Object...)}.
+     */
+    private <E> List<E> findEntities(Class<E> entityClass, Object... primaryKeys)
     {
         List<E> entities = new ArrayList<E>();
         if (primaryKeys == null)
         {
             return entities;
         }
-        Set<Object> pKeys = new HashSet<Object>(Arrays.asList(primaryKeys));
+        Set<Object> pKeys = new LinkedHashSet<Object>(Arrays.asList(primaryKeys));
+
+        EntityMetadata entityMetadata = getMetadata(entityClass);
+        if (!isMultiGetSupported(entityMetadata))
+        {
+            for (Object primaryKey : pKeys)
+            {
+                E e = find(entityClass, primaryKey);
+                if (e != null)
+                {
+                    entities.add(e);
+                }
+            }
+            return entities;
+        }
+
+        MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
+        Field[] fields = getSnapshotFields(entityMetadata);
+        List<Object> missingKeys = new ArrayList<Object>();
         for (Object primaryKey : pKeys)
         {
-            E e = find(entityClass, primaryKey);
-            if (e != null)
+            if (primaryKey == null)
+            {
+                throw new IllegalArgumentException("PrimaryKey value must not be null for object you want to find.");
+            }
+            Node node = mainCache.getNodeFromCache(ObjectGraphUtils.getNodeId(primaryKey, entityClass), this);
+            if (node == null || node.isDirty())
+            {
+                missingKeys.add(primaryKey);
+            }
+            else if (fields != null && node.getData() != null)
+            {
+                node.setPersistenceDelegator(this);
+                entities.add((E) getManagedData(node, fields, false));
+            }
+            else
+            {
+                node.setPersistenceDelegator(this);
+                addCopy(entityMetadata, node.getData(), entities);
+            }
+        }
+
+        int batchSize = getFindBatchSize(entityMetadata);
+        Client client = getClient(entityMetadata);
+        for (int i = 0; i < missingKeys.size(); i += batchSize)
+        {
+            Object[] keys = missingKeys.subList(i, Math.min(i + batchSize, missingKeys.size())).toArray();
+            List<E> results;
+            try
+            {
+                lock.readLock().lock();
+                long start = System.nanoTime();
+                results = client.findAll(entityClass, null, keys);
+                getMetricsCollector().onClientOperation(entityMetadata.getPersistenceUnit(), entityClass,
+                        Operation.FIND_ALL, System.nanoTime() - start);
+            }
+            finally
             {
-                entities.add(e);
+                lock.readLock().unlock();
+            }
+
+            if (results != null)
+            {
+                for (Object result : results)
+                {
+                    Object entity = result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result;
+                    if (entity != null)
+                    {
+                        Object primaryKey = PropertyAccessorHelper.getId(entity, entityMetadata);
+                        Node node = new Node(ObjectGraphUtils.getNodeId(primaryKey, entityClass), entityClass,
+                                new ManagedState(), getPersistenceCache(), primaryKey, this);
+                        node.setClient(client);
+                        node.find(entity);
+                        if (fields != null)
+                        {
+                            entities.add((E) getManagedData(node, fields, true));
+                        }
+                        else
+                        {
+                            addCopy(entityMetadata, entity, entities);
+                        }
+                    }
+                }
             }
         }
         return entities;
     }
 
+    /**
+     * Returns true, if entities of given metadata can be loaded via a single
+     * multi-key {@link Client#findAll(Class, String[], Object...)}. Entities
+     * with relations, composite keys or sub types still require a
+     * {@link EntityReader} driven find.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @return true, if multi-key find can be used.
+     */
+    boolean isMultiGetSupported(EntityMetadata entityMetadata)
+    {
+        if ((entityMetadata.getRelationNames() != null && !entityMetadata.getRelationNames().isEmpty())
+                || entityMetadata.isRelationViaJoinTable())
+        {
+            return false;
+        }
+
+        MetamodelImpl metaModel = KunderaMetadataManager.getMetamodel(kunderaMetadata,
+                entityMetadata.getPersistenceUnit());
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            return false;
+        }
+        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
+        return ((AbstractManagedType) entityType).getSubManagedType().isEmpty();
+    }
+
+    /**
+     * Returns number of keys to be fetched in one multi-key find.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @return find batch size.
+     */
+    private int getFindBatchSize(EntityMetadata entityMetadata)
+    {
+        return getSizeProperty(entityMetadata, PersistenceProperties.KUNDERA_FIND_BATCH_SIZE,
+                DEFAULT_FIND_BATCH_SIZE);
+    }
+
+    /**
+     * Returns number of pending proxies to be initialized in one multi-key
+     * find, 1 if lazy proxies are initialized one by one.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @return lazy batch size.
+     */
+    private int getLazyBatchSize(EntityMetadata entityMetadata)
+    {
+        Integer batchSize = lazyBatchSizes.get(entityMetadata.getEntityClazz());
+        if (batchSize == null)
+        {
+            batchSize = getSizeProperty(entityMetadata, PersistenceProperties.KUNDERA_LAZY_BATCH_SIZE, 1);
+            lazyBatchSizes.put(entityMetadata.getEntityClazz(), batchSize);
+        }
+        return batchSize;
+    }
+
+    /**
+     * Returns value of given size property for persistence unit of given
+     * entity. Entity manager factory properties take precedence over
+     * persistence unit properties.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @param property
+     *            property name.
+     * @param defaultSize
+     *            size if property is not set.
+     * @return size.
+     */
+    private int getSizeProperty(EntityMetadata entityMetadata, String property, int defaultSize)
+    {
+        String persistenceUnit = entityMetadata.getPersistenceUnit();
+        Map<String, Object> puProperties = KunderaCoreUtils.getExternalProperties(persistenceUnit,
+                externalProperties, clientMap.keySet().toArray(new String[clientMap.size()]));
+        Object value = puProperties != null ? puProperties.get(property) : null;
+        if (value == null)
+        {
+            PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                    persistenceUnit);
+            value = puMetadata != null ? puMetadata.getProperty(property) : null;
+        }
+        if (value == null)
+        {
+            return defaultSize;
+        }
+
+        int size;
+        try
+        {
+            size = Integer.parseInt(value.toString().trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(property + " property must be numeric and > 0.", e);
+        }
+        if (size <= 0)
+        {
+            throw new IllegalArgumentException(property + " property must be numeric and > 0.");
+        }
+        return size;
+    }
+
+    /**
+     * Registers an uninitialized proxy created for this persistence context,
+     * so that it can be initialized along with other proxies of its entity
+     * class.
+     * 
+     * @param initializer
+     *            lazy initializer of the proxy.
+     */
+    public void onProxyCreated(LazyInitializer initializer)
+    {
+        Class<?> entityClass = initializer.getPersistentClass();
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        if (entityMetadata != null && getLazyBatchSize(entityMetadata) > 1 && isMultiGetSupported(entityMetadata))
+        {
+            Set<LazyInitializer> pending = pendingProxies.get(entityClass);
+            if (pending == null)
+            {
+                pending = new LinkedHashSet<LazyInitializer>();
+                pendingProxies.put(entityClass, pending);
+            }
+            pending.add(initializer);
+        }
+    }
+
+    /**
+     * Initializes given proxy along with up to
+     * {@link PersistenceProperties#KUNDERA_LAZY_BATCH_SIZE} - 1 other pending
+     * proxies of the same entity class, using one multi-key find. Proxies
+     * whose target is not found are left uninitialized, to be loaded one by
+     * one.
+     * 
+     * @param initializer
+     *            lazy initializer of the proxy being accessed.
+     */
+    public void initializeProxies(LazyInitializer initializer)
+    {
+        Class<?> entityClass = initializer.getPersistentClass();
+        Set<LazyInitializer> pending = pendingProxies.get(entityClass);
+        if (pending == null || !pending.remove(initializer) || initializer.getIdentifier() == null)
+        {
+            return;
+        }
+
+        EntityMetadata entityMetadata = getMetadata(entityClass);
+        int batchSize = getLazyBatchSize(entityMetadata);
+        List<LazyInitializer> batch = new ArrayList<LazyInitializer>();
+        Set<Object> keys = new LinkedHashSet<Object>();
+        batch.add(initializer);
+        keys.add(toIdType(entityMetadata, initializer.getIdentifier()));
+        Iterator<LazyInitializer> iter = pending.iterator();
+        while (iter.hasNext() && keys.size() < batchSize)
+        {
+            LazyInitializer other = iter.next();
+            iter.remove();
+            if (other.isUninitialized() && other.getPersistenceDelegator() == this && other.getIdentifier() != null)
+            {
+                batch.add(other);
+                keys.add(toIdType(entityMetadata, other.getIdentifier()));
+            }
+        }
+
+        Map<Object, Object> entities = new HashMap<Object, Object>();
+        for (Object entity : find(entityClass, keys.toArray()))
+        {
+            entities.put(PropertyAccessorHelper.getId(entity, entityMetadata), entity);
+        }
+        for (LazyInitializer li : batch)
+        {
+            Object entity = entities.get(toIdType(entityMetadata, li.getIdentifier()));
+            if (entity != null && li.isUninitialized())
+            {
+                li.setImplementation(entity);
+            }
+        }
+    }
+
+    /**
+     * Converts given primary key to id attribute type of given entity, so
+     * that keys of proxies (e.g. Integer for a long id) match ids of found
+     * entities.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @param key
+     *            primary key.
+     * @return converted key, or given key if it can not be converted.
+     */
+    private Object toIdType(EntityMetadata entityMetadata, Object key)
+    {
+        Class<?> idType = entityMetadata.getIdAttribute().getJavaType();
+        if (idType.isInstance(key))
+        {
+            return key;
+        }
+        try
+        {
+            Object converted = PropertyAccessorHelper.fromSourceToTargetClass(idType, key.getClass(), key);
+            return converted != null ? converted : key;
+        }
+        catch (PropertyAccessException e)
+        {
+            return key;
+        }
+    }
+
+    /**
+     * Returns basic attribute fields to snapshot, if managed entities of
+     * given metadata are to be returned by find without copying (see
+     * {@link PersistenceProperties#KUNDERA_FIND_NO_COPY}). Only entities
+     * without relations, embedded attributes and collections qualify.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @return snapshot fields or null, if found entities are to be copied.
+     */
+    private Field[] getSnapshotFields(EntityMetadata entityMetadata)
+    {
+        Field[] fields = snapshotFields.get(entityMetadata.getEntityClazz());
+        if (fields == null)
+        {
+            fields = NO_SNAPSHOT_FIELDS;
+            PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                    entityMetadata.getPersistenceUnit());
+            if (puMetadata != null
+                    && Boolean.parseBoolean(puMetadata.getProperty(PersistenceProperties.KUNDERA_FIND_NO_COPY))
+                    && isMultiGetSupported(entityMetadata))
+            {
+                List<Field> basicFields = new ArrayList<Field>();
+                EntityType entityType = KunderaMetadataManager.getMetamodel(kunderaMetadata,
+                        entityMetadata.getPersistenceUnit()).entity(entityMetadata.getEntityClazz());
+                for (Object attribute : entityType.getAttributes())
+                {
+                    if (((Attribute) attribute).getPersistentAttributeType() != PersistentAttributeType.BASIC)
+                    {
+                        basicFields = null;
+                        break;
+                    }
+                    basicFields.add((Field) ((Attribute) attribute).getJavaMember());
+                }
+                if (basicFields != null)
+                {
+                    fields = basicFields.toArray(new Field[basicFields.size()]);
+                }
+            }
+            snapshotFields.put(entityMetadata.getEntityClazz(), fields);
+        }
+        return fields.length > 0 ? fields : null;
+    }
+
+    /**
+     * Returns managed data of node, taking its snapshot on first access.
+     * Unless just fetched, data is copied once into persistence context as it
+     * may be shared via second level cache.
+     */
+    private Object getManagedData(Node node, Field[] fields, boolean fetched)
+    {
+        if (node.getSnapshot() == null)
+        {
+            if (!fetched)
+            {
+                node.setData(ObjectUtils.deepCopy(node.getData(), getKunderaMetadata()));
+                getPersistenceCache().getMainCache().processNodeMapping(node);
+            }
+            node.setSnapshot(EntitySnapshot.capture(node.getData(), fields));
+            snapshotTaken = true;
+        }
+        return node.getData();
+    }
+
+    /**
+     * Merges managed entities, handed out by find without copying, which were
+     * modified since their snapshot was taken.
+     */
+    private void flushModifiedEntities()
+    {
+        if (!snapshotTaken)
+        {
+            return;
+        }
+        MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
+        for (Node node : new ArrayList<Node>(mainCache.getAllNodes()))
+        {
+            EntitySnapshot snapshot = node.getSnapshot();
+            if (snapshot != null && !node.isDirty() && node.isInState(ManagedState.class)
+                    && snapshot.isModified(node.getData()))
+            {
+                merge(node.getData());
+                Node mergedNode = mainCache.getNodeFromCache(node.getNodeId(), this);
+                if (mergedNode != null && mergedNode.getData() != null)
+                {
+                    mergedNode.setSnapshot(EntitySnapshot.capture(mergedNode.getData(),
+                            snapshotFields.get(node.getDataClass())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a detached copy of managed entity into entities.
+     */
+    private <E> void addCopy(EntityMetadata entityMetadata, Object nodeData, List<E> entities)
+    {
+        if (nodeData != null)
+        {
+            E e = (E) ObjectUtils.deepCopy(nodeData, getKunderaMetadata());
+            onSetProxyOwners(entityMetadata, e);
+            entities.add(e);
+        }
+    }
+
     /**
      * Retrieves {@link List} of entities for a given {@link Map} of embedded
      * column values. Purpose of this method is to provide functionality of
@@ -314,6 +798,7 @@ public final class PersistenceDelegator
         }
 
         EntityMetadata metadata = getMetadata(e.getClass());
+        long start = System.nanoTime();
 
         // Create an object graph of the entity object
         ObjectGraph graph = new GraphGenerator().generateGraph(e, this, new ManagedState());
@@ -349,6 +834,8 @@ public final class PersistenceDelegator
         // clear out graph
         graph.clear();
         graph = null;
+        getMetricsCollector().onOperation(metadata.getPersistenceUnit(), e.getClass(), Operation.DELETE,
+                System.nanoTime() - start);
 
         if (log.isDebugEnabled())
         {
@@ -385,6 +872,7 @@ public final class PersistenceDelegator
                 {
                     EntityMetadata metadata = getMetadata(node.getDataClass());
                     node.setClient(getClient(metadata));
+                    onWrite(metadata);
 
                     // if batch size is defined.
                     if ((node.getClient() instanceof Batcher) && ((Batcher) (node.getClient())).getBatchSize() > 0)
@@ -413,6 +901,11 @@ public final class PersistenceDelegator
                 // Flush Join Table data into database
                 flushJoinTableData();
                 // performed,
+
+                if (!isTransactionInProgress)
+                {
+                    onWritesApplied();
+                }
             }
         }
     }
@@ -428,6 +921,7 @@ public final class PersistenceDelegator
         }
 
         EntityMetadata m = getMetadata(e.getClass());
+        long start = System.nanoTime();
 
         // Create an object graph of the entity object to be merged
         ObjectGraph graph = new GraphGenerator().generateGraph(e, this);
@@ -453,6 +947,8 @@ public final class PersistenceDelegator
         }
         graph.clear();
         graph = null;
+        getMetricsCollector().onOperation(m.getPersistenceUnit(), e.getClass(), Operation.MERGE,
+                System.nanoTime() - start);
 
         return (E) node.getData();
     }
@@ -589,6 +1085,7 @@ public final class PersistenceDelegator
             clientMap.clear();
         }
 
+        pendingProxies.clear();
         onClearProxy();
 
         // TODO: Move all nodes tied to this EM into detached state, need to
@@ -630,6 +1127,7 @@ public final class PersistenceDelegator
         // Move all nodes tied to this EM into detached state
         flushManager.clearFlushStack();
         getPersistenceCache().clean();
+        pendingProxies.clear();
         onClearProxy();
     }
 
@@ -679,7 +1177,7 @@ public final class PersistenceDelegator
      *            the clazz
      * @return the metadata
      */
-    private EntityMetadata getMetadata(Class<?> clazz)
+    EntityMetadata getMetadata(Class<?> clazz)
     {
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, clazz);
         if (metadata == null)
@@ -729,7 +1227,9 @@ public final class PersistenceDelegator
     void commit()
     {
         enableFlush = true;
+        flushModifiedEntities();
         execute();
+        onWritesApplied();
         flushManager.commit();
         flushManager.clearFlushStack();
         isTransactionInProgress = false;
@@ -742,8 +1242,10 @@ public final class PersistenceDelegator
     void doFlush()
     {
         enableFlush = true;
+        flushModifiedEntities();
         flush();
         execute();
+        onWritesApplied();
         enableFlush = false;
         flushManager.commit();
         flushManager.clearFlushStack();
@@ -754,9 +1256,36 @@ public final class PersistenceDelegator
         flushManager.rollback(this);
         flushManager.clearFlushStack();
         getPersistenceCache().clean();
+        pendingWrites.clear();
         isTransactionInProgress = false;
     }
 
+    /**
+     * Invalidates cached query results of entity's table, on write being
+     * flushed.
+     * 
+     * @param m
+     *            entity metadata.
+     */
+    private void onWrite(EntityMetadata m)
+    {
+        kunderaMetadata.getApplicationMetadata().getQueryResultCache().onWrite(m);
+        pendingWrites.add(m);
+    }
+
+    /**
+     * Invalidates cached query results again once pending writes are applied,
+     * as queries run in between may have cached data read before them.
+     */
+    private void onWritesApplied()
+    {
+        for (EntityMetadata m : pendingWrites)
+        {
+            kunderaMetadata.getApplicationMetadata().getQueryResultCache().onWrite(m);
+        }
+        pendingWrites.clear();
+    }
+
     /**
      * Populates client specific properties.
      * 
@@ -828,7 +1357,7 @@ public final class PersistenceDelegator
             {
                 // if no batch operation performed{may be running in
                 // transaction?}
-                if (((Batcher) client).getBatchSize() == 0 || ((Batcher) client).executeBatch() > 0)
+                if (((Batcher) client).getBatchSize() == 0 || executeBatch(client) > 0)
                 {
                     flushJoinTableData();
                 }
@@ -836,6 +1365,34 @@ public final class PersistenceDelegator
         }
     }
 
+    /**
+     * Executes batch of given client, recording its size and latency.
+     * 
+     * @param client
+     *            batching client.
+     * @return number of executed operations.
+     */
+    private int executeBatch(Client client)
+    {
+        long start = System.nanoTime();
+        int executed = ((Batcher) client).executeBatch();
+        if (executed > 0)
+        {
+            getMetricsCollector().onBatch(client.getPersistenceUnit(), executed, System.nanoTime() - start);
+        }
+        return executed;
+    }
+
+    /**
+     * Returns metrics collector of this entity manager factory.
+     * 
+     * @return the metrics collector
+     */
+    private MetricsCollector getMetricsCollector()
+    {
+        return kunderaMetadata.getApplicationMetadata().getMetricsCollector();
+    }
+
     /**
      * On flushing join table data
      */
@@ -32,6 +32,7 @@ import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphUtils;
 import com.impetus.kundera.lifecycle.states.ManagedState;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metrics.MetricsCollector;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.ObjectUtils;
@@ -88,9 +89,15 @@ public class CacheBase
     {
         // Make a deep copy of Node data and and set into node
         // Original data object is now detached from Node and is possibly
-        // referred by user code
-        Object nodeDataCopy = ObjectUtils.deepCopy(node.getData(), node.getPersistenceDelegator().getKunderaMetadata());
-        node.setData(nodeDataCopy);
+        // referred by user code. Managed data handed out by find without
+        // copying (i.e. with a snapshot) remains managed.
+        Node existingNode = nodeMappings.get(node.getNodeId());
+        if (existingNode == null || existingNode.getSnapshot() == null || existingNode.getData() != node.getData())
+        {
+            Object nodeDataCopy = ObjectUtils.deepCopy(node.getData(), node.getPersistenceDelegator()
+                    .getKunderaMetadata());
+            node.setData(nodeDataCopy);
+        }
 
         /*
          * check if this node already exists in cache node mappings If yes,
@@ -250,6 +257,11 @@ public class CacheBase
         if (l2Cache != null)
         {
             Object entity = l2Cache.get(nodeId);
+            if (pd != null)
+            {
+                pd.getKunderaMetadata().getApplicationMetadata().getMetricsCollector()
+                        .onCacheAccess(MetricsCollector.SECOND_LEVEL_CACHE, entity != null);
+            }
             if (entity != null)
             {
                 node = new Node(nodeId, entity.getClass(), new ManagedState(), this.persistenceCache,
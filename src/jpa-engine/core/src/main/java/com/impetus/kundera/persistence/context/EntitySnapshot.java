@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.context;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * Compact snapshot of basic attribute values of a managed entity, taken when
+ * entity is handed out by find without copying. Used at flush time to detect
+ * whether caller modified the managed instance.
+ */
+public final class EntitySnapshot
+{
+    private final Field[] fields;
+
+    private final Object[] values;
+
+    private EntitySnapshot(Field[] fields, Object[] values)
+    {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Takes snapshot of given fields of entity. Mutable values (e.g. dates,
+     * byte arrays) are copied.
+     * 
+     * @param entity
+     *            managed entity.
+     * @param fields
+     *            basic attribute fields of entity.
+     * @return entity snapshot.
+     */
+    public static EntitySnapshot capture(Object entity, Field[] fields)
+    {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++)
+        {
+            values[i] = PropertyAccessorHelper.getObjectCopy(entity, fields[i]);
+        }
+        return new EntitySnapshot(fields, values);
+    }
+
+    /**
+     * Returns true, if any snapshot field of entity differs from snapshot.
+     * 
+     * @param entity
+     *            managed entity.
+     * @return true, if entity is modified.
+     */
+    public boolean isModified(Object entity)
+    {
+        for (int i = 0; i < fields.length; i++)
+        {
+            Object value = PropertyAccessorHelper.getObject(entity, fields[i]);
+            Object snapshotValue = values[i];
+            if (value == null ? snapshotValue != null : !isEqual(value, snapshotValue))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns names of snapshot fields of entity which differ from snapshot.
+     * 
+     * @param entity
+     *            managed entity.
+     * @return names of modified fields.
+     */
+    public Set<String> getModifiedFields(Object entity)
+    {
+        Set<String> modifiedFields = new HashSet<String>();
+        for (int i = 0; i < fields.length; i++)
+        {
+            Object value = PropertyAccessorHelper.getObject(entity, fields[i]);
+            Object snapshotValue = values[i];
+            if (value == null ? snapshotValue != null : !isEqual(value, snapshotValue))
+            {
+                modifiedFields.add(fields[i].getName());
+            }
+        }
+        return modifiedFields;
+    }
+
+    private static boolean isEqual(Object value, Object snapshotValue)
+    {
+        if (value instanceof byte[] && snapshotValue instanceof byte[])
+        {
+            return Arrays.equals((byte[]) value, (byte[]) snapshotValue);
+        }
+        return value.equals(snapshotValue);
+    }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+/**
+ * Accessor for fields of one entity class, implemented by classes generated
+ * at bootstrap by {@link EntityAccessorFactory}. Fields are addressed by the
+ * index they were generated for.
+ */
+public interface EntityAccessor
+{
+    /**
+     * Creates new instance of entity class using its no-arg constructor.
+     *
+     * @return new entity instance.
+     */
+    Object newInstance();
+
+    /**
+     * Returns value of field at given index.
+     *
+     * @param entity
+     *            entity object.
+     * @param index
+     *            field index.
+     * @return field value (wrapped, in case of primitives).
+     */
+    Object get(Object entity, int index);
+
+    /**
+     * Sets value of field at given index.
+     *
+     * @param entity
+     *            entity object.
+     * @param index
+     *            field index.
+     * @param value
+     *            field value (wrapped, in case of primitives).
+     */
+    void set(Object entity, int index, Object value);
+}
@@ -0,0 +1,635 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+import javax.persistence.metamodel.Attribute;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
+
+/**
+ * Generates (using javassist) one {@link EntityAccessor} class per entity
+ * class at bootstrap. Non private fields are accessed directly. Private fields
+ * are accessed through their getter/setter, if these only read/write the
+ * field (so behave exactly like field access), else through a {@link Field}
+ * made accessible once.
+ *
+ * Accessors are registered for the {@link Field} instances of the metamodel
+ * they were generated for, and looked up by identity. As each entity manager
+ * factory builds its own metamodel, a factory that did not enable generated
+ * accessors never uses them. Accessors are released on close of the factory,
+ * see {@link #release(MetamodelImpl)}.
+ */
+public final class EntityAccessorFactory
+{
+    /** The log. */
+    private static final Logger log = LoggerFactory.getLogger(EntityAccessorFactory.class);
+
+    /** Suffix of generated accessor class names. */
+    private static final String ACCESSOR_CLASS_SUFFIX = "$$KunderaAccessor$$";
+
+    /** Generated accessors by entity class, shared by all metamodels. */
+    private static final Map<Class<?>, GeneratedAccessor> generatedAccessors = new HashMap<Class<?>, GeneratedAccessor>();
+
+    /** Generated accessors by entity metadata. */
+    private static final Map<EntityMetadata, EntityAccessor> entityAccessors = new ConcurrentHashMap<EntityMetadata, EntityAccessor>();
+
+    /** Field accessors, to be matched by field identity. */
+    private static final Map<Field, FieldAccessor[]> fieldAccessors = new ConcurrentHashMap<Field, FieldAccessor[]>();
+
+    /** Number of accessor classes generated so far, to keep names unique. */
+    private static int generatedClasses;
+
+    private EntityAccessorFactory()
+    {
+    }
+
+    /**
+     * Generates accessors for all entities of given metamodel.
+     *
+     * @param metamodel
+     *            metamodel of a persistence unit.
+     */
+    public static synchronized void generate(MetamodelImpl metamodel)
+    {
+        for (EntityMetadata entityMetadata : metamodel.getEntityMetadataMap().values())
+        {
+            EntityAccessor entityAccessor = generate(entityMetadata.getEntityClazz(),
+                    getFields(metamodel, entityMetadata));
+            if (entityAccessor != null)
+            {
+                entityAccessors.put(entityMetadata, entityAccessor);
+            }
+        }
+    }
+
+    /**
+     * Releases accessors generated for entities of given metamodel. Accessor
+     * class of an entity is dropped once no other metamodel uses it, so that
+     * entity class loaders are not kept reachable after close.
+     *
+     * @param metamodel
+     *            metamodel of a persistence unit.
+     */
+    public static synchronized void release(MetamodelImpl metamodel)
+    {
+        for (EntityMetadata entityMetadata : metamodel.getEntityMetadataMap().values())
+        {
+            if (entityAccessors.remove(entityMetadata) != null)
+            {
+                release(entityMetadata.getEntityClazz(), getFields(metamodel, entityMetadata));
+            }
+        }
+    }
+
+    /**
+     * Generates accessor for given entity class and registers it for given
+     * field instances. Accessor class is generated once per entity class.
+     * Must be paired with {@link #release(Class, Collection)}.
+     *
+     * @param entityClass
+     *            entity class.
+     * @param fields
+     *            fields to access via generated accessor.
+     * @return generated accessor or null, if accessor can not be generated for
+     *         this class.
+     */
+    public static synchronized EntityAccessor generate(Class<?> entityClass, Collection<Field> fields)
+    {
+        GeneratedAccessor generatedAccessor = generatedAccessors.get(entityClass);
+        if (generatedAccessor == null)
+        {
+            generatedAccessor = buildAccessor(entityClass, fields);
+            if (generatedAccessor == null)
+            {
+                return null;
+            }
+            generatedAccessors.put(entityClass, generatedAccessor);
+        }
+        generatedAccessor.references++;
+
+        for (Field field : fields)
+        {
+            if (!field.getDeclaringClass().equals(entityClass) || Modifier.isStatic(field.getModifiers()))
+            {
+                continue;
+            }
+            Integer index = generatedAccessor.indexes.get(field.getName());
+            FieldAccessor fieldAccessor;
+            try
+            {
+                fieldAccessor = new FieldAccessor(entityClass, index != null ? generatedAccessor.entityAccessor
+                        : null, field, index != null ? index : -1);
+            }
+            catch (SecurityException e)
+            {
+                log.debug("Field {} can not be made accessible, reflection will be used instead.", field);
+                continue;
+            }
+            FieldAccessor[] registered = fieldAccessors.get(field);
+            FieldAccessor[] accessors = new FieldAccessor[registered != null ? registered.length + 1 : 1];
+            if (registered != null)
+            {
+                System.arraycopy(registered, 0, accessors, 0, registered.length);
+            }
+            accessors[accessors.length - 1] = fieldAccessor;
+            fieldAccessors.put(field, accessors);
+        }
+        return generatedAccessor.entityAccessor;
+    }
+
+    /**
+     * Unregisters accessor of given entity class for given field instances.
+     *
+     * @param entityClass
+     *            entity class.
+     * @param fields
+     *            fields accessor was generated for.
+     */
+    public static synchronized void release(Class<?> entityClass, Collection<Field> fields)
+    {
+        GeneratedAccessor generatedAccessor = generatedAccessors.get(entityClass);
+        if (generatedAccessor == null)
+        {
+            return;
+        }
+
+        for (Field field : fields)
+        {
+            FieldAccessor[] registered = fieldAccessors.get(field);
+            if (registered == null)
+            {
+                continue;
+            }
+            List<FieldAccessor> accessors = new ArrayList<FieldAccessor>(registered.length);
+            for (FieldAccessor fieldAccessor : registered)
+            {
+                if (fieldAccessor.field != field)
+                {
+                    accessors.add(fieldAccessor);
+                }
+            }
+            if (accessors.isEmpty())
+            {
+                fieldAccessors.remove(field);
+            }
+            else
+            {
+                fieldAccessors.put(field, accessors.toArray(new FieldAccessor[accessors.size()]));
+            }
+        }
+
+        if (--generatedAccessor.references == 0)
+        {
+            generatedAccessors.remove(entityClass);
+        }
+    }
+
+    /**
+     * Returns accessor generated for given entity metadata.
+     *
+     * @param entityMetadata
+     *            entity metadata.
+     * @return generated accessor or null, if none.
+     */
+    public static EntityAccessor getEntityAccessor(EntityMetadata entityMetadata)
+    {
+        return entityAccessors.isEmpty() ? null : entityAccessors.get(entityMetadata);
+    }
+
+    /**
+     * Returns accessor registered for given field instance.
+     *
+     * @param field
+     *            field.
+     * @return field accessor or null, if field should be accessed via
+     *         reflection.
+     */
+    static FieldAccessor getFieldAccessor(Field field)
+    {
+        FieldAccessor[] accessors = fieldAccessors.isEmpty() ? null : fieldAccessors.get(field);
+        if (accessors != null)
+        {
+            for (FieldAccessor fieldAccessor : accessors)
+            {
+                if (fieldAccessor.field == field)
+                {
+                    return fieldAccessor;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Field> getFields(MetamodelImpl metamodel, EntityMetadata entityMetadata)
+    {
+        List<Field> fields = new ArrayList<Field>();
+        for (Object attribute : metamodel.entity(entityMetadata.getEntityClazz()).getAttributes())
+        {
+            if (((Attribute) attribute).getJavaMember() instanceof Field)
+            {
+                fields.add((Field) ((Attribute) attribute).getJavaMember());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Generates accessor class for given entity class, or returns null if it
+     * can not be generated.
+     */
+    private static GeneratedAccessor buildAccessor(Class<?> entityClass, Collection<Field> fields)
+    {
+        if (!hasNoArgConstructor(entityClass))
+        {
+            log.debug("No public/protected no-arg constructor found for {}, accessor will not be generated.",
+                    entityClass);
+            return null;
+        }
+
+        try
+        {
+            return buildAccessorClass(entityClass, fields);
+        }
+        catch (Exception e)
+        {
+            log.warn("Unable to generate accessor for {}, reflection will be used instead. Caused by: {}.",
+                    entityClass, e.getMessage());
+        }
+        catch (LinkageError e)
+        {
+            log.warn("Unable to load generated accessor for {}, reflection will be used instead. Caused by: {}.",
+                    entityClass, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Builds accessor class in package (and class loader) of entity class.
+     */
+    private static GeneratedAccessor buildAccessorClass(Class<?> entityClass, Collection<Field> fields)
+            throws Exception
+    {
+        ClassPool pool = new ClassPool(true);
+        pool.insertClassPath(new ClassClassPath(EntityAccessor.class));
+        if (entityClass.getClassLoader() != null)
+        {
+            pool.insertClassPath(new LoaderClassPath(entityClass.getClassLoader()));
+        }
+        CtClass entityCtClass = pool.get(entityClass.getName());
+
+        String entityName = getTypeName(entityClass);
+        CtClass accessorClass = pool.makeClass(entityClass.getName() + ACCESSOR_CLASS_SUFFIX + (++generatedClasses));
+        accessorClass.addInterface(pool.get(EntityAccessor.class.getName()));
+        accessorClass.addConstructor(CtNewConstructor.defaultConstructor(accessorClass));
+
+        accessorClass.addMethod(CtNewMethod.make("public Object newInstance() { return new " + entityName + "(); }",
+                accessorClass));
+
+        Map<String, Integer> indexes = new HashMap<String, Integer>();
+        StringBuilder get = new StringBuilder();
+        get.append("public Object get(Object entity, int index) { ");
+        get.append(entityName).append(" e = (").append(entityName).append(") entity; ");
+        StringBuilder set = new StringBuilder();
+        set.append("public void set(Object entity, int index, Object value) { ");
+        set.append(entityName).append(" e = (").append(entityName).append(") entity; ");
+
+        for (Field field : fields)
+        {
+            int modifiers = field.getModifiers();
+            if (!field.getDeclaringClass().equals(entityClass) || Modifier.isStatic(modifiers)
+                    || Modifier.isFinal(modifiers) || indexes.containsKey(field.getName()))
+            {
+                continue;
+            }
+
+            String read;
+            String write;
+            if (!Modifier.isPrivate(modifiers))
+            {
+                read = "e." + field.getName();
+                write = "e." + field.getName() + " = ";
+            }
+            else
+            {
+                String getter = getPlainAccessorName(entityCtClass, field, true);
+                String setter = getPlainAccessorName(entityCtClass, field, false);
+                if (getter == null || setter == null)
+                {
+                    continue;
+                }
+                read = "e." + getter + "()";
+                write = "e." + setter + "(";
+            }
+
+            int index = indexes.size();
+            indexes.put(field.getName(), index);
+            get.append("if (index == ").append(index).append(") return ");
+            get.append(box(field.getType(), read)).append("; ");
+            set.append("if (index == ").append(index).append(") { ");
+            set.append(write).append(unbox(field.getType(), "value")).append(write.endsWith("(") ? ")" : "");
+            set.append("; return; } ");
+        }
+        get.append("throw new IllegalArgumentException(); }");
+        set.append("throw new IllegalArgumentException(); }");
+        accessorClass.addMethod(CtNewMethod.make(get.toString(), accessorClass));
+        accessorClass.addMethod(CtNewMethod.make(set.toString(), accessorClass));
+
+        Class<?> clazz = accessorClass.toClass(entityClass.getClassLoader(), entityClass.getProtectionDomain());
+        accessorClass.detach();
+        entityCtClass.detach();
+        return new GeneratedAccessor((EntityAccessor) clazz.newInstance(), indexes);
+    }
+
+    /**
+     * Returns name of a method declared by entity class, that does nothing but
+     * return (getter) or assign (setter) given field. Calling such a method
+     * is equivalent to accessing the field itself.
+     *
+     * @return method name or null, if there is no such method.
+     */
+    private static String getPlainAccessorName(CtClass entityClass, Field field, boolean getter)
+    {
+        for (CtMethod method : entityClass.getDeclaredMethods())
+        {
+            int modifiers = method.getModifiers();
+            if (javassist.Modifier.isStatic(modifiers) || javassist.Modifier.isPrivate(modifiers)
+                    || javassist.Modifier.isAbstract(modifiers) || javassist.Modifier.isNative(modifiers))
+            {
+                continue;
+            }
+            MethodInfo methodInfo = method.getMethodInfo2();
+            CodeAttribute codeAttribute = methodInfo.getCodeAttribute();
+            if (codeAttribute == null || codeAttribute.getExceptionTable().size() > 0)
+            {
+                continue;
+            }
+            byte[] code = codeAttribute.getCode();
+            ConstPool constPool = methodInfo.getConstPool();
+
+            if (getter && code.length == 5 && (code[0] & 0xff) == Opcode.ALOAD_0
+                    && (code[1] & 0xff) == Opcode.GETFIELD && (code[4] & 0xff) >= Opcode.IRETURN
+                    && (code[4] & 0xff) <= Opcode.ARETURN)
+            {
+                int fieldRef = ((code[2] & 0xff) << 8) | (code[3] & 0xff);
+                if (isFieldRef(constPool, fieldRef, entityClass, field)
+                        && methodInfo.getDescriptor().equals("()" + constPool.getFieldrefType(fieldRef)))
+                {
+                    return method.getName();
+                }
+            }
+            else if (!getter && code.length == 6 && (code[0] & 0xff) == Opcode.ALOAD_0
+                    && isLoadFirstArgument(code[1] & 0xff) && (code[2] & 0xff) == Opcode.PUTFIELD
+                    && (code[5] & 0xff) == Opcode.RETURN)
+            {
+                int fieldRef = ((code[3] & 0xff) << 8) | (code[4] & 0xff);
+                if (isFieldRef(constPool, fieldRef, entityClass, field)
+                        && methodInfo.getDescriptor().equals("(" + constPool.getFieldrefType(fieldRef) + ")V"))
+                {
+                    return method.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFieldRef(ConstPool constPool, int fieldRef, CtClass entityClass, Field field)
+    {
+        return field.getName().equals(constPool.getFieldrefName(fieldRef))
+                && entityClass.getName().equals(constPool.getFieldrefClassName(fieldRef));
+    }
+
+    private static boolean isLoadFirstArgument(int opcode)
+    {
+        return opcode == Opcode.ILOAD_1 || opcode == Opcode.LLOAD_1 || opcode == Opcode.FLOAD_1
+                || opcode == Opcode.DLOAD_1 || opcode == Opcode.ALOAD_1;
+    }
+
+    private static boolean hasNoArgConstructor(Class<?> entityClass)
+    {
+        if (Modifier.isAbstract(entityClass.getModifiers()) || entityClass.isMemberClass()
+                && !Modifier.isStatic(entityClass.getModifiers()))
+        {
+            return false;
+        }
+        for (Constructor<?> constructor : entityClass.getDeclaredConstructors())
+        {
+            if (constructor.getParameterTypes().length == 0
+                    && (Modifier.isPublic(constructor.getModifiers()) || Modifier.isProtected(constructor
+                            .getModifiers())))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns java source expression wrapping given (possibly primitive)
+     * expression into an Object.
+     */
+    private static String box(Class<?> type, String expression)
+    {
+        if (type.isPrimitive())
+        {
+            return getTypeName(getWrapperType(type)) + ".valueOf(" + expression + ")";
+        }
+        return expression;
+    }
+
+    /**
+     * Returns java source expression casting given Object expression to type.
+     */
+    private static String unbox(Class<?> type, String expression)
+    {
+        if (type.isPrimitive())
+        {
+            return "((" + getTypeName(getWrapperType(type)) + ") " + expression + ")." + type.getName() + "Value()";
+        }
+        return "(" + getTypeName(type) + ") " + expression;
+    }
+
+    private static Class<?> getWrapperType(Class<?> type)
+    {
+        if (type.equals(int.class))
+        {
+            return Integer.class;
+        }
+        else if (type.equals(long.class))
+        {
+            return Long.class;
+        }
+        else if (type.equals(boolean.class))
+        {
+            return Boolean.class;
+        }
+        else if (type.equals(double.class))
+        {
+            return Double.class;
+        }
+        else if (type.equals(float.class))
+        {
+            return Float.class;
+        }
+        else if (type.equals(short.class))
+        {
+            return Short.class;
+        }
+        else if (type.equals(byte.class))
+        {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    private static String getTypeName(Class<?> type)
+    {
+        return type.isArray() ? getTypeName(type.getComponentType()) + "[]" : type.getName();
+    }
+
+    /**
+     * Accessor class generated for an entity class, with index of each field
+     * it accesses.
+     */
+    private static final class GeneratedAccessor
+    {
+        private final EntityAccessor entityAccessor;
+
+        private final Map<String, Integer> indexes;
+
+        /** Number of registrations using this accessor. */
+        private int references;
+
+        GeneratedAccessor(EntityAccessor entityAccessor, Map<String, Integer> indexes)
+        {
+            this.entityAccessor = entityAccessor;
+            this.indexes = indexes;
+        }
+    }
+
+    /**
+     * Accessor of one field. Uses generated {@link EntityAccessor} for
+     * instances of the entity class itself, else (e.g. lazy proxies, or
+     * fields not covered by generated accessor) the field made accessible
+     * once.
+     */
+    static final class FieldAccessor
+    {
+        private final Class<?> entityClass;
+
+        private final EntityAccessor entityAccessor;
+
+        private final Field field;
+
+        private final int index;
+
+        FieldAccessor(Class<?> entityClass, EntityAccessor entityAccessor, Field field, int index)
+        {
+            this.entityClass = entityClass;
+            this.entityAccessor = entityAccessor;
+            this.field = field;
+            this.index = index;
+            field.setAccessible(true);
+        }
+
+        /**
+         * Returns true if field is accessed via generated accessor.
+         */
+        boolean isGenerated()
+        {
+            return entityAccessor != null;
+        }
+
+        Object get(Object entity)
+        {
+            if (entityAccessor != null && entity.getClass() == entityClass)
+            {
+                return entityAccessor.get(entity, index);
+            }
+            try
+            {
+                return field.get(entity);
+            }
+            catch (IllegalArgumentException iarg)
+            {
+                throw new PropertyAccessException(iarg);
+            }
+            catch (IllegalAccessException iacc)
+            {
+                throw new PropertyAccessException(iacc);
+            }
+        }
+
+        void set(Object entity, Object value)
+        {
+            if (entityAccessor != null && entity.getClass() == entityClass)
+            {
+                try
+                {
+                    entityAccessor.set(entity, index, value);
+                    return;
+                }
+                catch (ClassCastException ccex)
+                {
+                    // value of other type, let reflection widen it (e.g.
+                    // Integer into a long field) or fail.
+                }
+                catch (NullPointerException npex)
+                {
+                    // null value for a primitive field.
+                    throw new PropertyAccessException(npex);
+                }
+            }
+            try
+            {
+                field.set(entity, value);
+            }
+            catch (IllegalArgumentException iarg)
+            {
+                throw new PropertyAccessException(iarg);
+            }
+            catch (IllegalAccessException iacc)
+            {
+                throw new PropertyAccessException(iacc);
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Set;
 
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.property.EntityAccessorFactory.FieldAccessor;
 import com.impetus.kundera.utils.ReflectUtils;
 
 /**
@@ -97,6 +98,13 @@ public class PropertyAccessorHelper
     {
         if (target != null)
         {
+            FieldAccessor fieldAccessor = EntityAccessorFactory.getFieldAccessor(field);
+            if (fieldAccessor != null)
+            {
+                fieldAccessor.set(target, value);
+                return;
+            }
+
             if (!field.isAccessible())
             {
                 field.setAccessible(true);
@@ -131,6 +139,12 @@ public class PropertyAccessorHelper
      */
     public static Object getObject(Object from, Field field)
     {
+        FieldAccessor fieldAccessor = EntityAccessorFactory.getFieldAccessor(field);
+        if (fieldAccessor != null)
+        {
+            return fieldAccessor.get(from);
+        }
+
         if (!field.isAccessible())
         {
             field.setAccessible(true);
@@ -158,23 +172,8 @@ public class PropertyAccessorHelper
      */
     public static Object getObjectCopy(Object from, Field field)
     {
-        if (!field.isAccessible())
-        {
-            field.setAccessible(true);
-        }
-        try
-        {
-            PropertyAccessor<?> accessor = PropertyAccessorFactory.getPropertyAccessor(field);
-            return accessor.getCopy(field.get(from));
-        }
-        catch (IllegalArgumentException iarg)
-        {
-            throw new PropertyAccessException(iarg);
-        }
-        catch (IllegalAccessException iacc)
-        {
-            throw new PropertyAccessException(iacc);
-        }
+        PropertyAccessor<?> accessor = PropertyAccessorFactory.getPropertyAccessor(field);
+        return accessor.getCopy(getObject(from, field));
     }
 
     /**
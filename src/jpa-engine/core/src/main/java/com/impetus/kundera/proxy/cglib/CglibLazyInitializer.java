@@ -135,6 +135,10 @@ public final class CglibLazyInitializer implements LazyInitializer, InvocationHa
         proxy = getProxyInstance(factory, instance);
 
         instance.constructed = true;
+        if (pd != null)
+        {
+            pd.onProxyCreated(instance);
+        }
         return proxy;
 
     }
@@ -397,11 +401,17 @@ public final class CglibLazyInitializer implements LazyInitializer, InvocationHa
                 if (log.isDebugEnabled())
                     log.debug("Proxy >> Initialization >> " + persistentClass.getName() + "_" + id);
 
-                // TODO: consider not calling em.find from here. Not sure 'why',
-                // but something
-                // doesn't feel right.
-                target = persistenceDelegator.findById(persistentClass, id);
-                initialized = true;
+                // Loads other pending proxies of this class too, if enabled.
+                persistenceDelegator.initializeProxies(this);
+
+                if (!initialized)
+                {
+                    // TODO: consider not calling em.find from here. Not sure
+                    // 'why', but something
+                    // doesn't feel right.
+                    target = persistenceDelegator.findById(persistentClass, id);
+                    initialized = true;
+                }
             }
         }
     }
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -174,6 +175,89 @@ public class KunderaQuery
         initiateJPQLObject(jpaQuery);
     }
 
+    /**
+     * Instantiates a new kundera query out of an already parsed one. Parsed
+     * (immutable) state is shared, whereas parameter binding state (filter
+     * and update clauses, parameter values) is copied.
+     * 
+     * @param parsedQuery
+     *            parsed kundera query.
+     */
+    private KunderaQuery(final KunderaQuery parsedQuery)
+    {
+        this.jpaQuery = parsedQuery.jpaQuery;
+        this.kunderaMetadata = parsedQuery.kunderaMetadata;
+        this.jpqlExpression = parsedQuery.jpqlExpression;
+        this.selectStatement = parsedQuery.selectStatement;
+        this.updateStatement = parsedQuery.updateStatement;
+        this.deleteStatement = parsedQuery.deleteStatement;
+        this.expressionFactory = parsedQuery.expressionFactory;
+        this.result = parsedQuery.result;
+        this.aggregationResult = parsedQuery.aggregationResult;
+        this.isAggregate = parsedQuery.isAggregate;
+        this.from = parsedQuery.from;
+        this.filter = parsedQuery.filter;
+        this.ordering = parsedQuery.ordering;
+        this.sortOrders = parsedQuery.sortOrders;
+        this.entityName = parsedQuery.entityName;
+        this.entityAlias = parsedQuery.entityAlias;
+        this.entityClass = parsedQuery.entityClass;
+        this.persistenceUnit = parsedQuery.persistenceUnit;
+        this.isDeleteUpdate = parsedQuery.isDeleteUpdate;
+        this.isNativeQuery = parsedQuery.isNativeQuery;
+
+        Map<Object, Object> clauses = new IdentityHashMap<Object, Object>();
+        for (Object clause : parsedQuery.filtersQueue)
+        {
+            Object copy = clause instanceof FilterClause ? new FilterClause((FilterClause) clause) : clause;
+            clauses.put(clause, copy);
+            this.filtersQueue.add(copy);
+        }
+
+        for (UpdateClause clause : parsedQuery.updateClauseQueue)
+        {
+            UpdateClause copy = new UpdateClause(clause);
+            clauses.put(clause, copy);
+            this.updateClauseQueue.add(copy);
+        }
+
+        if (parsedQuery.typedParameter != null)
+        {
+            this.typedParameter = new TypedParameter(parsedQuery.typedParameter.getType());
+            this.typedParameter.jpaParameters = parsedQuery.typedParameter.jpaParameters;
+            if (parsedQuery.typedParameter.getParameters() != null)
+            {
+                for (Map.Entry<String, List<FilterClause>> entry : parsedQuery.typedParameter.getParameters()
+                        .entrySet())
+                {
+                    for (FilterClause clause : entry.getValue())
+                    {
+                        this.typedParameter.addParameters(entry.getKey(), (FilterClause) clauses.get(clause));
+                    }
+                }
+            }
+            if (parsedQuery.typedParameter.getUpdateParameters() != null)
+            {
+                for (Map.Entry<String, UpdateClause> entry : parsedQuery.typedParameter.getUpdateParameters()
+                        .entrySet())
+                {
+                    this.typedParameter.addParameters(entry.getKey(), (UpdateClause) clauses.get(entry.getValue()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of this (parsed) query, with its own parameter binding
+     * state. Used to avoid re-parsing of same JPQL query.
+     * 
+     * @return copy of kundera query.
+     */
+    KunderaQuery copy()
+    {
+        return new KunderaQuery(this);
+    }
+
     private void initiateJPQLObject(final String jpaQuery)
     {
         JPQLGrammar jpqlGrammar = EclipseLinkJPQLGrammar2_4.instance();
@@ -1032,6 +1116,19 @@ public class KunderaQuery
             }
         }
 
+        /**
+         * Instantiates a copy of given filter clause.
+         * 
+         * @param clause
+         *            filter clause.
+         */
+        private FilterClause(FilterClause clause)
+        {
+            this.property = clause.property;
+            this.condition = clause.condition;
+            this.value = new ArrayList<Object>(clause.value);
+        }
+
         /**
          * Gets the property.
          * 
@@ -1119,6 +1216,12 @@ public class KunderaQuery
             this.value = KunderaQuery.getValue(value);
         }
 
+        private UpdateClause(final UpdateClause clause)
+        {
+            this.property = clause.property;
+            this.value = clause.value;
+        }
+
         /**
          * @return the property
          */
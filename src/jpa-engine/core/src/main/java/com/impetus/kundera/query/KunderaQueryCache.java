@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded cache of parsed {@link KunderaQuery} instances, keyed by JPQL
+ * query. One instance is held per entity manager factory (see
+ * {@link com.impetus.kundera.metadata.model.ApplicationMetadata}). Cached
+ * queries are never handed out, callers always get a copy holding its own
+ * parameter binding state.
+ */
+public class KunderaQueryCache
+{
+    /** Default maximum number of parsed queries to hold. */
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Cache<String, KunderaQuery> parsedQueries;
+
+    /**
+     * Instantiates a new cache holding up to {@value #DEFAULT_MAX_SIZE}
+     * queries.
+     */
+    public KunderaQueryCache()
+    {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Instantiates a new cache.
+     *
+     * @param maxSize
+     *            maximum number of parsed queries to hold.
+     */
+    public KunderaQueryCache(int maxSize)
+    {
+        this.parsedQueries = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Returns a copy of parsed query for given JPQL, if available.
+     *
+     * @param jpaQuery
+     *            JPQL query.
+     * @return copy of parsed query or null, if not cached.
+     */
+    KunderaQuery get(String jpaQuery)
+    {
+        KunderaQuery parsedQuery = parsedQueries.getIfPresent(jpaQuery);
+        return parsedQuery != null ? parsedQuery.copy() : null;
+    }
+
+    /**
+     * Caches parsed query for given JPQL. A copy of parsed query is cached, so
+     * that given instance can still be bound by caller.
+     *
+     * @param jpaQuery
+     *            JPQL query.
+     * @param parsedQuery
+     *            parsed (and post parsing initialized) query.
+     */
+    void put(String jpaQuery, KunderaQuery parsedQuery)
+    {
+        parsedQueries.put(jpaQuery, parsedQuery.copy());
+    }
+
+    /**
+     * Returns number of cached queries.
+     *
+     * @return cache size.
+     */
+    public long size()
+    {
+        return parsedQueries.size();
+    }
+
+    /**
+     * Removes all cached queries.
+     */
+    public void clear()
+    {
+        parsedQueries.invalidateAll();
+    }
+}
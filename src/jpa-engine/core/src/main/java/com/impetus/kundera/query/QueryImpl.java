@@ -48,6 +48,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.Constants;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.index.IndexingConstants;
@@ -56,6 +57,8 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.DefaultEntityType;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
@@ -157,7 +160,12 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
     @Override
     public int executeUpdate()
     {
-        return onExecuteUpdate();
+        int updated = onExecuteUpdate();
+        if (getEntityMetadata() != null)
+        {
+            kunderaMetadata.getApplicationMetadata().getQueryResultCache().onWrite(getEntityMetadata());
+        }
+        return updated;
     }
 
     /*
@@ -174,6 +182,7 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         // as per JPA post event should happen before fetching data from
         // database.
         List results = null;
+        long start = System.nanoTime();
 
         if (getEntityMetadata() == null)
         {
@@ -198,10 +207,13 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
             }
             else
             {
-                results = fetch();
+                results = isCacheable() ? fetchCached() : fetch();
                 assignReferenceToProxy(results);
             }
         }
+        kunderaMetadata.getApplicationMetadata().getMetricsCollector().onOperation(kunderaQuery.getPersistenceUnit(),
+                getEntityMetadata() != null ? getEntityMetadata().getEntityClazz() : null, Operation.QUERY,
+                System.nanoTime() - start);
         return results != null ? results : new ArrayList();
     }
 
@@ -238,17 +250,18 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
 
         if (enhanceEntities != null)
         {
+            List<EnhanceEntity> ees = new ArrayList<EnhanceEntity>(enhanceEntities.size());
             for (Object e : enhanceEntities)
             {
                 if (!(e instanceof EnhanceEntity))
                 {
                     e = new EnhanceEntity(e, PropertyAccessorHelper.getId(e, m), null);
                 }
-                EnhanceEntity ee = (EnhanceEntity) e;
-                result.add(getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
-                        persistenceDelegeator, false, relationStack));
-
+                ees.add((EnhanceEntity) e);
             }
+            // relations of all entities are fetched in batch, rather than per
+            // entity.
+            result.addAll(getReader().recursivelyFindEntities(ees, m, persistenceDelegeator, relationStack));
         }
 
         return result;
@@ -1282,6 +1295,91 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         return results;
     }
 
+    /**
+     * Returns true, if results are to be cached, i.e. query selects whole
+     * entities and {@link PersistenceProperties#KUNDERA_QUERY_CACHE} hint is
+     * set.
+     * 
+     * @return true, if cacheable.
+     */
+    private boolean isCacheable()
+    {
+        Object cacheable = hints.get(PersistenceProperties.KUNDERA_QUERY_CACHE);
+        return cacheable != null && Boolean.parseBoolean(cacheable.toString()) && !kunderaQuery.isNative()
+                && !kunderaQuery.isAggregated() && kunderaQuery.isAliasOnly();
+    }
+
+    /**
+     * Returns collection of fetched entities, served from query result cache
+     * if possible. Cached results only hold primary keys, entities are loaded
+     * via persistence context and L2 cache.
+     * 
+     * @return the list
+     */
+    private List fetchCached()
+    {
+        EntityMetadata m = getEntityMetadata();
+        QueryResultCache cache = kunderaMetadata.getApplicationMetadata().getQueryResultCache();
+        QueryResultCache.Key key = new QueryResultCache.Key(getJPAQuery(), kunderaQuery.getParametersMap(),
+                firstResult, maxResult, isSingleResult);
+
+        List<Object> primaryKeys = cache.get(key, m);
+        kunderaMetadata.getApplicationMetadata().getMetricsCollector()
+                .onCacheAccess(MetricsCollector.QUERY_RESULT_CACHE, primaryKeys != null);
+        if (primaryKeys != null)
+        {
+            List results = findByPrimaryKeys(m, primaryKeys);
+            if (results != null)
+            {
+                return results;
+            }
+        }
+
+        long readAt = cache.now();
+        List results = fetch();
+        if (results != null)
+        {
+            primaryKeys = new ArrayList<Object>(results.size());
+            for (Object result : results)
+            {
+                Object entity = result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result;
+                primaryKeys.add(PropertyAccessorHelper.getId(entity, m));
+            }
+            cache.put(key, m, primaryKeys, readAt);
+        }
+        return results;
+    }
+
+    /**
+     * Finds entities of cached result, in cached order.
+     * 
+     * @param m
+     *            the m
+     * @param primaryKeys
+     *            the primary keys
+     * @return the list, or null if any of entities is not found anymore
+     */
+    private List findByPrimaryKeys(EntityMetadata m, List<Object> primaryKeys)
+    {
+        List<?> entities = persistenceDelegeator.find(m.getEntityClazz(), primaryKeys.toArray());
+        Map<Object, Object> entitiesByKey = new HashMap<Object, Object>();
+        for (Object entity : entities)
+        {
+            entitiesByKey.put(PropertyAccessorHelper.getId(entity, m), entity);
+        }
+        List<Object> results = new ArrayList<Object>(primaryKeys.size());
+        for (Object primaryKey : primaryKeys)
+        {
+            Object entity = entitiesByKey.get(primaryKey);
+            if (entity == null)
+            {
+                return null;
+            }
+            results.add(entity);
+        }
+        return results;
+    }
+
     /**
      * On validate single result.
      * 
@@ -18,6 +18,7 @@ package com.impetus.kundera.query;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
 
 import javax.persistence.Query;
 
@@ -72,12 +73,19 @@ public class QueryResolver
         // In case of named native query
         if (!isNative)
         {
-            kunderaQuery = new KunderaQuery(mappedQuery != null ? mappedQuery : jpaQuery, kunderaMetadata);
-            KunderaQueryParser parser = new KunderaQueryParser(kunderaQuery);
+            String query = mappedQuery != null ? mappedQuery : jpaQuery;
+            KunderaQueryCache queryCache = appMetadata.getQueryCache();
+            kunderaQuery = queryCache.get(query);
+            if (kunderaQuery == null)
+            {
+                kunderaQuery = new KunderaQuery(query, kunderaMetadata);
+                KunderaQueryParser parser = new KunderaQueryParser(kunderaQuery);
 
-            parser.parse();
+                parser.parse();
 
-            kunderaQuery.postParsingInit();
+                kunderaQuery.postParsingInit();
+                queryCache.put(query, kunderaQuery);
+            }
             m = kunderaQuery.getEntityMetadata();
         }
         else
@@ -117,6 +125,10 @@ public class QueryResolver
         try
         {
             query = getQuery(jpaQuery, persistenceDelegator, m, kunderaQuery, kunderaMetadata);
+            for (Map.Entry<String, Object> hint : appMetadata.getQueryHints(jpaQuery).entrySet())
+            {
+                query.setHint(hint.getKey(), hint.getValue());
+            }
         }
         catch (Exception e)
         {
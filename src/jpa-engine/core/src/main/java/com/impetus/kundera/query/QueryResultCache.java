@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+
+/**
+ * Bounded cache of query results, holding primary keys of entities returned
+ * by a query keyed by its JPQL, bound parameters and first/max results. One
+ * instance is held per entity manager factory (see
+ * {@link com.impetus.kundera.metadata.model.ApplicationMetadata}).
+ * 
+ * Writes flushed to a table are stamped from a logical clock. A cached result
+ * is only served if it was read after the last write to its table, so writes
+ * made through this factory invalidate it at once. Writes made elsewhere are
+ * only seen once the entry expires.
+ */
+public class QueryResultCache
+{
+    /** Default maximum number of query results to hold. */
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Default time to live of a cached result, in seconds. */
+    private static final long DEFAULT_TIME_TO_LIVE = 60;
+
+    /** Logical clock stamping reads and writes. */
+    private final AtomicLong clock = new AtomicLong();
+
+    /** Time of last write, per table. */
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<String, Long>();
+
+    private final Cache<Key, Entry> results;
+
+    /**
+     * Instantiates a new cache holding up to {@value #DEFAULT_MAX_SIZE}
+     * results for {@value #DEFAULT_TIME_TO_LIVE} seconds.
+     */
+    public QueryResultCache()
+    {
+        this(DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Instantiates a new cache.
+     * 
+     * @param timeToLive
+     *            seconds a result is held for.
+     */
+    public QueryResultCache(long timeToLive)
+    {
+        this.results = CacheBuilder.newBuilder().maximumSize(DEFAULT_MAX_SIZE)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * Returns the current time, to be taken before a query is executed and
+     * passed on to {@link #put(Key, EntityMetadata, List, long)}.
+     * 
+     * @return current time.
+     */
+    long now()
+    {
+        return clock.incrementAndGet();
+    }
+
+    /**
+     * Returns primary keys of cached result, if available and not
+     * invalidated by a write to queried table.
+     * 
+     * @param key
+     *            query key.
+     * @param m
+     *            metadata of queried entity.
+     * @return primary keys or null, if not cached.
+     */
+    List<Object> get(Key key, EntityMetadata m)
+    {
+        Entry entry = results.getIfPresent(key);
+        if (entry == null)
+        {
+            return null;
+        }
+        if (isStale(m, entry.readAt))
+        {
+            results.invalidate(key);
+            return null;
+        }
+        return entry.primaryKeys;
+    }
+
+    /**
+     * Caches primary keys of a query result, unless queried table was written
+     * to since the query started.
+     * 
+     * @param key
+     *            query key.
+     * @param m
+     *            metadata of queried entity.
+     * @param primaryKeys
+     *            primary keys of result entities.
+     * @param readAt
+     *            time taken via {@link #now()} before query was executed.
+     */
+    void put(Key key, EntityMetadata m, List<Object> primaryKeys, long readAt)
+    {
+        if (!isStale(m, readAt))
+        {
+            results.put(key, new Entry(Collections.unmodifiableList(new ArrayList<Object>(primaryKeys)), readAt));
+        }
+    }
+
+    /**
+     * Stamps a write to table of given entity, invalidating results cached
+     * for it.
+     * 
+     * @param m
+     *            metadata of written entity.
+     */
+    public void onWrite(EntityMetadata m)
+    {
+        String table = getTableName(m);
+        long writtenAt = clock.incrementAndGet();
+        Long lastWrite = lastWrites.putIfAbsent(table, writtenAt);
+        // keep the latest stamp, concurrent writers may finish out of order.
+        while (lastWrite != null && lastWrite < writtenAt && !lastWrites.replace(table, lastWrite, writtenAt))
+        {
+            lastWrite = lastWrites.get(table);
+        }
+    }
+
+    /**
+     * Clears all cached results.
+     */
+    public void clear()
+    {
+        results.invalidateAll();
+    }
+
+    private boolean isStale(EntityMetadata m, long readAt)
+    {
+        Long lastWrite = lastWrites.get(getTableName(m));
+        return lastWrite != null && lastWrite >= readAt;
+    }
+
+    private String getTableName(EntityMetadata m)
+    {
+        return m.getPersistenceUnit() + "/" + m.getSchema() + "." + m.getTableName();
+    }
+
+    /**
+     * Cached query result.
+     */
+    private static final class Entry
+    {
+        private final List<Object> primaryKeys;
+
+        private final long readAt;
+
+        private Entry(List<Object> primaryKeys, long readAt)
+        {
+            this.primaryKeys = primaryKeys;
+            this.readAt = readAt;
+        }
+    }
+
+    /**
+     * Key of a cached query result.
+     */
+    static final class Key
+    {
+        private final String jpaQuery;
+
+        private final Map<String, Object> parameters;
+
+        private final int firstResult;
+
+        private final int maxResult;
+
+        private final boolean isSingleResult;
+
+        /**
+         * Instantiates a new key.
+         * 
+         * @param jpaQuery
+         *            JPQL query.
+         * @param parameters
+         *            bound parameters.
+         * @param firstResult
+         *            first result.
+         * @param maxResult
+         *            max results.
+         * @param isSingleResult
+         *            true, if executed for a single result.
+         */
+        Key(String jpaQuery, Map<String, Object> parameters, int firstResult, int maxResult, boolean isSingleResult)
+        {
+            this.jpaQuery = jpaQuery;
+            this.parameters = new HashMap<String, Object>();
+            for (Map.Entry<String, Object> parameter : parameters.entrySet())
+            {
+                // arrays bound to IN clauses compare by identity.
+                Object value = parameter.getValue();
+                this.parameters.put(parameter.getKey(),
+                        value instanceof Object[] ? Arrays.asList((Object[]) value) : value);
+            }
+            this.firstResult = firstResult;
+            this.maxResult = maxResult;
+            this.isSingleResult = isSingleResult;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = jpaQuery.hashCode();
+            result = 31 * result + parameters.hashCode();
+            result = 31 * result + firstResult;
+            result = 31 * result + maxResult;
+            return 31 * result + (isSingleResult ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) obj;
+            return jpaQuery.equals(other.jpaQuery) && parameters.equals(other.parameters)
+                    && firstResult == other.firstResult && maxResult == other.maxResult
+                    && isSingleResult == other.isSingleResult;
+        }
+    }
+}
@@ -46,6 +46,8 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.property.EntityAccessor;
+import com.impetus.kundera.property.EntityAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.ProxyHelper;
 import com.impetus.kundera.query.KunderaQuery;
@@ -601,7 +603,7 @@ public class KunderaCoreUtils
         {
             if (entity == null)
             {
-                entity = createNewInstance(m.getEntityClazz());
+                entity = createNewInstance(m);
             }
             if (id != null)
             {
@@ -647,6 +649,20 @@ public class KunderaCoreUtils
         }
     }
 
+    /**
+     * Creates new instance of entity, using the accessor generated for its
+     * persistence unit, if any.
+     * 
+     * @param m
+     *            entity metadata
+     * @return new entity instance
+     */
+    public static Object createNewInstance(EntityMetadata m)
+    {
+        EntityAccessor entityAccessor = EntityAccessorFactory.getEntityAccessor(m);
+        return entityAccessor != null ? entityAccessor.newInstance() : createNewInstance(m.getEntityClazz());
+    }
+
     /**
      * @param clazz
      * @return
@@ -131,7 +131,7 @@ public class ObjectUtils
             }
             // Copy Columns (in a table that doesn't have any embedded objects
 
-            target = KunderaCoreUtils.createNewInstance(sourceObjectClass);
+            target = KunderaCoreUtils.createNewInstance(metadata);
 
             Iterator<Attribute> iter = entityType.getAttributes().iterator();
             while (iter.hasNext())
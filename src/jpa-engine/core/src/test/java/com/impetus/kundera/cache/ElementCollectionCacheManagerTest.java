@@ -66,4 +66,29 @@ public class ElementCollectionCacheManagerTest
 
     }
 
+    @Test
+    public void testBoundedCache()
+    {
+        ElementCollectionCacheManager manager = new ElementCollectionCacheManager(2);
+        Assert.assertTrue(manager.isCacheEmpty());
+
+        for (int i = 0; i < 5; i++)
+        {
+            Person p = new Person();
+            p.setAge(i);
+            p.setPersonId("personId" + i);
+            manager.addElementCollectionCacheMapping("personId" + i, p, "age#" + i);
+        }
+        Assert.assertEquals(2, manager.size());
+        Assert.assertEquals(3, manager.getEvictionCount());
+
+        Assert.assertEquals(4, manager.getLastElementCollectionObjectCount("personId4"));
+        Assert.assertEquals(-1, manager.getLastElementCollectionObjectCount("personId0"));
+        Assert.assertEquals(1, manager.getHitCount());
+        Assert.assertEquals(1, manager.getMissCount());
+
+        manager.clearCache();
+        Assert.assertTrue(manager.isCacheEmpty());
+    }
+
 }
@@ -1,8 +1,10 @@
 package com.impetus.kundera.client;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.generator.Generator;
@@ -24,6 +26,52 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, C
 
     // private static int idCount;
 
+    /** Dirty fields of last written entity, null for a full write. */
+    private static Set<String> lastDirtyFields;
+
+    private static int findCalls;
+
+    private static int findAllCalls;
+
+    /**
+     * Returns dirty fields of last written entity.
+     * 
+     * @return dirty fields or null, if entity was written as a whole.
+     */
+    public static Set<String> getLastDirtyFields()
+    {
+        return lastDirtyFields;
+    }
+
+    /**
+     * Returns number of single key finds since last reset.
+     * 
+     * @return the number of finds
+     */
+    public static int getFindCalls()
+    {
+        return findCalls;
+    }
+
+    /**
+     * Returns number of multi key finds since last reset.
+     * 
+     * @return the number of multi key finds
+     */
+    public static int getFindAllCalls()
+    {
+        return findAllCalls;
+    }
+
+    /**
+     * Resets find counters.
+     */
+    public static void resetFindCalls()
+    {
+        findCalls = 0;
+        findAllCalls = 0;
+    }
+
     /**
      * Instantiates a new core test client.
      * 
@@ -52,6 +100,8 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, C
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
+        lastDirtyFields = dirtyFields != null ? new HashSet<String>(dirtyFields) : null;
+
         DummySchema schema = DummyDatabase.INSTANCE.getSchema(entityMetadata.getSchema());
 
         if (schema == null)
@@ -83,6 +133,21 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, C
      */
     @Override
     public Object find(Class entityClass, Object key)
+    {
+        findCalls++;
+        return lookup(entityClass, key);
+    }
+
+    /**
+     * Looks up record of given key.
+     * 
+     * @param entityClass
+     *            the entity class
+     * @param key
+     *            the key
+     * @return the record, null if not found
+     */
+    private Object lookup(Class entityClass, Object key)
     {
         EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
         DummySchema schema = DummyDatabase.INSTANCE.getSchema(m.getSchema());
@@ -128,10 +193,11 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, C
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
+        findAllCalls++;
         List results = new ArrayList();
         for (Object key : keys)
         {
-            Object result = find(entityClass, key);
+            Object result = lookup(entityClass, key);
             if (result != null)
             {
                 results.add(result);
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.client;
+
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.persistence.event.PersonEventDispatch;
+
+/**
+ * Junit for dirty fields handed to clients on update, see
+ * {@link ClientBase#getDirtyAttributes()}.
+ */
+public class PartialUpdateTest
+{
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp()
+    {
+        emf = Persistence.createEntityManagerFactory("kunderatest");
+        em = emf.createEntityManager();
+    }
+
+    @After
+    public void tearDown()
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testPartialUpdate()
+    {
+        em.persist(new PersonnelDTO("1", "Amresh", "Singh"));
+        Assert.assertNull(CoreTestClient.getLastDirtyFields());
+        em.clear();
+
+        PersonnelDTO found = em.find(PersonnelDTO.class, "1");
+        found.setLastName("Kumar");
+        em.merge(found);
+        em.flush();
+
+        Set<String> dirtyFields = CoreTestClient.getLastDirtyFields();
+        Assert.assertNotNull(dirtyFields);
+        Assert.assertEquals(1, dirtyFields.size());
+        Assert.assertTrue(dirtyFields.contains("lastName"));
+    }
+
+    @Test
+    public void testPartialUpdateWithCallback()
+    {
+        em.persist(new PersonEventDispatch("callback_1", "John", "Smith"));
+        em.clear();
+
+        PersonEventDispatch found = em.find(PersonEventDispatch.class, "callback_1");
+        Assert.assertEquals("Amresh", found.getFirstName());
+        found.setLastName("Kumar");
+        PersonEventDispatch merged = em.merge(found);
+        em.flush();
+
+        // field changed by pre update callback is written as well.
+        Assert.assertEquals("Pre Update", merged.getFirstName());
+        Set<String> dirtyFields = CoreTestClient.getLastDirtyFields();
+        Assert.assertNotNull(dirtyFields);
+        Assert.assertEquals(2, dirtyFields.size());
+        Assert.assertTrue(dirtyFields.contains("lastName"));
+        Assert.assertTrue(dirtyFields.contains("firstName"));
+    }
+}
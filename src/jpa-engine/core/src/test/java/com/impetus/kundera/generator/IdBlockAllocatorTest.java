@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.generator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Junit for {@link IdBlockAllocator}.
+ */
+public class IdBlockAllocatorTest
+{
+    @Test
+    public void testNextId()
+    {
+        IdBlockAllocator allocator = new IdBlockAllocator();
+        Object discriptor = new Object();
+        Object otherDiscriptor = new Object();
+
+        Assert.assertNull(allocator.nextId(discriptor));
+
+        Assert.assertEquals(Long.valueOf(100), allocator.newBlock(discriptor, 100, 3));
+        Assert.assertEquals(Long.valueOf(101), allocator.nextId(discriptor));
+        Assert.assertEquals(Long.valueOf(102), allocator.nextId(discriptor));
+        Assert.assertNull(allocator.nextId(discriptor));
+        Assert.assertNull(allocator.nextId(otherDiscriptor));
+
+        Assert.assertEquals(Long.valueOf(200), allocator.newBlock(discriptor, 200, 3));
+        Assert.assertEquals(Long.valueOf(201), allocator.nextId(discriptor));
+
+        allocator.clear();
+        Assert.assertNull(allocator.nextId(discriptor));
+    }
+}
@@ -15,6 +15,11 @@
  ******************************************************************************/
 package com.impetus.kundera.graph;
 
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
 import junit.framework.Assert;
 
 import org.junit.After;
@@ -22,6 +27,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
 
 /**
  * @author amresh.singh
@@ -75,4 +81,38 @@ public class ObjectGraphUtilsTest
         Assert.assertEquals("1", entityId.toString());
     }
 
+    /**
+     * Test method for
+     * {@link com.impetus.kundera.graph.ObjectGraphUtils#getDirtyFields(Object, Object, KunderaMetadata)}
+     * .
+     */
+    @Test
+    public void testGetDirtyFields()
+    {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("kunderatest");
+        try
+        {
+            PersonnelDTO original = new PersonnelDTO("1", "Amresh", "Singh");
+            PersonnelDTO modified = new PersonnelDTO("1", "Amresh", "Singh");
+
+            Set<String> dirtyFields = ObjectGraphUtils.getDirtyFields(original, modified,
+                    ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance());
+            Assert.assertNotNull(dirtyFields);
+            Assert.assertTrue(dirtyFields.isEmpty());
+
+            modified.setLastName("Kumar");
+            dirtyFields = ObjectGraphUtils.getDirtyFields(original, modified,
+                    ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance());
+            Assert.assertEquals(1, dirtyFields.size());
+            Assert.assertTrue(dirtyFields.contains("lastName"));
+
+            Assert.assertNull(ObjectGraphUtils.getDirtyFields(original, new Store(),
+                    ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance()));
+        }
+        finally
+        {
+            emf.close();
+        }
+    }
+
 }
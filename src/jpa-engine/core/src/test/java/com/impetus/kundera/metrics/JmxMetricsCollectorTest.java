@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.query.Person;
+
+/**
+ * Junit for {@link JmxMetricsCollector} and {@link Histogram}.
+ */
+public class JmxMetricsCollectorTest
+{
+    private MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    private JmxMetricsCollector collector;
+
+    @Before
+    public void setUp()
+    {
+        collector = new JmxMetricsCollector();
+    }
+
+    @After
+    public void tearDown()
+    {
+        collector.close();
+    }
+
+    @Test
+    public void testOperation() throws Exception
+    {
+        collector.onOperation("patest", Person.class, Operation.FIND, TimeUnit.MILLISECONDS.toNanos(2));
+        collector.onOperation("patest", Person.class, Operation.FIND, TimeUnit.MILLISECONDS.toNanos(4));
+        collector.onClientOperation("patest", Person.class, Operation.FIND, TimeUnit.MILLISECONDS.toNanos(1));
+
+        ObjectName name = getObjectName("type=Operation,persistenceUnit=patest,entity=Person,operation=FIND");
+        Assert.assertEquals(2L, server.getAttribute(name, "Count"));
+        Assert.assertEquals(4000L, server.getAttribute(name, "Max"));
+        Assert.assertEquals(3000.0, server.getAttribute(name, "Mean"));
+
+        name = getObjectName("type=ClientOperation,persistenceUnit=patest,entity=Person,operation=FIND");
+        Assert.assertEquals(1L, server.getAttribute(name, "Count"));
+    }
+
+    @Test
+    public void testBatchAndCache() throws Exception
+    {
+        collector.onBatch("patest", 50, TimeUnit.MILLISECONDS.toNanos(10));
+        collector.onCacheAccess(MetricsCollector.SECOND_LEVEL_CACHE, true);
+        collector.onCacheAccess(MetricsCollector.SECOND_LEVEL_CACHE, false);
+        collector.onCacheAccess(MetricsCollector.SECOND_LEVEL_CACHE, true);
+
+        ObjectName batchSize = getObjectName("type=Batch,persistenceUnit=patest,name=Size");
+        Assert.assertEquals(50L, server.getAttribute(batchSize, "Max"));
+        ObjectName cache = getObjectName("type=Cache,name=second-level");
+        Assert.assertEquals(2L, server.getAttribute(cache, "Hits"));
+        Assert.assertEquals(1L, server.getAttribute(cache, "Misses"));
+    }
+
+    @Test
+    public void testClose() throws Exception
+    {
+        collector.onConnectionWait("patest", 1000);
+        ObjectName name = getObjectName("type=ConnectionWait,persistenceUnit=patest");
+        Assert.assertTrue(server.isRegistered(name));
+
+        collector.close();
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testHistogram()
+    {
+        Histogram histogram = new Histogram();
+        Assert.assertEquals(0, histogram.get99thPercentile());
+        for (int i = 1; i <= 100; i++)
+        {
+            histogram.record(i);
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(50.5, histogram.getMean(), 0.001);
+        Assert.assertEquals(100, histogram.getMax());
+        // within a factor of two.
+        Assert.assertTrue(histogram.get50thPercentile() >= 50 && histogram.get50thPercentile() < 100);
+        Assert.assertEquals(100, histogram.get99thPercentile());
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+    }
+
+    private ObjectName getObjectName(String name) throws Exception
+    {
+        return collector.getObjectName(name);
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.entity.PersonnelDTO;
+
+/**
+ * Test case for {@link AsyncEntityManager}, run on executor of entity manager
+ * factory as test client has no native async support.
+ */
+public class AsyncEntityManagerTest
+{
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory("kunderatest");
+        em = emf.createEntityManager();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testCrud() throws Exception
+    {
+        AsyncEntityManager async = em.unwrap(AsyncEntityManager.class);
+        Assert.assertNotNull(async);
+
+        List<Future<?>> writes = new ArrayList<Future<?>>();
+        for (int i = 0; i < 10; i++)
+        {
+            writes.add(async.persistAsync(new PersonnelDTO("async" + i, "Amresh", "Singh" + i)));
+        }
+        for (Future<?> write : writes)
+        {
+            write.get();
+        }
+
+        List<Future<PersonnelDTO>> reads = new ArrayList<Future<PersonnelDTO>>();
+        for (int i = 0; i < 10; i++)
+        {
+            reads.add(async.findAsync(PersonnelDTO.class, "async" + i));
+        }
+        for (int i = 0; i < 10; i++)
+        {
+            PersonnelDTO dto = reads.get(i).get();
+            Assert.assertNotNull(dto);
+            Assert.assertEquals("Singh" + i, dto.getLastName());
+        }
+
+        PersonnelDTO dto = em.find(PersonnelDTO.class, "async0");
+        Assert.assertNotNull(dto);
+        async.removeAsync(dto).get();
+        Assert.assertNull(async.findAsync(PersonnelDTO.class, "async0").get());
+    }
+
+    @Test
+    public void testPersistWithoutId()
+    {
+        AsyncEntityManager async = em.unwrap(AsyncEntityManager.class);
+        try
+        {
+            async.persistAsync(new PersonnelDTO());
+            Assert.fail("Should have failed, as id is not set.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.CoreTestClient;
 import com.impetus.kundera.configure.CoreEntityAddressUni1To1;
@@ -40,6 +41,7 @@ import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.entities.AssociationEntity;
 import com.impetus.kundera.metadata.entities.OToOOwnerEntity;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.query.QueryHandlerException;
 
 public class PersistenceDelegatorTest
@@ -183,6 +185,64 @@ public class PersistenceDelegatorTest
         Assert.assertEquals(3, persons.size());
     }
 
+    @Test
+    public void testFindForObjectArrayNotInCache()
+    {
+        PersonnelDTO dto = new PersonnelDTO();
+        dto.setPersonId("444");
+        em.persist(dto);
+
+        dto = new PersonnelDTO();
+        dto.setPersonId("555");
+        em.persist(dto);
+
+        em.clear();
+
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+
+        List<PersonnelDTO> persons = pd.find(PersonnelDTO.class, new String[] { "444", "555", "444", "666" });
+        Assert.assertNotNull(persons);
+        Assert.assertEquals(2, persons.size());
+
+        // Found entities must now be served from persistence cache.
+        Assert.assertTrue(em.contains(persons.get(0)));
+        Assert.assertTrue(em.contains(persons.get(1)));
+    }
+
+    @Test
+    public void testFindWithoutCopy()
+    {
+        PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), "kunderatest");
+        puMetadata.getProperties().put(PersistenceProperties.KUNDERA_FIND_NO_COPY, "true");
+        EntityManager noCopyEm = emf.createEntityManager();
+        try
+        {
+            PersonnelDTO dto = new PersonnelDTO();
+            dto.setPersonId("777");
+            dto.setFirstName("Amresh");
+            noCopyEm.persist(dto);
+            noCopyEm.clear();
+
+            PersonnelDTO found = noCopyEm.find(PersonnelDTO.class, "777");
+            Assert.assertNotNull(found);
+            Assert.assertSame(found, noCopyEm.find(PersonnelDTO.class, "777"));
+
+            // Changes to managed entity are detected on flush.
+            found.setFirstName("Vivek");
+            noCopyEm.flush();
+            noCopyEm.clear();
+
+            found = noCopyEm.find(PersonnelDTO.class, "777");
+            Assert.assertEquals("Vivek", found.getFirstName());
+        }
+        finally
+        {
+            puMetadata.getProperties().remove(PersistenceProperties.KUNDERA_FIND_NO_COPY);
+            noCopyEm.close();
+        }
+    }
+
     @Test
     public void testRemove()
     {
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.impetus.kundera.entity.PersonnelDTO;
+
+/**
+ * Entity with an eager unary relation.
+ */
+@Entity
+@Table(name = "personnel_assignment", schema = "KunderaTest@kunderatest")
+public class PersonnelAssignment
+{
+    @Id
+    private String assignmentId;
+
+    @Column(name = "project")
+    private String project;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "MANAGER_ID")
+    private PersonnelDTO manager;
+
+    public PersonnelAssignment()
+    {
+    }
+
+    public PersonnelAssignment(String assignmentId, String project)
+    {
+        this.assignmentId = assignmentId;
+        this.project = project;
+    }
+
+    public String getAssignmentId()
+    {
+        return assignmentId;
+    }
+
+    public void setAssignmentId(String assignmentId)
+    {
+        this.assignmentId = assignmentId;
+    }
+
+    public String getProject()
+    {
+        return project;
+    }
+
+    public void setProject(String project)
+    {
+        this.project = project;
+    }
+
+    public PersonnelDTO getManager()
+    {
+        return manager;
+    }
+
+    public void setManager(PersonnelDTO manager)
+    {
+        this.manager = manager;
+    }
+}
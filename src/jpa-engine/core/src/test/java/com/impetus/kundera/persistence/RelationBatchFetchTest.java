@@ -0,0 +1,136 @@
+/**
+ * Copyright 2015 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.client.CoreTestClient;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+
+/**
+ * Test case for batch fetch of eager unary relations of query results.
+ */
+public class RelationBatchFetchTest
+{
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private PersistenceDelegator pd;
+
+    private EntityMetadata m;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory("kunderatest");
+        em = emf.createEntityManager();
+        em.persist(new PersonnelDTO("m1", "Alice", "Smith"));
+        em.persist(new PersonnelDTO("m2", "Bob", "Jones"));
+        em.clear();
+
+        pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        m = KunderaMetadataManager.getEntityMetadata(((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(),
+                PersonnelAssignment.class);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testSingleFindAllForAllRows()
+    {
+        List<EnhanceEntity> rows = new ArrayList<EnhanceEntity>();
+        rows.add(row("a1", "m1"));
+        rows.add(row("a2", "m1"));
+        rows.add(row("a3", "m2"));
+
+        CoreTestClient.resetFindCalls();
+        List<Object> results = findEntities(rows);
+
+        Assert.assertEquals(1, CoreTestClient.getFindAllCalls());
+        Assert.assertEquals(0, CoreTestClient.getFindCalls());
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals("m1", ((PersonnelAssignment) results.get(0)).getManager().getPersonId());
+        Assert.assertEquals("m1", ((PersonnelAssignment) results.get(1)).getManager().getPersonId());
+        Assert.assertEquals("m2", ((PersonnelAssignment) results.get(2)).getManager().getPersonId());
+        Assert.assertEquals("Bob", ((PersonnelAssignment) results.get(2)).getManager().getFirstName());
+    }
+
+    @Test
+    public void testFallbackForMissingKeys()
+    {
+        List<EnhanceEntity> rows = new ArrayList<EnhanceEntity>();
+        rows.add(row("a1", "m1"));
+        rows.add(row("a2", "m9"));
+
+        CoreTestClient.resetFindCalls();
+        List<Object> results = findEntities(rows);
+
+        Assert.assertEquals(1, CoreTestClient.getFindAllCalls());
+        Assert.assertEquals(1, CoreTestClient.getFindCalls());
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("m1", ((PersonnelAssignment) results.get(0)).getManager().getPersonId());
+        Assert.assertNull(((PersonnelAssignment) results.get(1)).getManager());
+    }
+
+    @Test
+    public void testSingleRowIsNotBatched()
+    {
+        List<EnhanceEntity> rows = new ArrayList<EnhanceEntity>();
+        rows.add(row("a1", "m2"));
+
+        CoreTestClient.resetFindCalls();
+        List<Object> results = findEntities(rows);
+
+        Assert.assertEquals(0, CoreTestClient.getFindAllCalls());
+        Assert.assertEquals(1, CoreTestClient.getFindCalls());
+        Assert.assertEquals("m2", ((PersonnelAssignment) results.get(0)).getManager().getPersonId());
+    }
+
+    private List<Object> findEntities(List<EnhanceEntity> rows)
+    {
+        return ((AbstractEntityReader) pd.getClient(m).getReader()).recursivelyFindEntities(rows, m, pd,
+                new HashMap<Object, Object>());
+    }
+
+    private EnhanceEntity row(String assignmentId, String managerId)
+    {
+        Map<String, Object> relations = new HashMap<String, Object>();
+        relations.put("MANAGER_ID", managerId);
+        return new EnhanceEntity(new PersonnelAssignment(assignmentId, "kundera"), assignmentId, relations);
+    }
+}
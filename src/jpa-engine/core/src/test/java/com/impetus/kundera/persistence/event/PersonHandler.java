@@ -18,6 +18,7 @@ package com.impetus.kundera.persistence.event;
 import javax.persistence.PostLoad;
 import javax.persistence.PostPersist;
 import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 
 public class PersonHandler
 {
@@ -34,6 +35,12 @@ public class PersonHandler
         user.setLastName("Singh");
     }
     
+    @PreUpdate
+    public void handledPreUpdate(PersonEventDispatch user)
+    {
+        user.setFirstName("Pre Update");
+    }
+
     @PostLoad
     public void handledPostLoad(PersonEventDispatch user)
     {
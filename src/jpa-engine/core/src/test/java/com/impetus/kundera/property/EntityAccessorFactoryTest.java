@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.utils.KunderaCoreUtils;
+
+/**
+ * Junit for {@link EntityAccessorFactory}.
+ */
+public class EntityAccessorFactoryTest
+{
+
+    @Test
+    public void testGeneratedAccessor() throws Exception
+    {
+        Field id = AccessorEntity.class.getDeclaredField("id");
+        Field age = AccessorEntity.class.getDeclaredField("age");
+        Field name = AccessorEntity.class.getDeclaredField("name");
+        Field title = AccessorEntity.class.getDeclaredField("title");
+        Field noAccessor = AccessorEntity.class.getDeclaredField("noAccessor");
+        List<Field> fields = Arrays.asList(id, age, name, title, noAccessor);
+
+        EntityAccessor entityAccessor = EntityAccessorFactory.generate(AccessorEntity.class, fields);
+
+        // Class definition may not be allowed by running JVM, reflection is
+        // used in that case.
+        Assume.assumeNotNull(entityAccessor);
+
+        try
+        {
+            // non private fields and private fields with plain getter/setter.
+            Assert.assertTrue(EntityAccessorFactory.getFieldAccessor(id).isGenerated());
+            Assert.assertTrue(EntityAccessorFactory.getFieldAccessor(age).isGenerated());
+            Assert.assertTrue(EntityAccessorFactory.getFieldAccessor(name).isGenerated());
+            // setter does more than assigning field.
+            Assert.assertFalse(EntityAccessorFactory.getFieldAccessor(title).isGenerated());
+            Assert.assertFalse(EntityAccessorFactory.getFieldAccessor(noAccessor).isGenerated());
+
+            AccessorEntity entity = (AccessorEntity) entityAccessor.newInstance();
+            Assert.assertNotNull(entity);
+
+            PropertyAccessorHelper.set(entity, id, "1");
+            PropertyAccessorHelper.set(entity, age, 32L);
+            PropertyAccessorHelper.set(entity, name, "kundera");
+            PropertyAccessorHelper.set(entity, title, "engine");
+            PropertyAccessorHelper.set(entity, noAccessor, "reflection");
+
+            Assert.assertEquals(0, entity.setterCalls);
+            Assert.assertEquals("1", entity.getId());
+            Assert.assertEquals(32L, entity.age);
+            Assert.assertEquals("kundera", entity.name);
+
+            Assert.assertEquals("1", PropertyAccessorHelper.getObject(entity, id));
+            Assert.assertEquals(32L, PropertyAccessorHelper.getObject(entity, age));
+            Assert.assertEquals("kundera", PropertyAccessorHelper.getObject(entity, name));
+            Assert.assertEquals("engine", PropertyAccessorHelper.getObject(entity, title));
+            Assert.assertEquals("reflection", PropertyAccessorHelper.getObject(entity, noAccessor));
+            Assert.assertEquals("kundera", PropertyAccessorHelper.getObjectCopy(entity, name));
+
+            // widened like reflection does.
+            PropertyAccessorHelper.set(entity, age, Integer.valueOf(40));
+            Assert.assertEquals(40L, entity.age);
+
+            try
+            {
+                PropertyAccessorHelper.set(entity, age, (Object) null);
+                Assert.fail("Should have failed setting null into a primitive field");
+            }
+            catch (PropertyAccessException paex)
+            {
+                Assert.assertNotNull(paex.getCause());
+            }
+
+            try
+            {
+                PropertyAccessorHelper.set(entity, age, (Object) "forty");
+                Assert.fail("Should have failed setting a string into a long field");
+            }
+            catch (PropertyAccessException paex)
+            {
+                Assert.assertNotNull(paex.getCause());
+            }
+
+            // sub classes (e.g. lazy proxies) are accessed via field, their
+            // getters are not invoked.
+            AccessorEntity subEntity = new AccessorEntity()
+            {
+                @Override
+                public String getId()
+                {
+                    return "overridden";
+                }
+            };
+            PropertyAccessorHelper.set(subEntity, id, "2");
+            Assert.assertEquals("2", PropertyAccessorHelper.getObject(subEntity, id));
+        }
+        finally
+        {
+            EntityAccessorFactory.release(AccessorEntity.class, fields);
+        }
+
+        Assert.assertNull(EntityAccessorFactory.getFieldAccessor(id));
+        Assert.assertNull(EntityAccessorFactory.getFieldAccessor(age));
+    }
+
+    @Test
+    public void testRegisteredPerFieldInstance() throws Exception
+    {
+        List<Field> fields = Arrays.asList(AccessorEntity.class.getDeclaredField("id"));
+        List<Field> otherFields = Arrays.asList(AccessorEntity.class.getDeclaredField("id"));
+
+        Assume.assumeNotNull(EntityAccessorFactory.generate(AccessorEntity.class, fields));
+        try
+        {
+            Assert.assertNotNull(EntityAccessorFactory.getFieldAccessor(fields.get(0)));
+            // equal, but not the same field instance.
+            Assert.assertNull(EntityAccessorFactory.getFieldAccessor(otherFields.get(0)));
+
+            Assert.assertNotNull(EntityAccessorFactory.generate(AccessorEntity.class, otherFields));
+            EntityAccessorFactory.release(AccessorEntity.class, otherFields);
+            Assert.assertNull(EntityAccessorFactory.getFieldAccessor(otherFields.get(0)));
+            Assert.assertNotNull(EntityAccessorFactory.getFieldAccessor(fields.get(0)));
+        }
+        finally
+        {
+            EntityAccessorFactory.release(AccessorEntity.class, fields);
+        }
+        Assert.assertNull(EntityAccessorFactory.getFieldAccessor(fields.get(0)));
+    }
+
+    @Test
+    public void testRegisteredPerFactory()
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_GENERATED_ACCESSOR, "true");
+        EntityManagerFactory generatedEmf = Persistence.createEntityManagerFactory("kunderatest", props);
+        EntityManagerFactory reflectiveEmf = Persistence.createEntityManagerFactory("kunderatest");
+
+        EntityMetadata generated = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) generatedEmf).getKunderaMetadataInstance(), PersonnelDTO.class);
+        EntityMetadata reflective = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) reflectiveEmf).getKunderaMetadataInstance(), PersonnelDTO.class);
+        Field generatedId = (Field) generated.getIdAttribute().getJavaMember();
+        Field reflectiveId = (Field) reflective.getIdAttribute().getJavaMember();
+
+        try
+        {
+            Assume.assumeNotNull(EntityAccessorFactory.getEntityAccessor(generated));
+            Assert.assertTrue(EntityAccessorFactory.getFieldAccessor(generatedId).isGenerated());
+            Assert.assertTrue(KunderaCoreUtils.createNewInstance(generated) instanceof PersonnelDTO);
+
+            EntityManager em = generatedEmf.createEntityManager();
+            em.persist(new PersonnelDTO("accessor1", "Amresh", "Singh"));
+            em.clear();
+            PersonnelDTO found = em.find(PersonnelDTO.class, "accessor1");
+            Assert.assertEquals("Amresh", found.getFirstName());
+            Assert.assertEquals("Singh", found.getLastName());
+            em.remove(found);
+            em.close();
+
+            Assert.assertNull(EntityAccessorFactory.getEntityAccessor(reflective));
+            Assert.assertNull(EntityAccessorFactory.getFieldAccessor(reflectiveId));
+        }
+        finally
+        {
+            generatedEmf.close();
+            reflectiveEmf.close();
+        }
+        Assert.assertNull(EntityAccessorFactory.getEntityAccessor(generated));
+        Assert.assertNull(EntityAccessorFactory.getFieldAccessor(generatedId));
+    }
+
+    public static class AccessorEntity
+    {
+        private String id;
+
+        long age;
+
+        String name;
+
+        private String title;
+
+        private String noAccessor;
+
+        int setterCalls;
+
+        public AccessorEntity()
+        {
+        }
+
+        public String getId()
+        {
+            return id;
+        }
+
+        public void setId(String id)
+        {
+            this.id = id;
+        }
+
+        public long getAge()
+        {
+            return age;
+        }
+
+        public void setAge(long age)
+        {
+            setterCalls++;
+            this.age = age;
+        }
+
+        public String getTitle()
+        {
+            return title;
+        }
+
+        public void setTitle(String title)
+        {
+            setterCalls++;
+            this.title = title;
+        }
+    }
+}
@@ -15,6 +15,9 @@
  ******************************************************************************/
 package com.impetus.kundera.proxy.cglib;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -27,7 +30,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.impetus.kundera.CoreTestUtilities;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.graph.BillingCounter;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.PersistenceDelegator;
@@ -160,5 +165,84 @@ public class CglibLazyInitializerTest
         
         em = emf.createEntityManager();
     }
-        
+
+    @Test
+    public void testBatchInitialization() throws NoSuchFieldException, SecurityException, IllegalArgumentException,
+            IllegalAccessException
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_LAZY_BATCH_SIZE, "2");
+        EntityManagerFactory batchEmf = Persistence.createEntityManagerFactory("kunderatest", props);
+        EntityManager batchEm = batchEmf.createEntityManager();
+        try
+        {
+            PersistenceDelegator delegator = CoreTestUtilities.getDelegator(batchEm);
+            batchEm.persist(new PersonnelDTO("b1", "vivek", "mishra"));
+            batchEm.persist(new PersonnelDTO("b2", "amresh", "singh"));
+            batchEm.persist(new PersonnelDTO("b3", "chhavi", "gangwal"));
+
+            LazyInitializerFactory factory = ((EntityManagerFactoryImpl) batchEmf).getKunderaMetadataInstance()
+                    .getCoreMetadata().getLazyInitializerFactory();
+            LazyInitializer li1 = factory.getProxy("personnel#b1", PersonnelDTO.class, null, null, "b1", delegator)
+                    .getKunderaLazyInitializer();
+            LazyInitializer li2 = factory.getProxy("personnel#b2", PersonnelDTO.class, null, null, "b2", delegator)
+                    .getKunderaLazyInitializer();
+            LazyInitializer li3 = factory.getProxy("personnel#b3", PersonnelDTO.class, null, null, "b3", delegator)
+                    .getKunderaLazyInitializer();
+
+            li1.initialize();
+
+            // Second proxy is loaded along with the first one, third exceeds
+            // batch size.
+            Assert.assertFalse(li1.isUninitialized());
+            Assert.assertFalse(li2.isUninitialized());
+            Assert.assertTrue(li3.isUninitialized());
+            Assert.assertEquals("b1", ((PersonnelDTO) li1.getImplementation()).getPersonId());
+            Assert.assertEquals("b2", ((PersonnelDTO) li2.getImplementation()).getPersonId());
+
+            Assert.assertEquals("b3", ((PersonnelDTO) li3.getImplementation()).getPersonId());
+        }
+        finally
+        {
+            batchEm.close();
+            batchEmf.close();
+        }
+    }
+
+    @Test
+    public void testBatchInitializationWithOtherKeyType() throws NoSuchFieldException, SecurityException,
+            IllegalArgumentException, IllegalAccessException
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_LAZY_BATCH_SIZE, "2");
+        EntityManagerFactory batchEmf = Persistence.createEntityManagerFactory("kunderatest", props);
+        EntityManager batchEm = batchEmf.createEntityManager();
+        try
+        {
+            PersistenceDelegator delegator = CoreTestUtilities.getDelegator(batchEm);
+            batchEm.persist(new BillingCounter(1, "A"));
+            batchEm.persist(new BillingCounter(2, "B"));
+
+            // Proxies keyed by Long, while id attribute is an int.
+            LazyInitializerFactory factory = ((EntityManagerFactoryImpl) batchEmf).getKunderaMetadataInstance()
+                    .getCoreMetadata().getLazyInitializerFactory();
+            LazyInitializer li1 = factory.getProxy("counter#1", BillingCounter.class, null, null, 1L, delegator)
+                    .getKunderaLazyInitializer();
+            LazyInitializer li2 = factory.getProxy("counter#2", BillingCounter.class, null, null, 2L, delegator)
+                    .getKunderaLazyInitializer();
+
+            li1.initialize();
+
+            Assert.assertFalse(li1.isUninitialized());
+            Assert.assertFalse(li2.isUninitialized());
+            Assert.assertEquals("A", ((BillingCounter) li1.getImplementation()).getCounterCode());
+            Assert.assertEquals("B", ((BillingCounter) li2.getImplementation()).getCounterCode());
+        }
+        finally
+        {
+            batchEm.close();
+            batchEmf.close();
+        }
+    }
+
 }
@@ -336,6 +336,43 @@ public class KunderaQueryTest
 
     }
 
+    @Test
+    public void testQueryCache()
+    {
+        String query = "Select p from Person p where p.personName = :name and p.age= :age";
+        KunderaQueryCache queryCache = kunderaMetadata.getApplicationMetadata().getQueryCache();
+        Assert.assertNull(queryCache.get(query));
+
+        KunderaQuery kunderaQuery = new KunderaQuery(query, kunderaMetadata);
+        KunderaQueryParser queryParser = new KunderaQueryParser(kunderaQuery);
+        queryParser.parse();
+        kunderaQuery.postParsingInit();
+        queryCache.put(query, kunderaQuery);
+        kunderaQuery.setParameter("name", "pname");
+        kunderaQuery.setParameter("age", 32);
+
+        KunderaQuery cachedQuery = queryCache.get(query);
+        Assert.assertNotNull(cachedQuery);
+        Assert.assertNotSame(kunderaQuery, cachedQuery);
+        Assert.assertEquals(Person.class, cachedQuery.getEntityClass());
+        Assert.assertEquals(PU, cachedQuery.getPersistenceUnit());
+        Assert.assertEquals(kunderaQuery.getFilterClauseQueue().size(), cachedQuery.getFilterClauseQueue().size());
+        Assert.assertEquals(2, cachedQuery.getParameters().size());
+
+        // Parameters bound on one query must not leak into copies.
+        Assert.assertEquals(":name", ((FilterClause) cachedQuery.getFilterClauseQueue().peek()).getValue().get(0));
+        cachedQuery.setParameter("name", "otherName");
+        Assert.assertEquals("otherName", cachedQuery.getClauseValue(":name").get(0));
+        Assert.assertEquals("pname", kunderaQuery.getClauseValue(":name").get(0));
+        Assert.assertEquals(":name", ((FilterClause) queryCache.get(query).getFilterClauseQueue().peek()).getValue()
+                .get(0));
+
+        em.createQuery(query);
+        Assert.assertEquals(1, queryCache.size());
+        queryCache.clear();
+        Assert.assertNull(queryCache.get(query));
+    }
+
     @Test
     public void testInvalidIndexParameter()
     {
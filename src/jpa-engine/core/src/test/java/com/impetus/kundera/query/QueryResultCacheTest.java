@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Persistence;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+
+/**
+ * Junit for {@link QueryResultCache}.
+ */
+public class QueryResultCacheTest
+{
+    private QueryResultCache cache;
+
+    private EntityMetadata person;
+
+    private EntityMetadata address;
+
+    @Before
+    public void setUp()
+    {
+        cache = new QueryResultCache();
+        person = getMetadata(Person.class, "PERSON");
+        address = getMetadata(Object.class, "ADDRESS");
+    }
+
+    @Test
+    public void testGetAndPut()
+    {
+        QueryResultCache.Key key = getKey("Sumit");
+        Assert.assertNull(cache.get(key, person));
+
+        cache.put(key, person, Arrays.<Object> asList("1", "2"), cache.now());
+        Assert.assertEquals(Arrays.<Object> asList("1", "2"), cache.get(key, person));
+        Assert.assertEquals(Arrays.<Object> asList("1", "2"), cache.get(getKey("Sumit"), person));
+        Assert.assertNull(cache.get(getKey("Vivek"), person));
+    }
+
+    @Test
+    public void testArrayParameters()
+    {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("ids", new Object[] { "1", "2" });
+        cache.put(new QueryResultCache.Key("Select p from Person p where p.personId IN :ids", parameters, 0, 100,
+                false), person, Collections.<Object> singletonList("1"), cache.now());
+
+        parameters = new HashMap<String, Object>();
+        parameters.put("ids", new Object[] { "1", "2" });
+        Assert.assertNotNull(cache.get(new QueryResultCache.Key("Select p from Person p where p.personId IN :ids",
+                parameters, 0, 100, false), person));
+    }
+
+    @Test
+    public void testWriteInvalidates()
+    {
+        QueryResultCache.Key key = getKey("Sumit");
+        cache.put(key, person, Collections.<Object> singletonList("1"), cache.now());
+
+        cache.onWrite(address);
+        Assert.assertNotNull(cache.get(key, person));
+
+        cache.onWrite(person);
+        Assert.assertNull(cache.get(key, person));
+    }
+
+    @Test
+    public void testWriteDuringQuery()
+    {
+        QueryResultCache.Key key = getKey("Sumit");
+        long readAt = cache.now();
+        cache.onWrite(person);
+        cache.put(key, person, Collections.<Object> singletonList("1"), readAt);
+        Assert.assertNull(cache.get(key, person));
+
+        cache.put(key, person, Collections.<Object> singletonList("1"), cache.now());
+        List<Object> primaryKeys = cache.get(key, person);
+        Assert.assertEquals(Collections.<Object> singletonList("1"), primaryKeys);
+    }
+
+    @Test
+    public void testClear()
+    {
+        QueryResultCache.Key key = getKey("Sumit");
+        cache.put(key, person, Collections.<Object> singletonList("1"), cache.now());
+        cache.clear();
+        Assert.assertNull(cache.get(key, person));
+    }
+
+    @Test
+    public void testInvalidTtl()
+    {
+        for (String ttl : new String[] { "ten", "0", "-1" })
+        {
+            Map<String, Object> props = new HashMap<String, Object>();
+            props.put(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL, ttl);
+            try
+            {
+                Persistence.createEntityManagerFactory("kunderatest", props);
+                Assert.fail("Should have failed for ttl " + ttl);
+            }
+            catch (IllegalArgumentException e)
+            {
+                Assert.assertTrue(e.getMessage().startsWith(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL));
+            }
+        }
+    }
+
+    private QueryResultCache.Key getKey(String name)
+    {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("name", name);
+        return new QueryResultCache.Key("Select p from Person p where p.personName = :name", parameters, 0, 100,
+                false);
+    }
+
+    private EntityMetadata getMetadata(Class<?> clazz, String tableName)
+    {
+        EntityMetadata m = new EntityMetadata(clazz);
+        m.setPersistenceUnit("patest");
+        m.setSchema("KunderaTest");
+        m.setTableName(tableName);
+        return m;
+    }
+}
@@ -18,11 +18,20 @@ package com.impetus.kundera.index;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EmbeddableType;
@@ -30,26 +39,29 @@ import javax.persistence.metamodel.EntityType;
 
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.IndexNotFoundException;
-import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexFileNames;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LogDocMergePolicy;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.RAMDirectory;
 import org.apache.lucene.util.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.Constants;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.cache.ElementCollectionCacheManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
@@ -63,7 +75,13 @@ import com.impetus.kundera.utils.KunderaCoreUtils;
 import com.impetus.kundera.utils.ReflectUtils;
 
 /**
- * Provides indexing functionality using lucene library.
+ * Provides indexing functionality using lucene library. A single long-lived
+ * writer is shared by all operations, searches see its changes through a near
+ * real time {@link SearcherManager}. Changes are committed in groups, once a
+ * configured number of changes is pending or a configured interval has
+ * elapsed, and on {@link #close()}. Index is held either in RAM (default) and
+ * persisted to index home directory on commit, copying only new index files,
+ * or in a memory mapped directory on disk.
  * 
  * @author amresh.singh
  */
@@ -75,37 +93,57 @@ public class LuceneIndexer extends DocumentIndexer {
     /** The w. */
     private static IndexWriter w;
 
-    /** The reader. */
-    private static IndexReader reader;
+    /** Near real time searcher manager over writer. */
+    private static SearcherManager searcherManager;
 
     /** The index. */
     private static Directory index;
 
-    /** The is initialized. */
-    private static boolean isInitialized;
+    /** Whether index is held in RAM and persisted to lucene dir path. */
+    private static boolean ramDirectory;
 
     /** The indexer. */
     private static LuceneIndexer indexer;
 
-    /** The ready for commit. */
-    private static boolean readyForCommit;
+    /** Number of changes since last commit. */
+    private static final AtomicInteger pendingChanges = new AtomicInteger();
+
+    /** Number of pending changes which triggers a commit. */
+    private static int commitDocs;
+
+    /** Commits pending changes periodically. */
+    private static ScheduledExecutorService committer;
 
     /** The lucene dir path. */
     private static String luceneDirPath;
 
+    /** Directory type for memory mapped index on disk. */
+    private static final String MMAP_DIRECTORY = "mmap";
+
+    /** Default number of milliseconds between commits. */
+    private static final long DEFAULT_COMMIT_INTERVAL = 1000;
+
+    /** Default number of pending changes which triggers a commit. */
+    private static final int DEFAULT_COMMIT_DOCS = 1000;
+
     /**
      * Instantiates a new lucene indexer.
      * 
-     * @param analyzer
-     *            the analyzer
      * @param lucDirPath
      *            the luc dir path
+     * @param properties
+     *            the indexer properties
      */
-    private LuceneIndexer(String lucDirPath) {
+    private LuceneIndexer(String lucDirPath, Map<String, Object> properties) {
         try {
             luceneDirPath = lucDirPath;
+            ramDirectory =
+                !MMAP_DIRECTORY.equalsIgnoreCase(getProperty(properties,
+                    PersistenceProperties.KUNDERA_INDEX_DIRECTORY_TYPE, "ram"));
             File file = new File(luceneDirPath);
-            if (file.exists()) {
+            if (!ramDirectory) {
+                index = new MMapDirectory(getIndexDirectory());
+            } else if (file.exists()) {
                 Directory sourceDir = FSDirectory.open(getIndexDirectory());
 
                 // TODO initialize context.
@@ -113,10 +151,6 @@ public class LuceneIndexer extends DocumentIndexer {
             } else {
                 index = new RAMDirectory();
             }
-            /*
-             * FSDirectory.open(getIndexDirectory( ))
-             */
-            // isInitialized
             /* writer */
             IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
             LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
@@ -124,6 +158,34 @@ public class LuceneIndexer extends DocumentIndexer {
             indexWriterConfig.setMergePolicy(logDocMergePolicy);
             w = new IndexWriter(index, indexWriterConfig);
             w.getConfig().setRAMBufferSizeMB(32);
+            searcherManager = new SearcherManager(w, true, null);
+
+            commitDocs =
+                Integer.parseInt(getProperty(properties, PersistenceProperties.KUNDERA_INDEX_COMMIT_DOCS,
+                    String.valueOf(DEFAULT_COMMIT_DOCS)));
+            long commitInterval =
+                Long.parseLong(getProperty(properties, PersistenceProperties.KUNDERA_INDEX_COMMIT_INTERVAL,
+                    String.valueOf(DEFAULT_COMMIT_INTERVAL)));
+            if (commitInterval > 0) {
+                committer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "kundera-lucene-commit");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+                committer.scheduleWithFixedDelay(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            commit();
+                        } catch (LuceneIndexingException e) {
+                            log.error("Error while committing Lucene indexes, Caused by: ", e);
+                        }
+                    }
+                }, commitInterval, commitInterval, TimeUnit.MILLISECONDS);
+            }
         } catch (Exception e) {
             log.error("Error while instantiating LuceneIndexer, Caused by :.", e);
             throw new LuceneIndexingException(e);
@@ -133,53 +195,55 @@ public class LuceneIndexer extends DocumentIndexer {
     /**
      * Gets the single instance of LuceneIndexer.
      * 
-     * @param analyzer
-     *            the analyzer
      * @param lucDirPath
      *            the luc dir path
      * @return single instance of LuceneIndexer
      */
-    public static synchronized LuceneIndexer getInstance(String lucDirPath) {
-        // super(analyzer);
+    public static LuceneIndexer getInstance(String lucDirPath) {
+        return getInstance(lucDirPath, Collections.<String, Object> emptyMap());
+    }
+
+    /**
+     * Gets the single instance of LuceneIndexer. Properties are applied only
+     * while creating the instance.
+     * 
+     * @param lucDirPath
+     *            the luc dir path
+     * @param properties
+     *            the indexer properties
+     * @return single instance of LuceneIndexer
+     */
+    public static synchronized LuceneIndexer getInstance(String lucDirPath, Map<String, Object> properties) {
         if (indexer == null && lucDirPath != null) {
-            indexer = new LuceneIndexer(lucDirPath);
+            indexer = new LuceneIndexer(lucDirPath, properties);
 
         }
         return indexer;
     }
 
     /**
-     * Added for HBase support.
+     * Gets the indexer property.
      * 
-     * @return default index writer
+     * @param properties
+     *            the indexer properties
+     * @param property
+     *            the property name
+     * @param defaultValue
+     *            the default value
+     * @return the property value
      */
-    private IndexWriter getIndexWriter() {
-        return w;
+    private static String getProperty(Map<String, Object> properties, String property, String defaultValue) {
+        Object value = properties != null ? properties.get(property) : null;
+        return value != null ? value.toString().trim() : defaultValue;
     }
 
     /**
-     * Returns default index reader.
+     * Added for HBase support.
      * 
-     * @return index reader.
+     * @return default index writer
      */
-    private IndexReader getIndexReader() {
-        // removed flushInternal() call while reading
-        if (reader == null) {
-            try {
-                if (!isInitialized) {
-                    Directory sourceDir = FSDirectory.open(getIndexDirectory());
-                    copy(sourceDir, index);
-                    isInitialized = true;
-                }
-                reader = IndexReader.open(index);
-            } catch (IndexNotFoundException infex) {
-                log.warn("No index found in given directory, caused by:", infex.getMessage());
-            } catch (Exception e) {
-                log.error("Error while instantiating LuceneIndexer, Caused by :.", e);
-                throw new LuceneIndexingException(e);
-            }
-        }
-        return reader;
+    private IndexWriter getIndexWriter() {
+        return w;
     }
 
     /**
@@ -187,7 +251,7 @@ public class LuceneIndexer extends DocumentIndexer {
      * 
      * @return the index directory
      */
-    private File getIndexDirectory() {
+    private static File getIndexDirectory() {
         File file = new File(luceneDirPath);
 
         if (!file.isDirectory()) {
@@ -227,20 +291,11 @@ public class LuceneIndexer extends DocumentIndexer {
             Query q = qp.parse(luceneQuery);
 
             w.deleteDocuments(q);
-            w.commit();
-            w.close();
-            IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
-            LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
-            logDocMergePolicy.setMergeFactor(1000);
-            indexWriterConfig.setMergePolicy(logDocMergePolicy);
-            w = new IndexWriter(index, indexWriterConfig);
-
-            w.getConfig().setRAMBufferSizeMB(32);
-            // flushInternal();
         } catch (Exception e) {
             log.error("Error while instantiating LuceneIndexer, Caused by :.", e);
             throw new LuceneIndexingException(e);
         }
+        onCommit();
     }
 
     /**
@@ -341,8 +396,6 @@ public class LuceneIndexer extends DocumentIndexer {
                 (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(metadata.getPersistenceUnit());
             isEmbeddedId = metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType());
         }
-        reader = getIndexReader();
-
         if (Constants.INVALID == count) {
             count = 100;
         }
@@ -354,14 +407,16 @@ public class LuceneIndexer extends DocumentIndexer {
         // Set<String> entityIds = new HashSet<String>();
         Map<String, Object> indexCol = new HashMap<String, Object>();
 
-        if (reader == null) {
-
-            return indexCol;
-            // throw new
-            // LuceneIndexingException("Index reader is not initialized!");
-        }
         QueryParser qp = null;
-        IndexSearcher searcher = new IndexSearcher(reader);
+        IndexSearcher searcher;
+        try {
+            // Blocks only if there are changes not yet visible to searchers.
+            searcherManager.maybeRefreshBlocking();
+            searcher = searcherManager.acquire();
+        } catch (IOException ioe) {
+            log.error("Error while reading Lucene indexes, Caused by :.", ioe);
+            throw new LuceneIndexingException(ioe);
+        }
 
         qp = new QueryParser(Version.LUCENE_34, DEFAULT_SEARCHABLE_FIELD, new StandardAnalyzer(Version.LUCENE_34));
 
@@ -399,9 +454,10 @@ public class LuceneIndexer extends DocumentIndexer {
         } catch (Exception e) {
             log.error("Error while parsing Lucene Query {} ", luceneQuery, e);
             throw new LuceneIndexingException(e);
+        } finally {
+            release(searcher);
         }
 
-        reader = null;
         return indexCol;
     }
 
@@ -460,17 +516,35 @@ public class LuceneIndexer extends DocumentIndexer {
     }
 
     /**
-     * Flush internal.
+     * Releases searcher acquired from searcher manager.
+     * 
+     * @param searcher
+     *            the searcher
      */
-    private void flushInternal() {
+    private void release(IndexSearcher searcher) {
         try {
-            if (w != null && readyForCommit) {
-                // w.optimize();
+            searcherManager.release(searcher);
+        } catch (IOException ioe) {
+            log.warn("Error while releasing Lucene index searcher, Caused by: ", ioe);
+        }
+    }
+
+    /**
+     * Commits pending changes and, for RAM held index, persists them to lucene
+     * dir path.
+     */
+    private static synchronized void commit() {
+        try {
+            if (w != null && pendingChanges.getAndSet(0) > 0) {
                 w.commit();
-                copy(index, FSDirectory.open(getIndexDirectory()));
-                readyForCommit = false;
-                reader = null;
-                isInitialized = false;
+                if (ramDirectory) {
+                    Directory to = FSDirectory.open(getIndexDirectory());
+                    try {
+                        persist(index, to);
+                    } finally {
+                        to.close();
+                    }
+                }
             }
         }
 
@@ -481,20 +555,11 @@ public class LuceneIndexer extends DocumentIndexer {
     }
 
     /**
-     * Close of transaction.
+     * Close of transaction, commits pending changes. Writer is kept open as it
+     * is shared by all users of this indexer.
      */
     public void close() {
-        try {
-            if (w != null && readyForCommit) {
-                w.commit();
-                copy(index, FSDirectory.open(getIndexDirectory()));
-            }
-        }
-
-        catch (Exception e) {
-            log.error("Error while closing lucene indexes, Caused by: ", e);
-            throw new LuceneIndexingException("Error while closing lucene indexes.", e);
-        }
+        commit();
     }
 
     @Override
@@ -740,7 +805,7 @@ public class LuceneIndexer extends DocumentIndexer {
         final MetamodelImpl metaModel, Object entity, String parentId, Class<?> clazz, boolean isUpdate,
         Document document, Object embeddedObject, Object rowKey, String attributeName,
         EmbeddableType embeddableAttribute) {
-        ElementCollectionCacheManager ecCacheHandler = ElementCollectionCacheManager.getInstance();
+        ElementCollectionCacheManager ecCacheHandler = metaModel.getElementCollectionCacheManager();
         // Check whether it's first time insert or updation
         if (ecCacheHandler.isCacheEmpty()) { // First time
                                              // insert
@@ -796,27 +861,13 @@ public class LuceneIndexer extends DocumentIndexer {
     }
 
     /**
-     * On commit.
+     * On commit, commits pending changes once enough of them are pending.
+     * Searchers do not depend on commits to see changes.
      */
     private void onCommit() {
-        // TODO: Sadly this required to keep lucene happy, in case of indexing
-        // and searching with same entityManager.
-        // Other alternative would be to issue flush on each search
-        // try
-        // {
-        // w.commit();
-        isInitialized = true;
-        readyForCommit = true;
-        // }
-        // catch (CorruptIndexException e)
-        // {
-        // throw new IndexingException(e.getMessage());
-        // }
-        // catch (IOException e)
-        // {
-        // throw new IndexingException(e.getMessage());
-        // }
-        flushInternal();
+        if (pendingChanges.incrementAndGet() >= commitDocs) {
+            commit();
+        }
     }
 
     @Override
@@ -835,9 +886,48 @@ public class LuceneIndexer extends DocumentIndexer {
         throw new UnsupportedOperationException("Method not supported");
     }
 
-    private void copy(Directory src, Directory to) throws IOException {
-        for (String file : src.listAll()) {
-            src.copy(to, file, file, IOContext.DEFAULT);
+    /**
+     * Persists last commit of source directory into target directory. Index
+     * files are never modified once written, so only files missing in target
+     * are copied, followed by segments file, and files no more referenced are
+     * deleted from target.
+     * 
+     * @param src
+     *            the source directory
+     * @param to
+     *            the target directory
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void persist(Directory src, Directory to) throws IOException {
+        SegmentInfos lastCommit = new SegmentInfos();
+        lastCommit.read(src);
+
+        Set<String> existing = new HashSet<String>();
+        Collections.addAll(existing, to.listAll());
+
+        List<String> copied = new ArrayList<String>();
+        for (String file : lastCommit.files(src, false)) {
+            if (!existing.remove(file)) {
+                src.copy(to, file, file, IOContext.DEFAULT);
+                copied.add(file);
+            }
+        }
+
+        String segmentsFile = lastCommit.getSegmentsFileName();
+        src.copy(to, segmentsFile, segmentsFile, IOContext.DEFAULT);
+        copied.add(segmentsFile);
+        existing.remove(segmentsFile);
+        if (src.fileExists(IndexFileNames.SEGMENTS_GEN)) {
+            src.copy(to, IndexFileNames.SEGMENTS_GEN, IndexFileNames.SEGMENTS_GEN, IOContext.DEFAULT);
+            copied.add(IndexFileNames.SEGMENTS_GEN);
+            existing.remove(IndexFileNames.SEGMENTS_GEN);
+        }
+        to.sync(copied);
+
+        existing.remove(IndexWriter.WRITE_LOCK_NAME);
+        for (String stale : existing) {
+            to.deleteFile(stale);
         }
     }
 
@@ -31,6 +31,7 @@ import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.query.Person;
 import com.impetus.kundera.query.Person.Day;
 import com.impetus.kundera.utils.LuceneCleanupUtilities;
@@ -145,6 +146,28 @@ public class LuceneIndexerTest
         indexer.close();
     }
 
+    @Test
+    public void testUnindex()
+    {
+        LuceneIndexer indexer = LuceneIndexer.getInstance(LUCENE_DIR_PATH);
+        KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, Person.class);
+        Person p = new Person();
+        p.setAge(33);
+        p.setDay(Day.MONDAY);
+        p.setPersonId("p2");
+        indexer.index(metadata, (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel("patest"), p);
+
+        // visible to searches without commit.
+        Assert.assertTrue(indexer.documentExistsInIndex(metadata, "p2", kunderaMetadata, false, null));
+
+        indexer.unindex(metadata, "p2", kunderaMetadata, null);
+        Assert.assertFalse(indexer.documentExistsInIndex(metadata, "p2", kunderaMetadata, false, null));
+
+        indexer.close();
+    }
+
     @Test
     public void testOnUnsupportedMethods()
     {
@@ -18,11 +18,14 @@ package com.impetus.client.cassandra;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -110,6 +113,7 @@ import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.property.accessor.StringAccessor;
 import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.ReflectUtils;
 import com.impetus.kundera.utils.TimestampGenerator;
 
 /**
@@ -148,6 +152,12 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     /** batch size. */
     private int batchSize;
 
+    /** Whether batched writes are grouped per partition and sent unlogged. */
+    private boolean partitionedBatch;
+
+    /** Maximum size in bytes of one partition batch. */
+    private int batchSizeInBytes = CassandraConstants.DEFAULT_BATCH_SIZE_IN_BYTES;
+
     /** The cql client. */
     protected final CQLClient cqlClient;
 
@@ -177,6 +187,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         this.generator = generator;
         setBatchSize(persistenceUnit, this.externalProperties);
         populateCqlVersion(externalProperties);
+        populateBatchMode(persistenceUnit, externalProperties);
     }
 
     /**
@@ -1136,7 +1147,27 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     protected List<String> createInsertQuery(EntityMetadata entityMetadata, Object entity,
             Cassandra.Client cassandra_client, List<RelationHolder> rlHolders, Object ttlColumns)
     {
-        List<String> insert_Queries = new ArrayList<String>();
+        return new ArrayList<String>(createInsertQueries(entityMetadata, entity, rlHolders, ttlColumns).values());
+    }
+
+    /**
+     * Returns insert query string per table the entity is written to, i.e.
+     * its own table, secondary tables and collection tables.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param entity
+     *            the entity
+     * @param rlHolders
+     *            the rl holders
+     * @param ttlColumns
+     *            the ttl columns
+     * @return the insert queries, keyed by table name
+     */
+    private Map<String, String> createInsertQueries(EntityMetadata entityMetadata, Object entity,
+            List<RelationHolder> rlHolders, Object ttlColumns)
+    {
+        Map<String, String> insert_Queries = new LinkedHashMap<String, String>();
         CQLTranslator translator = new CQLTranslator();
         HashMap<TranslationType, Map<String, StringBuilder>> translation = translator.prepareColumnOrColumnValues(
                 entity, entityMetadata, TranslationType.ALL, externalProperties, kunderaMetadata);
@@ -1186,11 +1217,91 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                     insert_Query = insert_Query + " USING TTL " + ttl;
                 }
             }
-            insert_Queries.add(insert_Query);
+            insert_Queries.put(tableName, insert_Query);
         }
         return insert_Queries;
     }
 
+    /**
+     * Return update query string for given changed attributes of entity, one
+     * per table.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param entity
+     *            the entity
+     * @param dirtyAttributes
+     *            changed (basic) attributes
+     * @param ttlColumns
+     *            TTL values for each columns
+     * @return the list
+     */
+    protected List<String> createUpdateQuery(EntityMetadata entityMetadata, Object entity,
+            List<AbstractAttribute> dirtyAttributes, Object ttlColumns)
+    {
+        CQLTranslator translator = new CQLTranslator();
+        Map<String, StringBuilder> builders = new HashMap<String, StringBuilder>();
+        for (AbstractAttribute attribute : dirtyAttributes)
+        {
+            String tableName = attribute.getTableName() != null ? attribute.getTableName() : entityMetadata
+                    .getTableName();
+            StringBuilder builder = builders.get(tableName);
+            if (builder == null)
+            {
+                builder = new StringBuilder();
+                builders.put(tableName, builder);
+            }
+
+            Object value = PropertyAccessorHelper.getObject(entity, (Field) attribute.getJavaMember());
+            translator.ensureCase(builder, attribute.getJPAColumnName(), false).append(CQLTranslator.EQ_CLAUSE);
+            if (value == null)
+            {
+                builder.append("null");
+            }
+            else
+            {
+                translator.appendValue(builder, value.getClass(), value, false, false);
+            }
+            builder.append(CQLTranslator.COMMA_STR);
+        }
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        Object rowId = PropertyAccessorHelper.getId(entity, entityMetadata);
+
+        List<String> update_Queries = new ArrayList<String>();
+        for (String tableName : builders.keySet())
+        {
+            StringBuilder builder = builders.get(tableName);
+
+            // strip last "," clause.
+            builder.delete(builder.lastIndexOf(CQLTranslator.COMMA_STR), builder.length());
+
+            builder.append(CQLTranslator.ADD_WHERE_CLAUSE);
+            onWhereClause(entityMetadata, rowId, translator, builder, metaModel, entityMetadata.getIdAttribute());
+
+            // strip last "AND" clause.
+            builder.delete(builder.lastIndexOf(CQLTranslator.AND_CLAUSE), builder.length());
+
+            StringBuilder queryBuilder = new StringBuilder(StringUtils.replace(translator.UPDATE_QUERY,
+                    CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(), tableName, false)
+                            .toString()));
+            if (ttlColumns != null && ttlColumns instanceof Integer && ((Integer) ttlColumns).intValue() != 0)
+            {
+                queryBuilder.append("USING TTL ").append(ttlColumns).append(" ");
+            }
+            queryBuilder.append(CQLTranslator.ADD_SET_CLAUSE);
+            queryBuilder.append(builder);
+
+            if (log.isInfoEnabled())
+            {
+                log.info("Returning update query {}.", queryBuilder.toString());
+            }
+            update_Queries.add(queryBuilder.toString());
+        }
+        return update_Queries;
+    }
+
     /**
      * On relation columns.
      * 
@@ -1711,6 +1822,12 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         String batchQuery = CQLTranslator.BATCH_QUERY;
         batchQuery = StringUtils.replace(batchQuery, CQLTranslator.STATEMENT, "");
         StringBuilder batchQueryBuilder = new StringBuilder(batchQuery);
+
+        /**
+         * Key -> table and partition key, Value -> statements on that
+         * partition, in case of partitioned batch.
+         */
+        Map<List<Object>, List<String>> partitions = new LinkedHashMap<List<Object>, List<String>>();
         try
         {
             boolean isCql3Enabled = false;
@@ -1735,19 +1852,28 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                     {
                         isCql3Enabled = true;
                         List<RelationHolder> relationHolders = getRelationHolders(node);
+                        Map<String, String> queries;
                         if (node.isInState(RemovedState.class))
                         {
-                            String query;
-                            query = onDeleteQuery(metadata, metadata.getTableName(), metaModel, id);
-                            batchQueryBuilder.append(" ");
-                            batchQueryBuilder.append(query);
+                            queries = Collections.singletonMap(metadata.getTableName(),
+                                    onDeleteQuery(metadata, metadata.getTableName(), metaModel, id));
                         }
                         else
                         {
-                            List<String> insertQueries = createInsertQuery(metadata, entity, conn, relationHolders,
-                                    getTtlValues().get(metadata.getTableName()));
-                            for (String query : insertQueries)
+                            queries = createInsertQueries(metadata, entity, relationHolders, getTtlValues()
+                                    .get(metadata.getTableName()));
+                        }
+
+                        if (partitionedBatch)
+                        {
+                            addToPartitions(partitions, metadata.getSchema(),
+                                    getPartitionKey(metadata, metaModel, id), queries);
+                        }
+                        else
+                        {
+                            for (String query : queries.values())
                             {
+                                batchQueryBuilder.append(" ");
                                 batchQueryBuilder.append(query);
                             }
                         }
@@ -1794,7 +1920,11 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                 }
             }
 
-            if (!nodes.isEmpty() && isCql3Enabled)
+            if (!partitions.isEmpty())
+            {
+                executePartitionBatches(createPartitionBatches(partitions.values(), batchSizeInBytes));
+            }
+            else if (!nodes.isEmpty() && isCql3Enabled)
             {
                 batchQueryBuilder.append(CQLTranslator.APPLY_BATCH);
                 executeCQLQuery(batchQueryBuilder.toString(), isCql3Enabled);
@@ -1942,6 +2072,139 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         return mutationMap;
     }
 
+    /**
+     * Returns partition key value of given row id, i.e. the first component
+     * of a composite id.
+     * 
+     * @param metadata
+     *            the entity metadata
+     * @param metaModel
+     *            the meta model
+     * @param id
+     *            the row id
+     * @return the partition key
+     */
+    private Object getPartitionKey(EntityMetadata metadata, MetamodelImpl metaModel, Object id)
+    {
+        if (id != null && metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType()))
+        {
+            for (Field field : metadata.getIdAttribute().getBindableJavaType().getDeclaredFields())
+            {
+                if (!ReflectUtils.isTransientOrStatic(field))
+                {
+                    return PropertyAccessorHelper.getObject(id, field);
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Adds statements of a row to the statements of the partition of each
+     * table they write to.
+     * 
+     * @param partitions
+     *            statements per schema, table and partition key
+     * @param schema
+     *            the schema
+     * @param partitionKey
+     *            the partition key of row
+     * @param queries
+     *            statements of row, keyed by table name
+     */
+    static void addToPartitions(Map<List<Object>, List<String>> partitions, String schema, Object partitionKey,
+            Map<String, String> queries)
+    {
+        for (Map.Entry<String, String> query : queries.entrySet())
+        {
+            List<Object> partition = Arrays.asList(schema, query.getKey(), partitionKey);
+            List<String> statements = partitions.get(partition);
+            if (statements == null)
+            {
+                statements = new ArrayList<String>();
+                partitions.put(partition, statements);
+            }
+            statements.add(query.getValue());
+        }
+    }
+
+    /**
+     * Creates unlogged batches out of statements grouped per partition. A
+     * batch is closed once its statements reach given size in UTF-8 bytes,
+     * and single statements are sent as they are.
+     * 
+     * @param partitions
+     *            statements per partition
+     * @param batchSizeInBytes
+     *            the maximum size of a batch in bytes
+     * @return the batch queries
+     */
+    static List<String> createPartitionBatches(Collection<List<String>> partitions, int batchSizeInBytes)
+    {
+        String batchQuery = StringUtils.replace(CQLTranslator.UNLOGGED_BATCH_QUERY, CQLTranslator.STATEMENT, "");
+        Charset charset = Charset.forName(Constants.CHARSET_UTF8);
+        List<String> batchQueries = new ArrayList<String>();
+        for (List<String> statements : partitions)
+        {
+            int from = 0;
+            int size = 0;
+            for (int i = 0; i < statements.size(); i++)
+            {
+                int length = statements.get(i).getBytes(charset).length;
+                if (i > from && size + length > batchSizeInBytes)
+                {
+                    batchQueries.add(toBatchQuery(batchQuery, statements.subList(from, i)));
+                    from = i;
+                    size = 0;
+                }
+                size += length;
+            }
+            batchQueries.add(toBatchQuery(batchQuery, statements.subList(from, statements.size())));
+        }
+        return batchQueries;
+    }
+
+    /**
+     * Wraps given statements into a batch, unless it is a single one.
+     * 
+     * @param batchQuery
+     *            the batch query prefix
+     * @param statements
+     *            the statements
+     * @return the query
+     */
+    private static String toBatchQuery(String batchQuery, List<String> statements)
+    {
+        if (statements.size() == 1)
+        {
+            return statements.get(0);
+        }
+        StringBuilder batchQueryBuilder = new StringBuilder(batchQuery);
+        for (String statement : statements)
+        {
+            batchQueryBuilder.append(" ");
+            batchQueryBuilder.append(statement);
+        }
+        batchQueryBuilder.append(CQLTranslator.APPLY_BATCH);
+        return batchQueryBuilder.toString();
+    }
+
+    /**
+     * Executes batches of a partitioned batch, each one touching a single
+     * partition. Executes them one after the other, clients with an
+     * asynchronous API may send them concurrently.
+     * 
+     * @param batchQueries
+     *            the batch queries
+     */
+    protected void executePartitionBatches(List<String> batchQueries)
+    {
+        for (String batchQuery : batchQueries)
+        {
+            executeCQLQuery(batchQuery, true);
+        }
+    }
+
     /**
      * Check on batch limit.
      */
@@ -2108,6 +2371,78 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         }
     }
 
+    /**
+     * Populates batch mode, see {@link CassandraConstants#BATCH_PARTITIONED}.
+     * 
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param externalProperties
+     *            the external properties
+     */
+    private void populateBatchMode(String persistenceUnit, Map<String, Object> externalProperties)
+    {
+        PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                persistenceUnit);
+        Object partitioned = externalProperties != null ? externalProperties.get(CassandraConstants.BATCH_PARTITIONED)
+                : null;
+        Object sizeInBytes = externalProperties != null ? externalProperties
+                .get(CassandraConstants.BATCH_SIZE_IN_BYTES) : null;
+        if (partitioned == null && puMetadata != null)
+        {
+            partitioned = puMetadata.getProperty(CassandraConstants.BATCH_PARTITIONED);
+        }
+        if (sizeInBytes == null && puMetadata != null)
+        {
+            sizeInBytes = puMetadata.getProperty(CassandraConstants.BATCH_SIZE_IN_BYTES);
+        }
+
+        if (partitioned != null)
+        {
+            setPartitionedBatch(Boolean.valueOf(partitioned.toString()));
+        }
+        if (sizeInBytes != null)
+        {
+            setBatchSizeInBytes(sizeInBytes.toString());
+        }
+    }
+
+    /**
+     * Sets whether batched writes are grouped per partition and sent as
+     * unlogged batches.
+     * 
+     * @param partitionedBatch
+     *            the partitioned batch
+     */
+    void setPartitionedBatch(boolean partitionedBatch)
+    {
+        this.partitionedBatch = partitionedBatch;
+    }
+
+    /**
+     * Sets the maximum size in bytes of one partition batch.
+     * 
+     * @param batchSizeInBytes
+     *            the batch size in bytes
+     */
+    void setBatchSizeInBytes(String batchSizeInBytes)
+    {
+        if (!StringUtils.isBlank(batchSizeInBytes))
+        {
+            try
+            {
+                this.batchSizeInBytes = Integer.valueOf(batchSizeInBytes.trim());
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException("batch.size.bytes property must be numeric and > 0.", e);
+            }
+            if (this.batchSizeInBytes <= 0)
+            {
+                throw new IllegalArgumentException("batch.size.bytes property must be numeric and > 0.");
+            }
+        }
+    }
+
     /**
      * Populate cql version.
      * 
@@ -2202,10 +2537,15 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                 TimedOutException, SchemaDisagreementException
         {
             List<String> queries;
+            List<AbstractAttribute> dirtyAttributes = getDirtyAttributes(entityMetadata);
             if (entityMetadata.isCounterColumnType())
             {
                 queries = createUpdateQueryForCounter(entityMetadata, entity, conn, rlHolders);
             }
+            else if (dirtyAttributes != null)
+            {
+                queries = createUpdateQuery(entityMetadata, entity, dirtyAttributes, ttlColumns);
+            }
             else
             {
                 queries = createInsertQuery(entityMetadata, entity, conn, rlHolders, ttlColumns);
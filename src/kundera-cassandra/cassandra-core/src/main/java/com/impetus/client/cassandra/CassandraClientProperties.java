@@ -96,6 +96,14 @@ class CassandraClientProperties
                     {
                         this.cassandraClientBase.setBatchSize(value.toString());
                     }
+                    else if (key.equals(CassandraConstants.BATCH_PARTITIONED))
+                    {
+                        this.cassandraClientBase.setPartitionedBatch(Boolean.valueOf(value.toString()));
+                    }
+                    else if (key.equals(CassandraConstants.BATCH_SIZE_IN_BYTES))
+                    {
+                        this.cassandraClientBase.setBatchSizeInBytes(value.toString());
+                    }
 
                     // Add more properties as needed
                 }
@@ -37,6 +37,7 @@ import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.generator.AutoGenerator;
+import com.impetus.kundera.generator.BlockAllocatingGenerator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
 
@@ -45,7 +46,7 @@ import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
  * 
  * @author: karthikp.manchala
  */
-public class CassandraIdGenerator implements AutoGenerator, TableGenerator
+public class CassandraIdGenerator implements AutoGenerator, TableGenerator, BlockAllocatingGenerator
 {
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(CassandraIdGenerator.class);
@@ -131,15 +132,10 @@ public class CassandraIdGenerator implements AutoGenerator, TableGenerator
 
                 conn.add(ByteBuffer.wrap(discriptor.getPkColumnValue().getBytes()), columnParent, counterColumn,
                         ((CassandraClientBase) client).getConsistencyLevel());
+                // counter value after this increment, as read in cql3 mode.
+                latestCount++;
             }
-            if (latestCount == 0)
-            {
-                return (long) discriptor.getInitialValue();
-            }
-            else
-            {
-                return (latestCount + 1) * discriptor.getAllocationSize();
-            }
+            return getBlockStart(discriptor, latestCount);
         }
         catch (UnavailableException e)
         {
@@ -158,4 +154,20 @@ public class CassandraIdGenerator implements AutoGenerator, TableGenerator
         }
     }
 
+    /**
+     * Returns first id of the block reserved by given counter value. Counter
+     * value n (starting at 1) reserves ids [(n - 1) * allocationSize +
+     * initialValue, n * allocationSize + initialValue).
+     * 
+     * @param discriptor
+     *            table generator descriptor.
+     * @param latestCount
+     *            counter value after increment.
+     * @return first id of the block.
+     */
+    static long getBlockStart(TableGeneratorDiscriptor discriptor, long latestCount)
+    {
+        return (latestCount - 1) * discriptor.getAllocationSize() + discriptor.getInitialValue();
+    }
+
 }
@@ -92,4 +92,13 @@ public interface CassandraConstants
     public static final String SOCKET_TIMEOUT = "socket.timeout";
 
     public static final String MAX_WAIT = "max.wait";
+
+    /** Sends batched writes as unlogged batches per partition key, if true. */
+    public static final String BATCH_PARTITIONED = "batch.partitioned";
+
+    /** Maximum size in bytes of statements sent in one partition batch. */
+    public static final String BATCH_SIZE_IN_BYTES = "batch.size.bytes";
+
+    /** Default of {@link #BATCH_SIZE_IN_BYTES}, Cassandra's batch size warn threshold. */
+    public static final int DEFAULT_BATCH_SIZE_IN_BYTES = 5 * 1024;
 }
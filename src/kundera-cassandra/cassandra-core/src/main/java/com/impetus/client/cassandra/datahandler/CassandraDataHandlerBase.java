@@ -457,7 +457,7 @@ public abstract class CassandraDataHandlerBase
             }
             if (embeddedObject instanceof Collection)
             {
-                ElementCollectionCacheManager ecCacheHandler = ElementCollectionCacheManager.getInstance();
+                ElementCollectionCacheManager ecCacheHandler = metaModel.getElementCollectionCacheManager();
 
                 for (Object obj : (Collection) embeddedObject)
                 {
@@ -720,7 +720,7 @@ public abstract class CassandraDataHandlerBase
                         embeddedCollection.add(embeddedObject);
 
                         // Add this embedded object to cache
-                        ElementCollectionCacheManager.getInstance().addElementCollectionCacheMapping(tr.getId(),
+                        metaModel.getElementCollectionCacheManager().addElementCollectionCacheMapping(tr.getId(),
                                 embeddedObject, scName);
                     }
                     else
@@ -798,7 +798,7 @@ public abstract class CassandraDataHandlerBase
                         embeddedCollection.add(embeddedObject);
 
                         // Add this embedded object to cache
-                        ElementCollectionCacheManager.getInstance().addElementCollectionCacheMapping(tr.getId(),
+                        metaModel.getElementCollectionCacheManager().addElementCollectionCacheMapping(tr.getId(),
                                 embeddedObject, scName);
                     }
                     else
@@ -2142,7 +2142,7 @@ public abstract class CassandraDataHandlerBase
         if (superColumnObject != null && superColumnObject instanceof Collection)
         {
 
-            ElementCollectionCacheManager ecCacheHandler = ElementCollectionCacheManager.getInstance();
+            ElementCollectionCacheManager ecCacheHandler = metaModel.getElementCollectionCacheManager();
 
             // Check whether it's first time insert or updation
             if (ecCacheHandler.isCacheEmpty())
@@ -158,6 +158,9 @@ public final class CQLTranslator
     /** The Constant BATCH_QUERY. */
     public static final String BATCH_QUERY = "BEGIN BATCH $STATEMENT ";
 
+    /** The Constant UNLOGGED_BATCH_QUERY. */
+    public static final String UNLOGGED_BATCH_QUERY = "BEGIN UNLOGGED BATCH $STATEMENT ";
+
     /** The Constant STATEMENT. */
     public static final String STATEMENT = "$STATEMENT";
 
@@ -284,7 +284,9 @@ public class ThriftClientFactory extends CassandraClientFactory
             try
             {
                 success = true;
+                long start = System.nanoTime();
                 Cassandra.Client client = connectionPool.getConnection();
+                onConnectionWait(start);
 
                 if (logger.isDebugEnabled())
                 {
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra;
+
+import javax.persistence.TableGenerator;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
+
+/**
+ * Junit for block boundaries of {@link CassandraIdGenerator}.
+ */
+public class CassandraIdGeneratorTest
+{
+    @TableGenerator(name = "id_gen", initialValue = 100, allocationSize = 30)
+    private Object id;
+
+    @Test
+    public void testBlockBoundaries() throws Exception
+    {
+        TableGeneratorDiscriptor discriptor = new TableGeneratorDiscriptor(getClass().getDeclaredField("id")
+                .getAnnotation(TableGenerator.class), "KunderaExamples", "CassandraIdGeneratorTest");
+
+        Assert.assertEquals(100, CassandraIdGenerator.getBlockStart(discriptor, 1));
+        Assert.assertEquals(130, CassandraIdGenerator.getBlockStart(discriptor, 2));
+        Assert.assertEquals(160, CassandraIdGenerator.getBlockStart(discriptor, 3));
+
+        // consecutive blocks are adjacent and never overlap.
+        long previousEnd = discriptor.getInitialValue();
+        for (long count = 1; count <= 10; count++)
+        {
+            long start = CassandraIdGenerator.getBlockStart(discriptor, count);
+            Assert.assertEquals(previousEnd, start);
+            previousEnd = start + discriptor.getAllocationSize();
+        }
+    }
+}
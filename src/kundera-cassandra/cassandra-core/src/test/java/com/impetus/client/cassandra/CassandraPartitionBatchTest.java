@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Junit for grouping and splitting of partitioned batches of
+ * {@link CassandraClientBase}.
+ */
+public class CassandraPartitionBatchTest
+{
+    private static final String BATCH_PREFIX = "BEGIN UNLOGGED BATCH";
+
+    @Test
+    public void testGrouping()
+    {
+        Map<List<Object>, List<String>> partitions = new LinkedHashMap<List<Object>, List<String>>();
+        CassandraClientBase.addToPartitions(partitions, "KunderaExamples", "1",
+                Collections.singletonMap("PERSON", "insert person 1"));
+        CassandraClientBase.addToPartitions(partitions, "KunderaExamples", "2",
+                Collections.singletonMap("PERSON", "insert person 2"));
+        CassandraClientBase.addToPartitions(partitions, "KunderaExamples", "1",
+                Collections.singletonMap("PERSON", "update person 1"));
+
+        // statements of secondary tables go to partition of their own table.
+        Map<String, String> queries = new LinkedHashMap<String, String>();
+        queries.put("PERSON", "insert person 3");
+        queries.put("PERSON_ADDRESS", "insert address 3");
+        CassandraClientBase.addToPartitions(partitions, "KunderaExamples", "3", queries);
+
+        Assert.assertEquals(4, partitions.size());
+        Assert.assertEquals(Arrays.asList("insert person 1", "update person 1"),
+                partitions.get(Arrays.<Object> asList("KunderaExamples", "PERSON", "1")));
+        Assert.assertEquals(Arrays.asList("insert person 2"),
+                partitions.get(Arrays.<Object> asList("KunderaExamples", "PERSON", "2")));
+        Assert.assertEquals(Arrays.asList("insert person 3"),
+                partitions.get(Arrays.<Object> asList("KunderaExamples", "PERSON", "3")));
+        Assert.assertEquals(Arrays.asList("insert address 3"),
+                partitions.get(Arrays.<Object> asList("KunderaExamples", "PERSON_ADDRESS", "3")));
+    }
+
+    @Test
+    public void testSingleStatement()
+    {
+        List<String> batches = CassandraClientBase.createPartitionBatches(
+                Collections.singletonList(Arrays.asList("insert person 1")), 5 * 1024);
+
+        Assert.assertEquals(Arrays.asList("insert person 1"), batches);
+    }
+
+    @Test
+    public void testSizeCap()
+    {
+        List<String> statements = Arrays.asList("insert person 1", "insert person 2", "insert person 3");
+        int size = "insert person 1".length();
+
+        // room for two statements per batch.
+        List<String> batches = CassandraClientBase.createPartitionBatches(
+                Collections.singletonList(statements), 2 * size + 1);
+
+        Assert.assertEquals(2, batches.size());
+        Assert.assertTrue(batches.get(0).startsWith(BATCH_PREFIX));
+        Assert.assertTrue(batches.get(0).contains("insert person 1"));
+        Assert.assertTrue(batches.get(0).contains("insert person 2"));
+        Assert.assertFalse(batches.get(0).contains("insert person 3"));
+        Assert.assertEquals("insert person 3", batches.get(1));
+
+        // a statement larger than cap is still sent, on its own.
+        batches = CassandraClientBase.createPartitionBatches(Collections.singletonList(statements), 1);
+        Assert.assertEquals(statements, batches);
+
+        // each partition gets batches of its own.
+        List<List<String>> partitions = new ArrayList<List<String>>();
+        partitions.add(Arrays.asList("insert person 1", "update person 1"));
+        partitions.add(Arrays.asList("insert person 2"));
+        batches = CassandraClientBase.createPartitionBatches(partitions, 5 * 1024);
+        Assert.assertEquals(2, batches.size());
+        Assert.assertTrue(batches.get(0).startsWith(BATCH_PREFIX));
+        Assert.assertEquals("insert person 2", batches.get(1));
+    }
+
+    @Test
+    public void testSizeCapInUtf8Bytes()
+    {
+        String statement = "insert person '\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9'";
+        List<String> statements = Arrays.asList(statement, statement);
+
+        // both fit by character count, not by UTF-8 byte length.
+        List<String> batches = CassandraClientBase.createPartitionBatches(Collections.singletonList(statements),
+                2 * statement.length() + 5);
+
+        Assert.assertEquals(statements, batches);
+    }
+}
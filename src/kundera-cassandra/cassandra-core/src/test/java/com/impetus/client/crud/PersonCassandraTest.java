@@ -44,6 +44,7 @@ import org.apache.cassandra.thrift.ColumnDef;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.Compression;
 import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.CqlResult;
 import org.apache.cassandra.thrift.IndexType;
 import org.apache.cassandra.thrift.InvalidRequestException;
 import org.apache.cassandra.thrift.KsDef;
@@ -52,6 +53,7 @@ import org.apache.cassandra.thrift.NotFoundException;
 import org.apache.cassandra.thrift.SchemaDisagreementException;
 import org.apache.cassandra.thrift.TimedOutException;
 import org.apache.cassandra.thrift.UnavailableException;
+import org.apache.cassandra.utils.ByteBufferUtil;
 import org.apache.thrift.TException;
 import org.junit.After;
 import org.junit.Before;
@@ -61,6 +63,7 @@ import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.thrift.CQLTranslator;
 import com.impetus.client.cassandra.thrift.ThriftClient;
 import com.impetus.client.crud.PersonCassandra.Day;
+import com.impetus.kundera.Constants;
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.cassandra.persistence.CassandraCli;
@@ -542,6 +545,75 @@ public class PersonCassandraTest extends BaseTest
         assertOnMerge(entityManager, "PersonCassandra", PersonCassandra.class, "vivek", "newvivek", "personName");
     }
 
+    /**
+     * On partial update cassandra, only changed columns must be written.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void onPartialUpdateCassandra() throws Exception
+    {
+        // partial updates are issued in cql3 mode only.
+        entityManager.close();
+        emf.close();
+        Map<String, String> cql3Properties = new HashMap<String, String>();
+        cql3Properties.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "create");
+        cql3Properties.put(CassandraConstants.CQL_VERSION, CassandraConstants.CQL_VERSION_3_0);
+        emf = Persistence.createEntityManagerFactory(SEC_IDX_CASSANDRA_TEST, cql3Properties);
+        entityManager = emf.createEntityManager();
+
+        entityManager.persist(prepareData("1", 10));
+        entityManager.clear();
+        Map<String, Long> inserted = getWriteTimes("1");
+
+        PersonCassandra p = findById(PersonCassandra.class, "1", entityManager);
+        p.setPersonName("newvivek");
+        entityManager.merge(p);
+        entityManager.clear();
+
+        Map<String, Long> updated = getWriteTimes("1");
+        Assert.assertTrue(updated.get("PERSON_NAME") > inserted.get("PERSON_NAME"));
+        Assert.assertEquals(inserted.get("AGE"), updated.get("AGE"));
+        Assert.assertEquals(inserted.get("ENUM"), updated.get("ENUM"));
+        Assert.assertEquals(inserted.get("MONTH_ENUM"), updated.get("MONTH_ENUM"));
+        Assert.assertEquals("newvivek", findById(PersonCassandra.class, "1", entityManager).getPersonName());
+    }
+
+    /**
+     * Returns write time of each column of person row, as stored in cassandra.
+     * 
+     * @param personId
+     *            the person id
+     * @return write times by column name
+     * @throws Exception
+     *             the exception
+     */
+    private Map<String, Long> getWriteTimes(String personId) throws Exception
+    {
+        String[] columns = { "PERSON_NAME", "AGE", "ENUM", "MONTH_ENUM" };
+        StringBuilder query = new StringBuilder("Select ");
+        for (String column : columns)
+        {
+            query.append("writetime(\"").append(column).append("\"),");
+        }
+        query.deleteCharAt(query.length() - 1);
+        query.append(" from \"PERSONCASSANDRA\" where \"personId\" = '").append(personId).append("'");
+
+        CassandraCli.client.set_keyspace("KunderaExamples");
+        CqlResult cqlResult = CassandraCli.client.execute_cql3_query(ByteBuffer.wrap(query.toString().getBytes()),
+                Compression.NONE, ConsistencyLevel.ONE);
+
+        Map<String, Long> writeTimes = new HashMap<String, Long>();
+        for (Column column : cqlResult.getRows().get(0).getColumns())
+        {
+            String columnName = new String(column.getName(), Constants.ENCODING);
+            writeTimes.put(columnName.substring("writetime(".length(), columnName.length() - 1),
+                    ByteBufferUtil.toLong(ByteBuffer.wrap(column.getValue())));
+        }
+        return writeTimes;
+    }
+
     /**
      * On delete then insert cassandra.
      * 
@@ -19,14 +19,19 @@ package com.impetus.kundera.client.cassandra.dsdriver;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
 import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.EntityType;
 
@@ -39,27 +44,36 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.impetus.client.cassandra.CassandraClientBase;
 import com.impetus.client.cassandra.common.CassandraConstants;
+import com.impetus.client.cassandra.common.CassandraUtilities;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.client.cassandra.query.CassQuery;
 import com.impetus.client.cassandra.thrift.CQLTranslator;
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.client.AsyncClient;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.generator.Generator;
+import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
@@ -74,6 +88,7 @@ import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.ReflectUtils;
 import com.impetus.kundera.utils.TimestampGenerator;
 
 /**
@@ -82,12 +97,15 @@ import com.impetus.kundera.utils.TimestampGenerator;
  * @author vivek.mishra
  * 
  */
-public class DSClient extends CassandraClientBase implements Client<CassQuery>, Batcher
+public class DSClient extends CassandraClientBase implements Client<CassQuery>, Batcher, AsyncClient
 {
 
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(DSClient.class);
 
+    /** Maximum number of row keys selected by one IN clause. */
+    private static final int MAX_IN_CLAUSE_KEYS = 100;
+
     /** The factory. */
     private DSClientFactory factory;
 
@@ -131,11 +149,17 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
+        Object ttlColumns = getTtlValues().get(entityMetadata.getTableName());
+        if (rlHolders.isEmpty() && getDirtyAttributes(entityMetadata) == null
+                && onPreparedInsert(entityMetadata, entity, ttlColumns))
+        {
+            return;
+        }
+
         // Insert, update is fine
         try
         {
-            cqlClient.persist(entityMetadata, entity, null, rlHolders, getTtlValues()
-                    .get(entityMetadata.getTableName()));
+            cqlClient.persist(entityMetadata, entity, null, rlHolders, ttlColumns);
         }
         catch (InvalidRequestException e)
         {
@@ -168,8 +192,7 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
     public Object find(Class entityClass, Object rowId)
     {
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
-        StringBuilder builder = createSelectQuery(rowId, metadata, metadata.getTableName());
-        ResultSet rSet = this.execute(builder.toString(), null);
+        ResultSet rSet = executeSelect(rowId, metadata, metadata.getTableName());
         List results = iterateAndReturn(rSet, entityClass, metadata);
         return results.isEmpty() ? null : results.get(0);
     }
@@ -204,6 +227,468 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
         return builder;
     }
 
+    /**
+     * Selects row of given table for row id, using prepared statement if
+     * possible.
+     * 
+     * @param rowId
+     *            the row id
+     * @param metadata
+     *            the metadata
+     * @param tableName
+     *            the table name
+     * @return the result set
+     */
+    private ResultSet executeSelect(Object rowId, EntityMetadata metadata, String tableName)
+    {
+        BoundStatement statement = bind(getKeyStatement(metadata, tableName, CQLTranslator.SELECTALL_QUERY), rowId);
+        if (statement != null)
+        {
+            return execute(statement);
+        }
+        return this.execute(createSelectQuery(rowId, metadata, tableName).toString(), null);
+    }
+
+    /**
+     * Returns prepared statement for given query with row key as where clause,
+     * i.e. select or delete by id. Returns null for composite keys.
+     * 
+     * @param metadata
+     *            the metadata
+     * @param tableName
+     *            the table name
+     * @param query
+     *            query template, {@link CQLTranslator#SELECTALL_QUERY} or
+     *            {@link CQLTranslator#DELETE_QUERY}
+     * @return the prepared statement
+     */
+    private PreparedStatement getKeyStatement(EntityMetadata metadata, String tableName, String query)
+    {
+        return getKeyStatement(metadata, tableName, query, CQLTranslator.EQ_CLAUSE);
+    }
+
+    /**
+     * Returns prepared statement for given query with given clause on row key
+     * as where clause, i.e. {@link CQLTranslator#EQ_CLAUSE} for a single key or
+     * {@link CQLTranslator#IN_CLAUSE} for a list of keys. Returns null for
+     * composite keys.
+     * 
+     * @param metadata
+     *            the metadata
+     * @param tableName
+     *            the table name
+     * @param query
+     *            query template, {@link CQLTranslator#SELECTALL_QUERY} or
+     *            {@link CQLTranslator#DELETE_QUERY}
+     * @param clause
+     *            the clause on row key
+     * @return the prepared statement
+     */
+    private PreparedStatement getKeyStatement(EntityMetadata metadata, String tableName, String query, String clause)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+        if (metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType()))
+        {
+            return null;
+        }
+
+        String key = query + clause + tableName;
+        PreparedStatement statement = factory.getPreparedStatement(key);
+        if (statement == null)
+        {
+            CQLTranslator translator = new CQLTranslator();
+            StringBuilder builder = new StringBuilder(StringUtils.replace(query, CQLTranslator.COLUMN_FAMILY,
+                    translator.ensureCase(new StringBuilder(), tableName, false).toString()));
+            builder.append(CQLTranslator.ADD_WHERE_CLAUSE);
+            translator.appendColumnName(builder, CassandraUtilities.getIdColumnName(kunderaMetadata, metadata,
+                    getExternalProperties(), isCql3Enabled(metadata)));
+            builder.append(" ").append(clause).append(" ?");
+            statement = prepare(key, builder.toString());
+        }
+        return statement;
+    }
+
+    /**
+     * Inserts entity using prepared statement. Returns false if entity can not
+     * be written this way, in which case it is written as plain cql.
+     * 
+     * @param metadata
+     *            the metadata
+     * @param entity
+     *            the entity
+     * @param ttlColumns
+     *            the ttl columns
+     * @return true, if inserted
+     */
+    private boolean onPreparedInsert(EntityMetadata metadata, Object entity, Object ttlColumns)
+    {
+        BoundStatement statement = bindInsert(metadata, entity, ttlColumns);
+        if (statement == null)
+        {
+            return false;
+        }
+        execute(statement);
+        return true;
+    }
+
+    /**
+     * Returns insert statement for entity, prepared per table and columns with
+     * non null values. Returns null if entity can not be written this way
+     * (composite key, embedded or collection columns, secondary tables, values
+     * not matching column types).
+     * 
+     * @param metadata
+     *            the metadata
+     * @param entity
+     *            the entity
+     * @param ttlColumns
+     *            the ttl columns
+     * @return the bound statement
+     */
+    private BoundStatement bindInsert(EntityMetadata metadata, Object entity, Object ttlColumns)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+        AbstractManagedType entityType = (AbstractManagedType) metaModel.entity(metadata.getEntityClazz());
+        if (metadata.isCounterColumnType() || metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType())
+                || entityType.getDiscriminatorColumn() != null)
+        {
+            return null;
+        }
+
+        String idColumnName = CassandraUtilities.getIdColumnName(kunderaMetadata, metadata, getExternalProperties(),
+                isCql3Enabled(metadata));
+        List<String> columns = new ArrayList<String>();
+        List<Object> values = new ArrayList<Object>();
+        columns.add(idColumnName);
+        values.add(PropertyAccessorHelper.getId(entity, metadata));
+
+        for (Object o : entityType.getAttributes())
+        {
+            AbstractAttribute attribute = (AbstractAttribute) o;
+            Field field = (Field) attribute.getJavaMember();
+            if (attribute.equals(metadata.getIdAttribute()) || ReflectUtils.isTransientOrStatic(field)
+                    || attribute.getJPAColumnName().equals(
+                            ((AbstractAttribute) metadata.getIdAttribute()).getJPAColumnName()))
+            {
+                continue;
+            }
+            if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC
+                    || Collection.class.isAssignableFrom(field.getType()) || Map.class.isAssignableFrom(field.getType())
+                    || (attribute.getTableName() != null && !attribute.getTableName().equals(metadata.getTableName())))
+            {
+                return null;
+            }
+            Object value = PropertyAccessorHelper.getObject(entity, field);
+            if (value != null)
+            {
+                columns.add(attribute.getJPAColumnName());
+                values.add(value);
+            }
+        }
+
+        int ttl = ttlColumns instanceof Integer ? ((Integer) ttlColumns).intValue() : 0;
+        String key = metadata.getTableName() + columns + ttl;
+        PreparedStatement statement = factory.getPreparedStatement(key);
+        if (statement == null)
+        {
+            CQLTranslator translator = new CQLTranslator();
+            StringBuilder columnNames = new StringBuilder();
+            StringBuilder columnValues = new StringBuilder();
+            for (String column : columns)
+            {
+                if (columnNames.length() > 0)
+                {
+                    columnNames.append(",");
+                    columnValues.append(",");
+                }
+                translator.appendColumnName(columnNames, column);
+                columnValues.append("?");
+            }
+            String query = StringUtils.replace(CQLTranslator.INSERT_QUERY, CQLTranslator.COLUMN_FAMILY, translator
+                    .ensureCase(new StringBuilder(), metadata.getTableName(), false).toString());
+            query = StringUtils.replace(query, CQLTranslator.COLUMN_VALUES, columnValues.toString());
+            query = StringUtils.replace(query, CQLTranslator.COLUMNS, columnNames.toString());
+            if (ttl != 0)
+            {
+                query = query + " USING TTL " + ttl;
+            }
+            statement = prepare(key, query);
+        }
+
+        return bind(statement, values.toArray());
+    }
+
+    /**
+     * Prepares and caches given query. Returns null if query could not be
+     * prepared.
+     * 
+     * @param key
+     *            the statement shape
+     * @param query
+     *            the cql query
+     * @return the prepared statement
+     */
+    private PreparedStatement prepare(String key, String query)
+    {
+        try
+        {
+            return factory.prepare(key, query);
+        }
+        catch (Exception e)
+        {
+            log.warn("Error while preparing query {}, executing it as plain cql, Caused by: .", query, e);
+            return null;
+        }
+    }
+
+    /**
+     * Binds values to prepared statement. Returns null if any value does not
+     * match its column type, as driver does not convert them.
+     * 
+     * @param statement
+     *            the prepared statement
+     * @param values
+     *            the values
+     * @return the bound statement
+     */
+    private BoundStatement bind(PreparedStatement statement, Object... values)
+    {
+        if (statement == null)
+        {
+            return null;
+        }
+        ColumnDefinitions variables = statement.getVariables();
+        if (variables.size() != values.length)
+        {
+            return null;
+        }
+        for (int i = 0; i < values.length; i++)
+        {
+            if (!variables.getType(i).asJavaClass().isInstance(values[i]))
+            {
+                return null;
+            }
+        }
+        BoundStatement boundStatement = statement.bind(values);
+        boundStatement.setConsistencyLevel(ConsistencyLevel.valueOf(this.consistencyLevel.name()));
+        return boundStatement;
+    }
+
+    /**
+     * Executes bound statement.
+     * 
+     * @param statement
+     *            the bound statement
+     * @return the result set
+     */
+    private ResultSet execute(BoundStatement statement)
+    {
+        String query = statement.preparedStatement().getQueryString();
+        try
+        {
+            KunderaCoreUtils.printQuery(query, showQuery);
+            return factory.getConnection().execute(statement);
+        }
+        catch (Exception e)
+        {
+            log.error("Error while executing query {}.", query);
+            throw new KunderaException(e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.client.AsyncClient#findAsync(java.lang.Class,
+     * java.lang.Object)
+     */
+    @Override
+    public <E> Future<E> findAsync(final Class<E> entityClass, Object key)
+    {
+        final EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        if (hasSecondaryTables(metadata))
+        {
+            // secondary tables are read one after other, which must not
+            // happen on driver's I/O thread.
+            return Futures.immediateFuture(entityClass.cast(unwrap(find(entityClass, key))));
+        }
+
+        Statement statement = bind(getKeyStatement(metadata, metadata.getTableName(), CQLTranslator.SELECTALL_QUERY),
+                key);
+        if (statement == null)
+        {
+            statement = newStatement(createSelectQuery(key, metadata, metadata.getTableName()).toString());
+        }
+        return Futures.transform(executeAsync(statement), new Function<ResultSet, E>()
+        {
+            @Override
+            public E apply(ResultSet rSet)
+            {
+                List results = iterateAndReturn(rSet, entityClass, metadata);
+                return results.isEmpty() ? null : entityClass.cast(unwrap(results.get(0)));
+            }
+        });
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.client.AsyncClient#persistAsync(com.impetus.kundera
+     * .graph.Node)
+     */
+    @Override
+    public Future<?> persistAsync(Node node)
+    {
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass());
+        if (metadata.isCounterColumnType())
+        {
+            synchronized (this)
+            {
+                persist(node);
+            }
+            return Futures.immediateFuture(null);
+        }
+
+        Object entity = node.getData();
+        List<RelationHolder> rlHolders = getRelationHolders(node);
+        Object ttlColumns = getTtlValues().get(metadata.getTableName());
+
+        List<ListenableFuture<ResultSet>> futures = new ArrayList<ListenableFuture<ResultSet>>();
+        BoundStatement insert = rlHolders.isEmpty() ? bindInsert(metadata, entity, ttlColumns) : null;
+        if (insert != null)
+        {
+            futures.add(executeAsync(insert));
+        }
+        else
+        {
+            for (String query : createInsertQuery(metadata, entity, null, rlHolders, ttlColumns))
+            {
+                futures.add(executeAsync(newStatement(query)));
+            }
+        }
+        indexNode(node, metadata);
+        return Futures.allAsList(futures);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.client.AsyncClient#deleteAsync(java.lang.Object,
+     * java.lang.Object)
+     */
+    @Override
+    public Future<?> deleteAsync(Object entity, Object pKey)
+    {
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        AbstractManagedType managedType = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
+        List<String> tables = new ArrayList<String>(
+                ((DefaultEntityAnnotationProcessor) managedType.getEntityAnnotation()).getSecondaryTablesName());
+        tables.add(m.getTableName());
+
+        List<ListenableFuture<ResultSet>> futures = new ArrayList<ListenableFuture<ResultSet>>();
+        for (String tableName : tables)
+        {
+            Statement statement = bind(getKeyStatement(m, tableName, CQLTranslator.DELETE_QUERY), pKey);
+            if (statement == null)
+            {
+                statement = newStatement(onDeleteQuery(m, tableName, metaModel, pKey));
+            }
+            futures.add(executeAsync(statement));
+        }
+        return Futures.allAsList(futures);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.cassandra.CassandraClientBase#executePartitionBatches
+     * (java.util.List)
+     */
+    @Override
+    protected void executePartitionBatches(List<String> batchQueries)
+    {
+        List<ListenableFuture<ResultSet>> futures = new ArrayList<ListenableFuture<ResultSet>>(batchQueries.size());
+        for (String batchQuery : batchQueries)
+        {
+            futures.add(executeAsync(newStatement(batchQuery)));
+        }
+        try
+        {
+            Futures.allAsList(futures).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new KunderaException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new KunderaException(e.getCause());
+        }
+    }
+
+    /**
+     * Checks if entity has secondary tables.
+     * 
+     * @param metadata
+     *            the metadata
+     * @return true, if it has
+     */
+    private boolean hasSecondaryTables(EntityMetadata metadata)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+        AbstractManagedType managedType = (AbstractManagedType) metaModel.entity(metadata.getEntityClazz());
+        return !((DefaultEntityAnnotationProcessor) managedType.getEntityAnnotation()).getSecondaryTablesName()
+                .isEmpty();
+    }
+
+    /**
+     * Returns entity out of enhance entity, if it is one.
+     * 
+     * @param result
+     *            the result
+     * @return the entity
+     */
+    private Object unwrap(Object result)
+    {
+        return result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result;
+    }
+
+    /**
+     * Creates statement for cql query, with configured consistency level.
+     * 
+     * @param query
+     *            the query
+     * @return the statement
+     */
+    private Statement newStatement(String query)
+    {
+        Statement statement = new SimpleStatement(query);
+        statement.setConsistencyLevel(ConsistencyLevel.valueOf(this.consistencyLevel.name()));
+        return statement;
+    }
+
+    /**
+     * Executes statement without blocking.
+     * 
+     * @param statement
+     *            the statement
+     * @return the result set future
+     */
+    private ResultSetFuture executeAsync(Statement statement)
+    {
+        KunderaCoreUtils.printQuery(statement instanceof BoundStatement ? ((BoundStatement) statement)
+                .preparedStatement().getQueryString() : ((SimpleStatement) statement).getQueryString(), showQuery);
+        return factory.getConnection().executeAsync(statement);
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -215,12 +700,27 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
     public final <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... rowIds)
     {
         // TODO: need to think about selected column case.
-        // Bring in IN Clause in place of each read.
-
         List results = new ArrayList<E>();
-        if (rowIds != null)
+        if (rowIds == null)
+        {
+            return results;
+        }
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        PreparedStatement statement = getKeyStatement(metadata, metadata.getTableName(),
+                CQLTranslator.SELECTALL_QUERY, CQLTranslator.IN_CLAUSE);
+        for (int i = 0; i < rowIds.length; i += MAX_IN_CLAUSE_KEYS)
         {
-            for (Object rowId : rowIds)
+            List<Object> keys = Arrays.asList(rowIds).subList(i, Math.min(i + MAX_IN_CLAUSE_KEYS, rowIds.length));
+            BoundStatement boundStatement = bindKeys(statement, keys);
+            if (boundStatement != null)
+            {
+                results.addAll(iterateAndReturn(execute(boundStatement), entityClass, metadata));
+                continue;
+            }
+
+            // composite keys or keys not matching row key type.
+            for (Object rowId : keys)
             {
                 Object result = find(entityClass, rowId);
                 if (result != null)
@@ -232,6 +732,37 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
         return results;
     }
 
+    /**
+     * Binds row keys to prepared statement with {@link CQLTranslator#IN_CLAUSE}
+     * on row key. Returns null if any key does not match row key type.
+     * 
+     * @param statement
+     *            the prepared statement
+     * @param keys
+     *            the row keys
+     * @return the bound statement
+     */
+    private BoundStatement bindKeys(PreparedStatement statement, List<Object> keys)
+    {
+        if (statement == null || statement.getVariables().size() != 1)
+        {
+            return null;
+        }
+        List<DataType> keyTypes = statement.getVariables().getType(0).getTypeArguments();
+        if (keyTypes.size() != 1)
+        {
+            return null;
+        }
+        for (Object key : keys)
+        {
+            if (!keyTypes.get(0).asJavaClass().isInstance(key))
+            {
+                return null;
+            }
+        }
+        return bind(statement, new ArrayList<Object>(keys));
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -622,7 +1153,15 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
 
         for (String tableName : secondaryTables)
         {
-            this.execute(onDeleteQuery(m, tableName, metaModel, pKey), null);
+            BoundStatement statement = bind(getKeyStatement(m, tableName, CQLTranslator.DELETE_QUERY), pKey);
+            if (statement != null)
+            {
+                execute(statement);
+            }
+            else
+            {
+                this.execute(onDeleteQuery(m, tableName, metaModel, pKey), null);
+            }
         }
     }
 
@@ -799,8 +1338,7 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
 
         for (String tableName : secondaryTables)
         {
-            StringBuilder builder = createSelectQuery(rowId, metadata, tableName);
-            ResultSet rSet = this.execute(builder.toString(), null);
+            ResultSet rSet = executeSelect(rowId, metadata, tableName);
 
             Iterator<Row> rowIter = rSet.iterator();
 
@@ -28,6 +28,7 @@ import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Cluster.Builder;
 import com.datastax.driver.core.HostDistance;
 import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolOptions.Compression;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SocketOptions;
@@ -41,6 +42,8 @@ import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.LoggingRetryPolicy;
 import com.datastax.driver.core.policies.RoundRobinPolicy;
 import com.datastax.driver.core.policies.TokenAwarePolicy;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.impetus.client.cassandra.common.CassandraClientFactory;
 import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.config.CassandraPropertyReader;
@@ -85,6 +88,16 @@ public class DSClientFactory extends CassandraClientFactory
     /** The session. */
     private Session session;
 
+    /** Maximum number of prepared statements cached. */
+    private static final int MAX_PREPARED_STATEMENTS = 1000;
+
+    /**
+     * Prepared statements of session, keyed by statement shape. Shapes vary
+     * with non null columns and ttl, so least recently used ones are evicted.
+     */
+    private final Cache<String, PreparedStatement> statements = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PREPARED_STATEMENTS).build();
+
     /*
      * (non-Javadoc)
      * 
@@ -122,6 +135,7 @@ public class DSClientFactory extends CassandraClientFactory
         }
         schemaManager = null;
         externalProperties = null;
+        statements.clear();
         releaseConnection(this.session);
         ((Cluster) getConnectionPoolOrConnection()).closeAsync();
     }
@@ -306,6 +320,34 @@ public class DSClientFactory extends CassandraClientFactory
                 + keyspace + "\"");
     }
 
+    /**
+     * Returns cached prepared statement for given statement shape.
+     * 
+     * @param key
+     *            the statement shape
+     * @return the prepared statement, null if not prepared yet.
+     */
+    PreparedStatement getPreparedStatement(String key)
+    {
+        return statements.getIfPresent(key);
+    }
+
+    /**
+     * Prepares given query on session and caches it for given statement shape.
+     * 
+     * @param key
+     *            the statement shape
+     * @param query
+     *            the cql query
+     * @return the prepared statement
+     */
+    PreparedStatement prepare(String key, String query)
+    {
+        PreparedStatement statement = getConnection().prepare(query);
+        PreparedStatement existing = statements.asMap().putIfAbsent(key, statement);
+        return existing != null ? existing : statement;
+    }
+
     /**
      * Release connection.
      * 
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.client.cassandra.dsdriver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.datastax.driver.core.Session;
+import com.impetus.client.crud.PersonCassandra;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.ClientResolver;
+import com.impetus.kundera.client.cassandra.persistence.CassandraCli;
+
+/**
+ * Test case for multi-key find of {@link DSClient}.
+ */
+public class DSClientFindAllTest
+{
+    private static final String _PU = "cassandra_ds_pu";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        CassandraCli.cassandraSetUp();
+        System.setProperty("cassandra.start_native_transport", "true");
+
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "create");
+        emf = Persistence.createEntityManagerFactory(_PU, props);
+        em = emf.createEntityManager();
+    }
+
+    /**
+     * Keys are selected via IN clause, in chunks of 100 keys.
+     */
+    @Test
+    public void testFindAll()
+    {
+        List<Object> keys = new ArrayList<Object>();
+        for (int i = 0; i < 150; i++)
+        {
+            PersonCassandra person = new PersonCassandra();
+            person.setPersonId("" + i);
+            person.setPersonName("name" + i);
+            person.setAge(i);
+            em.persist(person);
+            keys.add("" + i);
+        }
+        keys.add("invalid");
+        em.clear();
+
+        Map<String, Client> clientMap = (Map<String, Client>) em.getDelegate();
+        DSClient client = (DSClient) clientMap.get(_PU);
+
+        // prepares select statement.
+        Assert.assertEquals(1, client.findAll(PersonCassandra.class, null, "0").size());
+
+        long requests = getRequestCount();
+        List<PersonCassandra> results = client.findAll(PersonCassandra.class, null, keys.toArray());
+        Assert.assertEquals(2, getRequestCount() - requests);
+
+        Assert.assertEquals(150, results.size());
+        for (PersonCassandra result : results)
+        {
+            Assert.assertEquals("name" + result.getPersonId(), result.getPersonName());
+            Assert.assertEquals(Integer.valueOf(result.getPersonId()), result.getAge());
+        }
+
+        requests = getRequestCount();
+        Assert.assertTrue(client.findAll(PersonCassandra.class, null, "invalid").isEmpty());
+        Assert.assertEquals(1, getRequestCount() - requests);
+    }
+
+    /**
+     * Returns number of requests sent by the driver so far.
+     * 
+     * @return the request count
+     */
+    private long getRequestCount()
+    {
+        Session session = ((DSClientFactory) ClientResolver.getClientFactory(_PU)).getConnection();
+        return session.getCluster().getMetrics().getRequestsTimer().getCount();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+        CassandraCli.dropKeySpace("KunderaExamples");
+    }
+}
@@ -148,22 +148,7 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
                 entityMetadata.getPersistenceUnit());
         try
         {
-            if (key instanceof JsonElement)
-            {
-                key = ((JsonElement) key).getAsString();
-            }
-            String _id = null;
-            if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
-            {
-                Field field = (Field) entityMetadata.getIdAttribute().getJavaMember();
-                EmbeddableType embeddableType = metaModel.embeddable(entityMetadata.getIdAttribute()
-                        .getBindableJavaType());
-                _id = CouchDBObjectMapper.get_Id(field, key, embeddableType, entityMetadata.getTableName());
-            }
-            else
-            {
-                _id = entityMetadata.getTableName() + PropertyAccessorHelper.getString(key);
-            }
+            String _id = get_Id(entityMetadata, metaModel, key);
 
             URI uri = new URI(CouchDBConstants.PROTOCOL, null, httpHost.getHostName(), httpHost.getPort(),
                     CouchDBConstants.URL_SAPRATOR + entityMetadata.getSchema().toLowerCase()
@@ -207,15 +192,98 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
         List results = new ArrayList();
-        for (Object key : keys)
+        if (keys == null || keys.length == 0)
+        {
+            return results;
+        }
+
+        HttpResponse response = null;
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        try
         {
-            Object object = find(entityClass, key);
-            if (object != null)
+            JsonArray ids = new JsonArray();
+            for (Object key : keys)
+            {
+                ids.add(gson.toJsonTree(get_Id(entityMetadata, metaModel, key)));
+            }
+            JsonObject body = new JsonObject();
+            body.add("keys", ids);
+
+            // one request for all documents.
+            URI uri = new URI(CouchDBConstants.PROTOCOL, null, httpHost.getHostName(), httpHost.getPort(),
+                    CouchDBConstants.URL_SAPRATOR + entityMetadata.getSchema().toLowerCase()
+                            + CouchDBConstants.URL_SAPRATOR + "_all_docs", "include_docs=true", null);
+            HttpPost post = new HttpPost(uri);
+            post.addHeader("Accept", "application/json");
+            StringEntity entity = new StringEntity(gson.toJson(body), "UTF-8");
+            entity.setContentType("application/json");
+            post.setEntity(entity);
+            response = httpClient.execute(httpHost, post, CouchDBUtils.getContext(httpHost));
+
+            Reader reader = new InputStreamReader(response.getEntity().getContent());
+            JsonObject jsonObject = gson.fromJson(reader, JsonObject.class);
+            JsonArray rows = jsonObject.getAsJsonArray("rows");
+            if (rows == null)
             {
-                results.add(object);
+                throw new KunderaException("Error while finding objects by keys " + Arrays.toString(keys)
+                        + ", Caused by: " + jsonObject);
             }
+
+            for (JsonElement row : rows)
+            {
+                // missing or deleted documents come without doc.
+                JsonElement doc = row.getAsJsonObject().get("doc");
+                if (doc != null && doc.isJsonObject()
+                        && doc.getAsJsonObject().get(
+                                ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName()) != null)
+                {
+                    results.add(CouchDBObjectMapper.getEntityFromJson(entityClass, entityMetadata,
+                            doc.getAsJsonObject(), entityMetadata.getRelationNames(), kunderaMetadata));
+                }
+            }
+            return results;
         }
-        return results;
+        catch (KunderaException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            log.error("Error while finding objects by keys {}, Caused by {}.", Arrays.toString(keys), e);
+            throw new KunderaException(e);
+        }
+        finally
+        {
+            closeContent(response);
+        }
+    }
+
+    /**
+     * Returns document id of entity for given key.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param metaModel
+     *            the meta model
+     * @param key
+     *            the key
+     * @return the document id
+     */
+    private String get_Id(EntityMetadata entityMetadata, MetamodelImpl metaModel, Object key)
+    {
+        if (key instanceof JsonElement)
+        {
+            key = ((JsonElement) key).getAsString();
+        }
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            Field field = (Field) entityMetadata.getIdAttribute().getJavaMember();
+            EmbeddableType embeddableType = metaModel.embeddable(entityMetadata.getIdAttribute().getBindableJavaType());
+            return CouchDBObjectMapper.get_Id(field, key, embeddableType, entityMetadata.getTableName());
+        }
+        return entityMetadata.getTableName() + PropertyAccessorHelper.getString(key);
     }
 
     /*
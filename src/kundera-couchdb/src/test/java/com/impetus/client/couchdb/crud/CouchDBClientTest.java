@@ -17,12 +17,18 @@
 package com.impetus.client.couchdb.crud;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -200,6 +206,65 @@ public class CouchDBClientTest
         Assert.assertTrue(columns.isEmpty());
     }
 
+    @Test
+    public void testFindAll() throws Exception
+    {
+        EntityManager em = emf.createEntityManager();
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        CouchDBClient client = (CouchDBClient) clients.get(_PU);
+
+        for (int i = 1; i <= 3; i++)
+        {
+            PersonCouchDB object = new PersonCouchDB();
+            object.setAge(30 + i);
+            object.setPersonId("findAll_" + i);
+            object.setPersonName("vivek" + i);
+            Node node = new Node("node" + i, PersonCouchDB.class, new TransientState(), null, "findAll_" + i, null);
+            node.setData(object);
+            client.persist(node);
+        }
+        client.delete(client.find(PersonCouchDB.class, "findAll_2"), "findAll_2");
+
+        // count requests sent by client.
+        Field field = CouchDBClient.class.getDeclaredField("httpClient");
+        field.setAccessible(true);
+        final HttpClient delegate = (HttpClient) field.get(client);
+        final AtomicInteger requests = new AtomicInteger();
+        field.set(client, Proxy.newProxyInstance(HttpClient.class.getClassLoader(), new Class[] { HttpClient.class },
+                new InvocationHandler()
+                {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+                    {
+                        if (method.getName().equals("execute"))
+                        {
+                            requests.incrementAndGet();
+                        }
+                        try
+                        {
+                            return method.invoke(delegate, args);
+                        }
+                        catch (InvocationTargetException e)
+                        {
+                            throw e.getCause();
+                        }
+                    }
+                }));
+
+        // deleted and missing documents are skipped.
+        List<PersonCouchDB> results = client.findAll(PersonCouchDB.class, null, "findAll_3", "findAll_2",
+                "findAll_invalid", "findAll_1");
+        Assert.assertEquals(1, requests.get());
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("findAll_3", results.get(0).getPersonId());
+        Assert.assertEquals("vivek3", results.get(0).getPersonName());
+        Assert.assertEquals("findAll_1", results.get(1).getPersonId());
+        Assert.assertEquals(new Integer(31), results.get(1).getAge());
+
+        field.set(client, delegate);
+        em.close();
+    }
+
     /**
      * Assertions on delete.
      * 
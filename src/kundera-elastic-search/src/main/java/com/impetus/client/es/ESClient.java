@@ -34,12 +34,16 @@ import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.FilterBuilders;
 import org.elasticsearch.index.query.FilteredQueryBuilder;
@@ -110,6 +114,18 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     /** The es response reader. */
     private ESResponseWrapper esResponseReader = new ESResponseWrapper();
 
+    /** Property for number of hits fetched per scroll round trip. */
+    public static final String SCROLL_SIZE = "kundera.es.scroll.size";
+
+    /** The Constant DEFAULT_SCROLL_SIZE. */
+    private static final int DEFAULT_SCROLL_SIZE = 100;
+
+    /** How long a scroll context is kept alive between two round trips. */
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    /** scroll size. */
+    private int scrollSize = DEFAULT_SCROLL_SIZE;
+
     /**
      * Instantiates a new ES client.
      * 
@@ -133,6 +149,7 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
         this.txClient = client;
         this.reader = new ESEntityReader(kunderaMetadata);
         setBatchSize(getPersistenceUnit(), externalProperties);
+        setScrollSize(getPersistenceUnit(), externalProperties);
     }
 
     /*
@@ -348,6 +365,108 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
                 query);
     }
 
+    /**
+     * Opens a scroll over query results. First batch of hits comes along with
+     * returned response, next ones are fetched via {@link #scroll(String)}.
+     * 
+     * @param filter
+     *            the filter
+     * @param entityMetadata
+     *            the entity metadata
+     * @param query
+     *            the query
+     * @param size
+     *            the number of hits per batch
+     * @return the search response
+     */
+    SearchResponse openScroll(FilterBuilder filter, final EntityMetadata entityMetadata, KunderaQuery query, int size)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+
+        SearchRequestBuilder builder = txClient.prepareSearch(entityMetadata.getSchema().toLowerCase())
+                .setTypes(entityMetadata.getTableName()).setQuery(QueryBuilders.filteredQuery(null, filter))
+                .setScroll(SCROLL_KEEP_ALIVE).setSize(size);
+
+        addFieldsToBuilder(query.getResult(), entityMetadata.getEntityClazz(), metaModel, builder);
+        log.debug("Scroll query generated: " + builder);
+
+        try
+        {
+            return builder.execute().actionGet();
+        }
+        catch (ElasticsearchException e)
+        {
+            throw new KunderaException("Exception occured while executing query on Elasticsearch.", e);
+        }
+    }
+
+    /**
+     * Fetches next batch of hits of an opened scroll.
+     * 
+     * @param scrollId
+     *            the scroll id
+     * @return the search response
+     */
+    SearchResponse scroll(String scrollId)
+    {
+        try
+        {
+            return txClient.prepareSearchScroll(scrollId).setScroll(SCROLL_KEEP_ALIVE).execute().actionGet();
+        }
+        catch (ElasticsearchException e)
+        {
+            throw new KunderaException("Exception occured while scrolling query results on Elasticsearch.", e);
+        }
+    }
+
+    /**
+     * Releases scroll context held by cluster.
+     * 
+     * @param scrollId
+     *            the scroll id
+     */
+    void clearScroll(String scrollId)
+    {
+        try
+        {
+            txClient.prepareClearScroll().addScrollId(scrollId).execute().actionGet();
+        }
+        catch (ElasticsearchException e)
+        {
+            log.warn("Error while clearing scroll {}, it will expire on its own.", scrollId, e);
+        }
+    }
+
+    /**
+     * Parses hits of a scroll response.
+     * 
+     * @param response
+     *            the response
+     * @param entityMetadata
+     *            the entity metadata
+     * @param query
+     *            the query
+     * @return the list
+     */
+    List parseScrollResponse(SearchResponse response, final EntityMetadata entityMetadata, KunderaQuery query)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        return esResponseReader.parseResponse(response, null, query.getResult(), metaModel,
+                entityMetadata.getEntityClazz(), entityMetadata, query);
+    }
+
+    /**
+     * Gets the scroll size.
+     * 
+     * @return the scroll size
+     */
+    int getScrollSize()
+    {
+        return scrollSize;
+    }
+
     /**
      * Adds the fields to builder
      * 
@@ -383,7 +502,62 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
-        return null;
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        EntityType entityType = metaModel.entity(metadata.getEntityClazz());
+
+        List<E> results = new ArrayList<E>();
+        if (keys == null || keys.length == 0)
+        {
+            return results;
+        }
+
+        MultiGetRequestBuilder multiGet = txClient.prepareMultiGet();
+        for (Object key : keys)
+        {
+            multiGet.add(metadata.getSchema().toLowerCase(), metadata.getTableName(),
+                    getKeyAsString(key, metadata, metaModel));
+        }
+
+        MultiGetResponse response = null;
+        try
+        {
+            response = multiGet.execute().get();
+        }
+        catch (InterruptedException iex)
+        {
+            log.error("Error while find records of {}, Caused by :.", entityClass.getSimpleName(), iex);
+            throw new PersistenceException(iex);
+        }
+        catch (ExecutionException eex)
+        {
+            log.error("Error while find records of {}, Caused by :.", entityClass.getSimpleName(), eex);
+            throw new PersistenceException(eex);
+        }
+
+        // responses are in order of requested keys.
+        MultiGetItemResponse[] items = response.getResponses();
+        for (int i = 0; i < items.length; i++)
+        {
+            if (items[i].isFailed())
+            {
+                log.error("Error while find record of {} with key {}, Caused by :{}.", new Object[] {
+                        entityClass.getSimpleName(), keys[i], items[i].getFailure().getMessage() });
+                throw new PersistenceException(items[i].getFailure().getMessage());
+            }
+
+            GetResponse get = items[i].getResponse();
+            if (get.isExists())
+            {
+                Object result = KunderaCoreUtils.createNewInstance(entityClass);
+                PropertyAccessorHelper.setId(result, metadata, keys[i]);
+                results.add((E) esResponseReader.wrapFindResult(get.getSource(), entityType, result, metadata, true));
+            }
+        }
+        return results;
     }
 
     /*
@@ -875,6 +1049,41 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
         }
     }
 
+    /**
+     * Sets the scroll size.
+     * 
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param puProperties
+     *            the pu properties
+     */
+    private void setScrollSize(String persistenceUnit, Map<String, Object> puProperties)
+    {
+        Object size = puProperties != null ? puProperties.get(SCROLL_SIZE) : null;
+        if (size == null)
+        {
+            PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                    persistenceUnit);
+            size = puMetadata != null ? puMetadata.getProperty(SCROLL_SIZE) : null;
+        }
+
+        if (size != null)
+        {
+            try
+            {
+                scrollSize = Integer.valueOf(size.toString().trim());
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException(SCROLL_SIZE + " property must be numeric and > 0.", e);
+            }
+            if (scrollSize <= 0)
+            {
+                throw new IllegalArgumentException(SCROLL_SIZE + " property must be numeric and > 0.");
+            }
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -886,6 +1095,10 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     public void populateClientProperties(Client client, Map<String, Object> properties)
     {
         this.clientProperties = properties;
+        if (properties.get(SCROLL_SIZE) != null)
+        {
+            setScrollSize(getPersistenceUnit(), properties);
+        }
     }
 
     /*
@@ -158,7 +158,20 @@ public class ESQuery<E> extends QueryImpl
     @Override
     public Iterator<E> iterate()
     {
-        return null;
+        if (kunderaQuery.isAggregated())
+        {
+            throw new UnsupportedOperationException("Iteration over aggregated query results is not supported.");
+        }
+
+        EntityMetadata m = getEntityMetadata();
+        Client client = persistenceDelegeator.getClient(m);
+        Expression whereExpression = KunderaQueryUtils.getWhereClause(kunderaQuery.getJpqlExpression());
+
+        FilterBuilder filter = whereExpression == null || whereExpression instanceof NullExpression ? null
+                : esFilterBuilder.populateFilterBuilder(((WhereClause) whereExpression).getConditionalExpression(), m);
+
+        return new ResultIterator<E>((ESClient) client, m, filter, getKunderaQuery(), persistenceDelegeator,
+                getFetchSize() != null ? getFetchSize() : this.maxResult);
     }
 
     /**
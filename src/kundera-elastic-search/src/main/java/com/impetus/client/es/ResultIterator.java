@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.FilterBuilder;
+
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+import com.impetus.kundera.query.KunderaQuery;
+
+/**
+ * Implementation of Elasticsearch result iteration over scroll API. Only one
+ * batch of hits is held in memory at a time, scroll context is released once
+ * results are exhausted or fetch size is reached.
+ * 
+ * @param <E>
+ *            the element type
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    /** The client. */
+    private ESClient client;
+
+    /** The entity metadata. */
+    private EntityMetadata m;
+
+    /** The query. */
+    private KunderaQuery query;
+
+    /** The persistence delegator. */
+    private PersistenceDelegator persistenceDelegator;
+
+    /** number of results still to be returned. */
+    private int fetchSize;
+
+    /** The scroll id, null once scroll is released. */
+    private String scrollId;
+
+    /** The current batch. */
+    private Iterator<Object> batch = Collections.emptyIterator();
+
+    /**
+     * Instantiates a new result iterator.
+     * 
+     * @param client
+     *            the client
+     * @param m
+     *            the entity metadata
+     * @param filter
+     *            the filter
+     * @param query
+     *            the query
+     * @param pd
+     *            the persistence delegator
+     * @param fetchSize
+     *            the fetch size
+     */
+    ResultIterator(ESClient client, EntityMetadata m, FilterBuilder filter, KunderaQuery query,
+            PersistenceDelegator pd, int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.query = query;
+        this.persistenceDelegator = pd;
+        this.fetchSize = fetchSize;
+        if (fetchSize > 0)
+        {
+            onResponse(client.openScroll(filter, m, query, Math.min(client.getScrollSize(), fetchSize)));
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (fetchSize == 0)
+        {
+            close();
+            return false;
+        }
+
+        if (!batch.hasNext() && scrollId != null)
+        {
+            onResponse(client.scroll(scrollId));
+        }
+        return batch.hasNext();
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        fetchSize--;
+        Object result = batch.next();
+
+        if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
+        {
+            return (E) (result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result);
+        }
+        return setRelationEntities(result);
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> results = new ArrayList<E>(chunkSize);
+        while (results.size() < chunkSize && hasNext())
+        {
+            results.add(next());
+        }
+        return results;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Remove method is not supported over pagination");
+    }
+
+    /**
+     * Moves over hits of given response, releases scroll if there are none.
+     * 
+     * @param response
+     *            the response
+     */
+    private void onResponse(SearchResponse response)
+    {
+        scrollId = response.getScrollId();
+        if (response.getHits().getHits().length == 0)
+        {
+            close();
+            batch = Collections.emptyIterator();
+        }
+        else
+        {
+            batch = client.parseScrollResponse(response, m, query).iterator();
+        }
+    }
+
+    /**
+     * Releases scroll context.
+     */
+    private void close()
+    {
+        if (scrollId != null)
+        {
+            client.clearScroll(scrollId);
+            scrollId = null;
+        }
+    }
+
+    /**
+     * Sets the relation entities.
+     * 
+     * @param enhanceEntity
+     *            the enhance entity
+     * @return the e
+     */
+    private E setRelationEntities(Object enhanceEntity)
+    {
+        if (!(enhanceEntity instanceof EnhanceEntity))
+        {
+            enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+        }
+        EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+        return (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                persistenceDelegator, false, new HashMap<Object, Object>());
+    }
+}
@@ -25,6 +25,7 @@ import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.transport.TransportClient;
 import org.elasticsearch.common.transport.InetSocketTransportAddress;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
@@ -70,6 +71,12 @@ public class ESIndexer implements Indexer
     /** The Constant PARENT_ID_CLASS. */
     public static final String PARENT_ID_CLASS = UUID + ".parent.class";
 
+    /** Number of ids fetched per scroll round trip. */
+    private static final int SCROLL_SIZE = 1000;
+
+    /** How long a scroll context is kept alive between two round trips. */
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
     /** the log used by this class. */
     private static Log log = LogFactory.getLog(ESIndexer.class);
 
@@ -162,17 +169,40 @@ public class ESIndexer implements Indexer
             log.info("Executing lucene query " + luceneQuery);
         }
 
+        // scroll over all matching ids rather than a fixed size page, which
+        // silently truncated results. count <= 0 means no limit.
+        int limit = count > 0 ? count : Integer.MAX_VALUE;
         ListenableActionFuture<SearchResponse> listenableActionFuture = client
                 .prepareSearch(m.getSchema().toLowerCase()).setQuery(QueryBuilders.queryString(luceneQuery))
-                .setSize(40000).execute();
+                .setScroll(SCROLL_KEEP_ALIVE).setNoFields().setSize(Math.min(SCROLL_SIZE, limit)).execute();
         SearchResponse response = listenableActionFuture.actionGet();
 
         Map<String, Object> results = new HashMap<String, Object>();
-        for (SearchHit hit : response.getHits())
+        try
         {
-            Object id = PropertyAccessorHelper.fromSourceToTargetClass(
-                    ((AbstractAttribute) m.getIdAttribute()).getBindableJavaType(), String.class, hit.getId());
-            results.put(hit.getId(), id);
+            while (response.getHits().getHits().length > 0)
+            {
+                for (SearchHit hit : response.getHits())
+                {
+                    if (results.size() == limit)
+                    {
+                        break;
+                    }
+                    Object id = PropertyAccessorHelper.fromSourceToTargetClass(
+                            ((AbstractAttribute) m.getIdAttribute()).getBindableJavaType(), String.class, hit.getId());
+                    results.put(hit.getId(), id);
+                }
+                if (results.size() == limit)
+                {
+                    break;
+                }
+                response = client.prepareSearchScroll(response.getScrollId()).setScroll(SCROLL_KEEP_ALIVE).execute()
+                        .actionGet();
+            }
+        }
+        finally
+        {
+            client.prepareClearScroll().addScrollId(response.getScrollId()).execute().actionGet();
         }
         return results;
     }
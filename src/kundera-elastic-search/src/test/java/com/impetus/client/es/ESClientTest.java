@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.EntityManagerFactory;
@@ -67,6 +68,72 @@ public class ESClientTest
     @Test
     public void test() throws NoSuchFieldException, SecurityException, IllegalArgumentException,
             IllegalAccessException, InterruptedException, InvocationTargetException, NoSuchMethodException
+    {
+        ESClient client = getClient();
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), PersonES.class);
+
+        PersonES entity = new PersonES();
+        entity.setAge(21);
+        entity.setDay(Day.FRIDAY);
+        entity.setPersonId("1");
+        entity.setPersonName("vivek");
+        client.onPersist(metadata, entity, "1", null);
+
+        Thread.sleep(3000);
+        PersonES result = (PersonES) client.find(PersonES.class, "1");
+        Assert.assertNotNull(result);
+
+        PersonES invalidResult = (PersonES) client.find(PersonES.class, "2_p");
+        Assert.assertNull(invalidResult);
+
+        client.delete(result, "1");
+        result = (PersonES) client.find(PersonES.class, "1");
+        Assert.assertNull(result);
+    }
+
+    @Test
+    public void testFindAll() throws NoSuchFieldException, SecurityException, IllegalArgumentException,
+            IllegalAccessException, InterruptedException, InvocationTargetException, NoSuchMethodException
+    {
+        ESClient client = getClient();
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), PersonES.class);
+
+        for (int i = 1; i <= 3; i++)
+        {
+            PersonES entity = new PersonES();
+            entity.setAge(20 + i);
+            entity.setDay(Day.FRIDAY);
+            entity.setPersonId("findAll_" + i);
+            entity.setPersonName("vivek" + i);
+            client.onPersist(metadata, entity, "findAll_" + i, null);
+        }
+
+        Thread.sleep(3000);
+
+        // results are in order of keys, missing keys are skipped.
+        List<PersonES> results = client.findAll(PersonES.class, null, "findAll_3", "findAll_invalid", "findAll_1",
+                "findAll_2");
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals("findAll_3", results.get(0).getPersonId());
+        Assert.assertEquals("vivek3", results.get(0).getPersonName());
+        Assert.assertEquals("findAll_1", results.get(1).getPersonId());
+        Assert.assertEquals(Integer.valueOf(21), results.get(1).getAge());
+        Assert.assertEquals("findAll_2", results.get(2).getPersonId());
+
+        Assert.assertTrue(client.findAll(PersonES.class, null, "findAll_invalid").isEmpty());
+
+        for (PersonES result : results)
+        {
+            client.delete(result, result.getPersonId());
+        }
+    }
+
+    private ESClient getClient() throws NoSuchFieldException, IllegalAccessException, NoSuchMethodException,
+            InvocationTargetException
     {
         ESClientFactory esFactory = new ESClientFactory();
         Map<String, Object> props = new HashMap<String, Object>();
@@ -90,28 +157,7 @@ public class ESClientTest
         m.invoke(esFactory, ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance());
         esFactory.load(persistenceUnit, props);
 
-        ESClient client = (ESClient) esFactory.getClientInstance();
-
-        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
-                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), PersonES.class);
-
-        PersonES entity = new PersonES();
-        entity.setAge(21);
-        entity.setDay(Day.FRIDAY);
-        entity.setPersonId("1");
-        entity.setPersonName("vivek");
-        client.onPersist(metadata, entity, "1", null);
-
-        Thread.sleep(3000);
-        PersonES result = (PersonES) client.find(PersonES.class, "1");
-        Assert.assertNotNull(result);
-
-        PersonES invalidResult = (PersonES) client.find(PersonES.class, "2_p");
-        Assert.assertNull(invalidResult);
-
-        client.delete(result, "1");
-        result = (PersonES) client.find(PersonES.class, "1");
-        Assert.assertNull(result);
+        return (ESClient) esFactory.getClientInstance();
     }
 
     private EntityManagerFactory getEntityManagerFactory()
@@ -21,6 +21,7 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +44,7 @@ import org.junit.Test;
 
 import com.impetus.client.es.PersonES.Day;
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.query.IResultIterator;
 
 /**
  * The Class PersonESTest.
@@ -786,6 +788,46 @@ public class PersonESTest
         assertResultList(resultList, person1, person3);
     }
 
+    /**
+     * Test iterate, with scroll size smaller than results to span several
+     * round trips.
+     */
+    @Test
+    public void testIterate()
+    {
+        em.setProperty(ESClient.SCROLL_SIZE, 1);
+        com.impetus.kundera.query.Query query = (com.impetus.kundera.query.Query) em
+                .createQuery("Select p from PersonES p where p.age > 10", PersonES.class);
+        Iterator<PersonES> iterator = query.iterate();
+
+        List<PersonES> results = new ArrayList<PersonES>();
+        while (iterator.hasNext())
+        {
+            results.add(iterator.next());
+        }
+        assertResultList(results, person2, person3, person4);
+
+        query.setFetchSize(2);
+        Assert.assertEquals(2, ((IResultIterator<PersonES>) query.iterate()).next(5).size());
+    }
+
+    /**
+     * Test scroll size set on entity manager is validated.
+     */
+    @Test
+    public void testInvalidScrollSize()
+    {
+        try
+        {
+            em.setProperty(ESClient.SCROLL_SIZE, 0);
+            Assert.fail("Scroll size 0 should have been rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            Assert.assertEquals(ESClient.SCROLL_SIZE + " property must be numeric and > 0.", e.getMessage());
+        }
+    }
+
     /**
      * Tear down after class.
      * 
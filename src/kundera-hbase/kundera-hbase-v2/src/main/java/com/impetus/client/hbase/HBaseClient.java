@@ -19,11 +19,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.persistence.PersistenceException;
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 
 import org.apache.hadoop.conf.Configuration;
@@ -57,6 +60,7 @@ import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.ClientMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
@@ -109,10 +113,44 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
     public HBaseClient(IndexManager indexManager, Configuration conf, Connection connection, EntityReader reader,
             String persistenceUnit, Map<String, Object> externalProperties, ClientMetadata clientMetadata,
             final KunderaMetadata kunderaMetadata)
+    {
+        this(indexManager, conf, connection, reader, persistenceUnit, externalProperties, clientMetadata,
+                kunderaMetadata, null, 1);
+    }
+
+    /**
+     * Instantiates a new h base client scanning regions in parallel.
+     * 
+     * @param indexManager
+     *            the index manager
+     * @param conf
+     *            the conf
+     * @param connection
+     *            the connection
+     * @param reader
+     *            the reader
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param externalProperties
+     *            the external properties
+     * @param clientMetadata
+     *            the client metadata
+     * @param kunderaMetadata
+     *            the kundera metadata
+     * @param scanExecutor
+     *            the executor for parallel scans, null to scan sequentially
+     * @param scanParallelism
+     *            the number of regions scanned at once
+     * @param scanTimeout
+     *            seconds a region scan waits for its rows to be read
+     */
+    public HBaseClient(IndexManager indexManager, Configuration conf, Connection connection, EntityReader reader,
+            String persistenceUnit, Map<String, Object> externalProperties, ClientMetadata clientMetadata,
+            final KunderaMetadata kunderaMetadata, ExecutorService scanExecutor, int scanParallelism, int scanTimeout)
     {
         super(kunderaMetadata, externalProperties, persistenceUnit);
         this.indexManager = indexManager;
-        this.handler = new HBaseDataHandler(kunderaMetadata, connection);
+        this.handler = new HBaseDataHandler(kunderaMetadata, connection, scanExecutor, scanParallelism, scanTimeout);
         this.reader = reader;
         this.clientMetadata = clientMetadata;
         this.batchSize = getBatchSize(persistenceUnit, this.externalProperties);
@@ -184,7 +222,8 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
                     EntityMetadata subEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
                             subEntity.getJavaType());
                     results = handler.readAll(subEntityMetadata.getSchema(), subEntityMetadata.getEntityClazz(),
-                            subEntityMetadata, Arrays.asList(rowIds), subEntityMetadata.getRelationNames());
+                            subEntityMetadata, Arrays.asList(rowIds), subEntityMetadata.getRelationNames(),
+                            columnsToSelect);
                     if (!results.isEmpty())
                     {
                         break;
@@ -194,7 +233,7 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
             else
             {
                 results = handler.readAll(entityMetadata.getSchema(), entityMetadata.getEntityClazz(), entityMetadata,
-                        Arrays.asList(rowIds), entityMetadata.getRelationNames());
+                        Arrays.asList(rowIds), entityMetadata.getRelationNames(), columnsToSelect);
             }
         }
         catch (IOException ioex)
@@ -354,7 +393,17 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
         String tableName = HBaseUtils.getHTableName(entityMetadata.getSchema(), entityMetadata.getTableName());
         try
         {
-            handler.writeData(tableName, entityMetadata, entity, id, relations, showQuery);
+            // On update, write only the changed columns if they are known.
+            List<AbstractAttribute> dirtyAttributes = getDirtyAttributes(entityMetadata);
+            if (dirtyAttributes != null)
+            {
+                handler.updateData(tableName, entityMetadata, entity, id, new HashSet<Attribute>(dirtyAttributes),
+                        showQuery);
+            }
+            else
+            {
+                handler.writeData(tableName, entityMetadata, entity, id, relations, showQuery);
+            }
         }
         catch (IOException e)
         {
@@ -17,6 +17,8 @@ package com.impetus.client.hbase;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
@@ -34,6 +36,7 @@ import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.utils.KunderaThreadFactory;
 
 /**
  * HBaseClientFactory, instantiates client for HBase.
@@ -53,6 +56,18 @@ public class HBaseClientFactory extends GenericClientFactory
     /** The connection. */
     private org.apache.hadoop.hbase.client.Connection connection;
 
+    /** The executor for parallel region scans, null to scan sequentially. */
+    private ExecutorService scanExecutor;
+
+    /** The number of regions scanned at once. */
+    private int scanParallelism = 1;
+
+    /** Seconds a region scan waits for its rows to be read. */
+    private int scanTimeout = DEFAULT_SCAN_TIMEOUT;
+
+    /** The Constant DEFAULT_SCAN_TIMEOUT. */
+    private static final int DEFAULT_SCAN_TIMEOUT = 60;
+
     /** The Constant DEFAULT_ZOOKEEPER_PORT. */
     private static final String DEFAULT_ZOOKEEPER_PORT = "2181";
 
@@ -73,11 +88,15 @@ public class HBaseClientFactory extends GenericClientFactory
         String node = null;
         String port = null;
         String poolSize = null;
+        String parallelism = null;
+        String timeout = null;
         if (externalProperty != null)
         {
             node = (String) externalProperty.get(PersistenceProperties.KUNDERA_NODES);
             port = (String) externalProperty.get(PersistenceProperties.KUNDERA_PORT);
             poolSize = (String) externalProperty.get(PersistenceProperties.KUNDERA_POOL_SIZE_MAX_ACTIVE);
+            parallelism = (String) externalProperty.get(HBaseConstants.SCAN_PARALLELISM);
+            timeout = (String) externalProperty.get(HBaseConstants.SCAN_TIMEOUT);
         }
         if (node == null)
         {
@@ -91,7 +110,25 @@ public class HBaseClientFactory extends GenericClientFactory
         {
             poolSize = puMetadata.getProperties().getProperty(PersistenceProperties.KUNDERA_POOL_SIZE_MAX_ACTIVE);
         }
+        if (parallelism == null)
+        {
+            parallelism = puMetadata.getProperties().getProperty(HBaseConstants.SCAN_PARALLELISM);
+        }
+        if (timeout == null)
+        {
+            timeout = puMetadata.getProperties().getProperty(HBaseConstants.SCAN_TIMEOUT);
+        }
         onValidation(node, port);
+        if (timeout != null)
+        {
+            scanTimeout = parseScanTimeout(timeout);
+        }
+        if (parallelism != null && Integer.parseInt(parallelism.trim()) > 1)
+        {
+            scanParallelism = Integer.parseInt(parallelism.trim());
+            scanExecutor = Executors.newFixedThreadPool(scanParallelism,
+                    new KunderaThreadFactory(HBaseClientFactory.class.getName()));
+        }
 
         Configuration hadoopConf = new Configuration();
         hadoopConf.set("hbase.master", node + ":" + port);
@@ -136,6 +173,31 @@ public class HBaseClientFactory extends GenericClientFactory
         }
     }
 
+    /**
+     * Parses the scan timeout.
+     * 
+     * @param timeout
+     *            the timeout
+     * @return the timeout in seconds
+     */
+    private int parseScanTimeout(String timeout)
+    {
+        int seconds;
+        try
+        {
+            seconds = Integer.parseInt(timeout.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(HBaseConstants.SCAN_TIMEOUT + " property must be numeric and > 0.", e);
+        }
+        if (seconds <= 0)
+        {
+            throw new IllegalArgumentException(HBaseConstants.SCAN_TIMEOUT + " property must be numeric and > 0.");
+        }
+        return seconds;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -147,7 +209,7 @@ public class HBaseClientFactory extends GenericClientFactory
     protected Client instantiateClient(String persistenceUnit)
     {
         return new HBaseClient(indexManager, conf, connection, reader, persistenceUnit, externalProperties,
-                clientMetadata, kunderaMetadata);
+                clientMetadata, kunderaMetadata, scanExecutor, scanParallelism, scanTimeout);
     }
 
     /*
@@ -177,6 +239,11 @@ public class HBaseClientFactory extends GenericClientFactory
             }
             externalProperties = null;
             schemaManager = null;
+            if (scanExecutor != null)
+            {
+                scanExecutor.shutdownNow();
+                scanExecutor = null;
+            }
             connection.close();
 
         }
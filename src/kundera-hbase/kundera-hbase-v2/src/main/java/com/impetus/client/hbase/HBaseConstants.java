@@ -31,4 +31,13 @@ public final class HBaseConstants
 
     /** The Constant ZOOKEEPER_HOST. */
     public static final String ZOOKEEPER_HOST = "zookeeper.host";
+
+    /** The Constant SCAN_PARALLELISM. */
+    public static final String SCAN_PARALLELISM = "hbase.scan.parallelism";
+
+    /**
+     * Seconds a parallel region scan waits for its rows to be read before it
+     * is aborted.
+     */
+    public static final String SCAN_TIMEOUT = "hbase.scan.timeout";
 }
@@ -25,6 +25,7 @@ import com.impetus.client.hbase.admin.HBaseDataHandler;
 import com.impetus.client.hbase.utils.HBaseUtils;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.ClientBase;
+import com.impetus.kundera.generator.BlockAllocatingGenerator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
 
@@ -33,7 +34,7 @@ import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
  * 
  * @author: karthikp.manchala
  */
-public class HBaseIdGenerator implements TableGenerator
+public class HBaseIdGenerator implements TableGenerator, BlockAllocatingGenerator
 {
     /** the log used by this class. */
     private static Logger log = LoggerFactory.getLogger(HBaseIdGenerator.class);
@@ -18,6 +18,9 @@ package com.impetus.client.hbase.admin;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.metamodel.Attribute;
 
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Row;
@@ -163,6 +166,28 @@ public interface DataHandler
     void writeData(String schemaName, EntityMetadata m, Object entity, Object rowId, List<RelationHolder> relations,
             boolean showQuery) throws IOException;
 
+    /**
+     * Writes only given attributes of entity, used on update when changed
+     * attributes are known.
+     * 
+     * @param tableName
+     *            the table name
+     * @param m
+     *            the m
+     * @param entity
+     *            the entity
+     * @param rowId
+     *            the row id
+     * @param attributes
+     *            the changed attributes
+     * @param showQuery
+     *            the show query
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    void updateData(String tableName, EntityMetadata m, Object entity, Object rowId, Set<Attribute> attributes,
+            boolean showQuery) throws IOException;
+
     /**
      * Write join table data.
      * 
@@ -19,9 +19,12 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
@@ -81,7 +84,7 @@ public class HBaseDataHandler implements DataHandler
     private Connection connection;
 
     /** The hbase reader. */
-    private Reader hbaseReader = new HBaseReader();
+    private Reader hbaseReader;
 
     /** The hbase writer. */
     private Writer hbaseWriter = new HBaseWriter();
@@ -95,6 +98,15 @@ public class HBaseDataHandler implements DataHandler
     /** The kundera metadata. */
     private KunderaMetadata kunderaMetadata;
 
+    /** The executor for parallel scans, null to scan sequentially. */
+    private ExecutorService scanExecutor;
+
+    /** The number of regions scanned at once. */
+    private int scanParallelism;
+
+    /** Seconds a region scan waits for its rows to be read. */
+    private int scanTimeout;
+
     /**
      * Instantiates a new hBase data handler.
      * 
@@ -104,9 +116,34 @@ public class HBaseDataHandler implements DataHandler
      *            the connection
      */
     public HBaseDataHandler(final KunderaMetadata kunderaMetadata, final Connection connection)
+    {
+        this(kunderaMetadata, connection, null, 1, 0);
+    }
+
+    /**
+     * Instantiates a new hBase data handler.
+     * 
+     * @param kunderaMetadata
+     *            the kundera metadata
+     * @param connection
+     *            the connection
+     * @param scanExecutor
+     *            the executor for parallel scans, null to scan sequentially
+     * @param scanParallelism
+     *            the number of regions scanned at once
+     * @param scanTimeout
+     *            seconds a region scan waits for its rows to be read
+     */
+    public HBaseDataHandler(final KunderaMetadata kunderaMetadata, final Connection connection,
+            final ExecutorService scanExecutor, final int scanParallelism, final int scanTimeout)
     {
         this.kunderaMetadata = kunderaMetadata;
         this.connection = connection;
+        this.scanExecutor = scanExecutor;
+        this.scanParallelism = scanParallelism;
+        this.scanTimeout = scanTimeout;
+        this.hbaseReader = scanExecutor != null ? new HBaseReader(connection, scanExecutor, scanParallelism,
+                scanTimeout) : new HBaseReader();
     }
 
     /*
@@ -145,10 +182,92 @@ public class HBaseDataHandler implements DataHandler
             List<String> relationNames, String... columns) throws IOException
     {
         Table hTable = gethTable(tableName);
-        List<HBaseDataWrapper> results = ((HBaseReader) hbaseReader).loadAll(hTable, rowKey, null, columns);
+        List<HBaseDataWrapper> results = ((HBaseReader) hbaseReader).loadAll(hTable, rowKey,
+                getColumnsToFetch(m, relationNames, columns));
         return onRead(m, null, hTable, results);
     }
 
+    /**
+     * Gets the columns, grouped by column family, to fetch for the given
+     * column names. Relation and discriminator columns are always fetched so
+     * that the entity can be rebuilt.
+     * 
+     * @param m
+     *            the m
+     * @param relationNames
+     *            the relation names
+     * @param columns
+     *            the columns
+     * @return the columns to fetch, or null if whole rows are to be read
+     */
+    private Map<String, Set<String>> getColumnsToFetch(EntityMetadata m, List<String> relationNames,
+            String... columns)
+    {
+        if (columns == null || columns.length == 0)
+        {
+            return null;
+        }
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(m.getEntityClazz());
+        String idColumn = ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName();
+        Map<String, Set<String>> columnsToFetch = new HashMap<String, Set<String>>();
+        for (String column : columns)
+        {
+            if (idColumn.equals(column))
+            {
+                // row key is always returned.
+                continue;
+            }
+            String fieldName = m.getFieldName(column);
+            AbstractAttribute attribute = fieldName != null ? (AbstractAttribute) entityType.getAttribute(fieldName)
+                    : null;
+            if (attribute == null || attribute.isCollection() || attribute.isAssociation()
+                    || metaModel.isEmbeddable(attribute.getBindableJavaType()))
+            {
+                return null;
+            }
+            String columnFamily = attribute.getTableName() != null ? attribute.getTableName() : m.getTableName();
+            addColumnToFetch(columnsToFetch, columnFamily, column);
+        }
+        if (columnsToFetch.isEmpty())
+        {
+            return null;
+        }
+        if (relationNames != null)
+        {
+            for (String relationName : relationNames)
+            {
+                addColumnToFetch(columnsToFetch, m.getTableName(), relationName);
+            }
+        }
+        String discrColumn = ((AbstractManagedType) entityType).getDiscriminatorColumn();
+        if (discrColumn != null)
+        {
+            addColumnToFetch(columnsToFetch, m.getTableName(), discrColumn);
+        }
+        return columnsToFetch;
+    }
+
+    /**
+     * Adds the column to fetch.
+     * 
+     * @param columnsToFetch
+     *            the columns to fetch
+     * @param columnFamily
+     *            the column family
+     * @param column
+     *            the column
+     */
+    private void addColumnToFetch(Map<String, Set<String>> columnsToFetch, String columnFamily, String column)
+    {
+        if (!columnsToFetch.containsKey(columnFamily))
+        {
+            columnsToFetch.put(columnFamily, new HashSet<String>());
+        }
+        columnsToFetch.get(columnFamily).add(column);
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -232,6 +351,32 @@ public class HBaseDataHandler implements DataHandler
         writeHbaseRowInATable(tableName, hbaseRow);
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.hbase.admin.DataHandler#updateData(java.lang.String,
+     * com.impetus.kundera.metadata.model.EntityMetadata, java.lang.Object,
+     * java.lang.Object, java.util.Set, boolean)
+     */
+    @Override
+    public void updateData(String tableName, EntityMetadata m, Object entity, Object rowId, Set<Attribute> attributes,
+            boolean showQuery) throws IOException
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        if (metaModel.isEmbeddable(m.getIdAttribute().getBindableJavaType()))
+        {
+            rowId = KunderaCoreUtils.prepareCompositeKey(m, rowId);
+        }
+        HBaseRow hbaseRow = new HBaseRow(rowId, new ArrayList<HBaseCell>());
+        createCellsAndAddToRow(entity, metaModel, attributes, hbaseRow, m, -1, null);
+        if (!hbaseRow.getRowCells().isEmpty())
+        {
+            writeHbaseRowInATable(tableName, hbaseRow);
+        }
+    }
+
     /**
      * Creates the hbase row.
      * 
@@ -774,7 +919,8 @@ public class HBaseDataHandler implements DataHandler
      */
     private List returnEntityObjectList(EntityMetadata m, List<HBaseDataWrapper> results, List outputResults)
     {
-        Map<Object, Object> entityListMap = new HashMap<Object, Object>();
+        // linked to keep the row key order rows were scanned in.
+        Map<Object, Object> entityListMap = new LinkedHashMap<Object, Object>();
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 m.getPersistenceUnit());
         EntityType entityType = metaModel.entity(m.getEntityClazz());
@@ -1047,7 +1193,8 @@ public class HBaseDataHandler implements DataHandler
      */
     public HBaseDataHandler getHandle()
     {
-        HBaseDataHandler handler = new HBaseDataHandler(this.kunderaMetadata, this.connection);
+        HBaseDataHandler handler = new HBaseDataHandler(this.kunderaMetadata, this.connection, this.scanExecutor,
+                this.scanParallelism, this.scanTimeout);
         handler.filter = this.filter;
         handler.filters = this.filters;
         return handler;
@@ -116,11 +116,14 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public boolean hasNext()
     {
-        boolean available = handler.hasNext();
-        if (!available || fetchSize == 0)
+        if (scrollComplete)
         {
-            scrollComplete = true;
-            handler.reset();
+            return false;
+        }
+        boolean available = count < fetchSize && handler.hasNext();
+        if (!available)
+        {
+            close();
             return false;
         }
         return available;
@@ -136,6 +139,7 @@ class ResultIterator<E> implements IResultIterator<E>
     {
         if (!checkOnFetchSize() || scrollComplete)
         {
+            close();
             throw new NoSuchElementException("Nothing to scroll further for:" + entityMetadata.getEntityClazz());
         }
         E result = (E) handler.next(entityMetadata, columns);
@@ -240,6 +244,19 @@ class ResultIterator<E> implements IResultIterator<E>
         return chunkList;
     }
 
+    /**
+     * Closes the scan once iteration stops, so its region scans and scanner
+     * are released.
+     */
+    private void close()
+    {
+        if (!scrollComplete)
+        {
+            scrollComplete = true;
+            handler.reset();
+        }
+    }
+
     /**
      * Check on fetch size.
      * 
@@ -252,7 +269,6 @@ class ResultIterator<E> implements IResultIterator<E>
             return true;
         }
         count = 0;
-        scrollComplete = true;
         return false;
     }
 }
\ No newline at end of file
@@ -1,323 +1,563 @@
-/*******************************************************************************
- * * Copyright 2015 Impetus Infotech.
- *  *
- *  * Licensed under the Apache License, Version 2.0 (the "License");
- *  * you may not use this file except in compliance with the License.
- *  * You may obtain a copy of the License at
- *  *
- *  *      http://www.apache.org/licenses/LICENSE-2.0
- *  *
- *  * Unless required by applicable law or agreed to in writing, software
- *  * distributed under the License is distributed on an "AS IS" BASIS,
- *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- *  * See the License for the specific language governing permissions and
- *  * limitations under the License.
- ******************************************************************************/
-package com.impetus.client.hbase.service;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-
-import org.apache.hadoop.hbase.Cell;
-import org.apache.hadoop.hbase.CellUtil;
-import org.apache.hadoop.hbase.client.Get;
-import org.apache.hadoop.hbase.client.Result;
-import org.apache.hadoop.hbase.client.ResultScanner;
-import org.apache.hadoop.hbase.client.Scan;
-import org.apache.hadoop.hbase.client.Table;
-import org.apache.hadoop.hbase.filter.Filter;
-import org.apache.hadoop.hbase.util.Bytes;
-
-import com.impetus.client.hbase.HBaseDataWrapper;
-import com.impetus.client.hbase.Reader;
-import com.impetus.client.hbase.utils.HBaseUtils;
-
-/**
- * The Class HBaseReader.
- * 
- * @author Pragalbh Garg
- */
-public class HBaseReader implements Reader
-{
-
-    /** The scanner. */
-    private ResultScanner scanner = null;
-
-    /** The results iter. */
-    private Iterator<Result> resultsIter;
-
-    /** The fetch size. */
-    private Integer fetchSize;
-
-    /** The counter. */
-    private Integer counter = 0;
-
-    /** The table name. */
-    private String tableName = null;
-
-    /**
-     * Sets the table name.
-     * 
-     * @param hTable
-     *            the new table name
-     */
-    private void setTableName(Table hTable)
-    {
-        this.tableName = hTable.getName().getNameAsString();
-
-    }
-
-    /*
-     * (non-Javadoc)
-     * 
-     * @see
-     * com.impetus.client.hbase.Reader#loadData(org.apache.hadoop.hbase.client
-     * .Table, java.lang.Object, byte[], byte[], java.lang.String,
-     * org.apache.hadoop.hbase.filter.Filter, java.util.List)
-     */
-    @Override
-    public List<HBaseDataWrapper> loadData(Table hTable, Object rowKey, byte[] startRow, byte[] endRow,
-            String columnFamily, Filter filter, List<Map<String, Object>> outputColumns) throws IOException
-    {
-        setTableName(hTable);
-        List<HBaseDataWrapper> results = new ArrayList<HBaseDataWrapper>();
-        if (rowKey != null)
-        {
-            Result result = hTable.get(new Get(HBaseUtils.getBytes(rowKey)));
-            if (result != null && !result.isEmpty())
-            {
-                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-                data.setColumns(result.listCells());
-                results.add(data);
-            }
-            return results;
-        }
-        if (scanner == null)
-        {
-            Scan scan = new Scan();
-            if (startRow != null)
-            {
-                scan.setStartRow(startRow);
-            }
-            if (endRow != null)
-            {
-                scan.setStopRow(endRow);
-            }
-            setScanCriteria(scan, columnFamily, outputColumns, filter);
-            scanner = hTable.getScanner(scan);
-            resultsIter = scanner.iterator();
-        }
-        return scanResults(tableName, results);
-    }
-
-    /**
-     * Sets the scan criteria.
-     * 
-     * @param scan
-     *            the scan
-     * @param columnFamily
-     *            the column family
-     * @param columnsToOutput
-     *            the columns to output
-     * @param filter
-     *            the filter
-     */
-    private void setScanCriteria(Scan scan, String columnFamily, List<Map<String, Object>> columnsToOutput,
-            Filter filter)
-    {
-        if (filter != null)
-        {
-            scan.setFilter(filter);
-        }
-        // if (columnsToOutput != null && !columnsToOutput.isEmpty())
-        // {
-        // for (Map<String, Object> map : columnsToOutput)
-        // {
-        // String family = (String) map.get(HBaseUtils.COL_FAMILY);
-        // String qualifier = (String) map.get(HBaseUtils.COL_NAME);
-        // scan.addColumn(Bytes.toBytes(family), Bytes.toBytes(qualifier));
-        // }
-        // }
-    }
-
-    /**
-     * Scan results.
-     * 
-     * @param tableName
-     *            the table name
-     * @param results
-     *            the results
-     * @return the list
-     * @throws IOException
-     *             Signals that an I/O exception has occurred.
-     */
-    private List<HBaseDataWrapper> scanResults(final String tableName, List<HBaseDataWrapper> results)
-            throws IOException
-    {
-        if (fetchSize == null)
-        {
-            for (Result result : scanner)
-            {
-                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-                data.setColumns(result.listCells());
-                results.add(data);
-            }
-
-            scanner = null;
-            resultsIter = null;
-        }
-        return results;
-    }
-
-    /*
-     * (non-Javadoc)
-     * 
-     * @see
-     * com.impetus.client.hbase.Reader#scanRowKeys(org.apache.hadoop.hbase.client
-     * .Table, org.apache.hadoop.hbase.filter.Filter, java.lang.String,
-     * java.lang.String, java.lang.Class)
-     */
-    @Override
-    public Object[] scanRowKeys(final Table hTable, final Filter filter, final String columnFamilyName,
-            final String columnName, final Class rowKeyClazz) throws IOException
-    {
-        List<Object> rowKeys = new ArrayList<Object>();
-
-        if (scanner == null)
-        {
-            Scan s = new Scan();
-            s.setFilter(filter);
-            s.addColumn(Bytes.toBytes(columnFamilyName), Bytes.toBytes(columnName));
-            scanner = hTable.getScanner(s);
-            resultsIter = scanner.iterator();
-        }
-        if (fetchSize == null)
-        {
-            for (Result result : scanner)
-            {
-                for (Cell cell : result.listCells())
-                {
-                    rowKeys.add(HBaseUtils.fromBytes(CellUtil.cloneFamily(cell), rowKeyClazz));
-                }
-            }
-        }
-        if (rowKeys != null && !rowKeys.isEmpty())
-        {
-            return rowKeys.toArray(new Object[0]);
-        }
-        return null;
-    }
-
-    /**
-     * Load all.
-     * 
-     * @param hTable
-     *            the h table
-     * @param rows
-     *            the rows
-     * @param columnFamily
-     *            the column family
-     * @param columns
-     *            the columns
-     * @return the list
-     * @throws IOException
-     *             Signals that an I/O exception has occurred.
-     */
-    public List<HBaseDataWrapper> loadAll(final Table hTable, final List<Object> rows, final String columnFamily,
-            final String[] columns) throws IOException
-    {
-        setTableName(hTable);
-        List<HBaseDataWrapper> results = new ArrayList<HBaseDataWrapper>();
-        List<Get> getRequest = new ArrayList<Get>();
-        for (Object rowKey : rows)
-        {
-            if (rowKey != null)
-            {
-                byte[] rowKeyBytes = HBaseUtils.getBytes(rowKey);
-                Get request = new Get(rowKeyBytes);
-                getRequest.add(request);
-            }
-        }
-        Result[] rawResult = hTable.get(getRequest);
-        for (Result result : rawResult)
-        {
-            List<Cell> cells = result.listCells();
-            if (cells != null)
-            {
-                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-                data.setColumns(cells);
-                results.add(data);
-            }
-        }
-        return results;
-    }
-
-    /**
-     * Sets the fetch size.
-     * 
-     * @param fetchSize
-     *            the new fetch size
-     */
-    public void setFetchSize(final int fetchSize)
-    {
-        this.fetchSize = fetchSize;
-    }
-
-    /**
-     * Next.
-     * 
-     * @return the h base data
-     */
-    public HBaseDataWrapper next()
-    {
-        Result result = resultsIter.next();
-        counter++;
-        List<Cell> cells = result.listCells();
-        HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
-        data.setColumns(cells);
-        return data;
-    }
-
-    /**
-     * Checks for next.
-     * 
-     * @return true, if successful
-     */
-    public boolean hasNext()
-    {
-        if (scanner == null)
-        {
-            return false;
-        }
-        else
-        {
-            if (fetchSize != null)
-            {
-                if (counter < fetchSize)
-                {
-                    return resultsIter.hasNext();
-                }
-            }
-            else
-            {
-                return resultsIter.hasNext();
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Reset.
-     */
-    public void reset()
-    {
-        scanner = null;
-        fetchSize = null;
-        resultsIter = null;
-        tableName = null;
-        counter = 0;
-    }
-}
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.hbase.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.BinaryComparator;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.FamilyFilter;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.PageFilter;
+import org.apache.hadoop.hbase.filter.QualifierFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.impetus.client.hbase.HBaseDataWrapper;
+import com.impetus.client.hbase.Reader;
+import com.impetus.client.hbase.utils.HBaseUtils;
+
+/**
+ * The Class HBaseReader.
+ * 
+ * @author Pragalbh Garg
+ */
+public class HBaseReader implements Reader
+{
+
+    /** Upper bound on the rows fetched per scanner round trip. */
+    private static final int MAX_SCAN_CACHING = 1000;
+
+    /** The scanner. */
+    private ResultScanner scanner = null;
+
+    /** The results iter. */
+    private Iterator<Result> resultsIter;
+
+    /** The fetch size. */
+    private Integer fetchSize;
+
+    /** The counter. */
+    private Integer counter = 0;
+
+    /** The table name. */
+    private String tableName = null;
+
+    /** The connection, used to scan regions in parallel. */
+    private Connection connection;
+
+    /** The executor for parallel scans, null to scan sequentially. */
+    private ExecutorService scanExecutor;
+
+    /** The number of regions scanned at once. */
+    private int scanParallelism;
+
+    /** Seconds a region scan waits for its rows to be read. */
+    private int scanTimeout;
+
+    /**
+     * Instantiates a new HBase reader scanning sequentially.
+     */
+    public HBaseReader()
+    {
+    }
+
+    /**
+     * Instantiates a new HBase reader that scans up to
+     * {@code scanParallelism} regions at once on the given executor.
+     * 
+     * @param connection
+     *            the connection
+     * @param scanExecutor
+     *            the scan executor
+     * @param scanParallelism
+     *            the number of regions scanned at once
+     * @param scanTimeout
+     *            seconds a region scan waits for its rows to be read
+     */
+    public HBaseReader(Connection connection, ExecutorService scanExecutor, int scanParallelism, int scanTimeout)
+    {
+        this.connection = connection;
+        this.scanExecutor = scanExecutor;
+        this.scanParallelism = scanParallelism;
+        this.scanTimeout = scanTimeout;
+    }
+
+    /**
+     * Sets the table name.
+     * 
+     * @param hTable
+     *            the new table name
+     */
+    private void setTableName(Table hTable)
+    {
+        this.tableName = hTable.getName().getNameAsString();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.hbase.Reader#loadData(org.apache.hadoop.hbase.client
+     * .Table, java.lang.Object, byte[], byte[], java.lang.String,
+     * org.apache.hadoop.hbase.filter.Filter, java.util.List)
+     */
+    @Override
+    public List<HBaseDataWrapper> loadData(Table hTable, Object rowKey, byte[] startRow, byte[] endRow,
+            String columnFamily, Filter filter, List<Map<String, Object>> outputColumns) throws IOException
+    {
+        setTableName(hTable);
+        List<HBaseDataWrapper> results = new ArrayList<HBaseDataWrapper>();
+        if (rowKey != null)
+        {
+            Get get = new Get(HBaseUtils.getBytes(rowKey));
+            if (columnFamily != null)
+            {
+                get.addFamily(Bytes.toBytes(columnFamily));
+            }
+            else
+            {
+                Map<String, Set<String>> columns = getColumnsToFetch(outputColumns);
+                if (columns != null)
+                {
+                    get.setFilter(getProjectionFilter(columns));
+                }
+            }
+            Result result = hTable.get(get);
+            if (result != null && !result.isEmpty())
+            {
+                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
+                data.setColumns(result.listCells());
+                results.add(data);
+            }
+            return results;
+        }
+        if (resultsIter == null)
+        {
+            Scan scan = new Scan();
+            if (startRow != null)
+            {
+                scan.setStartRow(startRow);
+            }
+            if (endRow != null)
+            {
+                scan.setStopRow(endRow);
+            }
+            setScanCriteria(scan, columnFamily, outputColumns, filter);
+            if (scanExecutor != null)
+            {
+                resultsIter = new ParallelScanner(connection, hTable.getName(), scan, scanExecutor, scanParallelism,
+                        fetchSize != null ? fetchSize : getPageSize(filter), scanTimeout);
+            }
+            else
+            {
+                scanner = hTable.getScanner(scan);
+                resultsIter = scanner.iterator();
+            }
+        }
+        return scanResults(tableName, results);
+    }
+
+    /**
+     * Sets the scan criteria.
+     * 
+     * @param scan
+     *            the scan
+     * @param columnFamily
+     *            the column family
+     * @param columnsToOutput
+     *            the columns to output
+     * @param filter
+     *            the filter
+     */
+    private void setScanCriteria(Scan scan, String columnFamily, List<Map<String, Object>> columnsToOutput,
+            Filter filter)
+    {
+        Map<String, Set<String>> columns = getColumnsToFetch(columnsToOutput);
+        if (columns != null)
+        {
+            // filters, unlike Scan.addColumn, still see every column and
+            // keep rows in which all selected columns are null.
+            Filter projection = getProjectionFilter(columns);
+            filter = filter != null ? new FilterList(FilterList.Operator.MUST_PASS_ALL, filter, projection)
+                    : projection;
+        }
+        if (filter != null)
+        {
+            scan.setFilter(filter);
+        }
+        // Batching is left alone: query scans always carry a PageFilter,
+        // which filters on whole rows and cannot be combined with
+        // Scan.setBatch.
+        int caching = Math.min(fetchSize != null ? fetchSize : getPageSize(filter), MAX_SCAN_CACHING);
+        if (caching > 0)
+        {
+            scan.setCaching(caching);
+        }
+    }
+
+    /**
+     * Gets the columns, grouped by column family, a read has to fetch. A
+     * family mapped to null is fetched as a whole.
+     * 
+     * @param columnsToOutput
+     *            the columns to output
+     * @return the columns to fetch, or null if whole rows are to be read
+     */
+    private Map<String, Set<String>> getColumnsToFetch(List<Map<String, Object>> columnsToOutput)
+    {
+        if (columnsToOutput == null || columnsToOutput.isEmpty())
+        {
+            return null;
+        }
+        Map<String, Set<String>> columns = new HashMap<String, Set<String>>();
+        for (Map<String, Object> map : columnsToOutput)
+        {
+            if (Boolean.TRUE.equals(map.get(HBaseUtils.IS_EMBEDDABLE)))
+            {
+                // embedded fields may be spread across column families.
+                return null;
+            }
+            addColumn(columns, (String) map.get(HBaseUtils.COL_FAMILY), (String) map.get(HBaseUtils.COL_NAME));
+        }
+        return columns;
+    }
+
+    /**
+     * Adds the column, a null qualifier stands for the whole family.
+     * 
+     * @param columns
+     *            the columns
+     * @param family
+     *            the family
+     * @param qualifier
+     *            the qualifier
+     */
+    private void addColumn(Map<String, Set<String>> columns, String family, String qualifier)
+    {
+        if (qualifier == null)
+        {
+            columns.put(family, null);
+        }
+        else if (!columns.containsKey(family))
+        {
+            Set<String> qualifiers = new HashSet<String>();
+            qualifiers.add(qualifier);
+            columns.put(family, qualifiers);
+        }
+        else if (columns.get(family) != null)
+        {
+            columns.get(family).add(qualifier);
+        }
+    }
+
+    /**
+     * Gets the filter that returns only the given columns, plus the first
+     * cell of every row. Unlike restricting a read to the columns, it keeps
+     * rows in which none of the columns are set.
+     * 
+     * @param columns
+     *            the columns, grouped by column family
+     * @return the projection filter
+     */
+    private Filter getProjectionFilter(Map<String, Set<String>> columns)
+    {
+        FilterList projection = new FilterList(FilterList.Operator.MUST_PASS_ONE);
+        projection.addFilter(new FirstKeyOnlyFilter());
+        for (Map.Entry<String, Set<String>> family : columns.entrySet())
+        {
+            Filter familyFilter = new FamilyFilter(CompareOp.EQUAL, new BinaryComparator(Bytes.toBytes(family
+                    .getKey())));
+            if (family.getValue() == null)
+            {
+                projection.addFilter(familyFilter);
+            }
+            else
+            {
+                FilterList qualifiers = new FilterList(FilterList.Operator.MUST_PASS_ONE);
+                for (String qualifier : family.getValue())
+                {
+                    qualifiers.addFilter(new QualifierFilter(CompareOp.EQUAL, new BinaryComparator(Bytes
+                            .toBytes(qualifier))));
+                }
+                projection.addFilter(new FilterList(FilterList.Operator.MUST_PASS_ALL, familyFilter, qualifiers));
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Gets the cells of the given columns, dropping the first cell a
+     * projection filter returns for every row.
+     * 
+     * @param cells
+     *            the cells
+     * @param columns
+     *            the columns, grouped by column family
+     * @return the cells of the columns
+     */
+    private List<Cell> retainColumns(List<Cell> cells, Map<String, Set<String>> columns)
+    {
+        List<Cell> retained = new ArrayList<Cell>(cells.size());
+        for (Cell cell : cells)
+        {
+            String family = Bytes.toString(CellUtil.cloneFamily(cell));
+            if (columns.containsKey(family)
+                    && (columns.get(family) == null || columns.get(family).contains(
+                            Bytes.toString(CellUtil.cloneQualifier(cell)))))
+            {
+                retained.add(cell);
+            }
+        }
+        return retained;
+    }
+
+    /**
+     * Gets the page size of the page filter, if any.
+     * 
+     * @param filter
+     *            the filter
+     * @return the page size, 0 if there is none
+     */
+    private int getPageSize(Filter filter)
+    {
+        if (filter instanceof PageFilter)
+        {
+            long pageSize = ((PageFilter) filter).getPageSize();
+            return pageSize > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) pageSize;
+        }
+        else if (filter instanceof FilterList)
+        {
+            for (Filter f : ((FilterList) filter).getFilters())
+            {
+                int pageSize = getPageSize(f);
+                if (pageSize > 0)
+                {
+                    return pageSize;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Scan results.
+     * 
+     * @param tableName
+     *            the table name
+     * @param results
+     *            the results
+     * @return the list
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private List<HBaseDataWrapper> scanResults(final String tableName, List<HBaseDataWrapper> results)
+            throws IOException
+    {
+        if (fetchSize == null)
+        {
+            while (resultsIter.hasNext())
+            {
+                Result result = resultsIter.next();
+                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
+                data.setColumns(result.listCells());
+                results.add(data);
+            }
+
+            scanner = null;
+            resultsIter = null;
+        }
+        return results;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.hbase.Reader#scanRowKeys(org.apache.hadoop.hbase.client
+     * .Table, org.apache.hadoop.hbase.filter.Filter, java.lang.String,
+     * java.lang.String, java.lang.Class)
+     */
+    @Override
+    public Object[] scanRowKeys(final Table hTable, final Filter filter, final String columnFamilyName,
+            final String columnName, final Class rowKeyClazz) throws IOException
+    {
+        List<Object> rowKeys = new ArrayList<Object>();
+
+        if (scanner == null)
+        {
+            Scan s = new Scan();
+            s.setFilter(filter);
+            s.addColumn(Bytes.toBytes(columnFamilyName), Bytes.toBytes(columnName));
+            scanner = hTable.getScanner(s);
+            resultsIter = scanner.iterator();
+        }
+        if (fetchSize == null)
+        {
+            for (Result result : scanner)
+            {
+                for (Cell cell : result.listCells())
+                {
+                    rowKeys.add(HBaseUtils.fromBytes(CellUtil.cloneFamily(cell), rowKeyClazz));
+                }
+            }
+        }
+        if (rowKeys != null && !rowKeys.isEmpty())
+        {
+            return rowKeys.toArray(new Object[0]);
+        }
+        return null;
+    }
+
+    /**
+     * Load all.
+     * 
+     * @param hTable
+     *            the h table
+     * @param rows
+     *            the rows
+     * @param columns
+     *            the columns to fetch grouped by column family, null to read
+     *            whole rows
+     * @return the list
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public List<HBaseDataWrapper> loadAll(final Table hTable, final List<Object> rows,
+            final Map<String, Set<String>> columns) throws IOException
+    {
+        setTableName(hTable);
+        List<HBaseDataWrapper> results = new ArrayList<HBaseDataWrapper>();
+        List<Get> getRequest = new ArrayList<Get>();
+        for (Object rowKey : rows)
+        {
+            if (rowKey != null)
+            {
+                byte[] rowKeyBytes = HBaseUtils.getBytes(rowKey);
+                Get request = new Get(rowKeyBytes);
+                if (columns != null)
+                {
+                    request.setFilter(getProjectionFilter(columns));
+                }
+                getRequest.add(request);
+            }
+        }
+        Result[] rawResult = hTable.get(getRequest);
+        for (Result result : rawResult)
+        {
+            List<Cell> cells = result.listCells();
+            if (cells != null)
+            {
+                HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
+                data.setColumns(columns != null ? retainColumns(cells, columns) : cells);
+                results.add(data);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Sets the fetch size.
+     * 
+     * @param fetchSize
+     *            the new fetch size
+     */
+    public void setFetchSize(final int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Next.
+     * 
+     * @return the h base data
+     */
+    public HBaseDataWrapper next()
+    {
+        Result result = resultsIter.next();
+        counter++;
+        List<Cell> cells = result.listCells();
+        HBaseDataWrapper data = new HBaseDataWrapper(tableName, result.getRow());
+        data.setColumns(cells);
+        return data;
+    }
+
+    /**
+     * Checks for next.
+     * 
+     * @return true, if successful
+     */
+    public boolean hasNext()
+    {
+        if (resultsIter == null)
+        {
+            return false;
+        }
+        else
+        {
+            if (fetchSize != null)
+            {
+                if (counter < fetchSize)
+                {
+                    return resultsIter.hasNext();
+                }
+            }
+            else
+            {
+                return resultsIter.hasNext();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reset.
+     */
+    public void reset()
+    {
+        if (resultsIter instanceof ParallelScanner)
+        {
+            ((ParallelScanner) resultsIter).close();
+        }
+        if (scanner != null)
+        {
+            scanner.close();
+        }
+        scanner = null;
+        fetchSize = null;
+        resultsIter = null;
+        tableName = null;
+        counter = 0;
+    }
+}
@@ -0,0 +1,446 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.hbase.service;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+
+import com.impetus.kundera.KunderaException;
+
+/**
+ * Iterator over the results of a scan split on region boundaries. Up to
+ * {@code parallelism} regions are scanned at once on the given executor,
+ * results are handed out region by region so they keep row key order. Each
+ * region scan streams its rows through a bounded queue, so at most
+ * {@code parallelism} queues of rows are held in memory. A region scan whose
+ * rows are not read within the timeout, e.g. of an iterator that is no longer
+ * used, is aborted so that it does not hold an executor thread.
+ */
+class ParallelScanner implements Iterator<Result>
+{
+    /** Rows buffered per region scan, unless scan caching is larger. */
+    private static final int DEFAULT_BUFFER_SIZE = 100;
+
+    /** Marks the end of rows of a region scan. */
+    private static final Result END = new Result();
+
+    /** Milliseconds between checks whether a region scan was aborted. */
+    private static final long POLL_INTERVAL = 100;
+
+    /** The connection. */
+    private final Connection connection;
+
+    /** The table name. */
+    private final TableName tableName;
+
+    /** The executor. */
+    private final ExecutorService executor;
+
+    /** The number of regions scanned at once. */
+    private final int parallelism;
+
+    /** The maximum number of rows to return, 0 for no limit. */
+    private final int limit;
+
+    /** Seconds a region scan waits for its rows to be read. */
+    private final int timeout;
+
+    /** The region scans yet to be submitted. */
+    private final Queue<Scan> pending = new LinkedList<Scan>();
+
+    /** The number of rows buffered per region scan. */
+    private final int bufferSize;
+
+    /** The submitted region scans, in region order. */
+    private final Queue<RegionScan> running = new LinkedList<RegionScan>();
+
+    /** The region scan being read. */
+    private RegionScan current;
+
+    /** The next row to return, if already taken from current region scan. */
+    private Result next;
+
+    /** The number of rows returned. */
+    private int returned;
+
+    /**
+     * Instantiates a new parallel scanner.
+     * 
+     * @param connection
+     *            the connection
+     * @param tableName
+     *            the table name
+     * @param scan
+     *            the scan
+     * @param executor
+     *            the executor
+     * @param parallelism
+     *            the number of regions scanned at once
+     * @param limit
+     *            the maximum number of rows to return, 0 for no limit
+     * @param timeout
+     *            seconds a region scan waits for its rows to be read
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    ParallelScanner(Connection connection, TableName tableName, Scan scan, ExecutorService executor,
+            int parallelism, int limit, int timeout) throws IOException
+    {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.bufferSize = Math.max(scan.getCaching(), DEFAULT_BUFFER_SIZE);
+        splitOnRegions(scan);
+        submit();
+    }
+
+    /**
+     * Splits the scan range on region boundaries, one scan per region.
+     * 
+     * @param scan
+     *            the scan
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void splitOnRegions(Scan scan) throws IOException
+    {
+        Pair<byte[][], byte[][]> keys;
+        RegionLocator locator = connection.getRegionLocator(tableName);
+        try
+        {
+            keys = locator.getStartEndKeys();
+        }
+        finally
+        {
+            locator.close();
+        }
+        byte[] startRow = scan.getStartRow();
+        byte[] stopRow = scan.getStopRow();
+        for (int i = 0; i < keys.getFirst().length; i++)
+        {
+            byte[] regionStart = keys.getFirst()[i];
+            byte[] regionEnd = keys.getSecond()[i];
+            if (stopRow.length > 0 && Bytes.compareTo(regionStart, stopRow) >= 0)
+            {
+                break;
+            }
+            if (regionEnd.length > 0 && Bytes.compareTo(regionEnd, startRow) <= 0)
+            {
+                continue;
+            }
+            Scan regionScan = new Scan(scan);
+            regionScan.setStartRow(Bytes.compareTo(regionStart, startRow) > 0 ? regionStart : startRow);
+            boolean endsInRange = stopRow.length == 0 || Bytes.compareTo(regionEnd, stopRow) < 0;
+            regionScan.setStopRow(regionEnd.length > 0 && endsInRange ? regionEnd : stopRow);
+            pending.add(regionScan);
+        }
+    }
+
+    /**
+     * Submits region scans until {@code parallelism} of them are running.
+     */
+    private void submit()
+    {
+        while (running.size() < parallelism && !pending.isEmpty())
+        {
+            RegionScan regionScan = new RegionScan(pending.poll(), bufferSize);
+            regionScan.future = executor.submit(regionScan);
+            running.add(regionScan);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.Iterator#hasNext()
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (limit > 0 && returned >= limit)
+        {
+            close();
+            return false;
+        }
+        while (next == null)
+        {
+            if (current == null)
+            {
+                if (running.isEmpty())
+                {
+                    return false;
+                }
+                current = running.poll();
+                // keep the other regions busy while reading this one.
+                submit();
+            }
+            Result result = take(current);
+            if (result == END)
+            {
+                // surface a failure of the region scan, if any.
+                get(current.future);
+                current = null;
+            }
+            else
+            {
+                next = result;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.Iterator#next()
+     */
+    @Override
+    public Result next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + tableName);
+        }
+        returned++;
+        Result result = next;
+        next = null;
+        return result;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.util.Iterator#remove()
+     */
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("remove() over scan results is not supported");
+    }
+
+    /**
+     * Cancels the region scans still pending or running.
+     */
+    void close()
+    {
+        pending.clear();
+        if (current != null)
+        {
+            current.future.cancel(true);
+            current = null;
+        }
+        for (RegionScan regionScan : running)
+        {
+            regionScan.future.cancel(true);
+        }
+        running.clear();
+        next = null;
+    }
+
+    /**
+     * Takes the next row of a region scan, waiting for it if needed. Fails if
+     * the region scan was aborted.
+     * 
+     * @param regionScan
+     *            the region scan
+     * @return the row or {@link #END}
+     */
+    private Result take(RegionScan regionScan)
+    {
+        try
+        {
+            Result result = regionScan.results.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            while (result == null)
+            {
+                if (regionScan.future.isDone())
+                {
+                    // ended without end marker, surface why.
+                    result = regionScan.results.poll();
+                    if (result == null)
+                    {
+                        get(regionScan.future);
+                        return END;
+                    }
+                }
+                else
+                {
+                    result = regionScan.results.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                }
+            }
+            return result;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            close();
+            throw new KunderaException("Interrupted while scanning table " + tableName, e);
+        }
+    }
+
+    /**
+     * Waits for a region scan to complete.
+     * 
+     * @param future
+     *            the future
+     */
+    private void get(Future<Void> future)
+    {
+        try
+        {
+            future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            close();
+            throw new KunderaException("Interrupted while scanning table " + tableName, e);
+        }
+        catch (ExecutionException e)
+        {
+            close();
+            throw new KunderaException("Error while scanning table " + tableName + ", Caused by: .", e.getCause());
+        }
+    }
+
+    /**
+     * Scan of a single region, handing its rows over through a bounded queue.
+     * The scan blocks while the queue is full, i.e. until rows are read, and
+     * is aborted if they are not read within the timeout.
+     */
+    private final class RegionScan implements Callable<Void>
+    {
+        /** The region scan. */
+        private final Scan scan;
+
+        /** The rows read and not yet returned, followed by {@link #END}. */
+        private final BlockingQueue<Result> results;
+
+        /** The future of this scan. */
+        private Future<Void> future;
+
+        /** Whether this scan was aborted as its rows were not read. */
+        private boolean aborted;
+
+        /**
+         * Instantiates a new region scan.
+         * 
+         * @param scan
+         *            the region scan
+         * @param bufferSize
+         *            the number of rows buffered
+         */
+        RegionScan(Scan scan, int bufferSize)
+        {
+            this.scan = scan;
+            this.results = new ArrayBlockingQueue<Result>(bufferSize);
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public Void call() throws IOException, InterruptedException
+        {
+            try
+            {
+                Table hTable = connection.getTable(tableName);
+                try
+                {
+                    ResultScanner scanner = hTable.getScanner(scan);
+                    try
+                    {
+                        int count = 0;
+                        for (Result result : scanner)
+                        {
+                            offer(result);
+                            if (limit > 0 && ++count >= limit)
+                            {
+                                break;
+                            }
+                        }
+                    }
+                    finally
+                    {
+                        scanner.close();
+                    }
+                }
+                finally
+                {
+                    hTable.close();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                // cancelled on close, nobody waits for the end marker.
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            finally
+            {
+                if (!aborted && !Thread.currentThread().isInterrupted())
+                {
+                    // dropped if nobody reads, the reader then checks the
+                    // future instead.
+                    results.offer(END, timeout, TimeUnit.SECONDS);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Hands a row over, waiting for space in the queue up to the timeout.
+         * 
+         * @param result
+         *            the row
+         * @throws InterruptedException
+         *             if cancelled while waiting
+         */
+        private void offer(Result result) throws InterruptedException
+        {
+            if (!results.offer(result, timeout, TimeUnit.SECONDS))
+            {
+                aborted = true;
+                throw new KunderaException("Scan of table " + tableName + " aborted, rows were not read within "
+                        + timeout + " seconds");
+            }
+        }
+    }
+}
@@ -21,6 +21,14 @@ import javax.persistence.Persistence;
 
 import junit.framework.Assert;
 
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -139,6 +147,53 @@ public class BasicCRUDTest
         Assert.assertNull(p1);
     }
 
+    /**
+     * Merge must put only the changed cell, leaving a cell written by someone
+     * else in the meantime untouched.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPartialUpdate() throws Exception
+    {
+        PersonHBase p = new PersonHBase();
+        p.setPersonId("2");
+        p.setPersonName("pragalbh");
+        p.setAge(22);
+        p.setMonth(Month.JAN);
+        p.setDay(Day.FRIDAY);
+        em.persist(p);
+        em.clear();
+
+        PersonHBase found = em.find(PersonHBase.class, "2");
+        Assert.assertNotNull(found);
+
+        Connection connection = ConnectionFactory.createConnection();
+        Table table = connection.getTable(TableName.valueOf(SCHEMA + ":PERSON_HBASE"));
+        try
+        {
+            Put put = new Put(Bytes.toBytes("2"));
+            put.addColumn(Bytes.toBytes("PERSON_HBASE"), Bytes.toBytes("MONTH_ENUM"), Bytes.toBytes("FEB"));
+            table.put(put);
+
+            found.setPersonName("devender");
+            em.merge(found);
+
+            Result result = table.get(new Get(Bytes.toBytes("2")));
+            Assert.assertEquals("devender",
+                    Bytes.toString(result.getValue(Bytes.toBytes("PERSON_HBASE"), Bytes.toBytes("PERSON_NAME"))));
+            Assert.assertEquals("FEB",
+                    Bytes.toString(result.getValue(Bytes.toBytes("PERSON_HBASE"), Bytes.toBytes("MONTH_ENUM"))));
+        }
+        finally
+        {
+            table.close();
+            connection.close();
+        }
+        em.remove(found);
+    }
+
     /**
      * Tear down.
      * 
@@ -79,6 +79,7 @@ public class EmbeddablesQueryTest extends EmbeddablesBase
         testSelectSimple();
         testSelectWithWhere();
         testSelectWithWhereIn();
+        testSelectProjection();
 
     }
 
@@ -120,6 +121,32 @@ public class EmbeddablesQueryTest extends EmbeddablesBase
         assertResults(results, T, T, T, T);
     }
 
+    /**
+     * Test select of specific fields, plain and embedded.
+     */
+    private void testSelectProjection()
+    {
+        List results = em.createQuery("select p.email from PersonEmbed p where p.personId = 1").getResultList();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("pg@gmail.com", results.get(0));
+
+        // embeddables are read as a whole.
+        results = em.createQuery("select p.personal from PersonEmbed p where p.personId = 2").getResultList();
+        Assert.assertEquals(1, results.size());
+        PersonalDetails personal = (PersonalDetails) results.get(0);
+        Assert.assertEquals("dev", personal.getFullname().getFirstName());
+        Assert.assertEquals("cool", personal.getFullname().getMiddleName());
+        Assert.assertEquals("yadav", personal.getFullname().getLastName());
+
+        results = em.createQuery("select p.email, p.professional from PersonEmbed p where p.personId = 1")
+                .getResultList();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("pg@gmail.com", ((List) results.get(0)).get(0));
+        ProfessionalDetails professional = (ProfessionalDetails) ((List) results.get(0)).get(1);
+        Assert.assertEquals("impetus", professional.getCompany());
+        Assert.assertEquals("kundera", professional.getProject());
+    }
+
     /**
      * Test select with where.
      */
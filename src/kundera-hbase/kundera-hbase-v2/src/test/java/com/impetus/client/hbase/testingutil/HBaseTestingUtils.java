@@ -17,6 +17,9 @@ package com.impetus.client.hbase.testingutil;
 
 import java.io.IOException;
 
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.HBaseAdmin;
@@ -65,4 +68,38 @@ public final class HBaseTestingUtils
 
     }
 
+    /**
+     * Recreates an empty table split into regions at the given keys.
+     * 
+     * @param tableName
+     *            the table name, namespace included
+     * @param splitKeys
+     *            the row keys the regions start at
+     */
+    public static void splitTable(String tableName, byte[]... splitKeys)
+    {
+        try
+        {
+            Connection connection = ConnectionFactory.createConnection();
+            try
+            {
+                Admin admin = connection.getAdmin();
+                TableName name = TableName.valueOf(tableName);
+                HTableDescriptor descriptor = admin.getTableDescriptor(name);
+                admin.disableTable(name);
+                admin.deleteTable(name);
+                admin.createTable(descriptor, splitKeys);
+                admin.close();
+            }
+            finally
+            {
+                connection.close();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new KunderaException("Could not split table " + tableName + ", caused by:", e);
+        }
+    }
+
 }
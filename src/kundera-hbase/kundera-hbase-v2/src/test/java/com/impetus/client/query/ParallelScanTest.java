@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import com.impetus.client.hbase.HBaseConstants;
+import com.impetus.client.hbase.testingutil.HBaseTestingUtils;
+import com.impetus.client.hbase.utils.HBaseUtils;
+import com.impetus.kundera.query.Query;
+
+/**
+ * junit for queries with region scans running in parallel, on a table split
+ * into one region per book.
+ */
+public class ParallelScanTest extends BookBaseTest
+{
+    /** The table of books. */
+    private static final String TABLE = HBaseUtils.getHTableName(SCHEMA, "BOOKS");
+
+    /**
+     * Sets the up before class.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(HBaseConstants.SCAN_PARALLELISM, "4");
+        props.put(HBaseConstants.SCAN_TIMEOUT, "1");
+        emf = Persistence.createEntityManagerFactory(HBASE_PU, props);
+        HBaseTestingUtils.splitTable(TABLE, Bytes.toBytes(2), Bytes.toBytes(3), Bytes.toBytes(4));
+    }
+
+    /**
+     * Sets the up.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Before
+    public void setUp() throws Exception
+    {
+        em = emf.createEntityManager();
+        persistBooks();
+    }
+
+    /**
+     * Parallel scan test.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void parallelScanTest() throws Exception
+    {
+        Assert.assertEquals(4, countRegions());
+
+        List<Book> results = em.createQuery("select b from Book b").getResultList();
+        assertOrdered(results, 1, 2, 3, 4);
+        assertResults(results, T, T, T, T);
+
+        results = em.createQuery("select b from Book b where b.author = 'author1'").getResultList();
+        assertOrdered(results, 1, 4);
+        assertResults(results, T, F, F, T);
+
+        results = em.createQuery("select b from Book b where b.bookId >= 2").getResultList();
+        assertOrdered(results, 2, 3, 4);
+
+        results = em.createQuery("select b from Book b").setMaxResults(2).getResultList();
+        assertOrdered(results, 1, 2);
+
+        Query query = (Query) em.createQuery("select b from Book b where b.year > 2000", Book.class);
+        query.setFetchSize(2);
+        Iterator<Book> iter = query.iterate();
+        List<Book> scrolled = new ArrayList<Book>();
+        while (iter.hasNext())
+        {
+            scrolled.add(iter.next());
+        }
+        assertOrdered(scrolled, 2, 3);
+    }
+
+    /**
+     * Abandoned iterators test, their region scans must not keep the scan
+     * executor busy for other queries.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void abandonedIteratorTest() throws Exception
+    {
+        // last region gets more rows than a region scan buffers.
+        for (int i = 5; i <= 1100; i++)
+        {
+            em.persist(prepareData(i, "book" + i, "author" + i, 2000, i));
+        }
+        em.clear();
+        try
+        {
+            // each iterator leaves a region scan waiting for its rows to be
+            // read, together they take all threads of the scan executor.
+            for (int i = 0; i < 4; i++)
+            {
+                Query query = (Query) em.createQuery("select b from Book b where b.bookId >= 4", Book.class);
+                query.setFetchSize(1100);
+                Iterator<Book> iter = query.iterate();
+                Assert.assertTrue(iter.hasNext());
+                Assert.assertEquals(4, iter.next().getBookId());
+            }
+
+            List<Book> results = em.createQuery("select b from Book b").setMaxResults(2000).getResultList();
+            Assert.assertEquals(1100, results.size());
+            Assert.assertEquals(1, results.get(0).getBookId());
+            Assert.assertEquals(1100, results.get(1099).getBookId());
+        }
+        finally
+        {
+            em.createQuery("delete from Book b").setMaxResults(2000).executeUpdate();
+            em.clear();
+        }
+    }
+
+    /**
+     * Counts the regions of the table of books.
+     * 
+     * @return the number of regions
+     * @throws Exception
+     *             the exception
+     */
+    private int countRegions() throws Exception
+    {
+        Connection connection = ConnectionFactory.createConnection();
+        try
+        {
+            RegionLocator locator = connection.getRegionLocator(TableName.valueOf(TABLE));
+            try
+            {
+                return locator.getStartKeys().length;
+            }
+            finally
+            {
+                locator.close();
+            }
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    /**
+     * Asserts the books came back in row key order.
+     * 
+     * @param results
+     *            the results
+     * @param bookIds
+     *            the expected book ids
+     */
+    private void assertOrdered(List<Book> results, int... bookIds)
+    {
+        Assert.assertEquals(bookIds.length, results.size());
+        for (int i = 0; i < bookIds.length; i++)
+        {
+            Assert.assertEquals(bookIds[i], results.get(i).getBookId());
+        }
+    }
+
+    /**
+     * Tear down.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @After
+    public void tearDown() throws Exception
+    {
+        deleteBooks();
+        em.close();
+    }
+
+    /**
+     * Tear down after class.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception
+    {
+        emf.close();
+        emf = null;
+        HBaseTestingUtils.dropSchema(SCHEMA);
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.impetus.client.hbase.HBaseClient;
+import com.impetus.client.hbase.testingutil.HBaseTestingUtils;
+import com.impetus.kundera.client.Client;
+
+/**
+ * junit for queries and lookups reading only the selected columns.
+ */
+public class ProjectionQueryTest extends BookBaseTest
+{
+    /**
+     * Sets the up before class.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(HBASE_PU);
+    }
+
+    /**
+     * Sets the up.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Before
+    public void setUp() throws Exception
+    {
+        em = emf.createEntityManager();
+        persistBooks();
+    }
+
+    /**
+     * Projection query test.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void projectionQueryTest() throws Exception
+    {
+        // filter column is read along with selected one.
+        List results = em.createQuery("select b.title from Book b where b.author = 'author1'").getResultList();
+        Assert.assertEquals(2, results.size());
+        Collections.sort(results);
+        Assert.assertEquals("book1", results.get(0));
+        Assert.assertEquals("book4", results.get(1));
+
+        results = em.createQuery("select b.pages, b.bookId from Book b where b.year > 2005 and b.pages < 400")
+                .getResultList();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(300, ((List) results.get(0)).get(0));
+        Assert.assertEquals(3, ((List) results.get(0)).get(1));
+    }
+
+    /**
+     * Lookup of selected columns test.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void findAllSelectedColumnsTest() throws Exception
+    {
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        HBaseClient client = (HBaseClient) clients.get(HBASE_PU);
+
+        List<Book> books = client.findAll(Book.class, new String[] { "TITLE" }, 1, 2);
+        Assert.assertEquals(2, books.size());
+        for (Book book : books)
+        {
+            Assert.assertEquals("book" + book.getBookId(), book.getTitle());
+            Assert.assertNull(book.getAuthor());
+            Assert.assertEquals(0, book.getYear());
+            Assert.assertEquals(0, book.getPages());
+        }
+
+        books = client.findAll(Book.class, null, 1, 2);
+        Assert.assertEquals(2, books.size());
+        for (Book book : books)
+        {
+            Assert.assertNotNull(book.getAuthor());
+            Assert.assertEquals(book.getBookId() * 100, book.getPages());
+        }
+    }
+
+    /**
+     * Projection of a field that is null in some rows test.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void projectionOfNullFieldTest() throws Exception
+    {
+        em.persist(prepareData(5, null, "author5", 2020, 500));
+        em.clear();
+
+        List results = em.createQuery("select b.title from Book b").getResultList();
+        Assert.assertEquals(5, results.size());
+        Assert.assertTrue(results.contains(null));
+
+        results = em.createQuery("select b.title, b.bookId from Book b where b.author = 'author5'")
+                .getResultList();
+        Assert.assertEquals(1, results.size());
+        Assert.assertNull(((List) results.get(0)).get(0));
+        Assert.assertEquals(5, ((List) results.get(0)).get(1));
+
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        HBaseClient client = (HBaseClient) clients.get(HBASE_PU);
+        List<Book> books = client.findAll(Book.class, new String[] { "TITLE" }, 1, 5);
+        Assert.assertEquals(2, books.size());
+        for (Book book : books)
+        {
+            Assert.assertEquals(book.getBookId() == 5 ? null : "book1", book.getTitle());
+            Assert.assertNull(book.getAuthor());
+        }
+    }
+
+    /**
+     * Tear down.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @After
+    public void tearDown() throws Exception
+    {
+        deleteBooks();
+        em.close();
+    }
+
+    /**
+     * Tear down after class.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception
+    {
+        emf.close();
+        emf = null;
+        HBaseTestingUtils.dropSchema(SCHEMA);
+    }
+}
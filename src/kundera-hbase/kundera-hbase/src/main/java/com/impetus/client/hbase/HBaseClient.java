@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -531,8 +532,17 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
 
         try
         {
-            // Write data to HBase
-            handler.writeData(tableName, entityMetadata, entity, id, relations, showQuery);
+            // On update, write only the changed columns if they are known.
+            List<AbstractAttribute> dirtyAttributes = getDirtyAttributes(entityMetadata);
+            if (dirtyAttributes != null)
+            {
+                handler.updateData(tableName, entityMetadata, entity, id, new HashSet<Attribute>(dirtyAttributes),
+                        showQuery);
+            }
+            else
+            {
+                handler.writeData(tableName, entityMetadata, entity, id, relations, showQuery);
+            }
         }
         catch (IOException e)
         {
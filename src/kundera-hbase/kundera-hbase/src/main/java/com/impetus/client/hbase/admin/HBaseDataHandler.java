@@ -404,6 +404,40 @@ public class HBaseDataHandler implements DataHandler
         puthTable(hTable);
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.client.hbase.admin.DataHandler#updateData(java.lang.String,
+     * com.impetus.kundera.metadata.model.EntityMetadata, java.lang.Object,
+     * java.lang.Object, java.util.Set, boolean)
+     */
+    @Override
+    public void updateData(String tableName, EntityMetadata m, Object entity, Object rowId, Set<Attribute> attributes,
+            boolean showQuery) throws IOException
+    {
+        HTableInterface hTable = gethTable(tableName);
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+
+        if (metaModel.isEmbeddable(m.getIdAttribute().getBindableJavaType()))
+        {
+            rowId = KunderaCoreUtils.prepareCompositeKey(m, rowId);
+        }
+
+        HBaseDataWrapper columnWrapper = new HBaseDataWrapper(rowId, new java.util.HashMap<String, Attribute>(),
+                entity, null);
+        List<HBaseDataWrapper> persistentData = new ArrayList<HBaseDataHandler.HBaseDataWrapper>(attributes.size());
+
+        Map<String, HBaseDataWrapper> columnWrappers = preparePersistentData(tableName, m.getTableName(), entity,
+                rowId, metaModel, attributes, columnWrapper, persistentData, showQuery);
+
+        writeColumnData(hTable, entity, columnWrappers);
+
+        puthTable(hTable);
+    }
+
     private void writeColumnData(HTableInterface hTable, Object entity, Map<String, HBaseDataWrapper> columnWrappers)
             throws IOException
     {
@@ -671,7 +705,7 @@ public class HBaseDataHandler implements DataHandler
 
                             // Save embedded object into Cache, needed while
                             // updation and deletion
-                            ElementCollectionCacheManager.getInstance().addElementCollectionCacheMapping(rowKey,
+                            metaModel.getElementCollectionCacheManager().addElementCollectionCacheMapping(rowKey,
                                     embeddedObject, hbaseData.getColumnFamily());
                         }
 
@@ -1180,7 +1214,7 @@ public class HBaseDataHandler implements DataHandler
                     {
                         String dynamicCFName = null;
 
-                        ElementCollectionCacheManager ecCacheHandler = ElementCollectionCacheManager.getInstance();
+                        ElementCollectionCacheManager ecCacheHandler = metaModel.getElementCollectionCacheManager();
                         // Check whether it's first time insert or updation
                         if (ecCacheHandler.isCacheEmpty())
                         { // First time insert
@@ -27,9 +27,14 @@ import javax.persistence.Query;
 
 import junit.framework.Assert;
 
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.elasticsearch.common.settings.ImmutableSettings;
 import org.elasticsearch.node.Node;
 import org.elasticsearch.node.NodeBuilder;
@@ -275,6 +280,43 @@ public class PersonHBaseTest extends BaseTest
         Assert.assertNull(catTest);
     }
 
+    /**
+     * Merge must put only the changed cell, leaving a cell written by someone
+     * else in the meantime untouched.
+     */
+    @Test
+    public void onPartialUpdateHbase() throws Exception
+    {
+        PersonHBase p = prepareHbaseInstance("1", 10);
+        em.persist(p);
+        em.clear();
+
+        PersonHBase found = findById(PersonHBase.class, "1", em);
+        Assert.assertNotNull(found);
+        col.put("1", found);
+
+        HTable hTable = new HTable(HBaseCli.utility.getConfiguration(), "KunderaExamples");
+        try
+        {
+            Put put = new Put(Bytes.toBytes("1"));
+            put.add(Bytes.toBytes("PERSON_HBASE"), Bytes.toBytes("MONTH_ENUM"), Bytes.toBytes("JAN"));
+            hTable.put(put);
+
+            found.setPersonName("newvivek");
+            em.merge(found);
+
+            Result result = hTable.get(new Get(Bytes.toBytes("1")));
+            Assert.assertEquals("newvivek",
+                    Bytes.toString(result.getValue(Bytes.toBytes("PERSON_HBASE"), Bytes.toBytes("PERSON_NAME"))));
+            Assert.assertEquals("JAN",
+                    Bytes.toString(result.getValue(Bytes.toBytes("PERSON_HBASE"), Bytes.toBytes("MONTH_ENUM"))));
+        }
+        finally
+        {
+            hTable.close();
+        }
+    }
+
     private void init()
     {
         cli.startCluster();
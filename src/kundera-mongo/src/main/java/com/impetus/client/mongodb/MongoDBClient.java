@@ -49,6 +49,7 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
@@ -1013,6 +1014,15 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
                 }
                 DBCollection dbCollection = mongoDb.getCollection(documentName);
                 KunderaCoreUtils.printQuery("Persist collection:" + documentName, showQuery);
+
+                // Only changed columns to be written, if known.
+                List<AbstractAttribute> dirtyAttributes = documents.size() == 1 ? getDirtyAttributes(metadata) : null;
+                if (dirtyAttributes != null
+                        && onUpdateDirtyColumns(dbCollection, query, documents.get(documentName), dirtyAttributes))
+                {
+                    continue;
+                }
+
                 DBObject obj = dbCollection.findOne(query);
                 if (obj != null)
                 {
@@ -1050,6 +1060,57 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
         return collections;
     }
 
+    /**
+     * Updates only given changed columns of document via $set (and $unset, for
+     * columns set to null).
+     * 
+     * @param dbCollection
+     *            db collection.
+     * @param query
+     *            query on document id.
+     * @param document
+     *            document built out of entity.
+     * @param dirtyAttributes
+     *            changed attributes.
+     * @return false, if document doesn't exist (i.e. whole document is to be
+     *         saved).
+     */
+    private boolean onUpdateDirtyColumns(DBCollection dbCollection, DBObject query, DBObject document,
+            List<AbstractAttribute> dirtyAttributes)
+    {
+        if (dirtyAttributes.isEmpty())
+        {
+            return true;
+        }
+
+        BasicDBObject setColumns = new BasicDBObject();
+        BasicDBObject unsetColumns = new BasicDBObject();
+        for (AbstractAttribute attribute : dirtyAttributes)
+        {
+            String columnName = attribute.getJPAColumnName();
+            if (document.containsField(columnName))
+            {
+                setColumns.put(columnName, document.get(columnName));
+            }
+            else
+            {
+                unsetColumns.put(columnName, 1);
+            }
+        }
+
+        BasicDBObject update = new BasicDBObject();
+        if (!setColumns.isEmpty())
+        {
+            update.put("$set", setColumns);
+        }
+        if (!unsetColumns.isEmpty())
+        {
+            update.put("$unset", unsetColumns);
+        }
+        WriteResult result = dbCollection.update(query, update, false, false, getWriteConcern(), encoder);
+        return result.getN() > 0;
+    }
+
     /**
      * Check on batch limit.
      */
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.client.crud;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -36,9 +37,14 @@ import com.impetus.client.crud.entities.Day;
 import com.impetus.client.crud.entities.PersonBatchMongoEntity;
 import com.impetus.client.crud.entities.PersonMongo;
 import com.impetus.client.crud.entities.PersonMongo.Month;
+import com.impetus.client.mongodb.MongoDBClient;
 import com.impetus.client.utils.MongoUtils;
 import com.impetus.kundera.client.Client;
 import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
 
 public class PersonMongoTest extends BaseTest
 {
@@ -292,6 +298,47 @@ public class PersonMongoTest extends BaseTest
         assertOnMerge(em, "PersonMongo", PersonMongo.class, "vivek", "Mc.John Doe", "personName");
     }
 
+    /**
+     * On partial update mongo, only changed columns must be written.
+     */
+    @Test
+    public void onPartialUpdateMongo() throws Exception
+    {
+        Object p1 = prepareMongoInstance("1", 10);
+        em.persist(p1);
+        col.put("1", p1);
+        em.clear();
+
+        PersonMongo p = findById(PersonMongo.class, "1", em);
+
+        // modify other column in database directly.
+        DBCollection collection = getDB().getCollection("PERSON");
+        collection.update(new BasicDBObject("_id", "1"), new BasicDBObject("$set", new BasicDBObject("AGE", 99)));
+
+        p.setPersonName("newvivek");
+        p.setDay(null);
+        em.merge(p);
+
+        DBObject document = collection.findOne(new BasicDBObject("_id", "1"));
+        Assert.assertEquals("newvivek", document.get("PERSON_NAME"));
+        Assert.assertFalse(document.containsField("DAY_ENUM"));
+        Assert.assertEquals(99, document.get("AGE"));
+        Assert.assertEquals("JAN", document.get("MONTH_ENUM"));
+    }
+
+    /**
+     * Returns mongo database of client.
+     * 
+     * @return the db
+     */
+    private DB getDB() throws Exception
+    {
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        Field mongodb = MongoDBClient.class.getDeclaredField("mongoDb");
+        mongodb.setAccessible(true);
+        return (DB) mongodb.get(clients.get(_PU));
+    }
+
     /**
      * Tear down.
      * 
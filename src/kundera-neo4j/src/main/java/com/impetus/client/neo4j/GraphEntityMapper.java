@@ -716,6 +716,22 @@ public final class GraphEntityMapper
         return node;
     }
 
+    /**
+     * Checks whether given node is a proxy node, i.e. one standing for a
+     * relationship.
+     */
+    public boolean isProxyNode(Node node)
+    {
+        try
+        {
+            return node.hasProperty(PROXY_NODE_TYPE_KEY);
+        }
+        catch (IllegalStateException e)
+        {
+            return false;
+        }
+    }
+
     /**
      * Fetches Non-proxy nodes from index hits
      */
@@ -759,7 +775,7 @@ public final class GraphEntityMapper
         {
             if (entity == null)
             {
-                entity = KunderaCoreUtils.createNewInstance(m.getEntityClazz());
+                entity = KunderaCoreUtils.createNewInstance(m);
             }
 
             return entity;
@@ -18,6 +18,7 @@ package com.impetus.client.neo4j;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -26,12 +27,17 @@ import javax.persistence.GenerationType;
 import javax.persistence.PersistenceException;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.TermQuery;
 import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.DynamicRelationshipType;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.index.Index;
 import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.graphdb.index.ReadableIndex;
@@ -120,6 +126,7 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
         indexer = new Neo4JIndexManager();
         mapper = new GraphEntityMapper(indexer, kunderaMetadata);
         populateBatchSize(persistenceUnit, puProperties);
+        populateBatchMode(persistenceUnit, puProperties);
         this.clientMetadata = factory.getClientMetadata();
 
     }
@@ -196,9 +203,70 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
         List entities = new ArrayList<E>();
-        for (Object key : keys)
+        if (keys == null || keys.length == 0)
         {
-            entities.add(find(entityClass, key));
+            return entities;
+        }
+
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        if (metaModel.isEmbeddable(m.getIdAttribute().getBindableJavaType()))
+        {
+            for (Object key : keys)
+            {
+                Object entity = find(entityClass, key);
+                if (entity != null)
+                {
+                    entities.add(entity);
+                }
+            }
+            return entities;
+        }
+
+        GraphDatabaseService graphDb = null;
+        if (resource != null)
+        {
+            graphDb = getConnection();
+        }
+
+        if (graphDb == null)
+            graphDb = factory.getConnection();
+
+        ReadableIndex<Node> nodeIndex = indexer.isNodeAutoIndexingEnabled(graphDb) ? graphDb.index()
+                .getNodeAutoIndexer().getAutoIndex() : graphDb.index().forNodes(m.getIndexName());
+        String idColumnName = ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName();
+
+        // One index query per chunk of keys, instead of one lookup per key.
+        int maxClauseCount = BooleanQuery.getMaxClauseCount();
+        for (int i = 0; i < keys.length; i += maxClauseCount)
+        {
+            BooleanQuery query = new BooleanQuery();
+            for (int j = i; j < Math.min(i + maxClauseCount, keys.length); j++)
+            {
+                query.add(new TermQuery(new Term(idColumnName, String.valueOf(keys[j]))), Occur.SHOULD);
+            }
+
+            IndexHits<Node> hits = nodeIndex.query(query);
+            try
+            {
+                for (Node node : hits)
+                {
+                    if (!mapper.isProxyNode(node)
+                            && (resource == null || !((Neo4JTransaction) resource).containsNodeId(node.getId())))
+                    {
+                        Object entity = getEntityWithAssociationFromNode(m, node);
+                        if (entity != null)
+                        {
+                            entities.add(entity);
+                        }
+                    }
+                }
+            }
+            finally
+            {
+                hits.close();
+            }
         }
         return entities;
     }
@@ -521,121 +589,293 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     {
         if (batchSize > 0)
         {
-            boolean nodeAutoIndexingEnabled = indexer.isNodeAutoIndexingEnabled(factory.getConnection());
-            boolean relationshipAutoIndexingEnabled = indexer
-                    .isRelationshipAutoIndexingEnabled(factory.getConnection());
+            return batchInserter ? executeInserterBatch() : executeTransactionalBatch();
+        }
+        else
+        {
+            return 0;
+        }
 
-            BatchInserter inserter = getBatchInserter();
-            BatchInserterIndexProvider indexProvider = new LuceneBatchInserterIndexProvider(inserter);
+    }
 
-            if (inserter == null)
-            {
-                log.error("Unable to create instance of BatchInserter. Opertion will fail");
-                throw new PersistenceException("Unable to create instance of BatchInserter. Opertion will fail");
-            }
+    /**
+     * Writes batched nodes through the running graph database, committing a
+     * transaction after every {@link #batchTransactionSize} nodes. Nodes and
+     * relationships of a transaction are indexed in one go before it is
+     * committed. Deletes and updates follow the usual path, within the same
+     * transactions. If a user transaction is active, all writes join it.
+     * 
+     * @return number of inserted nodes
+     */
+    private int executeTransactionalBatch()
+    {
+        GraphDatabaseService graphDb = getConnection();
+        MetamodelImpl metamodel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                getPersistenceUnit());
 
-            if (resource != null && resource.isActive())
-            {
-                log.error("Batch Insertion MUST not be executed in a transaction");
-                throw new PersistenceException("Batch Insertion MUST not be executed in a transaction");
-            }
+        Map<Object, Node> pkToNodeMap = new HashMap<Object, Node>();
+        Map<Node, EntityMetadata> nodesToIndex = new LinkedHashMap<Node, EntityMetadata>();
+        Map<Relationship, EntityMetadata> relationshipsToIndex = new LinkedHashMap<Relationship, EntityMetadata>();
+        int inserted = 0;
+        int written = 0;
 
-            Map<Object, Long> pkToNodeIdMap = new HashMap<Object, Long>();
+        Transaction tx = graphDb.beginTx();
+        try
+        {
             for (com.impetus.kundera.graph.Node graphNode : nodes)
             {
                 if (graphNode.isDirty())
                 {
                     graphNode.handlePreEvent();
-                    // Delete can not be executed in batch, deleting normally
                     if (graphNode.isInState(RemovedState.class))
                     {
                         delete(graphNode.getData(), graphNode.getEntityId());
                     }
                     else if (graphNode.isUpdate())
                     {
-                        // Neo4J allows only batch insertion, follow usual path
-                        // for normal updates
                         persist(graphNode);
                     }
                     else
                     {
-                        // Insert node
                         Object entity = graphNode.getData();
                         EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
                         Object pk = PropertyAccessorHelper.getId(entity, m);
-                        Map<String, Object> nodeProperties = mapper.createNodeProperties(entity, m);
-                        long nodeId = inserter.createNode(nodeProperties);
-                        pkToNodeIdMap.put(pk, nodeId);
+                        Node node = mapper.getNodeFromEntity(entity, pk, graphDb, m, false);
+                        pkToNodeMap.put(pk, node);
+                        nodesToIndex.put(node, m);
+                        inserted++;
 
-                        // Index Node
-                        indexer.indexNodeUsingBatchIndexer(indexProvider, m, nodeId, nodeProperties,
-                                nodeAutoIndexingEnabled);
-
-                        // Insert relationships for this particular node
-                        if (!getRelationHolders(graphNode).isEmpty())
+                        for (RelationHolder rh : getRelationHolders(graphNode))
                         {
-                            for (RelationHolder rh : getRelationHolders(graphNode))
+                            EntityMetadata targetNodeMetadata = KunderaMetadataManager.getEntityMetadata(
+                                    kunderaMetadata, rh.getRelationValue().getClass());
+                            Object targetNodeKey = PropertyAccessorHelper.getId(rh.getRelationValue(),
+                                    targetNodeMetadata);
+
+                            // Target node is part of this batch or already in
+                            // graph, or a proxy node for entities of other
+                            // databases
+                            Node targetNode = isEntityForNeo4J(targetNodeMetadata) ? findTargetNode(graphDb,
+                                    pkToNodeMap, targetNodeKey, targetNodeMetadata) : mapper.createProxyNode(pk,
+                                    targetNodeKey, graphDb, m, targetNodeMetadata);
+
+                            if (targetNode != null)
                             {
-                                // Search Node (to be connected to ) in Neo4J
-                                // graph
-                                EntityMetadata targetNodeMetadata = KunderaMetadataManager.getEntityMetadata(
-                                        kunderaMetadata, rh.getRelationValue().getClass());
-                                Object targetNodeKey = PropertyAccessorHelper.getId(rh.getRelationValue(),
-                                        targetNodeMetadata);
-                                Long targetNodeId = pkToNodeIdMap.get(targetNodeKey);
-
-                                if (targetNodeId != null)
+                                Relationship relationship = node.createRelationshipTo(targetNode,
+                                        DynamicRelationshipType.withName(rh.getRelationName()));
+                                Object relationshipObj = rh.getRelationVia();
+                                if (relationshipObj != null)
                                 {
-                                    /**
-                                     * Join this node (source node) to target
-                                     * node via relationship
-                                     */
-                                    // Relationship Type
-                                    DynamicRelationshipType relType = DynamicRelationshipType.withName(rh
-                                            .getRelationName());
-
-                                    // Relationship Properties
-                                    Map<String, Object> relationshipProperties = null;
-                                    Object relationshipObj = rh.getRelationVia();
-                                    if (relationshipObj != null)
-                                    {
-                                        EntityMetadata relationMetadata = KunderaMetadataManager.getEntityMetadata(
-                                                kunderaMetadata, relationshipObj.getClass());
-
-                                        relationshipProperties = mapper.createRelationshipProperties(m,
-                                                targetNodeMetadata, relationshipObj);
-
-                                        // Finally insert relationship
-                                        long relationshipId = inserter.createRelationship(nodeId, targetNodeId,
-                                                relType, relationshipProperties);
-
-                                        // Index this relationship
-                                        indexer.indexRelationshipUsingBatchIndexer(indexProvider, relationMetadata,
-                                                relationshipId, relationshipProperties, relationshipAutoIndexingEnabled);
-                                    }
-
+                                    mapper.populateRelationshipProperties(m, targetNodeMetadata, relationship,
+                                            relationshipObj);
+                                    relationshipsToIndex.put(relationship, KunderaMetadataManager.getEntityMetadata(
+                                            kunderaMetadata, relationshipObj.getClass()));
                                 }
                             }
                         }
                     }
                     graphNode.handlePostEvent();
+
+                    if (++written % batchTransactionSize == 0)
+                    {
+                        indexBatch(graphDb, metamodel, nodesToIndex, relationshipsToIndex);
+                        tx.success();
+                        tx.finish();
+                        tx = graphDb.beginTx();
+                    }
                 }
             }
 
-            // Shutdown Batch inserter
-            indexProvider.shutdown();
-            inserter.shutdown();
+            indexBatch(graphDb, metamodel, nodesToIndex, relationshipsToIndex);
+            tx.success();
+        }
+        catch (Exception e)
+        {
+            log.error("Error while executing batch, Caused by: ", e);
+            tx.failure();
+            throw new PersistenceException(e);
+        }
+        finally
+        {
+            tx.finish();
+        }
+        return inserted;
+    }
 
-            // Restore Graph Database service
-            factory.setConnection((GraphDatabaseService) factory.createPoolOrConnection());
+    /**
+     * Finds target node of a relationship written in a batch. It is looked up
+     * among nodes inserted by batch, then among nodes processed by running
+     * transaction and at last in graph.
+     * 
+     * @param graphDb
+     *            the graph db
+     * @param pkToNodeMap
+     *            nodes inserted by batch, keyed by id
+     * @param targetNodeKey
+     *            the target node id
+     * @param targetNodeMetadata
+     *            the target node metadata
+     * @return the target node, null if not found
+     */
+    private Node findTargetNode(GraphDatabaseService graphDb, Map<Object, Node> pkToNodeMap, Object targetNodeKey,
+            EntityMetadata targetNodeMetadata)
+    {
+        Node targetNode = pkToNodeMap.get(targetNodeKey);
+        if (targetNode == null && resource != null)
+        {
+            targetNode = ((Neo4JTransaction) resource).getProcessedNode(targetNodeKey);
+        }
+        if (targetNode == null)
+        {
+            targetNode = mapper.searchNode(targetNodeKey, targetNodeMetadata, graphDb, true);
+        }
+        return targetNode;
+    }
 
-            return pkToNodeIdMap.size();
+    /**
+     * Indexes nodes and relationships written in current batch transaction.
+     * 
+     * @param graphDb
+     *            the graph db
+     * @param metamodel
+     *            the metamodel
+     * @param nodesToIndex
+     *            the nodes to index
+     * @param relationshipsToIndex
+     *            the relationships to index
+     */
+    private void indexBatch(GraphDatabaseService graphDb, MetamodelImpl metamodel,
+            Map<Node, EntityMetadata> nodesToIndex, Map<Relationship, EntityMetadata> relationshipsToIndex)
+    {
+        for (Map.Entry<Node, EntityMetadata> entry : nodesToIndex.entrySet())
+        {
+            indexer.indexNode(entry.getValue(), graphDb, entry.getKey(), metamodel);
         }
-        else
+        for (Map.Entry<Relationship, EntityMetadata> entry : relationshipsToIndex.entrySet())
         {
-            return 0;
+            indexer.indexRelationship(entry.getValue(), graphDb, entry.getKey(), metamodel);
         }
+        nodesToIndex.clear();
+        relationshipsToIndex.clear();
+    }
 
+    /**
+     * Writes batched nodes via {@link BatchInserter}, meant for offline
+     * initial loads. Graph database is shut down while inserting and
+     * restarted afterwards.
+     * 
+     * @return number of inserted nodes
+     */
+    private int executeInserterBatch()
+    {
+        boolean nodeAutoIndexingEnabled = indexer.isNodeAutoIndexingEnabled(factory.getConnection());
+        boolean relationshipAutoIndexingEnabled = indexer.isRelationshipAutoIndexingEnabled(factory.getConnection());
+
+        BatchInserter inserter = getBatchInserter();
+        BatchInserterIndexProvider indexProvider = new LuceneBatchInserterIndexProvider(inserter);
+
+        if (inserter == null)
+        {
+            log.error("Unable to create instance of BatchInserter. Opertion will fail");
+            throw new PersistenceException("Unable to create instance of BatchInserter. Opertion will fail");
+        }
+
+        if (resource != null && resource.isActive())
+        {
+            log.error("Batch Insertion MUST not be executed in a transaction");
+            throw new PersistenceException("Batch Insertion MUST not be executed in a transaction");
+        }
+
+        Map<Object, Long> pkToNodeIdMap = new HashMap<Object, Long>();
+        for (com.impetus.kundera.graph.Node graphNode : nodes)
+        {
+            if (graphNode.isDirty())
+            {
+                graphNode.handlePreEvent();
+                // Delete can not be executed in batch, deleting normally
+                if (graphNode.isInState(RemovedState.class))
+                {
+                    delete(graphNode.getData(), graphNode.getEntityId());
+                }
+                else if (graphNode.isUpdate())
+                {
+                    // Neo4J allows only batch insertion, follow usual path
+                    // for normal updates
+                    persist(graphNode);
+                }
+                else
+                {
+                    // Insert node
+                    Object entity = graphNode.getData();
+                    EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
+                    Object pk = PropertyAccessorHelper.getId(entity, m);
+                    Map<String, Object> nodeProperties = mapper.createNodeProperties(entity, m);
+                    long nodeId = inserter.createNode(nodeProperties);
+                    pkToNodeIdMap.put(pk, nodeId);
+
+                    // Index Node
+                    indexer.indexNodeUsingBatchIndexer(indexProvider, m, nodeId, nodeProperties,
+                            nodeAutoIndexingEnabled);
+
+                    // Insert relationships for this particular node
+                    if (!getRelationHolders(graphNode).isEmpty())
+                    {
+                        for (RelationHolder rh : getRelationHolders(graphNode))
+                        {
+                            // Search Node (to be connected to ) in Neo4J
+                            // graph
+                            EntityMetadata targetNodeMetadata = KunderaMetadataManager.getEntityMetadata(
+                                    kunderaMetadata, rh.getRelationValue().getClass());
+                            Object targetNodeKey = PropertyAccessorHelper.getId(rh.getRelationValue(),
+                                    targetNodeMetadata);
+                            Long targetNodeId = pkToNodeIdMap.get(targetNodeKey);
+
+                            if (targetNodeId != null)
+                            {
+                                /**
+                                 * Join this node (source node) to target
+                                 * node via relationship
+                                 */
+                                // Relationship Type
+                                DynamicRelationshipType relType = DynamicRelationshipType.withName(rh
+                                        .getRelationName());
+
+                                // Relationship Properties
+                                Map<String, Object> relationshipProperties = null;
+                                Object relationshipObj = rh.getRelationVia();
+                                if (relationshipObj != null)
+                                {
+                                    EntityMetadata relationMetadata = KunderaMetadataManager.getEntityMetadata(
+                                            kunderaMetadata, relationshipObj.getClass());
+
+                                    relationshipProperties = mapper.createRelationshipProperties(m,
+                                            targetNodeMetadata, relationshipObj);
+
+                                    // Finally insert relationship
+                                    long relationshipId = inserter.createRelationship(nodeId, targetNodeId,
+                                            relType, relationshipProperties);
+
+                                    // Index this relationship
+                                    indexer.indexRelationshipUsingBatchIndexer(indexProvider, relationMetadata,
+                                            relationshipId, relationshipProperties, relationshipAutoIndexingEnabled);
+                                }
+
+                            }
+                        }
+                    }
+                }
+                graphNode.handlePostEvent();
+            }
+        }
+
+        // Shutdown Batch inserter
+        indexProvider.shutdown();
+        inserter.shutdown();
+
+        // Restore Graph Database service
+        factory.setConnection((GraphDatabaseService) factory.createPoolOrConnection());
+
+        return pkToNodeIdMap.size();
     }
 
     /**
@@ -852,28 +1092,38 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
      * @return the list
      */
     public List<Object> executeLuceneQuery(EntityMetadata m, String luceneQuery)
+    {
+        List<Object> entities = new ArrayList<Object>();
+        addEntityFromIndexHits(m, entities, queryIndex(m, luceneQuery));
+        return entities;
+    }
+
+    /**
+     * Runs lucene query over node index of given entity. Returned hits are
+     * lazily fetched and must be closed if not read until end.
+     * 
+     * @param m
+     *            the m
+     * @param luceneQuery
+     *            the lucene query
+     * @return the index hits
+     */
+    public IndexHits<Node> queryIndex(EntityMetadata m, String luceneQuery)
     {
         log.info("Executing Lucene Query on Neo4J:" + luceneQuery);
 
         GraphDatabaseService graphDb = getConnection();
-        List<Object> entities = new ArrayList<Object>();
 
         if (!indexer.isNodeAutoIndexingEnabled(graphDb) && m.isIndexable())
         {
             Index<Node> nodeIndex = graphDb.index().forNodes(m.getIndexName());
-
-            IndexHits<Node> hits = nodeIndex.query(luceneQuery);
-            addEntityFromIndexHits(m, entities, hits);
+            return nodeIndex.query(luceneQuery);
         }
         else
         {
-
             ReadableIndex<Node> autoNodeIndex = graphDb.index().getNodeAutoIndexer().getAutoIndex();
-            IndexHits<Node> hits = autoNodeIndex.query(luceneQuery);
-            addEntityFromIndexHits(m, entities, hits);
-
+            return autoNodeIndex.query(luceneQuery);
         }
-        return entities;
     }
 
     /**
@@ -912,7 +1162,7 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
      *            the node
      * @return the entity with association from node
      */
-    private Object getEntityWithAssociationFromNode(EntityMetadata m, Node node)
+    public Object getEntityWithAssociationFromNode(EntityMetadata m, Node node)
     {
         Map<String, Object> relationMap = new HashMap<String, Object>();
 
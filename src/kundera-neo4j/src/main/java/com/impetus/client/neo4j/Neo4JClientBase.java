@@ -46,6 +46,12 @@ public abstract class Neo4JClientBase extends ClientBase implements ClientProper
     /** list of nodes for batch processing. */
     protected List<Node> nodes = new ArrayList<Node>();
 
+    /** Whether batches are written via BatchInserter. */
+    protected boolean batchInserter;
+
+    /** Number of batched nodes written per transaction. */
+    protected int batchTransactionSize = 1000;
+
     Neo4JClientBase(KunderaMetadata kunderaMetadata, Map<String, Object> puProperties, String persistenceUnit)
     {
         super(kunderaMetadata, puProperties, persistenceUnit);
@@ -84,6 +90,47 @@ public abstract class Neo4JClientBase extends ClientBase implements ClientProper
         }
     }
 
+    /**
+     * @param persistenceUnit
+     * @param puProperties
+     */
+    protected void populateBatchMode(String persistenceUnit, Map<String, Object> puProperties)
+    {
+        PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                persistenceUnit);
+        Object batchMode = puProperties != null ? puProperties.get(Neo4JConstants.BATCH_MODE) : null;
+        if (batchMode == null)
+        {
+            batchMode = puMetadata.getProperty(Neo4JConstants.BATCH_MODE);
+        }
+        batchInserter = batchMode != null
+                && Neo4JConstants.BATCH_MODE_INSERTER.equalsIgnoreCase(String.valueOf(batchMode));
+
+        Object transactionSize = puProperties != null ? puProperties.get(Neo4JConstants.BATCH_TRANSACTION_SIZE)
+                : null;
+        if (transactionSize == null)
+        {
+            transactionSize = puMetadata.getProperty(Neo4JConstants.BATCH_TRANSACTION_SIZE);
+        }
+        if (transactionSize != null)
+        {
+            try
+            {
+                batchTransactionSize = Integer.valueOf(String.valueOf(transactionSize).trim());
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException(Neo4JConstants.BATCH_TRANSACTION_SIZE
+                        + " property must be numeric and > 0.", e);
+            }
+            if (batchTransactionSize <= 0)
+            {
+                throw new IllegalArgumentException(Neo4JConstants.BATCH_TRANSACTION_SIZE
+                        + " property must be numeric and > 0.");
+            }
+        }
+    }
+
     void setBatchSize(int batch_Size)
     {
         this.batchSize = batch_Size;
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.neo4j;
+
+/**
+ * Constants for Neo4J.
+ */
+public interface Neo4JConstants
+{
+    /** Property to choose batch mode, transactional (default) or "inserter". */
+    public static final String BATCH_MODE = "kundera.neo4j.batch.mode";
+
+    /** Batch mode writing via BatchInserter, for offline loads only. */
+    public static final String BATCH_MODE_INSERTER = "inserter";
+
+    /** Property for number of batched nodes written per transaction. */
+    public static final String BATCH_TRANSACTION_SIZE = "kundera.neo4j.batch.transaction.size";
+}
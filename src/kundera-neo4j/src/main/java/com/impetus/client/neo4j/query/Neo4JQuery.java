@@ -33,6 +33,7 @@ import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
+import com.impetus.kundera.query.QueryHandlerException;
 import com.impetus.kundera.query.QueryImpl;
 
 /**
@@ -236,8 +237,26 @@ public class Neo4JQuery extends QueryImpl
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        Client client = persistenceDelegeator.getClient(m);
+
+        String luceneQuery;
+        if (kunderaQuery.isNative())
+        {
+            if (!Neo4JQueryType.LUCENE.equals(queryType))
+            {
+                throw new QueryHandlerException("Iteration is not supported for native query type:" + queryType);
+            }
+            String query = kunderaMetadata.getApplicationMetadata().getQuery(getJPAQuery());
+            luceneQuery = query != null ? query : getJPAQuery();
+        }
+        else
+        {
+            luceneQuery = getLuceneQuery(kunderaQuery);
+        }
+
+        return new ResultIterator((Neo4JClient) client, m, ((Neo4JClient) client).queryIndex(m, luceneQuery),
+                persistenceDelegeator, getFetchSize() != null ? getFetchSize() : this.maxResult);
     }
 
     /**
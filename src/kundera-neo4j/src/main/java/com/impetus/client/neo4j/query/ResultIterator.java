@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.neo4j.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.IndexHits;
+
+import com.impetus.client.neo4j.Neo4JClient;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Implementation of Neo4J result iteration. Nodes are read lazily from
+ * {@link IndexHits} and mapped to entities one at a time, hits are closed once
+ * exhausted or fetch size is reached.
+ * 
+ * @param <E>
+ *            the element type
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    /** The client. */
+    private Neo4JClient client;
+
+    /** The entity metadata. */
+    private EntityMetadata m;
+
+    /** The hits, null once closed. */
+    private IndexHits<Node> hits;
+
+    /** The persistence delegator. */
+    private PersistenceDelegator persistenceDelegator;
+
+    /** number of results still to be returned. */
+    private int fetchSize;
+
+    /** entity read ahead by hasNext(). */
+    private Object current;
+
+    /**
+     * Instantiates a new result iterator.
+     * 
+     * @param client
+     *            the client
+     * @param m
+     *            the entity metadata
+     * @param hits
+     *            the hits
+     * @param pd
+     *            the persistence delegator
+     * @param fetchSize
+     *            the fetch size
+     */
+    ResultIterator(Neo4JClient client, EntityMetadata m, IndexHits<Node> hits, PersistenceDelegator pd, int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.hits = hits;
+        this.persistenceDelegator = pd;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (fetchSize == 0)
+        {
+            close();
+            return false;
+        }
+
+        while (current == null && hits != null && hits.hasNext())
+        {
+            Node node = hits.next();
+            current = node != null ? client.getEntityWithAssociationFromNode(m, node) : null;
+        }
+
+        if (current == null)
+        {
+            close();
+        }
+        return current != null;
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        fetchSize--;
+        Object result = current;
+        current = null;
+
+        if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
+        {
+            return (E) (result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result);
+        }
+        return setRelationEntities(result);
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> results = new ArrayList<E>(chunkSize);
+        while (results.size() < chunkSize && hasNext())
+        {
+            results.add(next());
+        }
+        return results;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Remove method is not supported over pagination");
+    }
+
+    /**
+     * Closes index hits.
+     */
+    private void close()
+    {
+        if (hits != null)
+        {
+            hits.close();
+            hits = null;
+        }
+    }
+
+    /**
+     * Sets the relation entities.
+     * 
+     * @param enhanceEntity
+     *            the enhance entity
+     * @return the e
+     */
+    private E setRelationEntities(Object enhanceEntity)
+    {
+        if (!(enhanceEntity instanceof EnhanceEntity))
+        {
+            enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+        }
+        EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+        return (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                persistenceDelegator, false, new HashMap<Object, Object>());
+    }
+}
@@ -16,7 +16,10 @@
 package com.impetus.client.neo4j;
 
 import java.io.File;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -24,11 +27,13 @@ import javax.persistence.Persistence;
 
 import org.junit.After;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.neo4j.kernel.impl.util.FileUtils;
 
+import com.impetus.client.neo4j.imdb.Actor;
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
@@ -125,7 +130,34 @@ public class Neo4JClientTest
     @Test
     public void testFindAll()
     {
-
+        em.getTransaction().begin();
+        for (int i = 1; i <= 3; i++)
+        {
+            em.persist(new Actor(i, "actor" + i));
+        }
+        em.getTransaction().commit();
+        em.clear();
+
+        // missing keys are skipped.
+        List<Actor> actors = client.findAll(Actor.class, null, 3, 99, 1);
+        Assert.assertEquals(2, actors.size());
+        Set<Integer> ids = new HashSet<Integer>();
+        for (Actor actor : actors)
+        {
+            Assert.assertEquals("actor" + actor.getId(), actor.getName());
+            ids.add(actor.getId());
+        }
+        Assert.assertTrue(ids.contains(1));
+        Assert.assertTrue(ids.contains(3));
+
+        Assert.assertTrue(client.findAll(Actor.class, null, 99).isEmpty());
+
+        em.getTransaction().begin();
+        for (int i = 1; i <= 3; i++)
+        {
+            em.remove(em.find(Actor.class, i));
+        }
+        em.getTransaction().commit();
     }
 
     /**
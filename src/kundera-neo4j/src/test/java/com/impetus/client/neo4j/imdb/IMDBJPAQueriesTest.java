@@ -16,6 +16,7 @@
 package com.impetus.client.neo4j.imdb;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.Query;
@@ -75,6 +76,7 @@ public class IMDBJPAQueriesTest extends IMDBTestBase
     {
         // Select Queries
         findAllActors();
+        iterateAllActors();
         findActorByID();
         findActorByName();
         findActorByIDAndName();
@@ -100,6 +102,25 @@ public class IMDBJPAQueriesTest extends IMDBTestBase
         Assert.assertEquals(2, actors.size());
     }
 
+    private void iterateAllActors()
+    {
+        com.impetus.kundera.query.Query query = (com.impetus.kundera.query.Query) em.createQuery(
+                "select a from Actor a", Actor.class);
+        Iterator<Actor> actors = query.iterate();
+        int count = 0;
+        while (actors.hasNext())
+        {
+            Assert.assertNotNull(actors.next().getName());
+            count++;
+        }
+        Assert.assertEquals(2, count);
+
+        query.setFetchSize(1);
+        actors = query.iterate();
+        Assert.assertNotNull(actors.next());
+        Assert.assertFalse(actors.hasNext());
+    }
+
     private void findActorByID()
     {
         Query query = em.createQuery("select a from Actor a where a.id = :id");
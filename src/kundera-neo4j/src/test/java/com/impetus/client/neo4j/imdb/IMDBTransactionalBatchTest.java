@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.neo4j.imdb;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.kernel.impl.util.FileUtils;
+
+import com.impetus.client.neo4j.Neo4JConstants;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * Test case for batch writes through running graph database, committed in
+ * transactions of kundera.neo4j.batch.transaction.size nodes.
+ */
+public class IMDBTransactionalBatchTest
+{
+    private static final String IMDB_BATCH_PU = "imdbBatch";
+
+    EntityManagerFactory emf;
+
+    EntityManager em;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception
+    {
+        Map properties = new HashMap();
+        properties.put(PersistenceProperties.KUNDERA_BATCH_SIZE, "10");
+        properties.put(Neo4JConstants.BATCH_TRANSACTION_SIZE, "2");
+        emf = Persistence.createEntityManagerFactory(IMDB_BATCH_PU, properties);
+        em = emf.createEntityManager();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception
+    {
+        PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), IMDB_BATCH_PU);
+        String datastoreFilePath = puMetadata.getProperty(PersistenceProperties.KUNDERA_DATASTORE_FILE_PATH);
+
+        em.close();
+
+        emf.close();
+
+        if (datastoreFilePath != null)
+            FileUtils.deleteRecursively(new File(datastoreFilePath));
+    }
+
+    /**
+     * Batch of 5 nodes is committed in transactions of 2, 2 and 1 nodes.
+     */
+    @Test
+    public void testChunkedCommits()
+    {
+        for (int i = 1; i <= 5; i++)
+        {
+            em.persist(new Movie("m" + i, "Movie " + i, 2000 + i));
+        }
+        em.flush();
+        em.clear();
+
+        for (int i = 1; i <= 5; i++)
+        {
+            Movie movie = em.find(Movie.class, "m" + i);
+            Assert.assertNotNull(movie);
+            Assert.assertEquals("Movie " + i, movie.getTitle());
+            Assert.assertEquals(2000 + i, movie.getYear());
+        }
+    }
+
+    /**
+     * Relationship to a node written by an earlier batch is created.
+     */
+    @Test
+    public void testRelationToExistingNode()
+    {
+        em.persist(new Movie("m1", "Top Gun", 1986));
+        em.flush();
+        em.clear();
+
+        em.getTransaction().begin();
+        Movie movie = em.find(Movie.class, "m1");
+        Assert.assertNotNull(movie);
+        Actor actor = new Actor(1, "Tom Cruise");
+        actor.addMovie(new Role("Maverick", "Lead Actor"), movie);
+        em.persist(actor);
+        em.getTransaction().commit();
+        em.clear();
+
+        Actor found = em.find(Actor.class, 1);
+        Assert.assertNotNull(found);
+        Assert.assertEquals("Tom Cruise", found.getName());
+        Map<Role, Movie> movies = found.getMovies();
+        Assert.assertNotNull(movies);
+        Assert.assertEquals(1, movies.size());
+        Movie foundMovie = movies.values().iterator().next();
+        Assert.assertEquals("m1", foundMovie.getId());
+        Assert.assertEquals("Top Gun", foundMovie.getTitle());
+    }
+}
@@ -42,4 +42,7 @@ public interface OracleNOSQLConstants
 
     public static final String SECONDARY_INDEX_SUFFIX = "_idx";
 
+    /** Number of keys looked up concurrently by multi-key find. */
+    public static final String FIND_PARALLELISM = "oracle.nosql.find.parallelism";
+
 }
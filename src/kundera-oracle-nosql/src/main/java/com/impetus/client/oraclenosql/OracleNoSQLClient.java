@@ -24,6 +24,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.persistence.GenerationType;
@@ -50,6 +54,7 @@ import oracle.kv.table.ReturnRow.Choice;
 import oracle.kv.table.Row;
 import oracle.kv.table.Table;
 import oracle.kv.table.TableAPI;
+import oracle.kv.table.TableIterator;
 import oracle.kv.table.TableOperation;
 
 import org.apache.commons.lang.StringUtils;
@@ -526,6 +531,10 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
                 throw new PersistenceException(e);
             }
         }
+        else if (factory.getFindExecutor() != null && keys.length > 1)
+        {
+            results = findConcurrently(entityClass, Arrays.asList(columnsToSelect), keys);
+        }
         else
         {
 
@@ -538,6 +547,64 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         return results;
     }
 
+    /**
+     * Finds rows for given keys concurrently, on the executor configured via
+     * {@link OracleNOSQLConstants#FIND_PARALLELISM}. Results are returned in
+     * key order.
+     * 
+     * @param entityClass
+     *            entity class
+     * @param columnsToSelect
+     *            columns to select
+     * @param keys
+     *            primary keys
+     * @return the list
+     */
+    private <E> List<E> findConcurrently(final Class<E> entityClass, final List<String> columnsToSelect,
+            Object... keys)
+    {
+        ExecutorService executor = factory.getFindExecutor();
+        List<Future<Object>> futures = new ArrayList<Future<Object>>(keys.length);
+        for (final Object key : keys)
+        {
+            futures.add(executor.submit(new Callable<Object>()
+            {
+                @Override
+                public Object call() throws Exception
+                {
+                    return find(entityClass, key, columnsToSelect);
+                }
+            }));
+        }
+
+        List<E> results = new ArrayList<E>(keys.length);
+        try
+        {
+            for (Future<Object> future : futures)
+            {
+                results.add((E) future.get());
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException(e);
+        }
+        catch (ExecutionException e)
+        {
+            log.error("Error while finding records , Caused By :" + e.getCause() + ".");
+            throw new PersistenceException(e.getCause());
+        }
+        finally
+        {
+            for (Future<Object> future : futures)
+            {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
     /**
      * On JPQL query execution.
      * 
@@ -603,6 +670,58 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         // UnsupportedOperationException("Query with where clause is not yet supported");
     }
 
+    /**
+     * Returns rows matching query as they are read from table iterator, in
+     * place of materializing them like
+     * {@link #executeQuery(Class, OracleNoSQLQueryInterpreter, Set)}. Lookup
+     * by id is not supported, as it fetches a single row.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param interpreter
+     *            query interpreter
+     * @return the row iterator
+     */
+    public TableIterator<Row> getRowIterator(EntityMetadata entityMetadata, OracleNoSQLQueryInterpreter interpreter)
+    {
+        Table schemaTable = tableAPI.getTable(entityMetadata.getTableName());
+        if (interpreter.getClauseQueue().isEmpty())
+        {
+            return tableAPI.tableIterator(schemaTable.createPrimaryKey(), null, null);
+        }
+        KunderaCoreUtils.printQueryWithFilterClause(interpreter.getClauseQueue(), entityMetadata.getTableName());
+        return tableAPI.tableIterator(getIndexKey(interpreter, entityMetadata), null, null);
+    }
+
+    /**
+     * Populates entity from a row returned by
+     * {@link #getRowIterator(EntityMetadata, OracleNoSQLQueryInterpreter)}.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param row
+     *            the row
+     * @param columnsToSelect
+     *            the columns to select
+     * @return the entity, wrapped in {@link EnhanceEntity} if it holds
+     *         relations
+     */
+    public Object populateEntity(EntityMetadata entityMetadata, Row row, String[] columnsToSelect)
+    {
+        MetamodelImpl metamodel = (MetamodelImpl) KunderaMetadataManager.getMetamodel(kunderaMetadata,
+                entityMetadata.getPersistenceUnit());
+        try
+        {
+            return populateEntity(null, entityMetadata, metamodel, row.getTable(), row,
+                    Arrays.asList(columnsToSelect != null ? columnsToSelect : new String[0]));
+        }
+        catch (Exception e)
+        {
+            log.error("Error while finding records , Caused By :" + e + ".");
+            throw new PersistenceException(e);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -1289,95 +1408,127 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
             throws InstantiationException, IllegalAccessException
     {
         List results = new ArrayList();
-        Object entity = null;
-        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
         // here
         while (rowsIter.hasNext())
         {
-            relationMap = new HashMap<String, Object>();
-            entity = initializeEntity(key, entityMetadata);
-
-            Row row = rowsIter.next();
-
-            List<String> fields = row.getTable().getFields();
-            FieldDef fieldMetadata = null;
-            FieldValue value = null;
-            String idColumnName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
-            if (/* eligibleToFetch(columnsToSelect, idColumnName) && */!metaModel.isEmbeddable(entityMetadata
-                    .getIdAttribute().getBindableJavaType()))
-            {
-                populateId(entityMetadata, schemaTable, entity, row);
-            }
-            else
+            Object entity = populateEntity(key, entityMetadata, metaModel, schemaTable, rowsIter.next(),
+                    columnsToSelect);
+            if (entity != null)
             {
-                onEmbeddableId(entityMetadata, metaModel, schemaTable, entity, row);
+                results.add(entity);
             }
+        }
+        return results;
+    }
+
+    /**
+     * Populates entity from a row.
+     * 
+     * @param key
+     *            the key
+     * @param entityMetadata
+     *            the entity metadata
+     * @param metaModel
+     *            the meta model
+     * @param schemaTable
+     *            the schema table
+     * @param row
+     *            the row
+     * @param columnsToSelect
+     *            the columns to select
+     * @return the entity, wrapped in {@link EnhanceEntity} if it holds
+     *         relations
+     * @throws InstantiationException
+     *             the instantiation exception
+     * @throws IllegalAccessException
+     *             the illegal access exception
+     */
+    private Object populateEntity(Object key, EntityMetadata entityMetadata, MetamodelImpl metaModel,
+            Table schemaTable, Row row, List<String> columnsToSelect) throws InstantiationException,
+            IllegalAccessException
+    {
+        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
+        Map<String, Object> relationMap = new HashMap<String, Object>();
+        Object entity = initializeEntity(key, entityMetadata);
 
-            Iterator<String> fieldIter = fields.iterator();
+        List<String> fields = row.getTable().getFields();
+        FieldDef fieldMetadata = null;
+        FieldValue value = null;
+        String idColumnName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
+        if (/* eligibleToFetch(columnsToSelect, idColumnName) && */!metaModel.isEmbeddable(entityMetadata
+                .getIdAttribute().getBindableJavaType()))
+        {
+            populateId(entityMetadata, schemaTable, entity, row);
+        }
+        else
+        {
+            onEmbeddableId(entityMetadata, metaModel, schemaTable, entity, row);
+        }
 
-            Set<Attribute> attributes = entityType.getAttributes();
-            for (Attribute attribute : attributes)
+        Iterator<String> fieldIter = fields.iterator();
+
+        Set<Attribute> attributes = entityType.getAttributes();
+        for (Attribute attribute : attributes)
+        {
+            String jpaColumnName = ((AbstractAttribute) attribute).getJPAColumnName();
+            if (eligibleToFetch(columnsToSelect, jpaColumnName)
+                    && !attribute.getName().equals(entityMetadata.getIdAttribute().getName()))
             {
-                String jpaColumnName = ((AbstractAttribute) attribute).getJPAColumnName();
-                if (eligibleToFetch(columnsToSelect, jpaColumnName)
-                        && !attribute.getName().equals(entityMetadata.getIdAttribute().getName()))
+                if (metaModel.isEmbeddable(((AbstractAttribute) attribute).getBindableJavaType()))
                 {
-                    if (metaModel.isEmbeddable(((AbstractAttribute) attribute).getBindableJavaType()))
+                    // readEmbeddable(value, columnsToSelect,
+                    // entityMetadata, metaModel, schemaTable, value,
+                    // attribute);
+                    EmbeddableType embeddableId = metaModel.embeddable(((AbstractAttribute) attribute)
+                            .getBindableJavaType());
+                    Set<Attribute> embeddedAttributes = embeddableId.getAttributes();
+                    Object embeddedObject = ((AbstractAttribute) attribute).getBindableJavaType().newInstance();
+                    for (Attribute embeddedAttrib : embeddedAttributes)
                     {
-                        // readEmbeddable(value, columnsToSelect,
-                        // entityMetadata, metaModel, schemaTable, value,
-                        // attribute);
-                        EmbeddableType embeddableId = metaModel.embeddable(((AbstractAttribute) attribute)
-                                .getBindableJavaType());
-                        Set<Attribute> embeddedAttributes = embeddableId.getAttributes();
-                        Object embeddedObject = ((AbstractAttribute) attribute).getBindableJavaType().newInstance();
-                        for (Attribute embeddedAttrib : embeddedAttributes)
-                        {
-                            String embeddedColumnName = ((AbstractAttribute) embeddedAttrib).getJPAColumnName();
+                        String embeddedColumnName = ((AbstractAttribute) embeddedAttrib).getJPAColumnName();
 
-                            fieldMetadata = schemaTable.getField(embeddedColumnName);
-                            value = row.get(embeddedColumnName);
-                            NoSqlDBUtils.get(fieldMetadata, value, embeddedObject,
-                                    (Field) embeddedAttrib.getJavaMember());
-                        }
-                        PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), embeddedObject);
+                        fieldMetadata = schemaTable.getField(embeddedColumnName);
+                        value = row.get(embeddedColumnName);
+                        NoSqlDBUtils.get(fieldMetadata, value, embeddedObject,
+                                (Field) embeddedAttrib.getJavaMember());
+                    }
+                    PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), embeddedObject);
+
+                }
+                else
+                {
+                    fieldMetadata = schemaTable.getField(jpaColumnName);
+                    value = row.get(jpaColumnName);
 
+                    if (!attribute.isAssociation() && value != null)
+                    {
+                        NoSqlDBUtils.get(fieldMetadata, value, entity, (Field) attribute.getJavaMember());
                     }
-                    else
+                    else if (attribute.isAssociation() && value != null)
                     {
-                        fieldMetadata = schemaTable.getField(jpaColumnName);
-                        value = row.get(jpaColumnName);
+                        Relation relation = entityMetadata.getRelation(attribute.getName());
 
-                        if (!attribute.isAssociation() && value != null)
-                        {
-                            NoSqlDBUtils.get(fieldMetadata, value, entity, (Field) attribute.getJavaMember());
-                        }
-                        else if (attribute.isAssociation() && value != null)
+                        if (relation != null)
                         {
-                            Relation relation = entityMetadata.getRelation(attribute.getName());
-
-                            if (relation != null)
+                            EntityMetadata associationMetadata = KunderaMetadataManager.getEntityMetadata(
+                                    kunderaMetadata, relation.getTargetEntity());
+                            if (!relation.getType().equals(ForeignKey.MANY_TO_MANY))
                             {
-                                EntityMetadata associationMetadata = KunderaMetadataManager.getEntityMetadata(
-                                        kunderaMetadata, relation.getTargetEntity());
-                                if (!relation.getType().equals(ForeignKey.MANY_TO_MANY))
-                                {
-                                    relationMap.put(jpaColumnName, NoSqlDBUtils.get(fieldMetadata, value,
-                                            (Field) associationMetadata.getIdAttribute().getJavaMember()));
-                                }
+                                relationMap.put(jpaColumnName, NoSqlDBUtils.get(fieldMetadata, value,
+                                        (Field) associationMetadata.getIdAttribute().getJavaMember()));
                             }
                         }
                     }
                 }
             }
+        }
 
-            if (entity != null)
-            {
-                results.add(relationMap.isEmpty() ? entity : new EnhanceEntity(entity, key != null ? key
-                        : PropertyAccessorHelper.getId(entity, entityMetadata), relationMap));
-            }
+        if (entity != null)
+        {
+            return relationMap.isEmpty() ? entity : new EnhanceEntity(entity, key != null ? key
+                    : PropertyAccessorHelper.getId(entity, entityMetadata), relationMap);
         }
-        return results;
+        return null;
     }
 
     /**
@@ -1424,6 +1575,37 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
      */
     private <E> List<E> onIndexSearch(OracleNoSQLQueryInterpreter interpreter, EntityMetadata entityMetadata,
             MetamodelImpl metamodel, List<E> results, List<String> columnsToSelect)
+    {
+        Table schemaTable = tableAPI.getTable(entityMetadata.getTableName());
+        Iterator<Row> rowsIter = tableAPI.tableIterator(getIndexKey(interpreter, entityMetadata), null, null);
+
+        Map<String, Object> relationMap = initialize(entityMetadata);
+
+        try
+        {
+            results = scrollAndPopulate(null, entityMetadata, metamodel, schemaTable, rowsIter, relationMap,
+                    columnsToSelect);
+            KunderaCoreUtils.printQueryWithFilterClause(interpreter.getClauseQueue(), entityMetadata.getTableName());
+        }
+        catch (Exception e)
+        {
+            log.error("Error while finding records , Caused By :" + e + ".");
+            throw new PersistenceException(e);
+        }
+
+        return results;
+    }
+
+    /**
+     * Prepares index key for query clauses.
+     * 
+     * @param interpreter
+     *            the interpreter
+     * @param entityMetadata
+     *            the entity metadata
+     * @return the index key
+     */
+    private IndexKey getIndexKey(OracleNoSQLQueryInterpreter interpreter, EntityMetadata entityMetadata)
     {
         Map<String, List> indexes = new HashMap<String, List>();
         StringBuilder indexNamebuilder = new StringBuilder();
@@ -1471,24 +1653,7 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         {
             NoSqlDBUtils.add(schemaTable.getField(indexName), indexKey, indexes.get(indexName).get(0), indexName);
         }
-
-        Iterator<Row> rowsIter = tableAPI.tableIterator(indexKey, null, null);
-
-        Map<String, Object> relationMap = initialize(entityMetadata);
-
-        try
-        {
-            results = scrollAndPopulate(null, entityMetadata, metamodel, schemaTable, rowsIter, relationMap,
-                    columnsToSelect);
-            KunderaCoreUtils.printQueryWithFilterClause(interpreter.getClauseQueue(), entityMetadata.getTableName());
-        }
-        catch (Exception e)
-        {
-            log.error("Error while finding records , Caused By :" + e + ".");
-            throw new PersistenceException(e);
-        }
-
-        return results;
+        return indexKey;
     }
 
     /**
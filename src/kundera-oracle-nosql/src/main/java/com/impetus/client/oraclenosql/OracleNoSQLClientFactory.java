@@ -17,6 +17,8 @@ package com.impetus.client.oraclenosql;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import oracle.kv.KVStore;
 import oracle.kv.KVStoreConfig;
@@ -35,6 +37,7 @@ import com.impetus.kundera.index.Indexer;
 import com.impetus.kundera.loader.ClientFactory;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.utils.KunderaThreadFactory;
 
 /**
  * {@link ClientFactory} implementation for Oracle NOSQL database
@@ -50,6 +53,9 @@ public class OracleNoSQLClientFactory extends GenericClientFactory
     /** The kvstore db. */
     private KVStore kvStore;
 
+    /** The executor for concurrent key lookups, null to look up sequentially. */
+    private ExecutorService findExecutor;
+
     @Override
     public SchemaManager getSchemaManager(Map<String, Object> puProperties)
     {
@@ -62,6 +68,60 @@ public class OracleNoSQLClientFactory extends GenericClientFactory
         initializePropertyReader();
         setExternalProperties(puProperties);
         reader = new OracleNoSQLEntityReader(kunderaMetadata);
+
+        Object parallelism = externalProperties != null ? externalProperties
+                .get(OracleNOSQLConstants.FIND_PARALLELISM) : null;
+        if (parallelism == null)
+        {
+            parallelism = kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(getPersistenceUnit())
+                    .getProperties().getProperty(OracleNOSQLConstants.FIND_PARALLELISM);
+        }
+        if (parallelism != null)
+        {
+            int findParallelism = parseFindParallelism(parallelism);
+            if (findParallelism > 1)
+            {
+                findExecutor = Executors.newFixedThreadPool(findParallelism, new KunderaThreadFactory(
+                        OracleNoSQLClientFactory.class.getName()));
+            }
+        }
+    }
+
+    /**
+     * Parses value of {@link OracleNOSQLConstants#FIND_PARALLELISM}.
+     * 
+     * @param parallelism
+     *            the property value
+     * @return the number of concurrent key lookups
+     */
+    private int parseFindParallelism(Object parallelism)
+    {
+        int findParallelism;
+        try
+        {
+            findParallelism = Integer.parseInt(String.valueOf(parallelism).trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(OracleNOSQLConstants.FIND_PARALLELISM
+                    + " property must be numeric and > 0, but was: " + parallelism, e);
+        }
+        if (findParallelism <= 0)
+        {
+            throw new IllegalArgumentException(OracleNOSQLConstants.FIND_PARALLELISM
+                    + " property must be numeric and > 0, but was: " + parallelism);
+        }
+        return findParallelism;
+    }
+
+    /**
+     * Returns executor for concurrent key lookups.
+     * 
+     * @return the executor, null if keys are looked up sequentially
+     */
+    ExecutorService getFindExecutor()
+    {
+        return findExecutor;
     }
 
     @Override
@@ -94,6 +154,12 @@ public class OracleNoSQLClientFactory extends GenericClientFactory
         schemaManager = null;
         externalProperties = null;
 
+        if (findExecutor != null)
+        {
+            findExecutor.shutdownNow();
+            findExecutor = null;
+        }
+
         if (kvStore != null)
         {
             logger.info("Closing connection to kvStore.");
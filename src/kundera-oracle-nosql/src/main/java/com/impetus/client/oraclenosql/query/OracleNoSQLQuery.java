@@ -168,8 +168,21 @@ public class OracleNoSQLQuery extends QueryImpl
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        Client client = persistenceDelegeator.getClient(m);
+        OracleNoSQLQueryInterpreter interpreter = translateQuery(getKunderaQuery().getFilterClauseQueue(), m);
+        ClientMetadata clientMetadata = ((ClientBase) client).getClientMetadata();
+
+        if ((!MetadataUtils.useSecondryIndex(clientMetadata) && !(clientMetadata.getIndexImplementor() != null && clientMetadata
+                .getIndexImplementor().equals(OracleNoSQLInvertedIndexer.class.getName())))
+                || (interpreter.isFindById() && interpreter.getClauseQueue().size() == 1))
+        {
+            // lucene search or lookup by id, no table iterator to stream from.
+            return getResultList().iterator();
+        }
+
+        return new ResultIterator((OracleNoSQLClient) client, m, interpreter, persistenceDelegeator,
+                getFetchSize() != null ? getFetchSize() : this.maxResult);
     }
 
     @Override
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.oraclenosql.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import oracle.kv.table.Row;
+import oracle.kv.table.TableIterator;
+
+import com.impetus.client.oraclenosql.OracleNoSQLClient;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Implementation of Oracle NoSQL result iteration. Rows are read from
+ * {@code TableAPI.tableIterator}, which fetches them from store in batches,
+ * and mapped to entities one at a time. Table iterator is closed once rows
+ * are exhausted or fetch size is reached.
+ * 
+ * @param <E>
+ *            the element type
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    /** The client. */
+    private OracleNoSQLClient client;
+
+    /** The entity metadata. */
+    private EntityMetadata m;
+
+    /** The rows, null once closed. */
+    private TableIterator<Row> rows;
+
+    /** The columns to select. */
+    private String[] columnsToSelect;
+
+    /** The persistence delegator. */
+    private PersistenceDelegator persistenceDelegator;
+
+    /** number of results still to be returned. */
+    private int fetchSize;
+
+    /** entity read ahead by hasNext(). */
+    private Object current;
+
+    /**
+     * Instantiates a new result iterator.
+     * 
+     * @param client
+     *            the client
+     * @param m
+     *            the entity metadata
+     * @param interpreter
+     *            the interpreter
+     * @param pd
+     *            the persistence delegator
+     * @param fetchSize
+     *            the fetch size
+     */
+    ResultIterator(OracleNoSQLClient client, EntityMetadata m, OracleNoSQLQueryInterpreter interpreter,
+            PersistenceDelegator pd, int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.columnsToSelect = interpreter.getSelectColumns();
+        this.persistenceDelegator = pd;
+        this.fetchSize = fetchSize;
+        this.rows = client.getRowIterator(m, interpreter);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (fetchSize == 0)
+        {
+            close();
+            return false;
+        }
+
+        while (current == null && rows != null)
+        {
+            if (!rows.hasNext())
+            {
+                close();
+                break;
+            }
+            current = client.populateEntity(m, rows.next(), columnsToSelect);
+        }
+        return current != null;
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        fetchSize--;
+        Object result = current;
+        current = null;
+
+        if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
+        {
+            return (E) (result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result);
+        }
+        return setRelationEntities(result);
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> results = new ArrayList<E>(chunkSize);
+        while (results.size() < chunkSize && hasNext())
+        {
+            results.add(next());
+        }
+        return results;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Remove method is not supported over pagination");
+    }
+
+    /**
+     * Ends scroll, releasing table iterator if still open.
+     */
+    private void close()
+    {
+        if (rows != null)
+        {
+            rows.close();
+            rows = null;
+        }
+    }
+
+    /**
+     * Sets the relation entities.
+     * 
+     * @param enhanceEntity
+     *            the enhance entity
+     * @return the e
+     */
+    private E setRelationEntities(Object enhanceEntity)
+    {
+        if (!(enhanceEntity instanceof EnhanceEntity))
+        {
+            enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+        }
+        EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+        return (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                persistenceDelegator, false, new HashMap<Object, Object>());
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright 2015 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.oraclenosql;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.oraclenosql.entities.PersonKVStore;
+import com.impetus.client.oraclenosql.entities.UserProfile;
+import com.impetus.kundera.client.Client;
+
+/**
+ * Test case for multi-key find with
+ * {@link OracleNOSQLConstants#FIND_PARALLELISM} set.
+ */
+public class OracleNoSQLParallelFindTest
+{
+    private static final String PU = "twikvstore";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private OracleNoSQLClient client;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(OracleNOSQLConstants.FIND_PARALLELISM, "4");
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        em = emf.createEntityManager();
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        client = (OracleNoSQLClient) clients.get(PU);
+
+        for (int i = 1; i <= 10; i++)
+        {
+            em.persist(person("p" + i, i));
+        }
+        em.clear();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        for (int i = 1; i <= 10; i++)
+        {
+            PersonKVStore p = em.find(PersonKVStore.class, "p" + i);
+            if (p != null)
+            {
+                em.remove(p);
+            }
+        }
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testKeyOrder()
+    {
+        Object[] keys = new Object[] { "p7", "p2", "p10", "p1", "p5", "p9", "p3" };
+        List<PersonKVStore> results = client.findAll(PersonKVStore.class, null, keys);
+
+        Assert.assertEquals(keys.length, results.size());
+        for (int i = 0; i < keys.length; i++)
+        {
+            Assert.assertEquals(keys[i], results.get(i).getPersonId());
+        }
+    }
+
+    @Test
+    public void testMissingKeys()
+    {
+        List<PersonKVStore> results = client.findAll(PersonKVStore.class, null, "p3", "p99", "p4", "p100");
+
+        Assert.assertEquals(4, results.size());
+        Assert.assertEquals("p3", results.get(0).getPersonId());
+        Assert.assertNull(results.get(1));
+        Assert.assertEquals("p4", results.get(2).getPersonId());
+        Assert.assertNull(results.get(3));
+    }
+
+    @Test
+    public void testFailure()
+    {
+        try
+        {
+            // user id is an int, a String key can not be looked up.
+            client.findAll(UserProfile.class, null, 1, "two", 3);
+            Assert.fail("Lookup of an invalid key should have failed");
+        }
+        catch (PersistenceException e)
+        {
+            Assert.assertNotNull(e.getCause());
+        }
+
+        // executor is still usable after a failed lookup.
+        List<PersonKVStore> results = client.findAll(PersonKVStore.class, null, "p2", "p1");
+        Assert.assertEquals("p2", results.get(0).getPersonId());
+        Assert.assertEquals("p1", results.get(1).getPersonId());
+    }
+
+    @Test
+    public void testInvalidParallelism()
+    {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(OracleNOSQLConstants.FIND_PARALLELISM, "four");
+        try
+        {
+            Persistence.createEntityManagerFactory(PU, props).createEntityManager();
+            Assert.fail("Non numeric parallelism should have been rejected");
+        }
+        catch (Exception e)
+        {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof IllegalArgumentException))
+            {
+                cause = cause.getCause();
+            }
+            Assert.assertNotNull(cause);
+            Assert.assertTrue(cause.getMessage().contains(OracleNOSQLConstants.FIND_PARALLELISM));
+        }
+    }
+
+    private PersonKVStore person(String personId, int age)
+    {
+        PersonKVStore person = new PersonKVStore();
+        person.setPersonId(personId);
+        person.setPersonName("name" + age);
+        person.setAge(age);
+        return person;
+    }
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,30 +44,34 @@ import org.hibernate.Session;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.criterion.Restrictions;
-import org.hibernate.internal.StatelessSessionImpl;
 import org.hibernate.transform.AliasToEntityMapResultTransformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.client.rdbms.query.RDBMSQuery;
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.generator.Generator;
+import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ClientMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.EntityReaderException;
+import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
@@ -80,7 +85,7 @@ import com.impetus.kundera.utils.KunderaCoreUtils;
  * 
  * @author vivek.mishra
  */
-public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
+public class HibernateClient extends ClientBase implements Client<RDBMSQuery>, Batcher
 {
 
     /** The client factory. */
@@ -95,6 +100,12 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
     /** The Constant log. */
     private static final Logger log = LoggerFactory.getLogger(HibernateClient.class);
 
+    /** The nodes. */
+    private List<Node> nodes = new ArrayList<Node>();
+
+    /** The batch size. */
+    private int batchSize;
+
     /**
      * Instantiates a new hibernate client.
      * 
@@ -125,6 +136,7 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
         this.indexManager = indexManager;
         this.reader = reader;
         this.clientMetadata = clientMetadata;
+        populateBatchSize(persistenceUnit, externalProperties);
     }
 
     /*
@@ -175,12 +187,8 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
      */
     private Transaction onBegin()
     {
-        Transaction tx;
-        if (((StatelessSessionImpl) s).getTransactionCoordinator().isTransactionInProgress())
-        {
-            tx = ((StatelessSessionImpl) s).getTransactionCoordinator().getTransaction();
-        }
-        else
+        Transaction tx = s.getTransaction();
+        if (!tx.isActive())
         {
             tx = s.beginTransaction();
         }
@@ -267,7 +275,26 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
     protected void onPersist(EntityMetadata metadata, Object entity, Object id, List<RelationHolder> relationHolders)
     {
         boolean proxyRemoved = removeKunderaProxies(metadata, entity, relationHolders);
+        onPersist(metadata, entity, id, relationHolders, proxyRemoved);
+    }
 
+    /**
+     * Inserts or updates entity in its own transaction.
+     * 
+     * @param metadata
+     *            the metadata
+     * @param entity
+     *            the entity
+     * @param id
+     *            the id
+     * @param relationHolders
+     *            the relation holders
+     * @param proxyRemoved
+     *            if kundera proxies were replaced by foreign keys
+     */
+    private void onPersist(EntityMetadata metadata, Object entity, Object id, List<RelationHolder> relationHolders,
+            boolean proxyRemoved)
+    {
         Transaction tx = null;
 
         s = getStatelessSession();
@@ -1002,4 +1029,327 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
                 + " Strategies not supported by this client : HibernateClient");
     }
 
-}
\ No newline at end of file
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.persistence.api.Batcher#addBatch(com.impetus.kundera
+     * .graph.Node)
+     */
+    @Override
+    public void addBatch(Node node)
+    {
+        if (node != null)
+        {
+            nodes.add(node);
+        }
+        onBatchLimit();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#getBatchSize()
+     */
+    @Override
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#clear()
+     */
+    @Override
+    public void clear()
+    {
+        if (nodes != null)
+        {
+            nodes.clear();
+            nodes = new ArrayList<Node>();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#executeBatch()
+     */
+    @Override
+    public int executeBatch()
+    {
+        List<BatchEntry> entries = prepareBatch();
+        nodes.clear();
+        if (entries.isEmpty())
+        {
+            return 0;
+        }
+
+        s = getStatelessSession();
+        Transaction tx = onBegin();
+        try
+        {
+            for (BatchEntry entry : entries)
+            {
+                if (entry.removed)
+                {
+                    s.delete(entry.entity);
+                }
+                else if (!entry.isUpdate)
+                {
+                    entry.id = s.insert(entry.entity);
+                }
+                else
+                {
+                    s.update(entry.entity);
+                }
+            }
+
+            // Hibernate sends the pending JDBC batch before preparing the
+            // native statements that update foreign keys.
+            for (BatchEntry entry : entries)
+            {
+                if (!entry.removed && (!entry.isUpdate || entry.proxyRemoved))
+                {
+                    updateForeignKeys(entry.metadata, entry.id, entry.relationHolders);
+                }
+            }
+            onCommit(tx);
+        }
+        catch (HibernateException e)
+        {
+            onRollback(tx);
+            if (!(e instanceof org.hibernate.exception.ConstraintViolationException)
+                    || !hasManyToOneTarget(entries))
+            {
+                log.error("Error while executing batch of {} records, Caused by {}.", entries.size(), e);
+                throw new PersistenceException(e);
+            }
+            log.info("Replaying batch of {} records one by one, Caused by {}.", entries.size(), e.getMessage());
+            onReplay(entries);
+        }
+
+        for (BatchEntry entry : entries)
+        {
+            onIndex(entry);
+            entry.node.handlePostEvent();
+        }
+        return entries.size();
+    }
+
+    /**
+     * Collects dirty nodes of batch, in flush order. A delete may be followed
+     * by an insert on same key and foreign keys may depend on order, so nodes
+     * are not regrouped; Hibernate batches consecutive statements on the same
+     * table.
+     * 
+     * @return batch entries in execution order.
+     */
+    private List<BatchEntry> prepareBatch()
+    {
+        List<BatchEntry> entries = new ArrayList<BatchEntry>();
+        for (Node node : nodes)
+        {
+            if (node.isDirty())
+            {
+                node.handlePreEvent();
+                BatchEntry entry = new BatchEntry(node, KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                        node.getDataClass()));
+                if (!entry.removed)
+                {
+                    entry.relationHolders = getRelationHolders(node);
+                    entry.proxyRemoved = removeKunderaProxies(entry.metadata, entry.entity, entry.relationHolders);
+                }
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Checks if batch inserts an entity that another entry of the batch refers
+     * to by many to one. Such a target may be shared with rows written
+     * earlier, so its insert can violate the primary key.
+     * 
+     * @param entries
+     *            the batch entries
+     * @return true, if a many to one target is inserted.
+     */
+    private boolean hasManyToOneTarget(List<BatchEntry> entries)
+    {
+        Set<Class<?>> targets = new HashSet<Class<?>>();
+        for (BatchEntry entry : entries)
+        {
+            for (Relation relation : entry.metadata.getRelations())
+            {
+                if (relation != null && relation.getType().equals(Relation.ForeignKey.MANY_TO_ONE))
+                {
+                    targets.add(relation.getTargetEntity());
+                }
+            }
+        }
+        for (BatchEntry entry : entries)
+        {
+            if (!entry.removed && !entry.isUpdate && targets.contains(entry.metadata.getEntityClazz()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes batch entries one by one, each in its own transaction. Used when
+     * batch could not be written as a whole.
+     * 
+     * @param entries
+     *            the batch entries
+     */
+    private void onReplay(List<BatchEntry> entries)
+    {
+        for (BatchEntry entry : entries)
+        {
+            if (entry.removed)
+            {
+                Transaction tx = onBegin();
+                s.delete(entry.entity);
+                onCommit(tx);
+            }
+            else
+            {
+                isUpdate = entry.isUpdate;
+                onPersist(entry.metadata, entry.entity, entry.id, entry.relationHolders, entry.proxyRemoved);
+            }
+        }
+    }
+
+    /**
+     * Updates indexes for a written batch entry.
+     * 
+     * @param entry
+     *            the batch entry
+     */
+    private void onIndex(BatchEntry entry)
+    {
+        if (entry.removed)
+        {
+            if (!MetadataUtils.useSecondryIndex(getClientMetadata()))
+            {
+                getIndexManager().remove(entry.metadata, entry.entity, entry.id);
+            }
+        }
+        else
+        {
+            entry.node.setEntityId(PropertyAccessorHelper.getId(entry.entity, entry.metadata));
+            indexNode(entry.node, entry.metadata);
+        }
+    }
+
+    /**
+     * On rollback.
+     * 
+     * @param tx
+     *            the tx
+     */
+    private void onRollback(Transaction tx)
+    {
+        if (tx.isActive())
+        {
+            tx.rollback();
+        }
+    }
+
+    /**
+     * Check on batch limit.
+     */
+    private void onBatchLimit()
+    {
+        if (batchSize > 0 && batchSize == nodes.size())
+        {
+            executeBatch();
+            nodes.clear();
+        }
+    }
+
+    /**
+     * Sets the batch size.
+     * 
+     * @param batchSize
+     *            the batchSize to set
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Populate batch size.
+     * 
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param puProperties
+     *            the pu properties
+     */
+    private void populateBatchSize(String persistenceUnit, Map<String, Object> puProperties)
+    {
+        String batch_Size = puProperties != null ? (String) puProperties.get(PersistenceProperties.KUNDERA_BATCH_SIZE)
+                : null;
+        if (batch_Size != null)
+        {
+            batchSize = Integer.valueOf(batch_Size);
+            if (batchSize == 0)
+            {
+                throw new IllegalArgumentException("kundera.batch.size property must be numeric and > 0");
+            }
+        }
+        else
+        {
+            PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                    persistenceUnit);
+            batchSize = puMetadata.getBatchSize();
+        }
+    }
+
+    /**
+     * Node of a batch, along with what is needed to write it.
+     */
+    private static class BatchEntry
+    {
+        /** The node. */
+        private final Node node;
+
+        /** The entity. */
+        private final Object entity;
+
+        /** The metadata. */
+        private final EntityMetadata metadata;
+
+        /** If node is to be removed. */
+        private final boolean removed;
+
+        /** If it is an update. */
+        private final boolean isUpdate;
+
+        /** The id. */
+        private Object id;
+
+        /** The relation holders. */
+        private List<RelationHolder> relationHolders;
+
+        /** If kundera proxies were replaced by foreign keys. */
+        private boolean proxyRemoved;
+
+        private BatchEntry(Node node, EntityMetadata metadata)
+        {
+            this.node = node;
+            this.entity = node.getData();
+            this.metadata = metadata;
+            this.removed = node.isInState(RemovedState.class);
+            this.isUpdate = node.isUpdate();
+            this.id = node.getEntityId();
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.client.rdbms.query.RDBMSEntityReader;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.GenericClientFactory;
@@ -59,6 +60,9 @@ public class RDBMSClientFactory extends GenericClientFactory
 
     private ServiceRegistry serviceRegistry;
 
+    /** Hibernate property for JDBC batch size. */
+    private static final String JDBC_BATCH_SIZE = "hibernate.jdbc.batch_size";
+
     @Override
     public void destroy()
     {
@@ -112,6 +116,17 @@ public class RDBMSClientFactory extends GenericClientFactory
             }
         }
 
+        // Let hibernate send statements of a kundera batch as JDBC batches,
+        // unless configured explicitly.
+        if (conf.getProperty(JDBC_BATCH_SIZE) == null)
+        {
+            int batchSize = getBatchSize();
+            if (batchSize > 0)
+            {
+                conf.setProperty(JDBC_BATCH_SIZE, String.valueOf(batchSize));
+            }
+        }
+
         serviceRegistry = new ServiceRegistryBuilder().applySettings(conf.getProperties()).buildServiceRegistry();
 
         Iterator<Collection<Class<?>>> iter = classes.values().iterator();
@@ -164,10 +179,14 @@ public class RDBMSClientFactory extends GenericClientFactory
                 clientMetadata, kunderaMetadata);
     }
 
+    /**
+     * HibernateClient holds on to a {@link StatelessSession}, which must not
+     * be shared between threads.
+     */
     @Override
     public boolean isThreadSafe()
     {
-        return true;
+        return false;
     }
 
     @Override
@@ -193,6 +212,24 @@ public class RDBMSClientFactory extends GenericClientFactory
         this.conf = reader.load(getPersistenceUnit());
     }
 
+    /**
+     * Returns batch size, as given in external properties or persistence
+     * unit.
+     * 
+     * @return batch size, 0 if not given.
+     */
+    private int getBatchSize()
+    {
+        String batchSize = externalProperties != null ? (String) externalProperties
+                .get(PersistenceProperties.KUNDERA_BATCH_SIZE) : null;
+        if (batchSize != null)
+        {
+            return Integer.valueOf(batchSize);
+        }
+        return kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(getPersistenceUnit())
+                .getBatchSize();
+    }
+
     Session getSession()
     {
         if (sf != null)
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.crud;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.crud.entities.PersonRDBMS;
+import com.impetus.client.rdbms.HibernateClient;
+import com.impetus.client.rdbms.RDBMSClientFactory;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.graph.ObjectGraphUtils;
+import com.impetus.kundera.lifecycle.states.ManagedState;
+import com.impetus.kundera.lifecycle.states.NodeState;
+import com.impetus.kundera.lifecycle.states.RemovedState;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerImpl;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+
+/**
+ * Test case for batch operations on RDBMS.
+ */
+public class PersonRdbmsBatchTest extends BaseTest
+{
+
+    private static final String SCHEMA = "testdb";
+
+    /** The emf. */
+    private EntityManagerFactory emf;
+
+    /** The em. */
+    private EntityManager em;
+
+    private RDBMSCli cli;
+
+    /**
+     * Sets the up.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Before
+    public void setUp() throws Exception
+    {
+        try
+        {
+            cli = new RDBMSCli(SCHEMA);
+            cli.createSchema(SCHEMA);
+            cli.update("CREATE TABLE TESTDB.PERSON (PERSON_ID VARCHAR(9) PRIMARY KEY, PERSON_NAME VARCHAR(256), AGE INTEGER)");
+        }
+        catch (Exception e)
+        {
+            cli.update("DELETE FROM TESTDB.PERSON");
+            cli.update("DROP TABLE TESTDB.PERSON");
+            cli.update("DROP SCHEMA TESTDB");
+            cli.update("CREATE TABLE TESTDB.PERSON (PERSON_ID VARCHAR(9) PRIMARY KEY, PERSON_NAME VARCHAR(256), AGE INTEGER)");
+        }
+
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_BATCH_SIZE, "2");
+        props.put("hibernate.generate_statistics", "true");
+        emf = Persistence.createEntityManagerFactory("testHibernate", props);
+        em = emf.createEntityManager();
+    }
+
+    @Test
+    public void testBatch() throws Exception
+    {
+        Statistics statistics = getStatistics();
+        statistics.clear();
+        for (int i = 1; i <= 5; i++)
+        {
+            em.persist(prepareRDBMSInstance(String.valueOf(i), 10 + i));
+        }
+        em.flush();
+        em.clear();
+
+        // Five inserts in batches of two: one insert statement per batch.
+        Assert.assertEquals(3, statistics.getPrepareStatementCount());
+
+        for (int i = 1; i <= 5; i++)
+        {
+            PersonRDBMS person = em.find(PersonRDBMS.class, String.valueOf(i));
+            Assert.assertNotNull(person);
+            Assert.assertEquals(10 + i, person.getAge());
+            person.setPersonName("amresh");
+            em.merge(person);
+        }
+        em.flush();
+        em.clear();
+
+        for (int i = 1; i <= 5; i++)
+        {
+            PersonRDBMS person = em.find(PersonRDBMS.class, String.valueOf(i));
+            Assert.assertEquals("amresh", person.getPersonName());
+            em.remove(person);
+        }
+        em.flush();
+        em.clear();
+
+        for (int i = 1; i <= 5; i++)
+        {
+            Assert.assertNull(em.find(PersonRDBMS.class, String.valueOf(i)));
+        }
+    }
+
+    /**
+     * A delete followed by an insert on the same key must run in that order
+     * within a batch.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testDeleteThenReinsert() throws Exception
+    {
+        em.persist(prepareRDBMSInstance("1", 11));
+        em.flush();
+        em.clear();
+
+        PersonRDBMS removed = em.find(PersonRDBMS.class, "1");
+        Assert.assertNotNull(removed);
+        em.clear();
+        PersonRDBMS reinserted = prepareRDBMSInstance("1", 21);
+        reinserted.setPersonName("reinserted");
+
+        PersistenceDelegator pd = getPersistenceDelegator();
+        HibernateClient client = getClient(pd);
+
+        client.addBatch(prepareNode(pd, removed, new RemovedState()));
+        client.addBatch(prepareNode(pd, reinserted, new ManagedState()));
+        client.executeBatch();
+
+        PersonRDBMS found = em.find(PersonRDBMS.class, "1");
+        Assert.assertNotNull(found);
+        Assert.assertEquals("reinserted", found.getPersonName());
+        Assert.assertEquals(21, found.getAge());
+    }
+
+    /**
+     * Gets the persistence delegator of entity manager.
+     * 
+     * @return the persistence delegator
+     * @throws Exception
+     *             the exception
+     */
+    private PersistenceDelegator getPersistenceDelegator() throws Exception
+    {
+        Method getPersistenceDelegator = EntityManagerImpl.class.getDeclaredMethod("getPersistenceDelegator");
+        getPersistenceDelegator.setAccessible(true);
+        return (PersistenceDelegator) getPersistenceDelegator.invoke(em);
+    }
+
+    /**
+     * Gets the client persons are written with.
+     * 
+     * @param pd
+     *            the persistence delegator
+     * @return the hibernate client
+     */
+    private HibernateClient getClient(PersistenceDelegator pd)
+    {
+        return (HibernateClient) pd.getClient(KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), PersonRDBMS.class));
+    }
+
+    /**
+     * Gets the statistics of session factory the client writes with.
+     * 
+     * @return the statistics
+     * @throws Exception
+     *             the exception
+     */
+    private Statistics getStatistics() throws Exception
+    {
+        Field clientFactory = HibernateClient.class.getDeclaredField("clientFactory");
+        clientFactory.setAccessible(true);
+        Field sf = RDBMSClientFactory.class.getDeclaredField("sf");
+        sf.setAccessible(true);
+        return ((SessionFactory) sf.get(clientFactory.get(getClient(getPersistenceDelegator())))).getStatistics();
+    }
+
+    /**
+     * Prepares a dirty node of a person.
+     * 
+     * @param pd
+     *            the persistence delegator
+     * @param person
+     *            the person
+     * @param state
+     *            the node state
+     * @return the node
+     */
+    private Node prepareNode(PersistenceDelegator pd, PersonRDBMS person, NodeState state)
+    {
+        Node node = new Node(ObjectGraphUtils.getNodeId(person.getPersonId(), PersonRDBMS.class), PersonRDBMS.class,
+                state, null, person.getPersonId(), pd);
+        node.setData(person);
+        node.setDirty(true);
+        return node;
+    }
+
+    /**
+     * Tear down.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+        try
+        {
+            cli.update("DELETE FROM TESTDB.PERSON");
+            cli.update("DROP TABLE TESTDB.PERSON");
+            cli.update("DROP SCHEMA TESTDB");
+            cli.closeConnection();
+        }
+        catch (Exception e)
+        {
+            // Nothing to do
+        }
+    }
+}
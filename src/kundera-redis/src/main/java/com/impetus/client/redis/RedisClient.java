@@ -22,10 +22,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.UUID;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
@@ -39,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Response;
+import redis.clients.jedis.ShardedJedis;
 import redis.clients.jedis.Transaction;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 
@@ -102,15 +105,30 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     /** batch size. */
     private int batchSize;
 
+    /** Number of hash reads sent per pipeline round trip. */
+    private int pipelineSize;
+
     /** The logger. */
     private static Logger logger = LoggerFactory.getLogger(RedisClient.class);
 
     /** The Constant COMPOSITE_KEY_SEPERATOR. */
     private static final String COMPOSITE_KEY_SEPERATOR = "\001";
 
+    /** Property for number of hash reads sent per pipeline round trip. */
+    public static final String PIPELINE_SIZE = "kundera.redis.pipeline.size";
+
+    /** The Constant DEFAULT_PIPELINE_SIZE. */
+    private static final int DEFAULT_PIPELINE_SIZE = 100;
+
+    /** Seconds an intermediate store of an abandoned scroll is kept for. */
+    private static final int SCROLL_STORE_TTL = 600;
+
     /** The connection. */
     private Jedis connection;
 
+    /** The sharded connection, in use if nodes are sharded. */
+    private ShardedJedis shardedConnection;
+
     /**
      * Instantiates a new redis client.
      * 
@@ -133,6 +151,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         initializeIndexer();
         this.clientMetadata = factory.getClientMetadata();
         setBatchSize(persistenceUnit, factory.getOverridenProperties());
+        setPipelineSize(persistenceUnit, factory.getOverridenProperties());
     }
 
     /*
@@ -146,7 +165,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
-        Object connection = getConnection();
+        Object connection = getConnection(entityMetadata.getTableName());
         // Create a hashset and populate data into it
         //
 
@@ -200,7 +219,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     public Object find(Class entityClass, Object key)
     {
         Object result = null;
-        Object connection = getConnection();
+        Object connection = getConnection(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass)
+                .getTableName());
         try
         {
             result = fetch(entityClass, key, connection, null);
@@ -247,20 +267,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, clazz);
 
-        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                entityMetadata.getPersistenceUnit());
-
-        String rowKey = null;
-        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
-        {
-            rowKey = KunderaCoreUtils.prepareCompositeKey(entityMetadata, key);
-        }
-        else
-        {
-            ObjectAccessor accessor = new ObjectAccessor();
-
-            rowKey = accessor.toString(key);
-        }
+        String rowKey = getRowKey(entityMetadata, key);
 
         String hashKey = getHashKey(entityMetadata.getTableName(), rowKey);
         KunderaCoreUtils
@@ -316,6 +323,127 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return result;
     }
 
+    /**
+     * Retrieves entity instances of given class, row keys and specific fields.
+     * Outside transaction, hash reads are pipelined, {@link #pipelineSize} at
+     * a time, and responses are decoded once all are read.
+     * 
+     * @param clazz
+     *            entity class
+     * @param keys
+     *            row keys
+     * @param connection
+     *            connection instance.
+     * @param fields
+     *            fields.
+     * @return entity instances, found ones only.
+     * @throws InstantiationException
+     *             throws in case of runtime exception
+     * @throws IllegalAccessException
+     *             throws in case of runtime exception
+     */
+    private List fetchAll(Class clazz, Collection<?> keys, Object connection, byte[][] fields)
+            throws InstantiationException, IllegalAccessException
+    {
+        List results = new ArrayList();
+
+        if (resource != null && resource.isActive())
+        {
+            // Each read is executed as a transaction of its own.
+            for (Object key : keys)
+            {
+                Object result = fetch(clazz, key, getConnection(), fields);
+                if (result != null)
+                {
+                    results.add(result);
+                }
+            }
+            return results;
+        }
+
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, clazz);
+        KunderaCoreUtils.printQuery("Fetch data from " + entityMetadata.getTableName() + " for PKs " + keys,
+                showQuery);
+
+        List<Response<?>> responses = new ArrayList<Response<?>>(keys.size());
+        try
+        {
+            Pipeline pipeline = ((Jedis) connection).pipelined();
+            for (Object key : keys)
+            {
+                byte[] hashKey = getEncodedBytes(getHashKey(entityMetadata.getTableName(),
+                        getRowKey(entityMetadata, key)));
+                responses.add(fields != null ? pipeline.hmget(hashKey, fields) : pipeline.hgetAll(hashKey));
+                if (responses.size() % pipelineSize == 0)
+                {
+                    pipeline.sync();
+                }
+            }
+            pipeline.sync();
+        }
+        catch (JedisConnectionException jedex)
+        {
+            // Jedis is throwing runtime exception in case of no result
+            // found!!!!
+            return results;
+        }
+
+        Iterator<?> keyIter = keys.iterator();
+        for (Response<?> response : responses)
+        {
+            Map<byte[], byte[]> columns;
+            if (fields != null)
+            {
+                columns = new HashMap<byte[], byte[]>();
+                List<byte[]> fieldValues = (List<byte[]>) response.get();
+                for (int i = 0; fieldValues != null && i < fields.length; i++)
+                {
+                    if (fieldValues.get(i) != null)
+                    {
+                        columns.put(fields[i], fieldValues.get(i));
+                    }
+                }
+            }
+            else
+            {
+                columns = (Map<byte[], byte[]>) response.get();
+            }
+
+            Object result = unwrap(entityMetadata, columns, keyIter.next());
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets the row key.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param key
+     *            the key
+     * @return the row key
+     */
+    private String getRowKey(EntityMetadata entityMetadata, Object key)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            return KunderaCoreUtils.prepareCompositeKey(entityMetadata, key);
+        }
+        else
+        {
+            ObjectAccessor accessor = new ObjectAccessor();
+
+            return accessor.toString(key);
+        }
+    }
+
     /**
      * Gets the columns.
      * 
@@ -362,18 +490,11 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
-        Object connection = getConnection();
-        List results = new ArrayList();
+        Object connection = getConnection(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass)
+                .getTableName());
         try
         {
-            for (Object key : keys)
-            {
-                Object result = fetch(entityClass, key, connection, null);
-                if (result != null)
-                {
-                    results.add(result);
-                }
-            }
+            return fetchAll(entityClass, Arrays.asList(keys), connection, null);
         }
         catch (InstantiationException e)
         {
@@ -385,7 +506,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             logger.error("Error during find by key:", e);
             throw new PersistenceException(e);
         }
-        return results;
+        finally
+        {
+            onCleanup(connection);
+        }
     }
 
     /*
@@ -414,6 +538,13 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             settings = null;
         }
 
+        if (shardedConnection != null)
+        {
+            factory.releaseConnection(shardedConnection);
+            shardedConnection = null;
+            connection = null;
+        }
+
         if (connection != null)
         {
             connection.disconnect();
@@ -432,7 +563,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public void delete(Object entity, Object pKey)
     {
-        Object connection = getConnection();
+        Object connection = getConnection(KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                entity.getClass()).getTableName());
         Pipeline pipeLine = null;
         try
         {
@@ -528,7 +660,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         // String rowKey =
         try
         {
-            connection = getConnection();
+            connection = getConnection(tableName);
             if (isBoundTransaction())
             {
                 pipeline = ((Jedis) connection).pipelined();
@@ -626,7 +758,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
         try
         {
-            connection = getConnection();
+            connection = getConnection(tableName);
 
             String valueAsStr = PropertyAccessorHelper.getString(pKeyColumnValue);
 
@@ -680,10 +812,32 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      */
     private List fetchColumn(String columnName, Object connection, List results, Set<String> resultKeys)
     {
+        List<Response<List<String>>> responses = null;
+        if (resource == null || !resource.isActive())
+        {
+            // pipeline reads, pipelineSize at a time.
+            responses = new ArrayList<Response<List<String>>>(resultKeys.size());
+            Pipeline pipeline = ((Jedis) connection).pipelined();
+            for (String hashKey : resultKeys)
+            {
+                responses.add(pipeline.hmget(hashKey, columnName));
+                if (responses.size() % pipelineSize == 0)
+                {
+                    pipeline.sync();
+                }
+            }
+            pipeline.sync();
+        }
+
+        Iterator<Response<List<String>>> responseIter = responses != null ? responses.iterator() : null;
         for (String hashKey : resultKeys)
         {
             List columnValues = null;
-            if (resource != null && resource.isActive())
+            if (responseIter != null)
+            {
+                columnValues = responseIter.next().get();
+            }
+            else
             {
                 Response response = ((Transaction) connection).hmget(hashKey, columnName);
                 // ((Transaction) connection).exec();
@@ -691,10 +845,6 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
                 columnValues = (List) response.get();
             }
-            else
-            {
-                columnValues = ((Jedis) connection).hmget(hashKey, columnName);
-            }
 
             if (columnValues != null && !columnValues.isEmpty())
             {
@@ -724,7 +874,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
         try
         {
-            connection = getConnection();
+            connection = getConnection(tableName);
             String valueAsStr = PropertyAccessorHelper.getString(columnValue);
 
             Set<String> results = null;
@@ -776,7 +926,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         try
         {
 
-            connection = getConnection();
+            connection = getConnection(tableName);
 
             if (isBoundTransaction())
             {
@@ -869,10 +1019,24 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         if (ids != null)
         {
             // just to insure uniqueness.
-
-            for (Object id : new HashSet(Arrays.asList(ids)))
+            Object connection = getConnection(entityMetadata.getTableName());
+            try
+            {
+                resultSet.addAll(fetchAll(entityClazz, new HashSet(Arrays.asList(ids)), connection, null));
+            }
+            catch (InstantiationException e)
             {
-                resultSet.add(find(entityClazz, id));
+                logger.error("Error during find by relation:", e);
+                throw new PersistenceException(e);
+            }
+            catch (IllegalAccessException e)
+            {
+                logger.error("Error during find by relation:", e);
+                throw new PersistenceException(e);
+            }
+            finally
+            {
+                onCleanup(connection);
             }
         }
 
@@ -939,10 +1103,12 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public int executeBatch()
     {
-        Object connection = getConnection();
+        // with sharded nodes, keep one pipeline per table's shard.
+        Object connection = factory.isSharded() ? null : getConnection();
+        Map<String, Pipeline> shardPipeLines = new HashMap<String, Pipeline>();
         // Create a hashset and populate data into it
         Pipeline pipeLine = null;
-        if (isBoundTransaction())
+        if (connection != null && isBoundTransaction())
         {
             pipeLine = ((Jedis) connection).pipelined();
         }
@@ -953,20 +1119,21 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 if (node.isDirty())
                 {
                     node.handlePreEvent();
+                    EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                            node.getDataClass());
+                    Object target = connection == null ? getPipeline(shardPipeLines, metadata.getTableName())
+                            : pipeLine != null ? pipeLine : connection;
                     // delete can not be executed in batch
                     if (node.isInState(RemovedState.class))
                     {
-                        onDelete(node.getData(), node.getEntityId(), pipeLine != null ? pipeLine : connection);
+                        onDelete(node.getData(), node.getEntityId(), target);
                     }
                     else
                     {
 
                         List<RelationHolder> relationHolders = getRelationHolders(node);
-                        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
-                                node.getDataClass());
 
-                        onPersist(metadata, node.getData(), node.getEntityId(), relationHolders,
-                                pipeLine != null ? pipeLine : connection);
+                        onPersist(metadata, node.getData(), node.getEntityId(), relationHolders, target);
                     }
                     node.handlePostEvent();
                 }
@@ -981,12 +1148,36 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                                  // read
                 // response?
             }
+            for (Pipeline shardPipeLine : shardPipeLines.values())
+            {
+                shardPipeLine.sync();
+            }
             onCleanup(connection);
         }
 
         return nodes.size();
     }
 
+    /**
+     * Returns pipeline over shard holding given table, opening it if needed.
+     * 
+     * @param pipeLines
+     *            pipelines opened so far, by table name
+     * @param tableName
+     *            the table name
+     * @return the pipeline
+     */
+    private Pipeline getPipeline(Map<String, Pipeline> pipeLines, String tableName)
+    {
+        Pipeline pipeLine = pipeLines.get(tableName);
+        if (pipeLine == null)
+        {
+            pipeLine = ((Jedis) getConnection(tableName)).pipelined();
+            pipeLines.put(tableName, pipeLine);
+        }
+        return pipeLine;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -1030,7 +1221,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
         try
         {
-            connection = getConnection();
+            connection = getConnection(tableName);
             String valueAsStr = PropertyAccessorHelper.getString(columnValue);
 
             Set<String> results = null;
@@ -1278,7 +1469,19 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     private void onCleanup(Object connection)
     {
         // if not running within transaction boundary
-        if (this.connection != null)
+        if (this.shardedConnection != null)
+        {
+            if (settings != null)
+            {
+                for (Jedis shard : this.shardedConnection.getAllShards())
+                {
+                    shard.configResetStat();
+                }
+            }
+            factory.releaseConnection(this.shardedConnection);
+            this.shardedConnection = null;
+        }
+        else if (this.connection != null)
         {
             if (settings != null)
             {
@@ -1386,6 +1589,28 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return wrapper;
     }
 
+    /**
+     * Wraps given (changed) basic attributes of entity into byte[] and return
+     * instance of attribute wrapper.
+     * 
+     * @param entityMetadata
+     *            the entity metadata
+     * @param entity
+     *            the entity
+     * @param dirtyAttributes
+     *            changed attributes
+     * @return attribute wrapper
+     */
+    private AttributeWrapper wrap(EntityMetadata entityMetadata, Object entity, List<AbstractAttribute> dirtyAttributes)
+    {
+        AttributeWrapper wrapper = new AttributeWrapper(dirtyAttributes.size());
+        for (AbstractAttribute attribute : dirtyAttributes)
+        {
+            addToWrapper(entityMetadata, wrapper, entity, attribute);
+        }
+        return wrapper;
+    }
+
     /**
      * Adds field to wrapper.
      * 
@@ -1489,7 +1714,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         {
             if (entity == null)
             {
-                entity = KunderaCoreUtils.createNewInstance(entityMetadata.getEntityClazz());
+                entity = KunderaCoreUtils.createNewInstance(entityMetadata);
             }
 
             String columnName = PropertyAccessorFactory.STRING.fromBytes(String.class, nameInByte);
@@ -1599,9 +1824,9 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         List<Object> results = new ArrayList<Object>();
         try
         {
-            connection = getConnection();
-            Set<String> rowKeys = new HashSet<String>();
             EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClazz);
+            connection = getConnection(entityMetadata.getTableName());
+            Set<String> rowKeys = new HashSet<String>();
             String printQuery = null;
 
             if (showQuery)
@@ -1766,16 +1991,8 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 }
             }
 
-            for (String k : rowKeys)
-            {
-                connection = reInitialize(connection, rowKeys);
-                Object record = fetch(entityClazz, k, connection, (queryParameter.getColumns() != null ? queryParameter
-                        .getColumns().toArray(new byte[][] {}) : null));
-                if (record != null)
-                {
-                    results.add(record);
-                }
-            }
+            results = fetchAll(entityClazz, rowKeys, connection, (queryParameter.getColumns() != null ? queryParameter
+                    .getColumns().toArray(new byte[][] {}) : null));
 
         }
         catch (InstantiationException e)
@@ -1802,6 +2019,171 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return results;
     }
 
+    /**
+     * Resolves sorted set which row keys matching query are scrolled from. For
+     * AND/OR clauses, an intermediate store is built which expires on its own
+     * if scroll is never closed.
+     * 
+     * @param queryParameter
+     *            the query parameter
+     * @param entityMetadata
+     *            the entity metadata
+     * @return the sorted set key
+     */
+    String openScroll(RedisQueryInterpreter queryParameter, EntityMetadata entityMetadata)
+    {
+        String tableName = entityMetadata.getTableName();
+        if (queryParameter.getClause() == null || queryParameter.isByRange())
+        {
+            String column = queryParameter.isByRange() ? queryParameter.getMin().keySet().iterator().next()
+                    : queryParameter.getFields() != null ? queryParameter.getFields().keySet().iterator().next()
+                            : ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
+            return getHashKey(tableName, column);
+        }
+
+        String destStore = entityMetadata.getEntityClazz().getSimpleName() + UUID.randomUUID();
+        Set<String> keySets = new HashSet<String>();
+        for (Map.Entry<String, Object> field : queryParameter.getFields().entrySet())
+        {
+            keySets.add(getHashKey(tableName,
+                    getHashKey(field.getKey(), PropertyAccessorHelper.getString(field.getValue()))));
+        }
+
+        Jedis connection = (Jedis) getConnection(tableName);
+        try
+        {
+            if (queryParameter.getClause().equals(Clause.INTERSECT))
+            {
+                connection.zinterstore(destStore, keySets.toArray(new String[] {}));
+            }
+            else
+            {
+                connection.zunionstore(destStore, keySets.toArray(new String[] {}));
+            }
+            connection.expire(destStore, SCROLL_STORE_TTL);
+        }
+        finally
+        {
+            onCleanup(connection);
+        }
+        return destStore;
+    }
+
+    /**
+     * Returns next window of row keys matching query from given sorted set.
+     * 
+     * @param queryParameter
+     *            the query parameter
+     * @param entityMetadata
+     *            the entity metadata
+     * @param key
+     *            sorted set key returned by
+     *            {@link #openScroll(RedisQueryInterpreter, EntityMetadata)}
+     * @param offset
+     *            the offset
+     * @param count
+     *            the count
+     * @return the row keys
+     */
+    Set<String> scrollRowKeys(RedisQueryInterpreter queryParameter, EntityMetadata entityMetadata, String key,
+            int offset, int count)
+    {
+        Jedis connection = (Jedis) getConnection(entityMetadata.getTableName());
+        try
+        {
+            if (queryParameter.isByRange())
+            {
+                String column = queryParameter.getMin().keySet().iterator().next();
+                return connection.zrangeByScore(key, queryParameter.getMin().get(column),
+                        queryParameter.getMax().get(column), offset, count);
+            }
+            else if (queryParameter.getClause() == null && queryParameter.getFields() != null)
+            {
+                Double value = getDouble(PropertyAccessorHelper.getString(queryParameter.getFields().values()
+                        .iterator().next()));
+                return connection.zrangeByScore(key, value, value, offset, count);
+            }
+            return connection.zrange(key, offset, offset + count - 1);
+        }
+        finally
+        {
+            onCleanup(connection);
+        }
+    }
+
+    /**
+     * Fetches entities for a window of row keys.
+     * 
+     * @param queryParameter
+     *            the query parameter
+     * @param entityClazz
+     *            the entity clazz
+     * @param rowKeys
+     *            the row keys
+     * @return the list
+     */
+    List fetchWindow(RedisQueryInterpreter queryParameter, Class entityClazz, Set<String> rowKeys)
+    {
+        Object connection = getConnection(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClazz)
+                .getTableName());
+        try
+        {
+            return fetchAll(entityClazz, rowKeys, connection, (queryParameter.getColumns() != null ? queryParameter
+                    .getColumns().toArray(new byte[][] {}) : null));
+        }
+        catch (InstantiationException e)
+        {
+            logger.error("Error during find by key:", e);
+            throw new PersistenceException(e);
+        }
+        catch (IllegalAccessException e)
+        {
+            logger.error("Error during find by key:", e);
+            throw new PersistenceException(e);
+        }
+        finally
+        {
+            onCleanup(connection);
+        }
+    }
+
+    /**
+     * Releases intermediate store built by
+     * {@link #openScroll(RedisQueryInterpreter, EntityMetadata)}, if any.
+     * 
+     * @param queryParameter
+     *            the query parameter
+     * @param entityMetadata
+     *            the entity metadata
+     * @param key
+     *            the sorted set key
+     */
+    void closeScroll(RedisQueryInterpreter queryParameter, EntityMetadata entityMetadata, String key)
+    {
+        if (queryParameter.getClause() != null && !queryParameter.isByRange())
+        {
+            Jedis connection = (Jedis) getConnection(entityMetadata.getTableName());
+            try
+            {
+                connection.del(key);
+            }
+            finally
+            {
+                onCleanup(connection);
+            }
+        }
+    }
+
+    /**
+     * Gets the pipeline size.
+     * 
+     * @return the pipeline size
+     */
+    int getPipelineSize()
+    {
+        return pipelineSize;
+    }
+
     /**
      * Re initialize.
      * 
@@ -1836,19 +2218,13 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      */
     private <E> List<E> findAllColumns(Class<E> entityClass, byte[][] columns, Object... keys)
     {
-        Object connection = getConnection();
+        Object connection = getConnection(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass)
+                .getTableName());
         // connection.co
         List results = new ArrayList();
         try
         {
-            for (Object key : keys)
-            {
-                Object result = fetch(entityClass, key, connection, columns);
-                if (result != null)
-                {
-                    results.add(result);
-                }
-            }
+            results = fetchAll(entityClass, Arrays.asList(keys), connection, columns);
         }
         catch (InstantiationException e)
         {
@@ -1882,6 +2258,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                 Integer batchSize = (Integer) value;
                 ((RedisClient) client).setBatchSize(batchSize);
             }
+            else if (key.equals(PIPELINE_SIZE) && value instanceof Integer)
+            {
+                ((RedisClient) client).setPipelineSize((Integer) value);
+            }
         }
     }
 
@@ -1895,6 +2275,12 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     @Override
     public void bind(TransactionResource resource)
     {
+        // MULTI/EXEC can not span over sharded nodes.
+        if (factory.isSharded())
+        {
+            throw new KunderaTransactionException("Transactions are not supported over sharded redis nodes.");
+        }
+
         // Not checking for type of TransactionRes
         if (resource != null && resource instanceof RedisTransaction)
         {
@@ -1914,6 +2300,25 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      */
     private Object getConnection()
     {
+        return getConnection(null);
+    }
+
+    /**
+     * Returns jedis connection to node holding given table. Table name is
+     * only needed with sharded nodes, where all keys of a table are kept on
+     * same shard.
+     * 
+     * @param tableName
+     *            the table name
+     * @return jedis resource.
+     */
+    private Object getConnection(String tableName)
+    {
+        if (factory.isSharded())
+        {
+            return getAndSetShard(tableName);
+        }
+
         /*
          * Jedis connection = factory.getConnection();
          * 
@@ -1978,6 +2383,38 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return conn;
     }
 
+    /**
+     * Gets the shard holding given table, borrows sharded connection if not
+     * already held.
+     * 
+     * @param tableName
+     *            the table name
+     * @return the shard
+     */
+    private Jedis getAndSetShard(String tableName)
+    {
+        if (tableName == null)
+        {
+            throw new UnsupportedOperationException("Table name is required to route over sharded redis nodes.");
+        }
+
+        if (this.shardedConnection == null)
+        {
+            this.shardedConnection = factory.getShardedConnection();
+        }
+        Jedis conn = this.shardedConnection.getShard(tableName);
+        this.connection = conn;
+
+        if (settings != null)
+        {
+            for (String key : settings.keySet())
+            {
+                conn.configSet(key, settings.get(key).toString());
+            }
+        }
+        return conn;
+    }
+
     /**
      * Sets the batch size.
      * 
@@ -2017,6 +2454,42 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         this.batchSize = batch_Size;
     }
 
+    /**
+     * Sets the pipeline size, from external properties or else from
+     * persistence unit properties.
+     * 
+     * @param persistenceUnit
+     *            the persistence unit
+     * @param puProperties
+     *            the pu properties
+     */
+    private void setPipelineSize(String persistenceUnit, Map<String, Object> puProperties)
+    {
+        Object pipeline_Size = puProperties != null ? puProperties.get(PIPELINE_SIZE) : null;
+        if (pipeline_Size == null)
+        {
+            pipeline_Size = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnit)
+                    .getProperty(PIPELINE_SIZE);
+        }
+        setPipelineSize(pipeline_Size != null ? Integer.valueOf(pipeline_Size.toString()) : DEFAULT_PIPELINE_SIZE);
+    }
+
+    /**
+     * Sets the pipeline size.
+     * 
+     * @param pipeline_Size
+     *            the new pipeline size
+     */
+    private void setPipelineSize(int pipeline_Size)
+    {
+        if (pipeline_Size <= 0)
+        {
+            throw new IllegalArgumentException("Invalid pipeline size provided:" + pipeline_Size
+                    + ", It should be greater than 0");
+        }
+        this.pipelineSize = pipeline_Size;
+    }
+
     /**
      * On persist.
      * 
@@ -2035,7 +2508,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
             Object connection)
     {
         // first open a pipeline
-        AttributeWrapper wrapper = wrap(entityMetadata, entity);
+        // In case of update, only changed fields to be written, if known.
+        List<AbstractAttribute> dirtyAttributes = getDirtyAttributes(entityMetadata);
+        AttributeWrapper wrapper = dirtyAttributes != null ? wrap(entityMetadata, entity, dirtyAttributes) : wrap(
+                entityMetadata, entity);
 
         // add relations.
 
@@ -2095,13 +2571,35 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
 
         String hashKey = getHashKey(entityMetadata.getTableName(), rowKey);
 
-        if (resource != null && resource.isActive())
+        if (!wrapper.getColumns().isEmpty())
         {
-            ((Transaction) connection).hmset(getEncodedBytes(hashKey), wrapper.getColumns());
+            if (resource != null && resource.isActive())
+            {
+                ((Transaction) connection).hmset(getEncodedBytes(hashKey), wrapper.getColumns());
+            }
+            else
+            {
+                ((Pipeline) connection).hmset(getEncodedBytes(hashKey), wrapper.getColumns());
+            }
         }
-        else
+
+        if (dirtyAttributes != null)
         {
-            ((Pipeline) connection).hmset(getEncodedBytes(hashKey), wrapper.getColumns());
+            // Changed fields set to null are removed.
+            for (AbstractAttribute attribute : dirtyAttributes)
+            {
+                if (PropertyAccessorHelper.getObject(entity, (Field) attribute.getJavaMember()) == null)
+                {
+                    if (resource != null && resource.isActive())
+                    {
+                        ((Transaction) connection).hdel(hashKey, attribute.getJPAColumnName());
+                    }
+                    else
+                    {
+                        ((Pipeline) connection).hdel(hashKey, attribute.getJPAColumnName());
+                    }
+                }
+            }
         }
 
         // Add inverted indexes for column based search.
@@ -2225,6 +2723,10 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         if (this.indexManager.getIndexer() != null
                 && this.indexManager.getIndexer().getClass().getSimpleName().equals("RedisIndexer"))
         {
+            if (factory.isSharded())
+            {
+                throw new UnsupportedOperationException("RedisIndexer is not supported over sharded redis nodes.");
+            }
             ((RedisIndexer) this.indexManager.getIndexer()).assignConnection(getConnection());
         }
     }
@@ -2234,7 +2736,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
      * 
      * @return true, if is bound transaction
      */
-    private boolean isBoundTransaction()
+    boolean isBoundTransaction()
     {
         return resource == null || (resource != null && !resource.isActive());
     }
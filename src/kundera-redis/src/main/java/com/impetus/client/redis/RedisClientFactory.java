@@ -16,6 +16,8 @@
 
 package com.impetus.client.redis;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -26,6 +28,11 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPool;
+import redis.clients.util.Hashing;
+import redis.clients.util.Sharded;
 
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
@@ -35,7 +42,11 @@ import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 
 /**
- * Default client factory implementation for REDIS <a>redis.io</a>
+ * Default client factory implementation for REDIS <a>redis.io</a>. If more
+ * than one node is given (comma separated "host[:port]" list in
+ * kundera.nodes), data is sharded over them by consistent hashing of table
+ * names, so that all keys of a table (hashes and index sorted sets) live on
+ * the same node.
  * 
  * @author vivek.mishra
  */
@@ -145,6 +156,15 @@ public class RedisClientFactory extends GenericClientFactory
                 minIdlePerNode, maxTotal);
         
 
+        int timeout = txTimeOut != null && StringUtils.isNumeric(txTimeOut) ? Integer.parseInt(txTimeOut) : -1;
+        if (contactNode != null && contactNode.indexOf(',') != -1)
+        {
+            logger.info("Initializing sharded Redis connection pool over nodes " + contactNode);
+            return new ShardedJedisPool(poolConfig != null ? poolConfig : new JedisPoolConfig(), getShards(
+                    contactNode, defaultPort, password, timeout), Hashing.MURMUR_HASH,
+                    Sharded.DEFAULT_KEY_TAG_PATTERN);
+        }
+
         JedisPool pool = null;
         onValidation(contactNode, defaultPort);
 
@@ -227,6 +247,11 @@ public class RedisClientFactory extends GenericClientFactory
         {
             ((JedisPool) getConnectionPoolOrConnection()).destroy();
         }
+        else if (getConnectionPoolOrConnection() != null
+                && getConnectionPoolOrConnection() instanceof ShardedJedisPool)
+        {
+            ((ShardedJedisPool) getConnectionPoolOrConnection()).destroy();
+        }
         else if (getConnectionPoolOrConnection() != null && getConnectionPoolOrConnection() instanceof Jedis)
         {
             ((Jedis) getConnectionPoolOrConnection()).disconnect();
@@ -244,10 +269,16 @@ public class RedisClientFactory extends GenericClientFactory
         if (logger.isDebugEnabled())
             logger.info("borrowing connection from pool");
         Object poolOrConnection = getConnectionPoolOrConnection();
-        if (poolOrConnection != null && poolOrConnection instanceof JedisPool)
+        if (isSharded())
+        {
+            throw new UnsupportedOperationException("Single node connection is not available with sharded nodes.");
+        }
+        else if (poolOrConnection != null && poolOrConnection instanceof JedisPool)
         {
 
+            long start = System.nanoTime();
             Jedis connection = ((JedisPool) getConnectionPoolOrConnection()).getResource();
+            onConnectionWait(start);
             connection.getClient().setTimeoutInfinite();
             Map props = RedisPropertyReader.rsmd.getProperties();
 
@@ -326,6 +357,58 @@ public class RedisClientFactory extends GenericClientFactory
         }
     }
 
+    /**
+     * Checks if data is sharded over several nodes.
+     * 
+     * @return true, if sharded
+     */
+    boolean isSharded()
+    {
+        return getConnectionPoolOrConnection() instanceof ShardedJedisPool;
+    }
+
+    /**
+     * Retrieving sharded connection from connection pool.
+     * 
+     * @return returns sharded jedis instance.
+     */
+    ShardedJedis getShardedConnection()
+    {
+        if (logger.isDebugEnabled())
+            logger.info("borrowing sharded connection from pool");
+        long start = System.nanoTime();
+        ShardedJedis connection = ((ShardedJedisPool) getConnectionPoolOrConnection()).getResource();
+        onConnectionWait(start);
+        Map props = RedisPropertyReader.rsmd.getProperties();
+        for (Jedis shard : connection.getAllShards())
+        {
+            shard.getClient().setTimeoutInfinite();
+
+            // set external xml properties.
+            if (props != null)
+            {
+                for (Object key : props.keySet())
+                {
+                    shard.configSet(key.toString(), props.get(key).toString());
+                }
+            }
+        }
+        return connection;
+    }
+
+    /**
+     * Release/return sharded connection to pool.
+     * 
+     * @param res
+     *            sharded jedis resource
+     */
+    void releaseConnection(ShardedJedis res)
+    {
+        if (logger.isDebugEnabled())
+            logger.info("releasing sharded connection from pool");
+        ((ShardedJedisPool) getConnectionPoolOrConnection()).returnResource(res);
+    }
+
     IndexManager getIndexManager()
     {
         return indexManager;
@@ -378,6 +461,40 @@ public class RedisClientFactory extends GenericClientFactory
         return null;
     }
 
+    /**
+     * Builds shard infos from comma separated "host[:port]" list, shards are
+     * named after host and port to keep their positions on hash ring stable.
+     * 
+     * @param contactNodes
+     *            the contact nodes
+     * @param defaultPort
+     *            the default port
+     * @param password
+     *            the password
+     * @param timeout
+     *            the timeout
+     * @return the shards
+     */
+    private List<JedisShardInfo> getShards(String contactNodes, String defaultPort, String password, int timeout)
+    {
+        List<JedisShardInfo> shards = new ArrayList<JedisShardInfo>();
+        for (String node : StringUtils.split(contactNodes, ','))
+        {
+            String host = StringUtils.substringBefore(node, ":").trim();
+            String port = node.indexOf(':') != -1 ? StringUtils.substringAfter(node, ":").trim() : defaultPort;
+            onValidation(host, port);
+
+            JedisShardInfo shard = timeout > 0 ? new JedisShardInfo(host, Integer.parseInt(port), timeout, host
+                    + ":" + port) : new JedisShardInfo(host, Integer.parseInt(port), host + ":" + port);
+            if (password != null)
+            {
+                shard.setPassword(password);
+            }
+            shards.add(shard);
+        }
+        return shards;
+    }
+
     /**
      * 
      */
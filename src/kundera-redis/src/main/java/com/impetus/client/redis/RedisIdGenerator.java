@@ -16,8 +16,10 @@
 package com.impetus.client.redis;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ShardedJedis;
 
 import com.impetus.kundera.client.Client;
+import com.impetus.kundera.generator.BlockAllocatingGenerator;
 import com.impetus.kundera.generator.SequenceGenerator;
 import com.impetus.kundera.metadata.model.SequenceGeneratorDiscriptor;
 
@@ -26,7 +28,7 @@ import com.impetus.kundera.metadata.model.SequenceGeneratorDiscriptor;
  * 
  * @author: karthikp.manchala
  */
-public class RedisIdGenerator implements SequenceGenerator
+public class RedisIdGenerator implements SequenceGenerator, BlockAllocatingGenerator
 {
 
     /*
@@ -40,17 +42,36 @@ public class RedisIdGenerator implements SequenceGenerator
     @Override
     public Object generate(SequenceGeneratorDiscriptor discriptor, Client<?> client, String dataType)
     {
-        Jedis jedis = ((RedisClient) client).factory.getConnection();
+        RedisClientFactory factory = ((RedisClient) client).factory;
+        byte[] sequenceKey = ((RedisClient) client).getEncodedBytes(discriptor.getSequenceName());
 
-        Long latestCount = jedis.incr(((RedisClient) client).getEncodedBytes(discriptor.getSequenceName()));
-        if (latestCount == 1)
+        // Each increment reserves next block of allocationSize values.
+        Long latestCount;
+        if (factory.isSharded())
         {
-            return discriptor.getInitialValue();
+            ShardedJedis jedis = factory.getShardedConnection();
+            try
+            {
+                latestCount = jedis.incr(sequenceKey);
+            }
+            finally
+            {
+                factory.releaseConnection(jedis);
+            }
         }
         else
         {
-            return (latestCount - 1) * discriptor.getAllocationSize();
+            Jedis jedis = factory.getConnection();
+            try
+            {
+                latestCount = jedis.incr(sequenceKey);
+            }
+            finally
+            {
+                factory.releaseConnection(jedis);
+            }
         }
+        return (latestCount - 1) * discriptor.getAllocationSize() + discriptor.getInitialValue();
     }
 
 }
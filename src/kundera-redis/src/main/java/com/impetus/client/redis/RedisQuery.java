@@ -280,8 +280,21 @@ public class RedisQuery extends QueryImpl
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        Client client = persistenceDelegeator.getClient(m);
+        ClientMetadata clientMetadata = ((ClientBase) client).getClientMetadata();
+
+        if (!MetadataUtils.useSecondryIndex(clientMetadata)
+                && !(clientMetadata.getIndexImplementor() != null && clientMetadata.getIndexImplementor().equals(
+                        RedisIndexer.class.getName())))
+        {
+            // ids are resolved via lucene, no sorted set to scroll over.
+            return getResultList().iterator();
+        }
+
+        RedisQueryInterpreter interpreter = onTranslation(getKunderaQuery().getFilterClauseQueue(), m);
+        return new ResultIterator((RedisClient) client, m, interpreter, persistenceDelegeator,
+                getFetchSize() != null ? getFetchSize() : this.maxResult);
     }
 
     @Override
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * * Copyright 2015 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.redis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Implementation of Redis result iteration. Row keys are read from index
+ * sorted sets in windows of pipeline size (ZRANGE/ZRANGEBYSCORE with LIMIT)
+ * and only entities of current window are held in memory.
+ * 
+ * @param <E>
+ *            the element type
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    /** The client. */
+    private RedisClient client;
+
+    /** The entity metadata. */
+    private EntityMetadata m;
+
+    /** The query parameter. */
+    private RedisQueryInterpreter interpreter;
+
+    /** The persistence delegator. */
+    private PersistenceDelegator persistenceDelegator;
+
+    /** number of results still to be returned. */
+    private int fetchSize;
+
+    /** sorted set being scrolled, null once scroll is over. */
+    private String scrollKey;
+
+    /** offset of next window. */
+    private int offset;
+
+    /** The current window. */
+    private Iterator<Object> window = Collections.<Object> emptyList().iterator();
+
+    /**
+     * Instantiates a new result iterator.
+     * 
+     * @param client
+     *            the client
+     * @param m
+     *            the entity metadata
+     * @param interpreter
+     *            the query parameter
+     * @param pd
+     *            the persistence delegator
+     * @param fetchSize
+     *            the fetch size
+     */
+    ResultIterator(RedisClient client, EntityMetadata m, RedisQueryInterpreter interpreter, PersistenceDelegator pd,
+            int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.interpreter = interpreter;
+        this.persistenceDelegator = pd;
+        this.fetchSize = fetchSize;
+
+        // within MULTI, or for a lookup by ids, nothing to scroll over.
+        if (interpreter.isById() || !client.isBoundTransaction())
+        {
+            window = client.onExecuteQuery(interpreter, m.getEntityClazz()).iterator();
+        }
+        else if (fetchSize > 0)
+        {
+            scrollKey = client.openScroll(interpreter, m);
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (fetchSize == 0)
+        {
+            close();
+            return false;
+        }
+
+        while (!window.hasNext() && scrollKey != null)
+        {
+            int count = client.getPipelineSize();
+            Set<String> rowKeys = client.scrollRowKeys(interpreter, m, scrollKey, offset, count);
+            offset += rowKeys.size();
+            if (rowKeys.size() < count)
+            {
+                close();
+            }
+            window = rowKeys.isEmpty() ? Collections.<Object> emptyList().iterator() : client.fetchWindow(interpreter,
+                    m.getEntityClazz(), rowKeys).iterator();
+        }
+        return window.hasNext();
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        fetchSize--;
+        Object result = window.next();
+
+        if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
+        {
+            return (E) (result instanceof EnhanceEntity ? ((EnhanceEntity) result).getEntity() : result);
+        }
+        return setRelationEntities(result);
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> results = new ArrayList<E>(chunkSize);
+        while (results.size() < chunkSize && hasNext())
+        {
+            results.add(next());
+        }
+        return results;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Remove method is not supported over pagination");
+    }
+
+    /**
+     * Ends scroll, releasing intermediate store if any.
+     */
+    private void close()
+    {
+        if (scrollKey != null)
+        {
+            client.closeScroll(interpreter, m, scrollKey);
+            scrollKey = null;
+        }
+    }
+
+    /**
+     * Sets the relation entities.
+     * 
+     * @param enhanceEntity
+     *            the enhance entity
+     * @return the e
+     */
+    private E setRelationEntities(Object enhanceEntity)
+    {
+        if (!(enhanceEntity instanceof EnhanceEntity))
+        {
+            enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+        }
+        EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+        return (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                persistenceDelegator, false, new HashMap<Object, Object>());
+    }
+}
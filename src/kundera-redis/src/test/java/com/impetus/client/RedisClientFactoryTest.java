@@ -33,6 +33,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPool;
 import com.impetus.client.redis.RedisClient;
 import com.impetus.client.redis.RedisClientFactory;
 import com.impetus.kundera.client.Client;
@@ -133,6 +135,33 @@ public class RedisClientFactoryTest
        
     }
 
+    /**
+     * Test sharded connection over comma separated nodes.
+     * 
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testShardedConnection() throws Exception
+    {
+        emf.close();
+        Map<String, String> properties = new HashMap<String, String>(1);
+        properties.put("kundera.nodes", "localhost:6379,127.0.0.1");
+        properties.put("kundera.port", "6379");
+        emf = Persistence.createEntityManagerFactory(REDIS_PU, properties);
+
+        ClientFactory clientFactory = ClientResolver.getClientFactory(REDIS_PU);
+        Field connectionField = clientFactory.getClass().getSuperclass().getDeclaredField("connectionPoolOrConnection");
+        connectionField.setAccessible(true);
+        Object connectionObj = connectionField.get(clientFactory);
+        Assert.assertTrue(connectionObj instanceof ShardedJedisPool);
+
+        ShardedJedisPool pool = (ShardedJedisPool) connectionObj;
+        ShardedJedis connection = pool.getResource();
+        Assert.assertEquals(2, connection.getAllShards().size());
+        pool.returnResource(connection);
+    }
+
     /**
      * Tear down.
      */
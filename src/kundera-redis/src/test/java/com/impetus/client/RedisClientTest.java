@@ -42,6 +42,8 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import redis.clients.jedis.Jedis;
+
 import com.impetus.client.entities.Month;
 import com.impetus.client.entities.PersonRedis;
 import com.impetus.client.entities.PersonRedis.Day;
@@ -151,6 +153,79 @@ public class RedisClientTest
 
     }
 
+    @Test
+    public void testFindAllPipelined()
+    {
+        Map<String, String> pipelineProperty = new HashMap<String, String>(1);
+        pipelineProperty.put(RedisClient.PIPELINE_SIZE, "2");
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory(REDIS_PU, pipelineProperty);
+        EntityManager em = emf.createEntityManager();
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        RedisClient client = (RedisClient) clients.get(REDIS_PU);
+
+        Object[] keys = new Object[6];
+        for (int i = 0; i < 5; i++)
+        {
+            PersonRedis object = new PersonRedis();
+            object.setAge(30 + i);
+            object.setPersonId("pipelined" + i);
+            object.setPersonName("vivek");
+            em.persist(object);
+            keys[i] = object.getPersonId();
+        }
+        keys[5] = "pipelinedMissing";
+        em.clear();
+
+        List<PersonRedis> results = client.findAll(PersonRedis.class, null, keys);
+        Assert.assertEquals(5, results.size());
+        for (PersonRedis result : results)
+        {
+            Assert.assertEquals("vivek", result.getPersonName());
+            Assert.assertEquals(30 + Integer.parseInt(result.getPersonId().substring(9)), result.getAge().intValue());
+        }
+
+        for (int i = 0; i < 5; i++)
+        {
+            em.remove(em.find(PersonRedis.class, keys[i]));
+        }
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testPartialUpdate()
+    {
+        EntityManager em = emf.createEntityManager();
+        PersonRedis object = new PersonRedis();
+        object.setPersonId(ROW_KEY);
+        object.setPersonName("vivek");
+        object.setAge(32);
+        object.setDay(Day.MONDAY);
+        object.setMonth(Month.JAN);
+        em.persist(object);
+        em.clear();
+
+        PersonRedis found = em.find(PersonRedis.class, ROW_KEY);
+
+        // modify other field in database directly.
+        Jedis jedis = new Jedis("localhost", 6379);
+        jedis.auth("Kundera@123");
+        String hashKey = "PERSON:" + ROW_KEY;
+        jedis.hset(hashKey, "MONTH_ENUM", Month.FEB.name());
+
+        found.setPersonName("Mc.John Doe");
+        found.setDay(null);
+        em.merge(found);
+
+        // changed fields are set or deleted, others are left as they are.
+        Map<String, String> fields = jedis.hgetAll(hashKey);
+        Assert.assertEquals("Mc.John Doe", fields.get("PERSON_NAME"));
+        Assert.assertFalse(fields.containsKey("ENUM"));
+        Assert.assertEquals("FEB", fields.get("MONTH_ENUM"));
+        jedis.disconnect();
+        em.close();
+    }
+
     @Test
     public void testPersistJoinTableData()
     {
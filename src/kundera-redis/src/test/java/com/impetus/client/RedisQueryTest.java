@@ -16,7 +16,10 @@
 
 package com.impetus.client;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -32,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.client.entities.PersonRedis;
+import com.impetus.client.redis.RedisClient;
 import com.impetus.kundera.query.QueryHandlerException;
 
 /**
@@ -252,6 +256,58 @@ public class RedisQueryTest
         Assert.assertTrue(results.isEmpty());
     }
 
+    @Test
+    public void testIterate()
+    {
+        // windows of 2 row keys, to scroll over several of them.
+        Map<String, String> pipelineProperty = new HashMap<String, String>(1);
+        pipelineProperty.put(RedisClient.PIPELINE_SIZE, "2");
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory(REDIS_PU, pipelineProperty);
+        EntityManager em = emf.createEntityManager();
+        purge(em);
+
+        for (int i = 0; i < 5; i++)
+        {
+            PersonRedis object = new PersonRedis();
+            object.setAge(30 + i % 2);
+            object.setPersonId(ROW_KEY + i);
+            object.setPersonName("vivek");
+            em.persist(object);
+        }
+
+        com.impetus.kundera.query.Query query = (com.impetus.kundera.query.Query) em.createQuery(
+                "Select p from PersonRedis p", PersonRedis.class);
+        Iterator<PersonRedis> iterator = query.iterate();
+        int count = 0;
+        while (iterator.hasNext())
+        {
+            Assert.assertEquals("vivek", iterator.next().getPersonName());
+            count++;
+        }
+        Assert.assertEquals(5, count);
+
+        query = (com.impetus.kundera.query.Query) em.createQuery("Select p from PersonRedis p where p.age=:age",
+                PersonRedis.class);
+        ((Query) query).setParameter("age", 30);
+        iterator = query.iterate();
+        count = 0;
+        while (iterator.hasNext())
+        {
+            Assert.assertEquals(30, iterator.next().getAge().intValue());
+            count++;
+        }
+        Assert.assertEquals(3, count);
+
+        query.setFetchSize(1);
+        iterator = query.iterate();
+        Assert.assertNotNull(iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+
+        purge(em);
+        em.close();
+        emf.close();
+    }
+
     private void purge(EntityManager em)
     {
         // Delete by query.
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2015 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.ycsb.jmh;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.impetus.kundera.property.EntityAccessor;
+import com.impetus.kundera.property.EntityAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.ycsb.entities.MongoUser;
+import com.impetus.kundera.ycsb.entities.Neo4JUser;
+import com.impetus.kundera.ycsb.entities.PerformanceNoInfo;
+
+/**
+ * JMH benchmark comparing reflective and generated (see
+ * {@link EntityAccessorFactory}) field access through
+ * {@link PropertyAccessorHelper}, on YCSB entity classes. Accessors are
+ * registered for the benchmark's own field instances, as done for the
+ * metamodel of a persistence unit with generated accessors enabled.
+ * 
+ * Run with: java -cp kundera-ycsb-1.0.0-jar-with-dependencies.jar
+ * com.impetus.kundera.ycsb.jmh.PropertyAccessorBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PropertyAccessorBenchmark
+{
+    @Param({ "MongoUser", "Neo4JUser", "PerformanceNoInfo" })
+    public String entity;
+
+    @Param({ "false", "true" })
+    public boolean generated;
+
+    private Object source;
+
+    private Field[] fields;
+
+    private EntityAccessor entityAccessor;
+
+    @Setup
+    public void setUp()
+    {
+        if (entity.equals("MongoUser"))
+        {
+            source = new MongoUser("user1", "32", "Noida", "kundera");
+        }
+        else if (entity.equals("Neo4JUser"))
+        {
+            source = new Neo4JUser("1", "user1", "32", "Noida");
+        }
+        else
+        {
+            PerformanceNoInfo info = new PerformanceNoInfo(new Date(), 2.15, "kundera", "load", 4, 100000L, 12.5, 1);
+            info.setAvgLatency(BigDecimal.TEN);
+            info.setThroughput(BigDecimal.ONE);
+            source = info;
+        }
+
+        List<Field> entityFields = new ArrayList<Field>();
+        for (Field field : source.getClass().getDeclaredFields())
+        {
+            if (!Modifier.isStatic(field.getModifiers()))
+            {
+                entityFields.add(field);
+            }
+        }
+        fields = entityFields.toArray(new Field[entityFields.size()]);
+
+        if (generated)
+        {
+            entityAccessor = EntityAccessorFactory.generate(source.getClass(), entityFields);
+            if (entityAccessor == null)
+            {
+                throw new IllegalStateException("Unable to generate accessor for " + source.getClass());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (entityAccessor != null)
+        {
+            EntityAccessorFactory.release(source.getClass(), Arrays.asList(fields));
+            entityAccessor = null;
+        }
+    }
+
+    /**
+     * Reads all fields of an entity.
+     */
+    @Benchmark
+    public void read(Blackhole blackhole)
+    {
+        for (Field field : fields)
+        {
+            blackhole.consume(PropertyAccessorHelper.getObject(source, field));
+        }
+    }
+
+    /**
+     * Instantiates an entity and populates all of its fields, as done while
+     * mapping a row to entity.
+     */
+    @Benchmark
+    public Object populate()
+    {
+        Object target = entityAccessor != null ? entityAccessor.newInstance() : KunderaCoreUtils
+                .createNewInstance(source.getClass());
+        for (Field field : fields)
+        {
+            PropertyAccessorHelper.set(target, field, PropertyAccessorHelper.getObject(source, field));
+        }
+        return target;
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(PropertyAccessorBenchmark.class.getSimpleName()).build()).run();
+    }
+}